@@ -0,0 +1,102 @@
+package com.api.api_gateway.cache;
+
+import io.netty.buffer.ByteBuf;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A cached response. The body lives in a pooled direct buffer. The cache holds one
+ * reference to the entry and every reader holds another while it takes a duplicate; the
+ * buffer is released when the last reference goes.
+ *
+ * The count lives here rather than on the ByteBuf: a released pooled ByteBuf is recycled
+ * for other allocations, so retaining a stale one can succeed on someone else's data.
+ * This counter never comes back from zero, so a reader that loses the race to an eviction
+ * gets null instead.
+ */
+public final class CachedResponse {
+
+    private final HttpStatusCode status;
+    private final HttpHeaders headers;
+    private final ByteBuf body;
+    private final String etag;
+    private final long storedAtMillis;
+    private final long ttlNanos;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    public CachedResponse(HttpStatusCode status, HttpHeaders headers, ByteBuf body, String etag,
+                          long storedAtMillis, long ttlNanos) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+        this.etag = etag;
+        this.storedAtMillis = storedAtMillis;
+        this.ttlNanos = ttlNanos;
+    }
+
+    public HttpStatusCode status() {
+        return status;
+    }
+
+    public HttpHeaders headers() {
+        return headers;
+    }
+
+    public String etag() {
+        return etag;
+    }
+
+    public long storedAtMillis() {
+        return storedAtMillis;
+    }
+
+    public long ttlNanos() {
+        return ttlNanos;
+    }
+
+    /**
+     * A retained duplicate of the body that the caller must release, or null if the entry
+     * has already been released
+     */
+    public ByteBuf retainedBody() {
+        if (!tryRetain()) {
+            return null;
+        }
+        try {
+            return body.retainedDuplicate();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Drop a reference; the cache drops its own once, when the entry is removed
+     */
+    public void release() {
+        if (references.decrementAndGet() == 0) {
+            body.release();
+        }
+    }
+
+    public int weight() {
+        return body.capacity() + 512;
+    }
+
+    public long ageSeconds(long nowMillis) {
+        return Math.max(0, (nowMillis - storedAtMillis) / 1000);
+    }
+
+    private boolean tryRetain() {
+        while (true) {
+            int current = references.get();
+            if (current == 0) {
+                return false;
+            }
+            if (references.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.api.api_gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Response Cache
+ * Size-bounded LRU of gateway responses shared by every route using the ResponseCache
+ * filter. Entries are weighed by body size, expire after their own TTL and drop the
+ * cache's reference to their pooled buffer on removal (see CachedResponse). Also tracks
+ * in-flight misses so that concurrent requests for the same key wait for a single
+ * upstream call.
+ */
+@Component
+public class ResponseCache {
+
+    static final String METRIC = "gateway.response.cache.requests";
+
+    private final Cache<String, CachedResponse> cache;
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, RouteStats> routeStats = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${gateway.response-cache.max-size:64MB}") DataSize maxSize) {
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, CachedResponse response) -> response.weight())
+                .expireAfter(new ResponseExpiry())
+                .removalListener((String key, CachedResponse response, RemovalCause cause) -> {
+                    if (response != null) {
+                        response.release();
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.response");
+        Gauge.builder("gateway.response.cache.bytes", cache,
+                        c -> c.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .register(meterRegistry);
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, CachedResponse response) {
+        cache.put(key, response);
+    }
+
+    public void invalidate(String key) {
+        cache.invalidate(key);
+    }
+
+    /**
+     * Register as the leader for a missing key. Returns null if this caller is the leader,
+     * otherwise the leader's pending result to wait on.
+     */
+    public Sinks.One<CachedResponse> joinInFlight(String key, Sinks.One<CachedResponse> leader) {
+        return inFlight.putIfAbsent(key, leader);
+    }
+
+    public void leaveInFlight(String key, Sinks.One<CachedResponse> leader) {
+        inFlight.remove(key, leader);
+    }
+
+    public RouteStats stats(String routeId) {
+        return routeStats.computeIfAbsent(routeId, id -> new RouteStats(meterRegistry, id));
+    }
+
+    /**
+     * Hit ratio and counts per route, for the responsecache actuator endpoint
+     */
+    public Map<String, Map<String, Object>> report() {
+        Map<String, Map<String, Object>> report = new TreeMap<>();
+        routeStats.forEach((routeId, stats) -> report.put(routeId, stats.summary()));
+        return report;
+    }
+
+    private static final class ResponseExpiry implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+            return response.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return response.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Per-route outcome counters: hit, miss, collapsed (served from a concurrent miss),
+     * not_modified (304 from cache) and bypass (not cacheable)
+     */
+    public static final class RouteStats {
+
+        private final Counter hits;
+        private final Counter misses;
+        private final Counter collapsed;
+        private final Counter notModified;
+        private final Counter bypassed;
+
+        private RouteStats(MeterRegistry registry, String routeId) {
+            this.hits = counter(registry, routeId, "hit");
+            this.misses = counter(registry, routeId, "miss");
+            this.collapsed = counter(registry, routeId, "collapsed");
+            this.notModified = counter(registry, routeId, "not_modified");
+            this.bypassed = counter(registry, routeId, "bypass");
+        }
+
+        private static Counter counter(MeterRegistry registry, String routeId, String result) {
+            return Counter.builder(METRIC).tag("route", routeId).tag("result", result).register(registry);
+        }
+
+        public void hit() {
+            hits.increment();
+        }
+
+        public void miss() {
+            misses.increment();
+        }
+
+        public void collapsed() {
+            collapsed.increment();
+        }
+
+        public void notModified() {
+            notModified.increment();
+        }
+
+        public void bypassed() {
+            bypassed.increment();
+        }
+
+        private Map<String, Object> summary() {
+            double served = hits.count() + collapsed.count() + notModified.count();
+            double lookups = served + misses.count();
+            Map<String, Object> summary = new TreeMap<>();
+            summary.put("hits", (long) hits.count());
+            summary.put("collapsed", (long) collapsed.count());
+            summary.put("notModified", (long) notModified.count());
+            summary.put("misses", (long) misses.count());
+            summary.put("bypassed", (long) bypassed.count());
+            summary.put("hitRatio", lookups == 0 ? 0.0 : served / lookups);
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.api.api_gateway.filter;
+
+import com.api.api_gateway.security.AuthenticatedUser;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+
+/**
+ * Authenticated Request
+ * Request decorator exposing the authenticated user's headers without copying the header map,
+ * replacing the request.mutate() / exchange.mutate() builders on the hot path.
+ */
+final class AuthenticatedRequest extends ServerHttpRequestDecorator {
+
+    private final HttpHeaders headers;
+
+    AuthenticatedRequest(ServerHttpRequest delegate, AuthenticatedUser user) {
+        super(delegate);
+        this.headers = new HttpHeaders(new UserHeaderOverlay(delegate.getHeaders(), user));
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Wrap the exchange so downstream filters see the authenticated request
+     */
+    static ServerWebExchange exchange(ServerWebExchange exchange, AuthenticatedUser user) {
+        AuthenticatedRequest request = new AuthenticatedRequest(exchange.getRequest(), user);
+        return new ServerWebExchangeDecorator(exchange) {
+            @Override
+            public ServerHttpRequest getRequest() {
+                return request;
+            }
+        };
+    }
+}
@@ -0,0 +1,142 @@
+package com.api.api_gateway.filter;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Capturing Response Decorator
+ * Passes the downstream response through to the client unchanged while copying the body
+ * into a pooled direct buffer. Once the body has been written completely the copy is handed
+ * to {@code onCaptured}, which takes ownership of the buffer. If the response is rejected
+ * by {@code shouldCapture}, exceeds {@code maxBytes}, is streamed with flushes, or fails,
+ * {@code onAbandoned} runs instead. Exactly one of the two callbacks runs.
+ */
+public class CapturingResponseDecorator extends ServerHttpResponseDecorator {
+
+    private static final List<String> HOP_BY_HOP_HEADERS = List.of(
+            HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.SET_COOKIE,
+            "Keep-Alive", HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.TRAILER, HttpHeaders.UPGRADE);
+
+    private final ByteBufAllocator allocator;
+    private final int maxBytes;
+    private final Predicate<ServerHttpResponse> shouldCapture;
+    private final Consumer<CapturedResponse> onCaptured;
+    private final Runnable onAbandoned;
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    public CapturingResponseDecorator(ServerHttpResponse delegate,
+                                      ByteBufAllocator allocator,
+                                      int maxBytes,
+                                      Predicate<ServerHttpResponse> shouldCapture,
+                                      Consumer<CapturedResponse> onCaptured,
+                                      Runnable onAbandoned) {
+        super(delegate);
+        this.allocator = allocator;
+        this.maxBytes = maxBytes;
+        this.shouldCapture = shouldCapture;
+        this.onCaptured = onCaptured;
+        this.onAbandoned = onAbandoned;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        if (!shouldCapture.test(getDelegate())) {
+            abandon(null);
+            return super.writeWith(body);
+        }
+        long contentLength = getHeaders().getContentLength();
+        if (contentLength > maxBytes) {
+            abandon(null);
+            return super.writeWith(body);
+        }
+
+        int initialCapacity = contentLength >= 0 ? (int) contentLength : Math.min(8192, maxBytes);
+        ByteBuf copy = allocator.directBuffer(initialCapacity, maxBytes);
+        AtomicBoolean overflow = new AtomicBoolean();
+
+        Flux<? extends DataBuffer> tee = Flux.from(body).doOnNext(buffer -> {
+            if (overflow.get()) {
+                return;
+            }
+            if (copy.writerIndex() + buffer.readableByteCount() > maxBytes) {
+                overflow.set(true);
+                return;
+            }
+            try (DataBuffer.ByteBufferIterator views = buffer.readableByteBuffers()) {
+                while (views.hasNext()) {
+                    ByteBuffer view = views.next();
+                    copy.writeBytes(view);
+                }
+            }
+        });
+
+        return super.writeWith(tee)
+                .doOnSuccess(done -> {
+                    if (overflow.get()) {
+                        abandon(copy);
+                    } else {
+                        capture(copy);
+                    }
+                })
+                .doOnError(error -> abandon(copy))
+                .doOnCancel(() -> abandon(copy));
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        // Streaming responses are never captured
+        abandon(null);
+        return super.writeAndFlushWith(body);
+    }
+
+    @Override
+    public Mono<Void> setComplete() {
+        if (shouldCapture.test(getDelegate())) {
+            return super.setComplete().doOnSuccess(done -> capture(allocator.directBuffer(0, 0)));
+        }
+        abandon(null);
+        return super.setComplete();
+    }
+
+    private void capture(ByteBuf body) {
+        if (!finished.compareAndSet(false, true)) {
+            body.release();
+            return;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(getDelegate().getHeaders());
+        HOP_BY_HOP_HEADERS.forEach(headers::remove);
+        headers.setContentLength(body.readableBytes());
+        onCaptured.accept(new CapturedResponse(getDelegate().getStatusCode(), HttpHeaders.readOnlyHttpHeaders(headers), body));
+    }
+
+    private void abandon(ByteBuf body) {
+        // Once captured, the buffer belongs to the receiver
+        if (finished.compareAndSet(false, true)) {
+            if (body != null) {
+                body.release();
+            }
+            onAbandoned.run();
+        }
+    }
+
+    /**
+     * A fully written response. The receiver owns {@code body} and must release it.
+     */
+    public record CapturedResponse(HttpStatusCode status, HttpHeaders headers, ByteBuf body) {
+    }
+}
@@ -1,23 +1,19 @@
 package com.api.api_gateway.filter;
 
-import ch.qos.logback.classic.Logger;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import com.api.api_gateway.security.AuthenticatedUser;
+import com.api.api_gateway.security.JwksKeyLocator;
+import com.api.api_gateway.security.JwtVerifier;
+import com.api.api_gateway.security.VerifiedTokenCache;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
-
 /**
  * JWT Authentication Filter
  * Validates JWT tokens for secured routes
@@ -26,67 +22,64 @@ import java.nio.charset.StandardCharsets;
 @Slf4j
 public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
 
-    @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationAndValidation12345}")
-    private String jwtSecret;
-    private Logger log;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    // Shared by all routes using this filter; keys are resolved from the JWKS by key id
+    private final JwtVerifier verifier;
 
-    public JwtAuthenticationFilter() {
+    public JwtAuthenticationFilter(JwksKeyLocator keyLocator, VerifiedTokenCache verifiedTokenCache) {
         super(Config.class);
+        this.verifier = JwtVerifier.withKeyLocator(keyLocator);
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     @Override
     public GatewayFilter apply(Config config) {
         return (exchange, chain) -> {
-            ServerHttpRequest request = exchange.getRequest();
+            String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
 
             // Check if Authorization header exists
-            if (!request.getHeaders().containsKey("Authorization")) {
+            if (authHeader == null) {
                 return onError(exchange, "Missing authorization header", HttpStatus.UNAUTHORIZED);
             }
 
-            String authHeader = request.getHeaders().getFirst("Authorization");
-            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            if (!authHeader.startsWith("Bearer ")) {
                 return onError(exchange, "Invalid authorization header", HttpStatus.UNAUTHORIZED);
             }
 
             String token = authHeader.substring(7);
 
+            AuthenticatedUser user;
             try {
-                // Validate token
-                Claims claims = validateToken(token);
-
-                // Add user information to request headers for downstream services
-                ServerHttpRequest modifiedRequest = request.mutate()
-                        .header("X-User-Id", claims.getSubject())
-                        .header("X-User-Role", claims.get("role", String.class))
-                        .header("X-User-Email", claims.get("email", String.class))
-                        .build();
-
-                log.info("User authenticated: {} with role: {}",
-                        claims.getSubject(), claims.get("role"));
-
-                return chain.filter(exchange.mutate().request(modifiedRequest).build());
-
+                // Validate token, skipping signature checks for recently verified tokens
+                user = authenticate(token);
             } catch (Exception e) {
-                log.error("JWT validation failed: {}", e.getMessage());
+                log.debug("JWT validation failed: {}", e.getMessage());
                 return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
             }
+
+            if (log.isDebugEnabled()) {
+                log.debug("User authenticated: {} with role: {}", user.userId(), user.role());
+            }
+
+            // Expose user information to downstream services without copying the request headers
+            return chain.filter(AuthenticatedRequest.exchange(exchange, user));
         };
     }
 
-    private Claims validateToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private AuthenticatedUser authenticate(String token) {
+        AuthenticatedUser user = verifiedTokenCache.get(token);
+        if (user == null) {
+            user = AuthenticatedUser.from(verifier.verify(token));
+            verifiedTokenCache.put(token, user);
+        }
+        return user;
     }
 
     private Mono<Void> onError(ServerWebExchange exchange, String message, HttpStatus status) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(status);
-        log.error("Authentication error: {}", message);
+        log.debug("Authentication error: {}", message);
         return response.setComplete();
     }
 
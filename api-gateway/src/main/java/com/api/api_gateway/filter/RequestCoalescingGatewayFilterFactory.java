@@ -0,0 +1,179 @@
+package com.api.api_gateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Request Coalescing Filter
+ * Single-flight for idempotent requests: while a GET for a key is in flight, identical
+ * requests wait for it instead of going upstream, and the leader's response is fanned out
+ * to every waiter. The key is the path, optionally the query string, Accept and
+ * Accept-Encoding (which select the representation), and the configured request headers.
+ * Once max-waiters are queued on a key, further requests go upstream on their own.
+ * Routes that already use ResponseCache should not add this filter: it collapses
+ * concurrent misses itself.
+ *
+ * Usage: - name: RequestCoalescing
+ *          args:
+ *            key-headers: X-User-Role
+ *            max-waiters: 1000
+ */
+@Component
+@Slf4j
+public class RequestCoalescingGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<RequestCoalescingGatewayFilterFactory.Config> {
+
+    private static final String METRIC = "gateway.coalescing.requests";
+    private static final String COALESCED_HEADER = "X-Coalesced";
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescingGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String routeId = routeId(exchange);
+            if (request.getMethod() != HttpMethod.GET) {
+                count(routeId, "bypass");
+                return chain.filter(exchange);
+            }
+
+            String key = routeId + ' ' + coalescingKey(request, config);
+            InFlight leader = new InFlight();
+            InFlight existing = inFlight.putIfAbsent(key, leader);
+            if (existing == null) {
+                count(routeId, "leader");
+                return lead(exchange, chain, config, key, leader);
+            }
+            if (existing.waiters.incrementAndGet() > config.getMaxWaiters()) {
+                existing.waiters.decrementAndGet();
+                count(routeId, "overflow");
+                return chain.filter(exchange);
+            }
+            count(routeId, "follower");
+            return follow(exchange, chain, config, existing);
+        };
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, Config config,
+                            String key, InFlight leader) {
+        CapturingResponseDecorator capturing = new CapturingResponseDecorator(
+                exchange.getResponse(),
+                PooledByteBufAllocator.DEFAULT,
+                (int) config.getMaxResponseSize().toBytes(),
+                response -> true,
+                captured -> {
+                    // Waiters may subscribe after the leader is done, so fan out a heap copy
+                    byte[] body;
+                    try {
+                        body = ByteBufUtil.getBytes(captured.body());
+                    } finally {
+                        captured.body().release();
+                    }
+                    inFlight.remove(key, leader);
+                    leader.result.tryEmitValue(new SharedResponse(captured.status(), captured.headers(), body));
+                },
+                () -> {
+                    inFlight.remove(key, leader);
+                    leader.result.tryEmitEmpty();
+                });
+
+        return chain.filter(exchange.mutate().response(capturing).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, leader);
+                    leader.result.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, Config config, InFlight leader) {
+        return leader.result.asMono()
+                .timeout(config.getTimeout())
+                .onErrorResume(TimeoutException.class, timeout -> Mono.empty())
+                .flatMap(shared -> write(exchange.getResponse(), shared).thenReturn(Boolean.TRUE))
+                // The leader's response could not be shared (too large, streamed or failed)
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(Boolean.TRUE)))
+                .then();
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        response.getHeaders().putAll(shared.headers());
+        response.getHeaders().set(COALESCED_HEADER, "true");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private static String coalescingKey(ServerHttpRequest request, Config config) {
+        StringBuilder key = new StringBuilder(128).append(request.getURI().getRawPath());
+        if (config.isIncludeQuery() && request.getURI().getRawQuery() != null) {
+            key.append('?').append(request.getURI().getRawQuery());
+        }
+        HttpHeaders headers = request.getHeaders();
+        key.append('|').append(headers.getFirst(HttpHeaders.ACCEPT))
+                .append('|').append(headers.getFirst(HttpHeaders.ACCEPT_ENCODING));
+        for (String header : config.getKeyHeaders()) {
+            key.append('|').append(header).append('=').append(headers.getOrEmpty(header));
+        }
+        return key.toString();
+    }
+
+    private void count(String routeId, String result) {
+        Counter.builder(METRIC).tag("route", routeId).tag("result", result).register(meterRegistry).increment();
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    private static final class InFlight {
+        private final Sinks.One<SharedResponse> result = Sinks.one();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    @Data
+    public static class Config {
+        // Request headers that distinguish otherwise identical requests (e.g. X-User-Role)
+        private List<String> keyHeaders = new ArrayList<>();
+        private boolean includeQuery = true;
+        private int maxWaiters = 1000;
+        // How long a waiter waits for the leader before going upstream itself
+        private Duration timeout = Duration.ofSeconds(10);
+        private DataSize maxResponseSize = DataSize.ofMegabytes(1);
+    }
+}
@@ -0,0 +1,303 @@
+package com.api.api_gateway.filter;
+
+import com.api.api_gateway.cache.CachedResponse;
+import com.api.api_gateway.cache.ResponseCache;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+
+/**
+ * Response Cache Filter
+ * Caches anonymous GET responses per route and answers repeats from memory:
+ * - honours Cache-Control on both sides (no-store, private, no-cache, max-age, s-maxage)
+ * - keeps the upstream ETag or derives one from the body, and answers If-None-Match with 304
+ * - concurrent misses for the same key wait for a single upstream call
+ * - bodies are held in pooled direct buffers in a size-bounded LRU (ResponseCache)
+ *
+ * Usage: - name: ResponseCache
+ *          args:
+ *            default-ttl: 60s
+ *            max-ttl: 10m
+ *            max-entry-size: 256KB
+ */
+@Component
+@Slf4j
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|,)\\s*(s-maxage|max-age)\\s*=\\s*\"?(\\d+)");
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private final ResponseCache responseCache;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCache responseCache) {
+        super(Config.class);
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            ResponseCache.RouteStats stats = responseCache.stats(routeId(exchange));
+
+            if (!isCacheableRequest(request)) {
+                stats.bypassed();
+                return chain.filter(exchange);
+            }
+
+            String key = cacheKey(exchange);
+            List<String> requestCacheControl = request.getHeaders().getOrEmpty(HttpHeaders.CACHE_CONTROL);
+            boolean revalidate = containsDirective(requestCacheControl, "no-cache");
+
+            if (!revalidate) {
+                CachedResponse cached = responseCache.get(key);
+                if (cached != null) {
+                    Mono<Void> served = serve(exchange, cached, "HIT");
+                    if (served != null) {
+                        if (exchange.getResponse().getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                            stats.notModified();
+                        } else {
+                            stats.hit();
+                        }
+                        return served;
+                    }
+                }
+            }
+
+            Sinks.One<CachedResponse> leader = Sinks.one();
+            Sinks.One<CachedResponse> existing = responseCache.joinInFlight(key, leader);
+            if (existing != null) {
+                // Another request is already fetching this key: wait for it, then serve its result
+                return existing.asMono()
+                        .timeout(config.getCollapseTimeout())
+                        .onErrorResume(TimeoutException.class, timeout -> Mono.empty())
+                        .flatMap(response -> {
+                            Mono<Void> served = serve(exchange, response, "COLLAPSED");
+                            if (served == null) {
+                                return Mono.empty();
+                            }
+                            stats.collapsed();
+                            return served.thenReturn(Boolean.TRUE);
+                        })
+                        .switchIfEmpty(Mono.defer(() -> {
+                            stats.miss();
+                            return chain.filter(exchange).thenReturn(Boolean.TRUE);
+                        }))
+                        .then();
+            }
+
+            stats.miss();
+            return fetchAndStore(exchange, chain, config, key, leader);
+        };
+    }
+
+    private Mono<Void> fetchAndStore(ServerWebExchange exchange, GatewayFilterChain chain, Config config,
+                                     String key, Sinks.One<CachedResponse> leader) {
+        exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+        CapturingResponseDecorator capturing = new CapturingResponseDecorator(
+                exchange.getResponse(),
+                PooledByteBufAllocator.DEFAULT,
+                (int) config.getMaxEntrySize().toBytes(),
+                response -> response.getStatusCode() == HttpStatus.OK && ttlNanos(response.getHeaders(), config) > 0,
+                captured -> {
+                    long ttl = ttlNanos(captured.headers(), config);
+                    String etag = captured.headers().getETag() != null
+                            ? captured.headers().getETag()
+                            : weakEtag(captured.body());
+                    CachedResponse response = new CachedResponse(captured.status(), captured.headers(),
+                            captured.body(), etag, System.currentTimeMillis(), ttl);
+                    responseCache.put(key, response);
+                    leader.tryEmitValue(response);
+                },
+                leader::tryEmitEmpty);
+
+        return chain.filter(exchange.mutate().response(capturing).build())
+                .doFinally(signal -> {
+                    responseCache.leaveInFlight(key, leader);
+                    leader.tryEmitEmpty();
+                });
+    }
+
+    /**
+     * Write a cached response (or a 304 if the client already has it). Returns null if the
+     * entry was evicted and released while being read, in which case the caller refetches.
+     */
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        long now = System.currentTimeMillis();
+
+        if (etagMatches(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.setETag(cached.etag());
+            copyIfPresent(cached.headers(), headers, HttpHeaders.CACHE_CONTROL);
+            copyIfPresent(cached.headers(), headers, HttpHeaders.VARY);
+            headers.set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds(now)));
+            headers.set(CACHE_STATUS_HEADER, cacheStatus);
+            return response.setComplete();
+        }
+
+        ByteBuf duplicate = cached.retainedBody();
+        if (duplicate == null) {
+            return null;
+        }
+        DataBuffer body = wrap(response.bufferFactory(), duplicate);
+        response.setStatusCode(cached.status());
+        headers.putAll(cached.headers());
+        headers.setETag(cached.etag());
+        headers.set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds(now)));
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+        return response.writeWith(Mono.just(body));
+    }
+
+    /**
+     * Takes ownership of the retained duplicate
+     */
+    private static DataBuffer wrap(DataBufferFactory factory, ByteBuf duplicate) {
+        if (factory instanceof NettyDataBufferFactory netty) {
+            // Netty releases the duplicate once written
+            return netty.wrap(duplicate);
+        }
+        try {
+            return factory.wrap(ByteBufUtil.getBytes(duplicate));
+        } finally {
+            duplicate.release();
+        }
+    }
+
+    private static boolean isCacheableRequest(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return request.getMethod() == HttpMethod.GET
+                && !headers.containsKey(HttpHeaders.AUTHORIZATION)
+                && !headers.containsKey(HttpHeaders.COOKIE)
+                && !containsDirective(headers.getOrEmpty(HttpHeaders.CACHE_CONTROL), "no-store");
+    }
+
+    /**
+     * TTL from the response's Cache-Control, capped at max-ttl; 0 if it must not be stored
+     */
+    private static long ttlNanos(HttpHeaders headers, Config config) {
+        List<String> cacheControl = headers.getOrEmpty(HttpHeaders.CACHE_CONTROL);
+        if (containsDirective(cacheControl, "no-store") || containsDirective(cacheControl, "private")
+                || containsDirective(cacheControl, "no-cache") || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return 0;
+        }
+        for (String vary : headers.getVary()) {
+            if (!vary.equalsIgnoreCase(HttpHeaders.ACCEPT_ENCODING) && !vary.equalsIgnoreCase(HttpHeaders.ACCEPT)) {
+                return 0;
+            }
+        }
+        long seconds = -1;
+        for (String value : cacheControl) {
+            Matcher matcher = MAX_AGE.matcher(value.toLowerCase(Locale.ROOT));
+            while (matcher.find()) {
+                long parsed = Long.parseLong(matcher.group(2));
+                // s-maxage is meant for shared caches like this one and wins over max-age
+                if (matcher.group(1).equals("s-maxage") || seconds < 0) {
+                    seconds = parsed;
+                }
+            }
+        }
+        Duration ttl = seconds >= 0 ? Duration.ofSeconds(seconds) : config.getDefaultTtl();
+        return Math.min(ttl.toNanos(), config.getMaxTtl().toNanos());
+    }
+
+    private static boolean containsDirective(List<String> cacheControl, String directive) {
+        for (String value : cacheControl) {
+            for (String part : value.split(",")) {
+                if (part.trim().equalsIgnoreCase(directive)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean etagMatches(List<String> ifNoneMatch, String etag) {
+        if (etag == null) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch) {
+            if (candidate.equals("*") || stripWeak(candidate).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static String weakEtag(ByteBuf body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body.nioBuffer(body.readerIndex(), body.readableBytes()));
+        return "W/\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(body.readableBytes()) + "\"";
+    }
+
+    private static void copyIfPresent(HttpHeaders from, HttpHeaders to, String name) {
+        List<String> values = from.get(name);
+        if (values != null) {
+            to.put(name, values);
+        }
+    }
+
+    private static String cacheKey(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpHeaders headers = request.getHeaders();
+        StringBuilder key = new StringBuilder(128)
+                .append(routeId(exchange)).append(' ')
+                .append(request.getURI().getRawPath());
+        String query = request.getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        key.append('|').append(headers.getFirst(HttpHeaders.ACCEPT))
+                .append('|').append(headers.getFirst(HttpHeaders.ACCEPT_ENCODING));
+        return key.toString();
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    @Data
+    public static class Config {
+        // Used when the upstream response has no max-age / s-maxage
+        private Duration defaultTtl = Duration.ofSeconds(60);
+        private Duration maxTtl = Duration.ofMinutes(10);
+        private DataSize maxEntrySize = DataSize.ofKilobytes(256);
+        // How long a concurrent miss waits for the in-flight request before fetching itself
+        private Duration collapseTimeout = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,219 @@
+package com.api.api_gateway.filter;
+
+import com.api.api_gateway.security.AuthenticatedUser;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.MultiValueMap;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * User Header Overlay
+ * View of the incoming request headers with X-User-Id, X-User-Role and X-User-Email layered
+ * on top. Any client-supplied values for the overlaid names are hidden so they cannot be
+ * spoofed. Reads never copy the original header map; the first write (e.g. a later
+ * request.mutate().header(...)) copies the merged view once and every call after that
+ * goes to the copy, leaving the original request untouched.
+ */
+final class UserHeaderOverlay extends AbstractMap<String, List<String>> implements MultiValueMap<String, String> {
+
+    static final String USER_ID = "X-User-Id";
+    static final String USER_ROLE = "X-User-Role";
+    static final String USER_EMAIL = "X-User-Email";
+
+    private static final String[] NAMES = {USER_ID, USER_ROLE, USER_EMAIL};
+
+    private final HttpHeaders delegate;
+    private final String[] values;
+    private HttpHeaders written;
+
+    UserHeaderOverlay(HttpHeaders delegate, AuthenticatedUser user) {
+        this.delegate = delegate;
+        this.values = new String[]{user.userId(), user.role(), user.email()};
+    }
+
+    private static int indexOf(Object key) {
+        if (key instanceof String name) {
+            for (int i = 0; i < NAMES.length; i++) {
+                if (NAMES[i].equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public List<String> get(Object key) {
+        if (written != null) {
+            return written.get(key);
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            return delegate.get(key);
+        }
+        return values[index] != null ? List.of(values[index]) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (written != null) {
+            return written.containsKey(key);
+        }
+        int index = indexOf(key);
+        return index < 0 ? delegate.containsKey(key) : values[index] != null;
+    }
+
+    @Override
+    public String getFirst(String key) {
+        if (written != null) {
+            return written.getFirst(key);
+        }
+        int index = indexOf(key);
+        return index < 0 ? delegate.getFirst(key) : values[index];
+    }
+
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+        if (written != null) {
+            return written.entrySet();
+        }
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, List<String>>> iterator() {
+                return new OverlayIterator();
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (String name : delegate.keySet()) {
+                    if (indexOf(name) < 0) {
+                        size++;
+                    }
+                }
+                for (String value : values) {
+                    if (value != null) {
+                        size++;
+                    }
+                }
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Map<String, String> toSingleValueMap() {
+        Map<String, String> singleValueMap = new LinkedHashMap<>();
+        forEach((name, headerValues) -> singleValueMap.put(name, headerValues.isEmpty() ? null : headerValues.get(0)));
+        return singleValueMap;
+    }
+
+    @Override
+    public void add(String key, String value) {
+        writable().add(key, value);
+    }
+
+    @Override
+    public void addAll(String key, List<? extends String> values) {
+        writable().addAll(key, values);
+    }
+
+    @Override
+    public void addAll(MultiValueMap<String, String> values) {
+        writable().addAll(values);
+    }
+
+    @Override
+    public void set(String key, String value) {
+        writable().set(key, value);
+    }
+
+    @Override
+    public void setAll(Map<String, String> values) {
+        writable().setAll(values);
+    }
+
+    @Override
+    public List<String> put(String key, List<String> value) {
+        return writable().put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends List<String>> map) {
+        writable().putAll(map);
+    }
+
+    @Override
+    public List<String> remove(Object key) {
+        return writable().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        writable().clear();
+    }
+
+    /**
+     * Copy the merged view on the first write
+     */
+    private HttpHeaders writable() {
+        if (written == null) {
+            HttpHeaders copy = new HttpHeaders();
+            for (Entry<String, List<String>> entry : entrySet()) {
+                copy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+            }
+            written = copy;
+        }
+        return written;
+    }
+
+    /**
+     * Iterates the original headers (minus overlaid names), then the overlaid user headers
+     */
+    private final class OverlayIterator implements Iterator<Entry<String, List<String>>> {
+
+        private final Iterator<Entry<String, List<String>>> headers = delegate.entrySet().iterator();
+        private Entry<String, List<String>> next;
+        private int overlayIndex;
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            while (headers.hasNext()) {
+                Entry<String, List<String>> entry = headers.next();
+                if (indexOf(entry.getKey()) < 0) {
+                    next = entry;
+                    return true;
+                }
+            }
+            while (overlayIndex < NAMES.length) {
+                int index = overlayIndex++;
+                if (values[index] != null) {
+                    next = new SimpleImmutableEntry<>(NAMES[index], List.of(values[index]));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Entry<String, List<String>> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<String, List<String>> entry = next;
+            next = null;
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.api.api_gateway.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the Redis sync store, for tests and single-node setups
+ * (counters do not expire)
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.rate-limiter.sync.type", havingValue = "in-memory")
+public class InMemoryRateLimitSyncStore implements RateLimitSyncStore {
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<Map<String, Long>> addAndGet(Map<String, Long> deltas, Duration ttl) {
+        Map<String, Long> totals = new HashMap<>();
+        deltas.forEach((key, delta) ->
+                totals.put(key, counters.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta)));
+        return Mono.just(totals);
+    }
+}
@@ -0,0 +1,270 @@
+package com.api.api_gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Local Token Bucket Rate Limiter
+ * In-process replacement for RedisRateLimiter: each (route, key) bucket is a single
+ * AtomicLong holding its theoretical arrival time (GCRA), so a decision is one CAS on a
+ * ConcurrentHashMap entry and never leaves the JVM.
+ *
+ * With gateway.rate-limiter.sync.type set, every node periodically pushes the tokens it
+ * consumed to a shared store and charges its local buckets with what the other nodes
+ * consumed in the meantime. Limits are then approximate across the cluster (off by at most
+ * one sync interval) but Redis is no longer on the request path, and a store outage only
+ * degrades the limiter to per-node limits.
+ */
+@Component
+@Primary
+@Slf4j
+public class LocalTokenBucketRateLimiter extends AbstractRateLimiter<LocalTokenBucketRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+
+    // Arrival time of a swept bucket; never a real time, so no request's CAS can match it
+    private static final long RETIRED = Long.MAX_VALUE;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final RateLimitSyncStore syncStore;
+    private final Duration syncInterval;
+    private final Duration syncTtl;
+    private final Duration sweepInterval;
+    private final Counter syncFailures;
+
+    private Disposable syncTask;
+    private Disposable sweepTask;
+
+    @Autowired
+    public LocalTokenBucketRateLimiter(ConfigurationService configurationService,
+                                       ObjectProvider<RateLimitSyncStore> syncStore,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${gateway.rate-limiter.sync.interval:1s}") Duration syncInterval,
+                                       @Value("${gateway.rate-limiter.sync.ttl:60s}") Duration syncTtl,
+                                       @Value("${gateway.rate-limiter.sweep-interval:30s}") Duration sweepInterval) {
+        this(configurationService, syncStore.getIfAvailable(), meterRegistry, System::nanoTime,
+                syncInterval, syncTtl, sweepInterval);
+    }
+
+    LocalTokenBucketRateLimiter(ConfigurationService configurationService,
+                                RateLimitSyncStore syncStore,
+                                MeterRegistry meterRegistry,
+                                LongSupplier nanoClock,
+                                Duration syncInterval,
+                                Duration syncTtl,
+                                Duration sweepInterval) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.syncStore = syncStore;
+        this.nanoClock = nanoClock;
+        this.syncInterval = syncInterval;
+        this.syncTtl = syncTtl;
+        this.sweepInterval = sweepInterval;
+        this.syncFailures = Counter.builder("gateway.rate.limiter.sync.failures").register(meterRegistry);
+        Gauge.builder("gateway.rate.limiter.buckets", buckets, Map::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (syncStore != null) {
+            syncTask = Flux.interval(syncInterval, syncInterval)
+                    .onBackpressureDrop()
+                    .concatMap(tick -> sync())
+                    .subscribe();
+        }
+        sweepTask = Flux.interval(sweepInterval, sweepInterval)
+                .onBackpressureDrop()
+                .subscribe(tick -> sweep());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (syncTask != null) {
+            syncTask.dispose();
+        }
+        if (sweepTask != null) {
+            sweepTask.dispose();
+        }
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().get(routeId);
+        if (config == null) {
+            throw new IllegalArgumentException("No Configuration found for route " + routeId);
+        }
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / config.getReplenishRate();
+        long burstNanos = interval * config.getBurstCapacity();
+        long cost = interval * config.getRequestedTokens();
+
+        String key = routeId + ":" + id;
+        long now = nanoClock.getAsLong();
+        while (true) {
+            Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket());
+            bucket.interval = interval;
+            bucket.burstNanos = burstNanos;
+
+            long tat;
+            while ((tat = bucket.tat.get()) != RETIRED) {
+                long start = Math.max(tat, now);
+                long newTat = start + cost;
+                if (newTat - now > burstNanos) {
+                    return Mono.just(new Response(false, headers(config, (burstNanos - (start - now)) / interval)));
+                }
+                if (bucket.tat.compareAndSet(tat, newTat)) {
+                    if (syncStore != null) {
+                        bucket.unsynced.add(config.getRequestedTokens());
+                    }
+                    return Mono.just(new Response(true, headers(config, (burstNanos - (newTat - now)) / interval)));
+                }
+            }
+            // Swept after we looked it up: make sure it is gone and start over with a fresh bucket
+            buckets.remove(key, bucket);
+        }
+    }
+
+    /**
+     * Push local consumption to the shared store and charge buckets with the remote share
+     */
+    Mono<Void> sync() {
+        long now = nanoClock.getAsLong();
+        Map<String, Long> deltas = new HashMap<>();
+        buckets.forEach((key, bucket) -> {
+            // Full buckets have nothing to reconcile unless they consumed since the last sync
+            long delta = bucket.unsynced.sumThenReset();
+            long tat = bucket.tat.get();
+            if (delta > 0 || (tat > now && tat != RETIRED)) {
+                deltas.put(key, delta);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return syncStore.addAndGet(deltas, syncTtl)
+                .doOnNext(totals -> totals.forEach((key, total) -> {
+                    Bucket bucket = buckets.get(key);
+                    if (bucket != null) {
+                        bucket.reconcile(total, deltas.getOrDefault(key, 0L), nanoClock.getAsLong());
+                    }
+                }))
+                .onErrorResume(e -> {
+                    // Give the consumption back so it is pushed with the next sync
+                    deltas.forEach((key, delta) -> {
+                        Bucket bucket = buckets.get(key);
+                        if (bucket != null) {
+                            bucket.unsynced.add(delta);
+                        }
+                    });
+                    syncFailures.increment();
+                    log.warn("Rate limiter sync failed: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Drop buckets that have refilled completely; a fresh bucket behaves identically.
+     * A bucket is retired with a CAS on its arrival time before it is removed, so a request
+     * that fetched it concurrently either lands its CAS first (and the bucket stays) or
+     * sees it retired and retries with a fresh one; consumption is never lost on an orphan.
+     */
+    void sweep() {
+        long now = nanoClock.getAsLong();
+        buckets.forEach((key, bucket) -> {
+            long tat = bucket.tat.get();
+            if (tat <= now && bucket.unsynced.sum() == 0 && bucket.tat.compareAndSet(tat, RETIRED)) {
+                buckets.remove(key, bucket);
+            }
+        });
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private static Map<String, String> headers(Config config, long remaining) {
+        if (!config.isIncludeHeaders()) {
+            return Map.of();
+        }
+        return Map.of(
+                REMAINING_HEADER, String.valueOf(Math.max(0, remaining)),
+                REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+                BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()),
+                REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens()));
+    }
+
+    private static final class Bucket {
+        // Theoretical arrival time: the bucket is full once the clock passes it; RETIRED once swept
+        final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+        final LongAdder unsynced = new LongAdder();
+        volatile long interval;
+        volatile long burstNanos;
+        // Cluster total seen at the last sync; only touched by the sync task
+        long lastTotal = -1;
+
+        void reconcile(long total, long pushed, long now) {
+            long previous = lastTotal;
+            lastTotal = total;
+            if (previous < 0 || total < previous + pushed) {
+                // First sync for this key, or the shared counter expired: take it as the new baseline
+                return;
+            }
+            long remote = total - previous - pushed;
+            if (remote <= 0) {
+                return;
+            }
+            long charge = remote * interval;
+            long cap = now + burstNanos;
+            while (true) {
+                long current = tat.get();
+                if (current == RETIRED) {
+                    return;
+                }
+                long charged = Math.min(Math.max(current, now) + charge, cap);
+                if (charged <= current || tat.compareAndSet(current, charged)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    @Data
+    public static class Config {
+        // Tokens per second
+        private int replenishRate = 1;
+        private int burstCapacity = 1;
+        private int requestedTokens = 1;
+        private boolean includeHeaders = true;
+    }
+}
@@ -0,0 +1,18 @@
+package com.api.api_gateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Cluster-wide consumption counters used to reconcile per-node token buckets
+ */
+public interface RateLimitSyncStore {
+
+    /**
+     * Add each node-local delta to its shared counter and return the new totals.
+     * Counters expire after {@code ttl} without updates.
+     */
+    Mono<Map<String, Long>> addAndGet(Map<String, Long> deltas, Duration ttl);
+}
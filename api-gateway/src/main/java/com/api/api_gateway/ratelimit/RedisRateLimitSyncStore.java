@@ -0,0 +1,39 @@
+package com.api.api_gateway.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Redis-backed sync store: one INCRBY + EXPIRE per active key, issued concurrently on the
+ * shared connection so they are pipelined
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.rate-limiter.sync.type", havingValue = "redis")
+public class RedisRateLimitSyncStore implements RateLimitSyncStore {
+
+    private static final String KEY_PREFIX = "gateway:rate-limit:";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    public RedisRateLimitSyncStore(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Mono<Map<String, Long>> addAndGet(Map<String, Long> deltas, Duration ttl) {
+        return Flux.fromIterable(deltas.entrySet())
+                .flatMap(entry -> {
+                    String redisKey = KEY_PREFIX + entry.getKey();
+                    return redisTemplate.opsForValue().increment(redisKey, entry.getValue())
+                            .flatMap(total -> redisTemplate.expire(redisKey, ttl).thenReturn(total))
+                            .map(total -> Map.entry(entry.getKey(), total));
+                })
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+}
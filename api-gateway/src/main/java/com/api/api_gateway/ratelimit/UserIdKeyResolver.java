@@ -0,0 +1,21 @@
+package com.api.api_gateway.ratelimit;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rate-limit key: the X-User-Id set by JwtAuthenticationFilter. Requests without it
+ * resolve to no key and are rejected by RequestRateLimiter.
+ */
+@Component("userIdKeyResolver")
+public class UserIdKeyResolver implements KeyResolver {
+
+    private static final String USER_ID_HEADER = "X-User-Id";
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        return Mono.justOrEmpty(exchange.getRequest().getHeaders().getFirst(USER_ID_HEADER));
+    }
+}
@@ -0,0 +1,30 @@
+package com.api.api_gateway.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Authenticated User
+ * Immutable view of the verified token claims propagated to downstream services
+ */
+public record AuthenticatedUser(String userId, String role, String email, long expiresAtMillis) {
+
+    /**
+     * Sentinel for tokens without an exp claim
+     */
+    public static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    public static AuthenticatedUser from(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return new AuthenticatedUser(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("email", String.class),
+                expiration != null ? expiration.getTime() : NO_EXPIRY);
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+}
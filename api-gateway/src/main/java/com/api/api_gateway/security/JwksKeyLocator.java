@@ -0,0 +1,150 @@
+package com.api.api_gateway.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JWKS Key Locator
+ * Resolves token verification keys by key id from user-service's JWKS document.
+ * The document is fetched at startup and refreshed in the background, so
+ * verification is a map lookup plus a signature check with no shared secret.
+ * Tokens without a key id (the retired HS256 tokens) are rejected.
+ */
+@Component
+@Slf4j
+public class JwksKeyLocator extends LocatorAdapter<Key> {
+
+    private static final Duration FIRST_LOAD_MIN_BACKOFF = Duration.ofMillis(500);
+    private static final Duration FIRST_LOAD_MAX_BACKOFF = Duration.ofSeconds(10);
+
+    private final WebClient webClient;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final String jwksUri;
+    private final Duration refreshInterval;
+    private final long minRefreshIntervalNanos;
+
+    private final AtomicLong lastRefreshNanos = new AtomicLong(System.nanoTime());
+    private volatile Map<String, Key> keys = Map.of();
+    private Disposable refreshTask;
+
+    public JwksKeyLocator(ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                          VerifiedTokenCache verifiedTokenCache,
+                          @Value("${jwt.jwks.uri:http://user-service/.well-known/jwks.json}") String jwksUri,
+                          @Value("${jwt.jwks.refresh-interval:5m}") Duration refreshInterval,
+                          @Value("${jwt.jwks.min-refresh-interval:30s}") Duration minRefreshInterval) {
+        this.webClient = WebClient.builder().filter(loadBalancerFunction).build();
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.jwksUri = jwksUri;
+        this.refreshInterval = refreshInterval;
+        this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+    }
+
+    /**
+     * Every token is rejected until a key set has loaded, and user-service may not be
+     * registered with the load balancer yet, so the first fetch is retried with backoff
+     * rather than left to the next refresh
+     */
+    @PostConstruct
+    public void start() {
+        Mono<Void> firstLoad = Mono.defer(() -> keys.isEmpty() ? load() : Mono.<Void>empty())
+                .doOnError(e -> log.warn("Failed to load JWKS from {}, retrying: {}", jwksUri, e.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, FIRST_LOAD_MIN_BACKOFF).maxBackoff(FIRST_LOAD_MAX_BACKOFF));
+        refreshTask = firstLoad
+                .thenMany(Flux.interval(refreshInterval))
+                .onBackpressureDrop()
+                .concatMap(tick -> fetch())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refreshTask != null) {
+            refreshTask.dispose();
+        }
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String keyId = header.getKeyId();
+        if (keyId != null) {
+            Key key = keys.get(keyId);
+            if (key == null) {
+                // Unknown kid: fetch the document again (rate limited) for the next request
+                requestRefresh();
+            }
+            return key;
+        }
+        return null;
+    }
+
+    private void requestRefresh() {
+        long now = System.nanoTime();
+        long last = lastRefreshNanos.get();
+        if (now - last >= minRefreshIntervalNanos && lastRefreshNanos.compareAndSet(last, now)) {
+            fetch().subscribe();
+        }
+    }
+
+    private Mono<Void> fetch() {
+        return load()
+                .onErrorResume(e -> {
+                    // Keep serving the last known keys until the next refresh
+                    log.warn("Failed to refresh JWKS from {}: {}", jwksUri, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> load() {
+        lastRefreshNanos.set(System.nanoTime());
+        return webClient.get()
+                .uri(jwksUri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .doOnNext(this::replaceKeys)
+                .then(Mono.fromRunnable(() -> {
+                    if (keys.isEmpty()) {
+                        throw new IllegalStateException("No JWT verification keys in " + jwksUri);
+                    }
+                }));
+    }
+
+    private void replaceKeys(String json) {
+        JwkSet jwkSet = Jwks.setParser().build().parse(json);
+        Map<String, Key> refreshed = new HashMap<>();
+        for (Jwk<?> jwk : jwkSet.getKeys()) {
+            if (jwk.getId() != null) {
+                refreshed.put(jwk.getId(), jwk.toKey());
+            }
+        }
+        Map<String, Key> previous = keys;
+        keys = Map.copyOf(refreshed);
+
+        // A withdrawn key may be compromised: drop tokens verified with it
+        if (!refreshed.keySet().containsAll(previous.keySet())) {
+            verifiedTokenCache.invalidateAll();
+        }
+        if (!refreshed.keySet().equals(previous.keySet())) {
+            log.info("Loaded {} JWT verification keys from {}", refreshed.size(), jwksUri);
+        }
+    }
+}
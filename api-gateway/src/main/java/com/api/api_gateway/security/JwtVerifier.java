@@ -0,0 +1,38 @@
+package com.api.api_gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.Locator;
+
+import java.security.Key;
+
+/**
+ * JWT Verifier
+ * Immutable, thread-safe parser used to validate tokens.
+ * Built once and shared by every request; keys are resolved per token by key id.
+ */
+public final class JwtVerifier {
+
+    private final JwtParser parser;
+
+    private JwtVerifier(JwtParser parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Create a verifier resolving the verification key from the token header
+     */
+    public static JwtVerifier withKeyLocator(Locator<Key> keyLocator) {
+        return new JwtVerifier(Jwts.parser()
+                .keyLocator(keyLocator)
+                .build());
+    }
+
+    /**
+     * Verify signature and expiry and return the token claims
+     */
+    public Claims verify(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+}
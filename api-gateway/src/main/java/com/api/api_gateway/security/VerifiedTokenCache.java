@@ -0,0 +1,134 @@
+package com.api.api_gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verified Token Cache
+ * Bounded cache of already-verified tokens keyed by the SHA-256 digest of the token.
+ * An entry never outlives the token's exp claim. Lookups and inserts never block,
+ * so the cache is safe to use on the Netty event loop.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final String CACHE_NAME = "gateway.jwt.verified";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final Cache<String, AuthenticatedUser> cache;
+
+    @Autowired
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+                              @Value("${jwt.cache.maximum-size:100000}") long maximumSize,
+                              @Value("${jwt.cache.max-ttl:15m}") Duration maxTtl) {
+        this(meterRegistry, maximumSize, maxTtl, ForkJoinPool.commonPool());
+    }
+
+    VerifiedTokenCache(MeterRegistry meterRegistry, long maximumSize, Duration maxTtl, Executor maintenanceExecutor) {
+        this.cache = Caffeine.newBuilder()
+                .executor(maintenanceExecutor)
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry(maxTtl.toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Get the cached user for a token, or null if the token has not been verified yet
+     */
+    public AuthenticatedUser get(String token) {
+        AuthenticatedUser user = cache.getIfPresent(digest(token));
+        if (user != null && user.isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+        return user;
+    }
+
+    /**
+     * Remember a token that has just passed signature and expiry checks
+     */
+    public void put(String token, AuthenticatedUser user) {
+        if (!user.isExpired(System.currentTimeMillis())) {
+            cache.put(digest(token), user);
+        }
+    }
+
+    /**
+     * Drop every entry, e.g. after the verification key changed
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Entries left after pending expiry and size eviction have run
+     */
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    Set<String> keys() {
+        return Set.copyOf(cache.asMap().keySet());
+    }
+
+    static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().withoutPadding().encodeToString(hash);
+    }
+
+    /**
+     * Expires each entry at the earlier of the token's exp claim and the configured max TTL
+     */
+    private static final class TokenExpiry implements Expiry<String, AuthenticatedUser> {
+
+        private final long maxTtlNanos;
+
+        private TokenExpiry(long maxTtlNanos) {
+            this.maxTtlNanos = maxTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, AuthenticatedUser user, long currentTime) {
+            if (user.expiresAtMillis() == AuthenticatedUser.NO_EXPIRY) {
+                return maxTtlNanos;
+            }
+            long remainingMillis = user.expiresAtMillis() - System.currentTimeMillis();
+            return Math.max(0, Math.min(maxTtlNanos, TimeUnit.MILLISECONDS.toNanos(remainingMillis)));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, AuthenticatedUser user, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, user, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, AuthenticatedUser user, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.api.api_gateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTest {
+
+	private static final String KEY = "catalog-service /api/catalog|null|null";
+	private static final int BODY_SIZE = 4096;
+
+	@Test
+	void releasedEntryHandsOutNoBody() {
+		ByteBuf body = Unpooled.directBuffer(16).writeBytes(new byte[16]);
+		CachedResponse response = response(body, 0);
+
+		response.release();
+
+		assertEquals(0, body.refCnt());
+		assertNull(response.retainedBody());
+	}
+
+	@Test
+	void readerDuplicateOutlivesEviction() {
+		ByteBuf body = Unpooled.directBuffer(16).writeBytes(new byte[16]);
+		CachedResponse response = response(body, 0);
+
+		ByteBuf duplicate = response.retainedBody();
+		response.release();
+
+		assertEquals(16, duplicate.readableBytes());
+		assertTrue(body.refCnt() > 0);
+		duplicate.release();
+		assertEquals(0, body.refCnt());
+	}
+
+	@Test
+	void evictWhileServingNeverExposesRecycledMemory() throws Exception {
+		ResponseCache cache = new ResponseCache(new SimpleMeterRegistry(), DataSize.ofMegabytes(1));
+		AtomicBoolean writing = new AtomicBoolean(true);
+		int readers = 4;
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(readers + 1)) {
+			List<Future<long[]>> reads = new ArrayList<>();
+			for (int r = 0; r < readers; r++) {
+				reads.add(executor.submit(() -> {
+					long served = 0;
+					long corrupted = 0;
+					while (writing.get()) {
+						CachedResponse cached = cache.get(KEY);
+						if (cached == null) {
+							continue;
+						}
+						ByteBuf duplicate = cached.retainedBody();
+						if (duplicate == null) {
+							continue;
+						}
+						byte expected = (byte) Integer.parseInt(cached.etag());
+						for (int i = duplicate.readerIndex(); i < duplicate.writerIndex(); i++) {
+							if (duplicate.getByte(i) != expected) {
+								corrupted++;
+								break;
+							}
+						}
+						duplicate.release();
+						served++;
+					}
+					return new long[]{served, corrupted};
+				}));
+			}
+			Future<?> writer = executor.submit(() -> {
+				// Every entry gets a distinct fill, so reading a recycled buffer shows up as a mismatch
+				try {
+					for (int round = 0; round < 200_000; round++) {
+						int fill = round & 0x7f;
+						ByteBuf body = PooledByteBufAllocator.DEFAULT.directBuffer(BODY_SIZE);
+						for (int i = 0; i < BODY_SIZE; i++) {
+							body.writeByte(fill);
+						}
+						cache.put(KEY, response(body, fill));
+						cache.invalidate(KEY);
+					}
+				} finally {
+					writing.set(false);
+				}
+			});
+
+			writer.get(2, TimeUnit.MINUTES);
+			long served = 0;
+			for (Future<long[]> read : reads) {
+				long[] result = read.get(1, TimeUnit.MINUTES);
+				served += result[0];
+				assertEquals(0, result[1], "reads of recycled memory");
+			}
+			assertTrue(served > 0);
+		}
+	}
+
+	private static CachedResponse response(ByteBuf body, int fill) {
+		return new CachedResponse(HttpStatus.OK, new HttpHeaders(), body, String.valueOf(fill),
+				System.currentTimeMillis(), TimeUnit.MINUTES.toNanos(1));
+	}
+}
@@ -0,0 +1,138 @@
+package com.api.api_gateway.filter;
+
+import com.api.api_gateway.security.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthenticatedRequestTest {
+
+	private static final AuthenticatedUser USER =
+			new AuthenticatedUser("42", "CUSTOMER", "customer@example.com", AuthenticatedUser.NO_EXPIRY);
+
+	@Test
+	void exposesUserHeadersAndHidesSpoofedOnes() {
+		HttpHeaders headers = authenticated(incoming()).getRequest().getHeaders();
+
+		assertEquals(List.of("42"), headers.get(UserHeaderOverlay.USER_ID));
+		assertEquals("CUSTOMER", headers.getFirst("x-user-role"));
+		assertEquals("customer@example.com", headers.getFirst(UserHeaderOverlay.USER_EMAIL));
+		assertEquals("application/json", headers.getFirst(HttpHeaders.ACCEPT));
+		assertEquals(1, headers.entrySet().stream()
+				.filter(entry -> entry.getKey().equalsIgnoreCase(UserHeaderOverlay.USER_ID)).count());
+	}
+
+	@Test
+	void laterFiltersCanMutateTheRequest() {
+		ServerWebExchange exchange = authenticated(incoming());
+
+		ServerHttpRequest mutated = exchange.getRequest().mutate()
+				.header("X-Request-Source", "gateway")
+				.headers(headers -> headers.remove(HttpHeaders.ACCEPT))
+				.build();
+
+		HttpHeaders headers = mutated.getHeaders();
+		assertEquals("gateway", headers.getFirst("X-Request-Source"));
+		assertFalse(headers.containsKey(HttpHeaders.ACCEPT));
+		assertEquals("42", headers.getFirst(UserHeaderOverlay.USER_ID));
+		assertEquals(List.of("CUSTOMER"), headers.get(UserHeaderOverlay.USER_ROLE));
+	}
+
+	@Test
+	void writesDoNotLeakIntoTheOriginalRequest() {
+		MockServerWebExchange original = incoming();
+		ServerWebExchange exchange = authenticated(original);
+
+		exchange.getRequest().mutate().header(UserHeaderOverlay.USER_ROLE, "ADMIN").build();
+
+		HttpHeaders originalHeaders = original.getRequest().getHeaders();
+		assertNull(originalHeaders.getFirst(UserHeaderOverlay.USER_ROLE));
+		assertEquals("spoofed", originalHeaders.getFirst(UserHeaderOverlay.USER_ID));
+		assertTrue(originalHeaders.containsKey(HttpHeaders.ACCEPT));
+	}
+
+	/**
+	 * Header propagation through a stub backend that reads every header, as the routing
+	 * filter does when it builds the proxied request: the request decorator against the
+	 * previous three request.mutate().header() calls plus exchange.mutate().
+	 * Run with -Dbenchmarks=true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+	void propagationCostAgainstMutateBuilders() {
+		Function<ServerWebExchange, ServerWebExchange> mutateBuilders = exchange -> {
+			ServerHttpRequest request = exchange.getRequest().mutate()
+					.header(UserHeaderOverlay.USER_ID, USER.userId())
+					.header(UserHeaderOverlay.USER_ROLE, USER.role())
+					.header(UserHeaderOverlay.USER_EMAIL, USER.email())
+					.build();
+			return exchange.mutate().request(request).build();
+		};
+		Function<ServerWebExchange, ServerWebExchange> decorator = exchange -> AuthenticatedRequest.exchange(exchange, USER);
+
+		System.out.printf("%-18s %10s %10s %12s%n", "propagation", "p50 (ns)", "p99 (ns)", "bytes/req");
+		report("mutate builders", measure(mutateBuilders));
+		report("request decorator", measure(decorator));
+	}
+
+	private static long[] measure(Function<ServerWebExchange, ServerWebExchange> propagate) {
+		int iterations = 200_000;
+		MockServerWebExchange[] exchanges = new MockServerWebExchange[1_000];
+		for (int i = 0; i < exchanges.length; i++) {
+			exchanges[i] = incoming();
+		}
+		long[] sink = new long[1];
+		GatewayFilterChain backend = exchange -> {
+			exchange.getRequest().getHeaders().forEach((name, values) -> sink[0] += name.length() + values.size());
+			return Mono.empty();
+		};
+
+		for (int i = 0; i < iterations; i++) {
+			backend.filter(propagate.apply(exchanges[i % exchanges.length])).block();
+		}
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long[] nanos = new long[iterations];
+		long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < iterations; i++) {
+			long start = System.nanoTime();
+			backend.filter(propagate.apply(exchanges[i % exchanges.length])).block();
+			nanos[i] = System.nanoTime() - start;
+		}
+		long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+		Arrays.sort(nanos);
+		return new long[]{nanos[iterations / 2], nanos[(int) (iterations * 0.99)], bytes / iterations, sink[0]};
+	}
+
+	private static void report(String name, long[] result) {
+		System.out.printf("%-18s %10d %10d %12d%n", name, result[0], result[1], result[2]);
+	}
+
+	private static MockServerWebExchange incoming() {
+		return MockServerWebExchange.from(MockServerHttpRequest.get("/api/users/profile/42")
+				.header(HttpHeaders.ACCEPT, "application/json")
+				.header(HttpHeaders.USER_AGENT, "load-test")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer token")
+				.header(UserHeaderOverlay.USER_ID, "spoofed"));
+	}
+
+	private static ServerWebExchange authenticated(MockServerWebExchange exchange) {
+		return AuthenticatedRequest.exchange(exchange, USER);
+	}
+}
@@ -0,0 +1,121 @@
+package com.api.api_gateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequestCoalescingGatewayFilterFactoryTest {
+
+	private static final String BODY = "{\"providerId\":42,\"averageRating\":4.8}";
+
+	private final RequestCoalescingGatewayFilterFactory factory =
+			new RequestCoalescingGatewayFilterFactory(new SimpleMeterRegistry());
+
+	private final AtomicInteger upstreamHits = new AtomicInteger();
+	private final Sinks.Empty<Void> releaseBackend = Sinks.empty();
+
+	// Stub backend: counts calls and holds every response until released
+	private final GatewayFilterChain backend = exchange -> {
+		upstreamHits.incrementAndGet();
+		ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(HttpStatus.OK);
+		response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+		return releaseBackend.asMono().then(Mono.defer(() -> response.writeWith(
+				Mono.just(response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))))));
+	};
+
+	@Test
+	void identicalConcurrentRequestsShareOneUpstreamCall() {
+		GatewayFilter filter = factory.apply(new RequestCoalescingGatewayFilterFactory.Config());
+		List<MockServerWebExchange> exchanges = new ArrayList<>();
+		List<Mono<Void>> calls = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			MockServerWebExchange exchange = get("/api/reviews/provider/42");
+			exchanges.add(exchange);
+			calls.add(filter.filter(exchange, backend));
+		}
+
+		run(calls);
+
+		assertEquals(1, upstreamHits.get());
+		for (MockServerWebExchange exchange : exchanges) {
+			assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+			assertEquals(BODY, exchange.getResponse().getBodyAsString().block(Duration.ofSeconds(5)));
+		}
+	}
+
+	@Test
+	void requestsWithDifferentKeysAreNotCoalesced() {
+		RequestCoalescingGatewayFilterFactory.Config config = new RequestCoalescingGatewayFilterFactory.Config();
+		config.setKeyHeaders(List.of("X-User-Role"));
+		GatewayFilter filter = factory.apply(config);
+
+		run(List.of(
+				filter.filter(get("/api/users/profile/7"), backend),
+				filter.filter(get("/api/users/profile/7?fields=name"), backend),
+				filter.filter(get("/api/users/profile/7", "X-User-Role", "ADMIN"), backend),
+				filter.filter(get("/api/users/profile/7", "X-User-Role", "ADMIN"), backend)));
+
+		assertEquals(3, upstreamHits.get());
+	}
+
+	@Test
+	void requestsForDifferentRepresentationsAreNotCoalesced() {
+		GatewayFilter filter = factory.apply(new RequestCoalescingGatewayFilterFactory.Config());
+
+		run(List.of(
+				filter.filter(get("/api/reviews/provider/42", "Accept", "application/json"), backend),
+				filter.filter(get("/api/reviews/provider/42", "Accept", "application/xml"), backend),
+				filter.filter(get("/api/reviews/provider/42", "Accept", "application/json",
+						"Accept-Encoding", "gzip"), backend),
+				filter.filter(get("/api/reviews/provider/42", "Accept", "application/json"), backend)));
+
+		assertEquals(3, upstreamHits.get());
+	}
+
+	@Test
+	void waitersBeyondTheLimitGoUpstreamThemselves() {
+		RequestCoalescingGatewayFilterFactory.Config config = new RequestCoalescingGatewayFilterFactory.Config();
+		config.setMaxWaiters(2);
+		GatewayFilter filter = factory.apply(config);
+
+		List<Mono<Void>> calls = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			calls.add(filter.filter(get("/api/reviews/provider/42"), backend));
+		}
+		run(calls);
+
+		// One leader, two waiters, two overflow requests
+		assertEquals(3, upstreamHits.get());
+	}
+
+	private void run(List<Mono<Void>> calls) {
+		var completion = Mono.when(calls).toFuture();
+		releaseBackend.tryEmitEmpty();
+		completion.join();
+	}
+
+	private static MockServerWebExchange get(String uri, String... headers) {
+		MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(uri);
+		for (int i = 0; i < headers.length; i += 2) {
+			request.header(headers[i], headers[i + 1]);
+		}
+		return MockServerWebExchange.from(request);
+	}
+}
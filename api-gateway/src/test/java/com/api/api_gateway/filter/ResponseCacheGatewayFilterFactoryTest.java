@@ -0,0 +1,211 @@
+package com.api.api_gateway.filter;
+
+import com.api.api_gateway.cache.ResponseCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+	private static final String BODY = "[{\"id\":1,\"name\":\"Cleaning\"},{\"id\":2,\"name\":\"Plumbing\"}]";
+	private static final String CATALOG = "service-catalog-public";
+	private static final String REVIEWS = "review-service-public";
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ResponseCache responseCache = new ResponseCache(meterRegistry, DataSize.ofMegabytes(1));
+	private final GatewayFilter filter = new ResponseCacheGatewayFilterFactory(responseCache)
+			.apply(new ResponseCacheGatewayFilterFactory.Config());
+
+	private final AtomicInteger upstreamHits = new AtomicInteger();
+	private String upstreamCacheControl;
+	private Mono<Void> upstreamDelay = Mono.empty();
+
+	// Stub backend: counts calls and answers with the configured Cache-Control once upstreamDelay completes
+	private final GatewayFilterChain backend = exchange -> {
+		upstreamHits.incrementAndGet();
+		ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(HttpStatus.OK);
+		response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+		if (upstreamCacheControl != null) {
+			response.getHeaders().setCacheControl(upstreamCacheControl);
+		}
+		return upstreamDelay.then(Mono.defer(() -> response.writeWith(
+				Mono.just(response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))))));
+	};
+
+	@Test
+	void repeatsAreServedFromTheCacheWithADerivedEtag() {
+		MockServerWebExchange first = call(get(CATALOG, "/api/categories"));
+		MockServerWebExchange second = call(get(CATALOG, "/api/categories"));
+
+		assertEquals(1, upstreamHits.get());
+		assertEquals("MISS", first.getResponse().getHeaders().getFirst("X-Cache"));
+		assertEquals("HIT", second.getResponse().getHeaders().getFirst("X-Cache"));
+		assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+		assertEquals(BODY, body(second));
+		String etag = second.getResponse().getHeaders().getETag();
+		assertNotNull(etag);
+		// The upstream sent none, so it is derived from the body
+		assertTrue(etag.startsWith("W/\""));
+	}
+
+	@Test
+	void aMatchingIfNoneMatchIsAnswered304() {
+		call(get(CATALOG, "/api/categories"));
+		String etag = call(get(CATALOG, "/api/categories")).getResponse().getHeaders().getETag();
+
+		MockServerWebExchange revalidated = call(get(CATALOG, "/api/categories", HttpHeaders.IF_NONE_MATCH, etag));
+		MockServerWebExchange stale = call(get(CATALOG, "/api/categories", HttpHeaders.IF_NONE_MATCH, "W/\"0-0\""));
+
+		assertEquals(1, upstreamHits.get());
+		assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getResponse().getStatusCode());
+		assertEquals(etag, revalidated.getResponse().getHeaders().getETag());
+		assertEquals(HttpStatus.OK, stale.getResponse().getStatusCode());
+		assertEquals(BODY, body(stale));
+		assertEquals(1.0, requests(CATALOG, "not_modified"));
+	}
+
+	@Test
+	void responsesMarkedNoStoreOrPrivateAreNotCached() {
+		for (String cacheControl : List.of("no-store", "private, max-age=60", "no-cache")) {
+			upstreamHits.set(0);
+			upstreamCacheControl = cacheControl;
+
+			call(get(CATALOG, "/api/categories"));
+			MockServerWebExchange repeat = call(get(CATALOG, "/api/categories"));
+
+			assertEquals(2, upstreamHits.get(), cacheControl);
+			assertEquals(BODY, body(repeat), cacheControl);
+		}
+	}
+
+	@Test
+	void sMaxageWinsOverMaxAge() {
+		upstreamCacheControl = "max-age=0, s-maxage=60";
+		call(get(CATALOG, "/api/categories"));
+		call(get(CATALOG, "/api/categories"));
+
+		upstreamCacheControl = "max-age=60, s-maxage=0";
+		call(get(CATALOG, "/api/services"));
+		call(get(CATALOG, "/api/services"));
+
+		// Cached for s-maxage=60 despite max-age=0; not cached for s-maxage=0 despite max-age=60
+		assertEquals(3, upstreamHits.get());
+	}
+
+	@Test
+	void requestsWithCredentialsOrNoStoreBypassTheCache() {
+		call(get(CATALOG, "/api/categories"));
+
+		List<MockServerWebExchange> bypassed = List.of(
+				call(get(CATALOG, "/api/categories", HttpHeaders.AUTHORIZATION, "Bearer token")),
+				call(get(CATALOG, "/api/categories", HttpHeaders.COOKIE, "SESSION=abc")),
+				call(get(CATALOG, "/api/categories", HttpHeaders.CACHE_CONTROL, "no-store")));
+
+		assertEquals(4, upstreamHits.get());
+		for (MockServerWebExchange exchange : bypassed) {
+			assertNull(exchange.getResponse().getHeaders().getFirst("X-Cache"));
+			assertEquals(BODY, body(exchange));
+		}
+		assertEquals(3.0, requests(CATALOG, "bypass"));
+	}
+
+	@Test
+	void concurrentMissesShareOneUpstreamCall() {
+		Sinks.Empty<Void> releaseBackend = Sinks.empty();
+		upstreamDelay = releaseBackend.asMono();
+		List<MockServerWebExchange> exchanges = new ArrayList<>();
+		List<Mono<Void>> calls = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			MockServerWebExchange exchange = get(CATALOG, "/api/categories");
+			exchanges.add(exchange);
+			calls.add(filter.filter(exchange, backend));
+		}
+
+		var completion = Mono.when(calls).toFuture();
+		releaseBackend.tryEmitEmpty();
+		completion.join();
+
+		assertEquals(1, upstreamHits.get());
+		for (MockServerWebExchange exchange : exchanges) {
+			assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+			assertEquals(BODY, body(exchange));
+		}
+		assertEquals(1.0, requests(CATALOG, "miss"));
+		assertEquals(19.0, requests(CATALOG, "collapsed"));
+	}
+
+	@Test
+	void hitRatioIsCountedPerRoute() {
+		for (int i = 0; i < 4; i++) {
+			call(get(CATALOG, "/api/categories"));
+		}
+		call(get(REVIEWS, "/api/reviews/provider/42"));
+
+		assertEquals(1.0, requests(CATALOG, "miss"));
+		assertEquals(3.0, requests(CATALOG, "hit"));
+		assertEquals(1.0, requests(REVIEWS, "miss"));
+		assertEquals(0.0, requests(REVIEWS, "hit"));
+
+		Map<String, Map<String, Object>> report = responseCache.report();
+		assertEquals(0.75, report.get(CATALOG).get("hitRatio"));
+		assertEquals(0.0, report.get(REVIEWS).get("hitRatio"));
+		assertFalse(report.containsKey("unknown"));
+	}
+
+	private MockServerWebExchange call(MockServerWebExchange exchange) {
+		filter.filter(exchange, backend).block(Duration.ofSeconds(5));
+		return exchange;
+	}
+
+	private double requests(String routeId, String result) {
+		return meterRegistry.get("gateway.response.cache.requests").tag("route", routeId).tag("result", result)
+				.counter().count();
+	}
+
+	private static String body(MockServerWebExchange exchange) {
+		return exchange.getResponse().getBodyAsString().block(Duration.ofSeconds(5));
+	}
+
+	private static MockServerWebExchange get(String routeId, String uri, String... headers) {
+		MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(uri);
+		for (int i = 0; i < headers.length; i += 2) {
+			request.header(headers[i], headers[i + 1]);
+		}
+		MockServerWebExchange exchange = MockServerWebExchange.from(request);
+		Route route = Route.async()
+				.id(routeId)
+				.uri(URI.create("lb://" + routeId))
+				.predicate(any -> true)
+				.build();
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+		return exchange;
+	}
+}
@@ -0,0 +1,224 @@
+package com.api.api_gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter.Response;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class LocalTokenBucketRateLimiterTest {
+
+	private static final String ROUTE = "booking-service";
+
+	private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+
+	@Test
+	void allowsBurstThenDeniesUntilRefilled() {
+		LocalTokenBucketRateLimiter limiter = limiter(null);
+
+		for (int i = 0; i < 20; i++) {
+			assertTrue(isAllowed(limiter, "7").isAllowed());
+		}
+		Response denied = isAllowed(limiter, "7");
+		assertFalse(denied.isAllowed());
+		assertEquals("0", denied.getHeaders().get(LocalTokenBucketRateLimiter.REMAINING_HEADER));
+
+		// 10 tokens per second: 100ms buys exactly one more request
+		clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+		assertTrue(isAllowed(limiter, "7").isAllowed());
+		assertFalse(isAllowed(limiter, "7").isAllowed());
+	}
+
+	@Test
+	void keysAreLimitedIndependently() {
+		LocalTokenBucketRateLimiter limiter = limiter(null);
+
+		for (int i = 0; i < 20; i++) {
+			isAllowed(limiter, "7");
+		}
+
+		assertFalse(isAllowed(limiter, "7").isAllowed());
+		Response other = isAllowed(limiter, "8");
+		assertTrue(other.isAllowed());
+		assertEquals("19", other.getHeaders().get(LocalTokenBucketRateLimiter.REMAINING_HEADER));
+	}
+
+	@Test
+	void sweepDropsOnlyRefilledBuckets() {
+		LocalTokenBucketRateLimiter limiter = limiter(null);
+		isAllowed(limiter, "7");
+
+		limiter.sweep();
+		assertEquals(1, limiter.bucketCount());
+
+		clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		limiter.sweep();
+		assertEquals(0, limiter.bucketCount());
+	}
+
+	@Test
+	void sweepRacingRequestsNeverGrantsMoreThanTheBurst() throws Exception {
+		LocalTokenBucketRateLimiter limiter = limiter(null);
+		int threads = 8;
+		CyclicBarrier barrier = new CyclicBarrier(threads + 1);
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(threads + 1)) {
+			for (int round = 0; round < 500; round++) {
+				// Refill completely, then let requests race the sweep for the now-idle bucket
+				clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+				AtomicInteger allowed = new AtomicInteger();
+				List<Future<?>> tasks = new ArrayList<>();
+				for (int t = 0; t < threads; t++) {
+					tasks.add(executor.submit(() -> {
+						barrier.await();
+						for (int i = 0; i < 5; i++) {
+							if (isAllowed(limiter, "7").isAllowed()) {
+								allowed.incrementAndGet();
+							}
+						}
+						return null;
+					}));
+				}
+				tasks.add(executor.submit(() -> {
+					barrier.await();
+					for (int i = 0; i < 50; i++) {
+						limiter.sweep();
+					}
+					return null;
+				}));
+				for (Future<?> task : tasks) {
+					task.get(10, TimeUnit.SECONDS);
+				}
+				if (allowed.get() > 20) {
+					fail("round " + round + " allowed " + allowed.get() + " requests with a burst of 20");
+				}
+			}
+		}
+	}
+
+	@Test
+	void syncChargesConsumptionFromOtherNodes() {
+		InMemoryRateLimitSyncStore store = new InMemoryRateLimitSyncStore();
+		LocalTokenBucketRateLimiter nodeA = limiter(store);
+		LocalTokenBucketRateLimiter nodeB = limiter(store);
+
+		// Both nodes know the key and establish their baseline
+		isAllowed(nodeA, "7");
+		isAllowed(nodeB, "7");
+		nodeA.sync().block();
+		nodeB.sync().block();
+
+		for (int i = 0; i < 10; i++) {
+			assertTrue(isAllowed(nodeA, "7").isAllowed());
+		}
+		nodeA.sync().block();
+		nodeB.sync().block();
+
+		// B consumed 1 itself and is charged A's 10 on top: 9 of 20 left
+		Response response = isAllowed(nodeB, "7");
+		assertTrue(response.isAllowed());
+		assertEquals("8", response.getHeaders().get(LocalTokenBucketRateLimiter.REMAINING_HEADER));
+	}
+
+	/**
+	 * Decision latency on the booking route: the local bucket against RedisRateLimiter, which
+	 * the route used before. Redis is measured only when -Dbenchmarks.redis=host:port points at
+	 * a server. Run with -Dbenchmarks=true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+	void decisionLatencyAgainstRedis() {
+		LocalTokenBucketRateLimiter local = new LocalTokenBucketRateLimiter(null, null, new SimpleMeterRegistry(),
+				System::nanoTime, Duration.ofSeconds(1), Duration.ofSeconds(60), Duration.ofSeconds(30));
+		LocalTokenBucketRateLimiter.Config localConfig = new LocalTokenBucketRateLimiter.Config();
+		localConfig.setReplenishRate(1_000_000);
+		localConfig.setBurstCapacity(1_000_000);
+		local.getConfig().put(ROUTE, localConfig);
+
+		System.out.printf("%-8s %10s %10s %10s%n", "limiter", "p50 us", "p99 us", "p99.9 us");
+		report("local", measure(local, 200_000));
+
+		String redis = System.getProperty("benchmarks.redis");
+		if (redis == null) {
+			System.out.println("redis    skipped (set -Dbenchmarks.redis=host:port)");
+			return;
+		}
+		String[] hostPort = redis.split(":");
+		LettuceConnectionFactory connectionFactory =
+				new LettuceConnectionFactory(hostPort[0], Integer.parseInt(hostPort[1]));
+		connectionFactory.afterPropertiesSet();
+		try {
+			DefaultRedisScript<List> script = new DefaultRedisScript<>();
+			script.setScriptSource(new ResourceScriptSource(
+					new ClassPathResource("META-INF/scripts/request_rate_limiter.lua")));
+			script.setResultType(List.class);
+			@SuppressWarnings({"unchecked", "rawtypes"})
+			RedisRateLimiter redisLimiter = new RedisRateLimiter(new ReactiveStringRedisTemplate(connectionFactory),
+					(RedisScript) script, null);
+			redisLimiter.getConfig().put(ROUTE, new RedisRateLimiter.Config()
+					.setReplenishRate(1_000_000).setBurstCapacity(1_000_000));
+			report("redis", measure(redisLimiter, 20_000));
+		} finally {
+			connectionFactory.destroy();
+		}
+	}
+
+	private static long[] measure(RateLimiter<?> limiter, int iterations) {
+		for (int i = 0; i < iterations / 10; i++) {
+			limiter.isAllowed(ROUTE, String.valueOf(i % 10_000)).block();
+		}
+		long[] nanos = new long[iterations];
+		for (int i = 0; i < iterations; i++) {
+			long start = System.nanoTime();
+			limiter.isAllowed(ROUTE, String.valueOf(i % 10_000)).block();
+			nanos[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(nanos);
+		return nanos;
+	}
+
+	private static void report(String limiter, long[] sortedNanos) {
+		System.out.printf("%-8s %10.2f %10.2f %10.2f%n", limiter,
+				sortedNanos[sortedNanos.length / 2] / 1_000.0,
+				sortedNanos[(int) (sortedNanos.length * 0.99)] / 1_000.0,
+				sortedNanos[(int) (sortedNanos.length * 0.999)] / 1_000.0);
+	}
+
+	private LocalTokenBucketRateLimiter limiter(RateLimitSyncStore store) {
+		LocalTokenBucketRateLimiter limiter = new LocalTokenBucketRateLimiter(null, store, new SimpleMeterRegistry(),
+				clock::get, Duration.ofSeconds(1), Duration.ofSeconds(60), Duration.ofSeconds(30));
+		LocalTokenBucketRateLimiter.Config config = new LocalTokenBucketRateLimiter.Config();
+		config.setReplenishRate(10);
+		config.setBurstCapacity(20);
+		limiter.getConfig().put(ROUTE, config);
+		return limiter;
+	}
+
+	private static Response isAllowed(LocalTokenBucketRateLimiter limiter, String key) {
+		return limiter.isAllowed(ROUTE, key).block();
+	}
+}
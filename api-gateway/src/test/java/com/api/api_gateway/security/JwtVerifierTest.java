@@ -0,0 +1,127 @@
+package com.api.api_gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import javax.crypto.SecretKey;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtVerifierTest {
+
+	private static final String SECRET = "a-test-secret-that-is-at-least-256-bits-long-for-hs256";
+	private static final SecretKey KEY = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+	@Test
+	void verifiesTokensSignedWithTheLocatedKey() {
+		JwtVerifier verifier = JwtVerifier.withKeyLocator(header -> KEY);
+
+		Claims claims = verifier.verify(token(KEY));
+
+		assertEquals("42", claims.getSubject());
+		assertEquals("CUSTOMER", claims.get("role", String.class));
+	}
+
+	@Test
+	void rejectsTokensSignedWithAnotherKey() {
+		JwtVerifier verifier = JwtVerifier.withKeyLocator(header -> KEY);
+		SecretKey other = Keys.hmacShaKeyFor("another-secret-that-is-also-256-bits-long-for-hs256"
+				.getBytes(StandardCharsets.UTF_8));
+
+		assertThrows(JwtException.class, () -> verifier.verify(token(other)));
+	}
+
+	/**
+	 * Per-request cost of deriving the key and building a parser for every token (what the
+	 * filter used to do) against one shared verifier. Run with -Dbenchmarks=true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+	void sharedVerifierAgainstPerRequestParser() {
+		String token = token(KEY);
+		JwtVerifier shared = JwtVerifier.withKeyLocator(header -> KEY);
+
+		Function<String, Claims> perRequest = t -> Jwts.parser()
+				.verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+				.build()
+				.parseSignedClaims(t)
+				.getPayload();
+
+		System.out.printf("%-22s %12s %14s%n", "HS256", "ns/op", "bytes/op");
+		report("per-request parser", measure(perRequest, token, 200_000));
+		report("shared verifier", measure(shared::verify, token, 200_000));
+	}
+
+	/**
+	 * Verification throughput of ES256 tokens resolved by key id (JWKS path) against the
+	 * previous shared-secret HS256 path. Run with -Dbenchmarks=true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+	void es256AgainstHs256Verification() {
+		KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+		Map<String, Key> jwks = Map.of("k1", keyPair.getPublic());
+		String es256Token = Jwts.builder()
+				.header().keyId("k1").and()
+				.subject("42")
+				.claim("role", "CUSTOMER")
+				.expiration(new Date(System.currentTimeMillis() + 3_600_000))
+				.signWith(keyPair.getPrivate())
+				.compact();
+		JwtVerifier es256 = JwtVerifier.withKeyLocator(header -> jwks.get(((JwsHeader) header).getKeyId()));
+		JwtVerifier hs256 = JwtVerifier.withKeyLocator(header -> KEY);
+
+		System.out.printf("%-22s %12s %14s %12s%n", "verification", "ns/op", "bytes/op", "ops/s");
+		for (Map.Entry<String, long[]> result : Map.of(
+				"HS256 shared secret", measure(hs256::verify, token(KEY), 200_000),
+				"ES256 via JWKS kid", measure(es256::verify, es256Token, 20_000)).entrySet()) {
+			long[] values = result.getValue();
+			System.out.printf("%-22s %12d %14d %12d%n", result.getKey(), values[0], values[1], 1_000_000_000L / values[0]);
+		}
+	}
+
+	static String token(Key key) {
+		return Jwts.builder()
+				.subject("42")
+				.claim("role", "CUSTOMER")
+				.claim("email", "customer@example.com")
+				.expiration(new Date(System.currentTimeMillis() + 3_600_000))
+				.signWith(key)
+				.compact();
+	}
+
+	/**
+	 * Mean nanoseconds and allocated bytes per call, after a warm-up
+	 */
+	static long[] measure(Function<String, Claims> verify, String token, int iterations) {
+		for (int i = 0; i < iterations / 2; i++) {
+			verify.apply(token);
+		}
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			verify.apply(token);
+		}
+		long nanos = System.nanoTime() - start;
+		long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+		return new long[]{nanos / iterations, bytes / iterations};
+	}
+
+	static void report(String name, long[] result) {
+		System.out.printf("%-22s %12d %14d%n", name, result[0], result[1]);
+	}
+}
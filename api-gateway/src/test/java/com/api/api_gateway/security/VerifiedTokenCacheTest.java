@@ -0,0 +1,107 @@
+package com.api.api_gateway.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VerifiedTokenCacheTest {
+
+	private static final String TOKEN = "eyJhbGciOiJFUzI1NiIsImtpZCI6ImsxIn0.eyJzdWIiOiI0MiJ9.signature";
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void entriesNeverOutliveTheTokenExpiry() throws InterruptedException {
+		VerifiedTokenCache cache = cache(100, Duration.ofMinutes(15));
+		AuthenticatedUser user = user(System.currentTimeMillis() + 200);
+
+		cache.put(TOKEN, user);
+		assertEquals(user, cache.get(TOKEN));
+		Thread.sleep(300);
+
+		assertNull(cache.get(TOKEN));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void tokensWithoutExpiryAreKeptForTheMaxTtl() throws InterruptedException {
+		VerifiedTokenCache cache = cache(100, Duration.ofMillis(200));
+
+		cache.put(TOKEN, user(AuthenticatedUser.NO_EXPIRY));
+		assertEquals(1, cache.size());
+		Thread.sleep(300);
+
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void expiredTokensAreNotCached() {
+		VerifiedTokenCache cache = cache(100, Duration.ofMinutes(15));
+
+		cache.put(TOKEN, user(System.currentTimeMillis() - 1));
+
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void entriesAreKeyedByDigestNotByTheRawToken() {
+		VerifiedTokenCache cache = cache(100, Duration.ofMinutes(15));
+
+		cache.put(TOKEN, user(AuthenticatedUser.NO_EXPIRY));
+
+		Set<String> keys = cache.keys();
+		assertEquals(Set.of(VerifiedTokenCache.digest(TOKEN)), keys);
+		assertFalse(keys.contains(TOKEN));
+		// SHA-256, base64 without padding, whatever the token length
+		assertEquals(43, keys.iterator().next().length());
+		assertNull(cache.get(TOKEN + "x"));
+	}
+
+	@Test
+	void evictsBeyondTheMaximumSize() {
+		VerifiedTokenCache cache = cache(10, Duration.ofMinutes(15));
+
+		for (int i = 0; i < 100; i++) {
+			cache.put(TOKEN + i, user(AuthenticatedUser.NO_EXPIRY));
+		}
+
+		assertTrue(cache.size() <= 10);
+		assertTrue(meterRegistry.get("cache.evictions").tag("cache", "gateway.jwt.verified")
+				.functionCounter().count() >= 90);
+	}
+
+	@Test
+	void recordsHitsAndMisses() {
+		VerifiedTokenCache cache = cache(100, Duration.ofMinutes(15));
+
+		cache.get(TOKEN);
+		cache.put(TOKEN, user(AuthenticatedUser.NO_EXPIRY));
+		cache.get(TOKEN);
+		cache.get(TOKEN);
+
+		assertEquals(2.0, gets("hit"));
+		assertEquals(1.0, gets("miss"));
+	}
+
+	private double gets(String result) {
+		return meterRegistry.get("cache.gets").tag("cache", "gateway.jwt.verified").tag("result", result)
+				.functionCounter().count();
+	}
+
+	private VerifiedTokenCache cache(long maximumSize, Duration maxTtl) {
+		// Maintenance on the calling thread, so expiry and eviction are visible right after cleanUp
+		return new VerifiedTokenCache(meterRegistry, maximumSize, maxTtl, Runnable::run);
+	}
+
+	private static AuthenticatedUser user(long expiresAtMillis) {
+		return new AuthenticatedUser("42", "CUSTOMER", "customer@example.com", expiresAtMillis);
+	}
+}
@@ -0,0 +1,22 @@
+package com.booking.booking_service.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for a Provider's Free Slots on One Day
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotAvailabilityResponse {
+
+    private Long providerId;
+    private LocalDate date;
+    private Integer slotMinutes;
+    private List<Integer> availableSlots;
+}
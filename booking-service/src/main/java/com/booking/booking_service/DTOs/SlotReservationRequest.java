@@ -0,0 +1,38 @@
+package com.booking.booking_service.DTOs;
+
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for Reserving or Releasing a Run of Consecutive Slots
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotReservationRequest {
+
+    @NotNull(message = "Provider id is required")
+    private Long providerId;
+
+    @NotNull(message = "Date is required")
+    private LocalDate date;
+
+    @NotNull(message = "Start slot is required")
+    @Min(value = 0, message = "Start slot must be between 0 and 47")
+    @Max(value = 47, message = "Start slot must be between 0 and 47")
+    private Integer startSlot;
+
+    @Min(value = 1, message = "Slot count must be between 1 and 48")
+    @Max(value = 48, message = "Slot count must be between 1 and 48")
+    @Builder.Default
+    private int slotCount = 1;
+}
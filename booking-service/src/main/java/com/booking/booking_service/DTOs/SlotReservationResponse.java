@@ -0,0 +1,24 @@
+package com.booking.booking_service.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO for a Reserved or Released Run of Slots
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotReservationResponse {
+
+    private Long providerId;
+    private LocalDate date;
+    private Integer startSlot;
+    private Integer slotCount;
+    private LocalTime startTime;
+    private LocalTime endTime;
+}
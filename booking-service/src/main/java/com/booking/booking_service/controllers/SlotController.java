@@ -0,0 +1,83 @@
+package com.booking.booking_service.controllers;
+
+import com.booking.booking_service.DTOs.ApiResponse;
+import com.booking.booking_service.DTOs.SlotAvailabilityResponse;
+import com.booking.booking_service.DTOs.SlotReservationRequest;
+import com.booking.booking_service.DTOs.SlotReservationResponse;
+import com.booking.booking_service.services.SlotService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * Slot Controller
+ * Handles provider calendar availability and slot reservations
+ */
+@RestController
+@RequestMapping("/api/slots")
+@RequiredArgsConstructor
+@Slf4j
+public class SlotController {
+
+    private final SlotService slotService;
+
+    /**
+     * Free slots of a provider on one day
+     * GET /api/slots/{providerId}?date=2026-10-20
+     */
+    @GetMapping("/{providerId}")
+    public ResponseEntity<ApiResponse<SlotAvailabilityResponse>> getAvailability(
+            @PathVariable Long providerId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        SlotAvailabilityResponse availability = slotService.getAvailability(providerId, date);
+
+        return ResponseEntity
+                .ok(ApiResponse.success("Availability retrieved successfully", availability));
+    }
+
+    /**
+     * Reserve consecutive slots
+     * POST /api/slots/reservations
+     */
+    @PostMapping("/reservations")
+    public ResponseEntity<ApiResponse<SlotReservationResponse>> reserve(
+            @RequestHeader("X-User-Id") Long userId,
+            @Valid @RequestBody SlotReservationRequest request) {
+
+        SlotReservationResponse reservation = slotService.reserve(request, userId);
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Slots reserved successfully", reservation));
+    }
+
+    /**
+     * Release previously reserved slots (the user who reserved them, the provider or an admin)
+     * POST /api/slots/reservations/release
+     */
+    @PostMapping("/reservations/release")
+    public ResponseEntity<ApiResponse<SlotReservationResponse>> release(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestHeader("X-User-Role") String role,
+            @Valid @RequestBody SlotReservationRequest request) {
+
+        SlotReservationResponse reservation = slotService.release(request, userId, role);
+
+        return ResponseEntity
+                .ok(ApiResponse.success("Slots released successfully", reservation));
+    }
+}
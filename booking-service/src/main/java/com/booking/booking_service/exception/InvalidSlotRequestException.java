@@ -0,0 +1,8 @@
+package com.booking.booking_service.exception;
+
+public class InvalidSlotRequestException extends RuntimeException{
+
+    public InvalidSlotRequestException(String message){
+        super(message);
+    }
+}
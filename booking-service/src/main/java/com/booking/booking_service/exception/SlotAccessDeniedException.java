@@ -0,0 +1,8 @@
+package com.booking.booking_service.exception;
+
+public class SlotAccessDeniedException extends RuntimeException{
+
+    public SlotAccessDeniedException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.booking.booking_service.exception;
+
+public class SlotJournalException extends RuntimeException{
+
+    public SlotJournalException(String message){
+        super(message);
+    }
+
+    public SlotJournalException(String message, Throwable cause){
+        super(message, cause);
+    }
+}
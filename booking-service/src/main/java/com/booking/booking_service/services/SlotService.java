@@ -0,0 +1,31 @@
+package com.booking.booking_service.services;
+
+
+import com.booking.booking_service.DTOs.SlotAvailabilityResponse;
+import com.booking.booking_service.DTOs.SlotReservationRequest;
+import com.booking.booking_service.DTOs.SlotReservationResponse;
+
+import java.time.LocalDate;
+
+/**
+ * Slot Service Interface
+ * Defines booking operations on provider calendars
+ */
+public interface SlotService {
+
+    /**
+     * Free slots of a provider on one day
+     */
+    SlotAvailabilityResponse getAvailability(Long providerId, LocalDate date);
+
+    /**
+     * Reserve a run of consecutive slots for a user; fails if any of them is taken
+     */
+    SlotReservationResponse reserve(SlotReservationRequest request, Long userId);
+
+    /**
+     * Release a previously reserved run of slots. Allowed for the user who reserved them,
+     * the provider and admins.
+     */
+    SlotReservationResponse release(SlotReservationRequest request, Long userId, String role);
+}
@@ -0,0 +1,69 @@
+package com.booking.booking_service.services;
+
+
+import com.booking.booking_service.DTOs.SlotAvailabilityResponse;
+import com.booking.booking_service.DTOs.SlotReservationRequest;
+import com.booking.booking_service.DTOs.SlotReservationResponse;
+import com.booking.booking_service.slots.ProviderCalendar;
+import com.booking.booking_service.slots.SlotEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Slot Service Implementation
+ * Maps API requests onto the in-memory slot engine
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SlotServiceImpl implements SlotService {
+
+    public static final int SLOT_MINUTES = 24 * 60 / ProviderCalendar.SLOTS_PER_DAY;
+
+    private static final String ADMIN_ROLE = "ADMIN";
+
+    private final SlotEngine slotEngine;
+
+    @Override
+    public SlotAvailabilityResponse getAvailability(Long providerId, LocalDate date) {
+        long booked = slotEngine.booked(providerId, date);
+        List<Integer> available = new ArrayList<>(ProviderCalendar.SLOTS_PER_DAY - Long.bitCount(booked));
+        for (int slot = 0; slot < ProviderCalendar.SLOTS_PER_DAY; slot++) {
+            if ((booked & (1L << slot)) == 0) {
+                available.add(slot);
+            }
+        }
+        return new SlotAvailabilityResponse(providerId, date, SLOT_MINUTES, available);
+    }
+
+    @Override
+    public SlotReservationResponse reserve(SlotReservationRequest request, Long userId) {
+        slotEngine.reserve(request.getProviderId(), request.getDate(), request.getStartSlot(), request.getSlotCount(),
+                userId);
+        log.debug("Reserved {} slots from {} for provider {} on {} for user {}", request.getSlotCount(),
+                request.getStartSlot(), request.getProviderId(), request.getDate(), userId);
+        return toResponse(request);
+    }
+
+    @Override
+    public SlotReservationResponse release(SlotReservationRequest request, Long userId, String role) {
+        boolean anyOwner = ADMIN_ROLE.equals(role) || userId.equals(request.getProviderId());
+        slotEngine.release(request.getProviderId(), request.getDate(), request.getStartSlot(), request.getSlotCount(),
+                userId, anyOwner);
+        log.debug("Released {} slots from {} for provider {} on {} by user {}", request.getSlotCount(),
+                request.getStartSlot(), request.getProviderId(), request.getDate(), userId);
+        return toResponse(request);
+    }
+
+    private static SlotReservationResponse toResponse(SlotReservationRequest request) {
+        LocalTime start = LocalTime.MIDNIGHT.plusMinutes((long) request.getStartSlot() * SLOT_MINUTES);
+        return new SlotReservationResponse(request.getProviderId(), request.getDate(), request.getStartSlot(),
+                request.getSlotCount(), start, start.plusMinutes((long) request.getSlotCount() * SLOT_MINUTES));
+    }
+}
@@ -0,0 +1,157 @@
+package com.booking.booking_service.slots;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Provider Calendar
+ * One provider's bookings over a rolling window of days, one 64-bit word per day:
+ * the low 48 bits are the half-hour slots (bit set = booked) and the high 16 bits tag
+ * the epoch day the word belongs to. Days map onto the array modulo its length, so a
+ * word whose tag is for another day is stale and reads as an empty day.
+ *
+ * Every change is a single compare-and-set on the day's word, so a run of slots is
+ * taken or released all at once and two overlapping reservations can never both win.
+ *
+ * Who booked each slot is kept next to the words. Owners are only read and written while
+ * holding the calendar's monitor, which {@link SlotEngine} takes for every change anyway.
+ */
+public final class ProviderCalendar {
+
+    public static final int SLOTS_PER_DAY = 48;
+    public static final long SLOT_BITS = (1L << SLOTS_PER_DAY) - 1;
+
+    private static final int TAG_SHIFT = SLOTS_PER_DAY;
+    private static final long TAG_BITS = 0xFFFFL;
+
+    private final AtomicLongArray days;
+    // epoch day -> owner of each slot; guarded by this
+    private final Map<Long, long[]> owners = new HashMap<>();
+
+    public ProviderCalendar(int horizonDays) {
+        this.days = new AtomicLongArray(horizonDays);
+    }
+
+    /**
+     * Bit mask for {@code count} consecutive slots starting at {@code startSlot}
+     */
+    public static long mask(int startSlot, int count) {
+        if (startSlot < 0 || count < 1 || startSlot + count > SLOTS_PER_DAY) {
+            throw new IllegalArgumentException("Slot run out of range: " + startSlot + "+" + count);
+        }
+        return ((1L << count) - 1) << startSlot;
+    }
+
+    /**
+     * Book every slot in {@code mask}; fails without changes if any of them is taken
+     */
+    public boolean reserve(long epochDay, long mask) {
+        int index = index(epochDay);
+        long tag = tag(epochDay);
+        while (true) {
+            long word = days.get(index);
+            long booked = bookedBits(word, tag);
+            if ((booked & mask) != 0) {
+                return false;
+            }
+            if (days.compareAndSet(index, word, tag | booked | mask)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Free every slot in {@code mask}; fails without changes unless all of them are booked
+     */
+    public boolean release(long epochDay, long mask) {
+        int index = index(epochDay);
+        long tag = tag(epochDay);
+        while (true) {
+            long word = days.get(index);
+            long booked = bookedBits(word, tag);
+            if ((booked & mask) != mask) {
+                return false;
+            }
+            if (days.compareAndSet(index, word, tag | (booked & ~mask))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Flip the slots in {@code mask} unconditionally. Used by journal replay, where every
+     * record is known to have flipped exactly those bits when it was written.
+     */
+    public void toggle(long epochDay, long mask) {
+        int index = index(epochDay);
+        long tag = tag(epochDay);
+        while (true) {
+            long word = days.get(index);
+            long booked = bookedBits(word, tag);
+            if (days.compareAndSet(index, word, tag | (booked ^ mask))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Record {@code owner} as the one who booked the slots in {@code mask}.
+     * Caller must hold this calendar's monitor.
+     */
+    public void setOwner(long epochDay, long mask, long owner) {
+        if (owners.size() > days.length()) {
+            // Days that scrolled out of the window or were emptied read as free; drop their owners
+            owners.keySet().removeIf(day -> booked(day) == 0);
+        }
+        long[] slots = owners.computeIfAbsent(epochDay, day -> new long[SLOTS_PER_DAY]);
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            slots[Long.numberOfTrailingZeros(bits)] = owner;
+        }
+    }
+
+    /**
+     * Whether every slot in {@code mask} was booked by {@code owner}.
+     * Caller must hold this calendar's monitor.
+     */
+    public boolean ownedBy(long epochDay, long mask, long owner) {
+        long[] slots = owners.get(epochDay);
+        if (slots == null) {
+            return false;
+        }
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            if (slots[Long.numberOfTrailingZeros(bits)] != owner) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Owner of a slot, or 0 if unknown.
+     * Caller must hold this calendar's monitor.
+     */
+    public long owner(long epochDay, int slot) {
+        long[] slots = owners.get(epochDay);
+        return slots == null ? 0L : slots[slot];
+    }
+
+    /**
+     * Booked slots on a day (bit n = slot n)
+     */
+    public long booked(long epochDay) {
+        return bookedBits(days.get(index(epochDay)), tag(epochDay));
+    }
+
+    private int index(long epochDay) {
+        return (int) Math.floorMod(epochDay, (long) days.length());
+    }
+
+    private static long tag(long epochDay) {
+        return (epochDay & TAG_BITS) << TAG_SHIFT;
+    }
+
+    private static long bookedBits(long word, long tag) {
+        return (word & ~SLOT_BITS) == tag ? word & SLOT_BITS : 0L;
+    }
+}
@@ -0,0 +1,286 @@
+package com.booking.booking_service.slots;
+
+import com.booking.booking_service.exception.InvalidSlotRequestException;
+import com.booking.booking_service.exception.SlotAccessDeniedException;
+import com.booking.booking_service.exception.SlotJournalException;
+import com.booking.booking_service.exception.SlotUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slot Engine
+ * Holds every provider's calendar in memory and books slots under a per-provider lock
+ * (the calendar's monitor) instead of database row locks. A change is applied in memory
+ * first, which decides the winner among concurrent requests, and then appended to the slot
+ * journal; the caller only gets an answer once the record is durable, and the in-memory
+ * change is undone if the journal cannot take it.
+ *
+ * The lock is there for the journal, not for the calendar word, which is still a single
+ * compare-and-set and can be read without it. A bare CAS decides who wins but not the
+ * order in which the winners reach the journal queue: a release could be queued ahead of
+ * the reservation it freed, and a crash between their fsyncs would replay the slots as
+ * booked. Holding the lock from the change to the enqueue makes a provider's journal order
+ * its change order, so a crash only ever loses a suffix. It covers in-memory work only,
+ * never the fsync, and different providers never share it.
+ *
+ * On startup the journal is replayed to rebuild the calendars and their owners, then
+ * rewritten as one record per booked run of an owner's slots.
+ */
+@Component
+@Slf4j
+public class SlotEngine {
+
+    private final Map<Long, ProviderCalendar> calendars = new ConcurrentHashMap<>();
+    private final SlotJournal journal;
+    private final Clock clock;
+    private final int horizonDays;
+
+    private final Counter reservedCounter;
+    private final Counter conflictCounter;
+    private final Counter releasedCounter;
+    private final Timer commitTimer;
+
+    @Autowired
+    public SlotEngine(MeterRegistry meterRegistry,
+                      @Value("${booking.slots.horizon-days:60}") int horizonDays,
+                      @Value("${booking.slots.journal.path:./data/slots.journal}") Path journalPath,
+                      @Value("${booking.slots.journal.max-batch-size:512}") int maxBatchSize) {
+        this(meterRegistry, Clock.systemDefaultZone(), horizonDays, new SlotJournal(journalPath, maxBatchSize));
+    }
+
+    SlotEngine(MeterRegistry meterRegistry, Clock clock, int horizonDays, SlotJournal journal) {
+        this.clock = clock;
+        this.horizonDays = horizonDays;
+        this.journal = journal;
+
+        this.reservedCounter = Counter.builder("booking.slots.requests").tag("result", "reserved")
+                .register(meterRegistry);
+        this.conflictCounter = Counter.builder("booking.slots.requests").tag("result", "conflict")
+                .register(meterRegistry);
+        this.releasedCounter = Counter.builder("booking.slots.requests").tag("result", "released")
+                .register(meterRegistry);
+        this.commitTimer = Timer.builder("booking.slots.journal.commit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("booking.slots.providers", calendars, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Rebuild the calendars from the journal, compact it and start accepting changes
+     */
+    @PostConstruct
+    public void recover() {
+        long today = LocalDate.now(clock).toEpochDay();
+        try {
+            journal.replay(record -> {
+                if (inHorizon(record.epochDay(), today)) {
+                    ProviderCalendar calendar = calendar(record.providerId());
+                    synchronized (calendar) {
+                        calendar.toggle(record.epochDay(), record.mask());
+                        if (record.type() == SlotJournalRecord.Type.RESERVE) {
+                            calendar.setOwner(record.epochDay(), record.mask(), record.userId());
+                        }
+                    }
+                }
+            });
+            journal.rewrite(snapshot(today));
+            journal.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover slot journal", e);
+        }
+        log.info("Slot calendars recovered for {} providers", calendars.size());
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        journal.close();
+    }
+
+    /**
+     * Book {@code count} consecutive slots for {@code userId}; all of them or none
+     */
+    public void reserve(long providerId, LocalDate date, int startSlot, int count, long userId) {
+        long epochDay = checkDay(date);
+        long mask = checkMask(startSlot, count);
+        ProviderCalendar calendar = calendar(providerId);
+
+        long start = System.nanoTime();
+        CompletableFuture<Void> durable;
+        long[] previousOwners;
+        synchronized (calendar) {
+            if (!calendar.reserve(epochDay, mask)) {
+                conflictCounter.increment();
+                throw new SlotUnavailableException("Requested slots are no longer available");
+            }
+            previousOwners = owners(calendar, epochDay, mask);
+            calendar.setOwner(epochDay, mask, userId);
+            durable = journal.append(new SlotJournalRecord(SlotJournalRecord.Type.RESERVE, providerId, epochDay,
+                    mask, userId));
+        }
+        try {
+            await(durable, start);
+        } catch (SlotJournalException e) {
+            synchronized (calendar) {
+                undo(calendar, epochDay, mask);
+                // A release of these slots that failed alongside this one leaves them booked by their old owner
+                restoreOwners(calendar, epochDay, mask, previousOwners);
+            }
+            throw e;
+        }
+        reservedCounter.increment();
+    }
+
+    /**
+     * Free {@code count} consecutive slots; fails unless all of them are booked and, unless
+     * {@code anyOwner} is set, were booked by {@code userId}
+     */
+    public void release(long providerId, LocalDate date, int startSlot, int count, long userId, boolean anyOwner) {
+        long epochDay = checkDay(date);
+        long mask = checkMask(startSlot, count);
+        ProviderCalendar calendar = calendars.get(providerId);
+        if (calendar == null) {
+            throw new SlotUnavailableException("Requested slots are not booked");
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<Void> durable;
+        synchronized (calendar) {
+            if ((calendar.booked(epochDay) & mask) != mask) {
+                throw new SlotUnavailableException("Requested slots are not booked");
+            }
+            if (!anyOwner && !calendar.ownedBy(epochDay, mask, userId)) {
+                throw new SlotAccessDeniedException("You can only release your own reservations");
+            }
+            calendar.release(epochDay, mask);
+            durable = journal.append(new SlotJournalRecord(SlotJournalRecord.Type.RELEASE, providerId, epochDay,
+                    mask, userId));
+        }
+        try {
+            await(durable, start);
+        } catch (SlotJournalException e) {
+            synchronized (calendar) {
+                // Owners are kept on release, so the slots go back to whoever held them
+                undo(calendar, epochDay, mask);
+            }
+            throw e;
+        }
+        releasedCounter.increment();
+    }
+
+    /**
+     * Booked slots of a provider's day (bit n = slot n)
+     */
+    public long booked(long providerId, LocalDate date) {
+        long epochDay = checkDay(date);
+        ProviderCalendar calendar = calendars.get(providerId);
+        return calendar == null ? 0L : calendar.booked(epochDay);
+    }
+
+    private void await(CompletableFuture<Void> durable, long start) {
+        try {
+            durable.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SlotJournalException journalException) {
+                throw journalException;
+            }
+            throw new SlotJournalException("Slot journal write failed", e.getCause());
+        } finally {
+            commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Flip back the slots of a change the journal refused. Once the journal fails, every
+     * change queued behind it fails too and their undos run in no particular order; a toggle
+     * commutes with the others, where a conditional reserve or release could lose to one.
+     */
+    private static void undo(ProviderCalendar calendar, long epochDay, long mask) {
+        calendar.toggle(epochDay, mask);
+    }
+
+    private static long[] owners(ProviderCalendar calendar, long epochDay, long mask) {
+        long[] owners = new long[Long.bitCount(mask)];
+        int i = 0;
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            owners[i++] = calendar.owner(epochDay, Long.numberOfTrailingZeros(bits));
+        }
+        return owners;
+    }
+
+    private static void restoreOwners(ProviderCalendar calendar, long epochDay, long mask, long[] owners) {
+        int i = 0;
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            calendar.setOwner(epochDay, Long.lowestOneBit(bits), owners[i++]);
+        }
+    }
+
+    private ProviderCalendar calendar(long providerId) {
+        return calendars.computeIfAbsent(providerId, id -> new ProviderCalendar(horizonDays));
+    }
+
+    private long checkDay(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        if (!inHorizon(epochDay, LocalDate.now(clock).toEpochDay())) {
+            throw new InvalidSlotRequestException("Date must be within the next " + horizonDays + " days");
+        }
+        return epochDay;
+    }
+
+    private static long checkMask(int startSlot, int count) {
+        try {
+            return ProviderCalendar.mask(startSlot, count);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSlotRequestException("Slots must fall within a single day");
+        }
+    }
+
+    private boolean inHorizon(long epochDay, long today) {
+        return epochDay >= today && epochDay < today + horizonDays;
+    }
+
+    private List<SlotJournalRecord> snapshot(long today) {
+        List<SlotJournalRecord> records = new ArrayList<>();
+        calendars.forEach((providerId, calendar) -> {
+            synchronized (calendar) {
+                for (long day = today; day < today + horizonDays; day++) {
+                    // One record per owner, each covering all of that owner's slots on the day
+                    long remaining = calendar.booked(day);
+                    while (remaining != 0) {
+                        long owner = calendar.owner(day, Long.numberOfTrailingZeros(remaining));
+                        long mask = 0;
+                        for (long bits = remaining; bits != 0; bits &= bits - 1) {
+                            int slot = Long.numberOfTrailingZeros(bits);
+                            if (calendar.owner(day, slot) == owner) {
+                                mask |= 1L << slot;
+                            }
+                        }
+                        records.add(new SlotJournalRecord(SlotJournalRecord.Type.RESERVE, providerId, day, mask, owner));
+                        remaining &= ~mask;
+                    }
+                }
+            }
+        });
+        return records;
+    }
+}
@@ -0,0 +1,212 @@
+package com.booking.booking_service.slots;
+
+import com.booking.booking_service.exception.SlotJournalException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Slot Journal
+ * Append-only write-ahead log of calendar changes with group commit: callers enqueue a
+ * record and wait on a future, and a single writer thread drains everything queued while
+ * the previous fsync was running into one write + one fsync. Throughput therefore grows
+ * with contention instead of being capped at one fsync per reservation.
+ *
+ * Records are written in the order they were queued and are fixed-size with a CRC32C,
+ * so a torn tail after a crash is detected on replay and truncated: what survives a crash
+ * is always a prefix of the queue, never a later record without an earlier one. After any
+ * I/O error the journal stops accepting writes: later records must not land behind a gap
+ * that replay would stop at.
+ */
+@Slf4j
+public class SlotJournal implements AutoCloseable {
+
+    static final int RECORD_SIZE = 40;
+
+    private static final PendingWrite SHUTDOWN = new PendingWrite(null, null);
+
+    private final Path path;
+    private final int maxBatchSize;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+
+    private FileChannel channel;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile IOException failure;
+
+    public SlotJournal(Path path, int maxBatchSize) {
+        this.path = path;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Read every intact record in order and cut off a torn or corrupt tail.
+     * Must be called before {@link #start()}.
+     */
+    public void replay(Consumer<SlotJournalRecord> consumer) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 1024);
+            long valid = 0;
+            long records = 0;
+            boolean corrupt = false;
+            while (!corrupt && in.read(buffer) > 0) {
+                buffer.flip();
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    SlotJournalRecord record = SlotJournalRecord.decode(buffer);
+                    if (record == null) {
+                        corrupt = true;
+                        break;
+                    }
+                    consumer.accept(record);
+                    valid += RECORD_SIZE;
+                    records++;
+                }
+                buffer.compact();
+            }
+            if (valid < in.size()) {
+                log.warn("Slot journal {} has {} bytes after the last intact record, truncating",
+                        path, in.size() - valid);
+                in.truncate(valid);
+                in.force(true);
+            }
+            log.info("Replayed {} slot journal records from {}", records, path);
+        }
+    }
+
+    /**
+     * Replace the journal with the given records (e.g. a snapshot of the live calendars),
+     * written to a temporary file and moved into place atomically.
+     * Must be called before {@link #start()}.
+     */
+    public void rewrite(Iterable<SlotJournalRecord> records) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = parent.resolve(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 1024);
+            for (SlotJournalRecord record : records) {
+                if (buffer.remaining() < RECORD_SIZE) {
+                    writeFully(out, buffer.flip());
+                    buffer.clear();
+                }
+                record.encode(buffer);
+            }
+            writeFully(out, buffer.flip());
+            out.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public synchronized void start() throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        running = true;
+        writer = Thread.ofPlatform().name("slot-journal-writer").daemon().start(this::writeLoop);
+    }
+
+    /**
+     * Queue a record; the future completes once it is on disk
+     */
+    public CompletableFuture<Void> append(SlotJournalRecord record) {
+        PendingWrite write = new PendingWrite(record, new CompletableFuture<>());
+        if (!running || failure != null) {
+            write.future().completeExceptionally(new SlotJournalException("Slot journal is not accepting writes", failure));
+            return write.future();
+        }
+        queue.add(write);
+        return write.future();
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * maxBatchSize);
+        boolean stop = false;
+        while (!stop) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                // Not interruptible on purpose: an interrupt would close the FileChannel mid-write
+                continue;
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+            stop = batch.remove(SHUTDOWN);
+
+            if (failure == null && !batch.isEmpty()) {
+                buffer.clear();
+                for (PendingWrite write : batch) {
+                    write.record().encode(buffer);
+                }
+                try {
+                    writeFully(channel, buffer.flip());
+                    channel.force(false);
+                } catch (IOException e) {
+                    log.error("Slot journal write failed, rejecting further changes", e);
+                    failure = e;
+                }
+            }
+
+            for (PendingWrite write : batch) {
+                if (failure == null) {
+                    write.future().complete(null);
+                } else {
+                    write.future().completeExceptionally(new SlotJournalException("Slot journal write failed", failure));
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        queue.add(SHUTDOWN);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        // Anything that raced with shutdown is failed rather than left hanging
+        PendingWrite write;
+        while ((write = queue.poll()) != null) {
+            write.future().completeExceptionally(new SlotJournalException("Slot journal is closed"));
+        }
+        channel.close();
+    }
+
+    private record PendingWrite(SlotJournalRecord record, CompletableFuture<Void> future) {
+    }
+
+    static int crc(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,51 @@
+package com.booking.booking_service.slots;
+
+import java.nio.ByteBuffer;
+
+/**
+ * One calendar change in the slot journal: the slots in {@code mask} of a provider's day
+ * were booked (RESERVE) or freed (RELEASE) by {@code userId}.
+ *
+ * On-disk layout (40 bytes, big-endian): crc32c of bytes 4-39, type, 3 bytes padding,
+ * provider id, epoch day, 4 bytes padding, slot mask, user id.
+ */
+public record SlotJournalRecord(Type type, long providerId, long epochDay, long mask, long userId) {
+
+    public enum Type {
+        RESERVE, RELEASE
+    }
+
+    void encode(ByteBuffer buffer) {
+        int start = buffer.position();
+        buffer.putInt(0)
+                .put((byte) type.ordinal())
+                .put((byte) 0).put((byte) 0).put((byte) 0)
+                .putLong(providerId)
+                .putInt((int) epochDay)
+                .putInt(0)
+                .putLong(mask)
+                .putLong(userId);
+        buffer.putInt(start, SlotJournal.crc(buffer, start + 4, SlotJournal.RECORD_SIZE - 4));
+    }
+
+    /**
+     * Decode the record at the buffer's position, or return null (position unchanged) when
+     * its checksum or contents are invalid
+     */
+    static SlotJournalRecord decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        int crc = buffer.getInt(start);
+        if (crc != SlotJournal.crc(buffer, start + 4, SlotJournal.RECORD_SIZE - 4)) {
+            return null;
+        }
+        int type = buffer.get(start + 4);
+        long mask = buffer.getLong(start + 24);
+        if (type < 0 || type >= Type.values().length || (mask & ~ProviderCalendar.SLOT_BITS) != 0) {
+            return null;
+        }
+        SlotJournalRecord record = new SlotJournalRecord(Type.values()[type],
+                buffer.getLong(start + 8), buffer.getInt(start + 16), mask, buffer.getLong(start + 32));
+        buffer.position(start + SlotJournal.RECORD_SIZE);
+        return record;
+    }
+}
@@ -3,7 +3,7 @@ package com.booking.booking_service;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "booking.slots.journal.path=target/test-data/slots.journal")
 class BookingServiceApplicationTests {
 
 	@Test
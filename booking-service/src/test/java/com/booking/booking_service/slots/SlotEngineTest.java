@@ -0,0 +1,356 @@
+package com.booking.booking_service.slots;
+
+import com.booking.booking_service.exception.SlotAccessDeniedException;
+import com.booking.booking_service.exception.SlotJournalException;
+import com.booking.booking_service.exception.SlotUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SlotEngineTest {
+
+	private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+	private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-18T09:00:00Z"), ZoneOffset.UTC);
+	private static final long CUSTOMER = 1001L;
+	private static final long OTHER_CUSTOMER = 1002L;
+
+	@TempDir
+	Path dir;
+
+	private final List<SlotEngine> engines = new ArrayList<>();
+
+	@AfterEach
+	void tearDown() throws IOException {
+		for (SlotEngine engine : engines) {
+			engine.shutdown();
+		}
+	}
+
+	@Test
+	void onlyOneOfManyConcurrentReservationsForTheSameSlotWins() throws Exception {
+		SlotEngine engine = engine();
+		int threads = 64;
+		AtomicInteger winners = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					try {
+						engine.reserve(1L, TODAY, 20, 2, CUSTOMER);
+						winners.incrementAndGet();
+					} catch (SlotUnavailableException e) {
+						// lost the race
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(1, winners.get());
+		assertEquals(ProviderCalendar.mask(20, 2), engine.booked(1L, TODAY));
+	}
+
+	@Test
+	void overlappingReservationsNeverDoubleBookASlot() throws Exception {
+		SlotEngine engine = engine();
+		int threads = 16;
+		// Per slot, how many successful reservations currently claim it
+		AtomicLongArray holders = new AtomicLongArray(ProviderCalendar.SLOTS_PER_DAY);
+		AtomicInteger doubleBooked = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				futures.add(executor.submit(() -> {
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					for (int i = 0; i < 2_000; i++) {
+						int count = 1 + random.nextInt(4);
+						int startSlot = random.nextInt(ProviderCalendar.SLOTS_PER_DAY - count + 1);
+						try {
+							engine.reserve(7L, TODAY, startSlot, count, CUSTOMER);
+						} catch (SlotUnavailableException e) {
+							continue;
+						}
+						for (int s = startSlot; s < startSlot + count; s++) {
+							if (holders.incrementAndGet(s) != 1) {
+								doubleBooked.incrementAndGet();
+							}
+						}
+						for (int s = startSlot; s < startSlot + count; s++) {
+							holders.decrementAndGet(s);
+						}
+						engine.release(7L, TODAY, startSlot, count, CUSTOMER, false);
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(0, doubleBooked.get());
+		assertEquals(0L, engine.booked(7L, TODAY));
+	}
+
+	@Test
+	void calendarsAreRecoveredFromTheJournal() throws IOException {
+		SlotEngine engine = engine();
+		engine.reserve(1L, TODAY, 0, 4, CUSTOMER);
+		engine.reserve(1L, TODAY.plusDays(1), 10, 1, CUSTOMER);
+		engine.reserve(2L, TODAY, 0, 4, CUSTOMER);
+		engine.release(2L, TODAY, 0, 2, CUSTOMER, false);
+		engine.shutdown();
+		engines.remove(engine);
+
+		SlotEngine recovered = engine();
+
+		assertEquals(ProviderCalendar.mask(0, 4), recovered.booked(1L, TODAY));
+		assertEquals(ProviderCalendar.mask(10, 1), recovered.booked(1L, TODAY.plusDays(1)));
+		assertEquals(ProviderCalendar.mask(2, 2), recovered.booked(2L, TODAY));
+		assertThrows(SlotUnavailableException.class, () -> recovered.reserve(1L, TODAY, 3, 1, CUSTOMER));
+	}
+
+	@Test
+	void tornTailIsTruncatedOnRecovery() throws IOException {
+		SlotEngine engine = engine();
+		engine.reserve(1L, TODAY, 0, 1, CUSTOMER);
+		engine.shutdown();
+		engines.remove(engine);
+
+		// A crash in the middle of the next record
+		try (FileChannel channel = FileChannel.open(journalPath(), StandardOpenOption.APPEND)) {
+			channel.write(ByteBuffer.wrap(new byte[SlotJournal.RECORD_SIZE / 2]));
+		}
+
+		SlotEngine recovered = engine();
+		recovered.reserve(1L, TODAY, 1, 1, CUSTOMER);
+
+		assertEquals(ProviderCalendar.mask(0, 2), recovered.booked(1L, TODAY));
+		assertEquals(0, Files.size(journalPath()) % SlotJournal.RECORD_SIZE);
+	}
+
+	@Test
+	void onlyTheOwnerCanReleaseUnlessOverridden() {
+		SlotEngine engine = engine();
+		engine.reserve(1L, TODAY, 10, 2, CUSTOMER);
+
+		assertThrows(SlotAccessDeniedException.class, () -> engine.release(1L, TODAY, 10, 2, OTHER_CUSTOMER, false));
+		assertThrows(SlotAccessDeniedException.class, () -> engine.release(1L, TODAY, 10, 1, OTHER_CUSTOMER, false));
+		assertEquals(ProviderCalendar.mask(10, 2), engine.booked(1L, TODAY));
+
+		engine.release(1L, TODAY, 11, 1, CUSTOMER, false);
+		engine.release(1L, TODAY, 10, 1, OTHER_CUSTOMER, true);
+		assertEquals(0L, engine.booked(1L, TODAY));
+	}
+
+	@Test
+	void ownersAreRecoveredFromTheCompactedJournal() throws IOException {
+		SlotEngine engine = engine();
+		engine.reserve(1L, TODAY, 0, 2, CUSTOMER);
+		engine.reserve(1L, TODAY, 2, 2, OTHER_CUSTOMER);
+		engine.reserve(1L, TODAY, 4, 1, CUSTOMER);
+		engine.shutdown();
+		engines.remove(engine);
+		// The first restart compacts the journal into per-owner records, the second replays those
+		SlotEngine compacted = engine();
+		compacted.shutdown();
+		engines.remove(compacted);
+
+		SlotEngine recovered = engine();
+
+		assertThrows(SlotAccessDeniedException.class, () -> recovered.release(1L, TODAY, 1, 2, CUSTOMER, false));
+		recovered.release(1L, TODAY, 2, 2, OTHER_CUSTOMER, false);
+		recovered.release(1L, TODAY, 0, 2, CUSTOMER, false);
+		recovered.release(1L, TODAY, 4, 1, CUSTOMER, false);
+		assertEquals(0L, recovered.booked(1L, TODAY));
+	}
+
+	@Test
+	void changesTheJournalRefusesAreUndoneWithTheirOwnersInAnyOrder() throws Exception {
+		for (boolean reservationFailsFirst : new boolean[]{true, false}) {
+			StalledJournal journal = new StalledJournal(dir.resolve("stalled-" + reservationFailsFirst + ".journal"));
+			SlotEngine engine = new SlotEngine(new SimpleMeterRegistry(), CLOCK, 60, journal);
+			engine.recover();
+			engines.add(engine);
+			engine.reserve(1L, TODAY, 10, 2, CUSTOMER);
+
+			// The customer frees the slots and another books them; the journal then fails both
+			journal.stalled = true;
+			ExecutorService executor = Executors.newFixedThreadPool(2);
+			try {
+				Future<?> release = executor.submit(() -> engine.release(1L, TODAY, 10, 2, CUSTOMER, false));
+				journal.awaitPending(1);
+				Future<?> reserve = executor.submit(() -> engine.reserve(1L, TODAY, 10, 2, OTHER_CUSTOMER));
+				journal.awaitPending(2);
+
+				List<Future<?>> inFailureOrder = reservationFailsFirst ? List.of(reserve, release) : List.of(release, reserve);
+				for (Future<?> change : inFailureOrder) {
+					journal.fail(change == reserve ? 1 : 0);
+					ExecutionException failure = assertThrows(ExecutionException.class, () -> change.get(5, TimeUnit.SECONDS));
+					assertInstanceOf(SlotJournalException.class, failure.getCause());
+				}
+			} finally {
+				executor.shutdown();
+			}
+			journal.stalled = false;
+
+			assertEquals(ProviderCalendar.mask(10, 2), engine.booked(1L, TODAY));
+			assertThrows(SlotAccessDeniedException.class, () -> engine.release(1L, TODAY, 10, 2, OTHER_CUSTOMER, false));
+			engine.release(1L, TODAY, 10, 2, CUSTOMER, false);
+			assertEquals(0L, engine.booked(1L, TODAY));
+		}
+	}
+
+	/**
+	 * Committed reservations per second against a real fsync'ing journal, all on one hot
+	 * provider (every request contends for the same few day words) and spread over 100k
+	 * providers. Run with -Dbenchmarks=true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+	void reservationThroughputOnAHotProviderAndAcross100kProviders() throws Exception {
+		System.out.printf("%-16s %8s %16s %12s%n", "providers", "threads", "reservations/s", "conflicts/s");
+		for (int threads : new int[]{16, 64, 256}) {
+			report("1 (hot)", threads, reservationThroughput(1, threads));
+			report("100,000", threads, reservationThroughput(100_000, threads));
+		}
+	}
+
+	private long[] reservationThroughput(int providers, int threads) throws Exception {
+		SlotEngine engine = engine();
+		int days = 14;
+		long durationNanos = TimeUnit.SECONDS.toNanos(5);
+		long end = System.nanoTime() + durationNanos;
+		long reserved = 0;
+		long conflicts = 0;
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<long[]>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				long userId = 10_000 + t;
+				results.add(executor.submit(() -> {
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					long ok = 0;
+					long lost = 0;
+					while (System.nanoTime() < end) {
+						long providerId = 1 + random.nextInt(providers);
+						LocalDate date = TODAY.plusDays(random.nextInt(days));
+						int slot = random.nextInt(ProviderCalendar.SLOTS_PER_DAY);
+						try {
+							engine.reserve(providerId, date, slot, 1, userId);
+						} catch (SlotUnavailableException e) {
+							lost++;
+							continue;
+						}
+						ok++;
+						// Keep the hot provider's calendar from filling up
+						if (providers == 1) {
+							engine.release(providerId, date, slot, 1, userId, false);
+						}
+					}
+					return new long[]{ok, lost};
+				}));
+			}
+			for (Future<long[]> result : results) {
+				long[] counts = result.get();
+				reserved += counts[0];
+				conflicts += counts[1];
+			}
+		} finally {
+			engine.shutdown();
+			engines.remove(engine);
+			Files.deleteIfExists(journalPath());
+		}
+		long second = TimeUnit.SECONDS.toNanos(1);
+		return new long[]{reserved * second / durationNanos, conflicts * second / durationNanos};
+	}
+
+	private static void report(String providers, int threads, long[] result) {
+		System.out.printf("%-16s %8d %16d %12d%n", providers, threads, result[0], result[1]);
+	}
+
+	/**
+	 * Holds appends while stalled so the test decides when, and in which order, they fail
+	 */
+	private static final class StalledJournal extends SlotJournal {
+
+		private final List<CompletableFuture<Void>> pending = new CopyOnWriteArrayList<>();
+		private volatile boolean stalled;
+
+		StalledJournal(Path path) {
+			super(path, 512);
+		}
+
+		@Override
+		public CompletableFuture<Void> append(SlotJournalRecord record) {
+			if (!stalled) {
+				return super.append(record);
+			}
+			CompletableFuture<Void> future = new CompletableFuture<>();
+			pending.add(future);
+			return future;
+		}
+
+		void awaitPending(int count) throws InterruptedException {
+			while (pending.size() < count) {
+				Thread.sleep(1);
+			}
+		}
+
+		void fail(int index) {
+			pending.get(index).completeExceptionally(new SlotJournalException("Slot journal write failed"));
+		}
+	}
+
+	private SlotEngine engine() {
+		SlotEngine engine = new SlotEngine(new SimpleMeterRegistry(), CLOCK, 60, new SlotJournal(journalPath(), 512));
+		engine.recover();
+		engines.add(engine);
+		return engine;
+	}
+
+	private Path journalPath() {
+		return dir.resolve("slots.journal");
+	}
+}
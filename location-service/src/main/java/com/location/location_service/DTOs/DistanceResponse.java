@@ -0,0 +1,20 @@
+package com.location.location_service.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the Great-Circle Distance Between Two Points
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistanceResponse {
+
+    private Double fromLatitude;
+    private Double fromLongitude;
+    private Double toLatitude;
+    private Double toLongitude;
+    private Double distanceKm;
+}
@@ -0,0 +1,20 @@
+package com.location.location_service.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a Provider Found Near a Point
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyProviderResponse {
+
+    private Long providerId;
+    private Double latitude;
+    private Double longitude;
+    private String specialization;
+    private Double distanceKm;
+}
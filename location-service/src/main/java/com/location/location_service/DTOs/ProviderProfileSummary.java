@@ -0,0 +1,17 @@
+package com.location.location_service.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the Parts of a user-service Provider Profile the Location Index Uses
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderProfileSummary {
+
+    private Long userId;
+    private String specialization;
+}
@@ -0,0 +1,112 @@
+package com.location.location_service.controllers;
+
+import com.location.location_service.DTOs.ApiResponse;
+import com.location.location_service.DTOs.DistanceResponse;
+import com.location.location_service.DTOs.NearbyProviderResponse;
+import com.location.location_service.DTOs.ProviderLocationRequest;
+import com.location.location_service.exception.AccessDeniedException;
+import com.location.location_service.services.LocationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Location Controller
+ * Handles provider location updates and proximity search
+ */
+@RestController
+@RequestMapping("/api/locations")
+@RequiredArgsConstructor
+@Slf4j
+public class LocationController {
+
+    private static final String PROVIDER_ROLE = "PROVIDER";
+
+    private final LocationService locationService;
+
+    /**
+     * Providers near a point, nearest first
+     * GET /api/locations/nearby?latitude=18.52&longitude=73.85&radiusKm=5&limit=20&specialization=plumber
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<ApiResponse<List<NearbyProviderResponse>>> findNearby(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String specialization) {
+
+        List<NearbyProviderResponse> providers =
+                locationService.findNearby(latitude, longitude, radiusKm, limit, specialization);
+
+        return ResponseEntity
+                .ok(ApiResponse.success("Nearby providers retrieved successfully", providers));
+    }
+
+    /**
+     * Distance between two points
+     * GET /api/locations/distance?fromLatitude=..&fromLongitude=..&toLatitude=..&toLongitude=..
+     */
+    @GetMapping("/distance")
+    public ResponseEntity<ApiResponse<DistanceResponse>> distance(
+            @RequestParam double fromLatitude,
+            @RequestParam double fromLongitude,
+            @RequestParam double toLatitude,
+            @RequestParam double toLongitude) {
+
+        DistanceResponse distance = locationService.distance(fromLatitude, fromLongitude, toLatitude, toLongitude);
+
+        return ResponseEntity
+                .ok(ApiResponse.success("Distance calculated successfully", distance));
+    }
+
+    /**
+     * Report the calling provider's current location
+     * PUT /api/locations/providers/me
+     */
+    @PutMapping("/providers/me")
+    public ResponseEntity<ApiResponse<Void>> updateMyLocation(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestHeader("X-User-Role") String role,
+            @Valid @RequestBody ProviderLocationRequest request) {
+
+        requireProvider(role);
+        locationService.updateProviderLocation(userId, request);
+
+        return ResponseEntity
+                .ok(ApiResponse.success("Location updated successfully", null));
+    }
+
+    /**
+     * Stop appearing in nearby searches
+     * DELETE /api/locations/providers/me
+     */
+    @DeleteMapping("/providers/me")
+    public ResponseEntity<ApiResponse<Void>> removeMyLocation(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestHeader("X-User-Role") String role) {
+
+        requireProvider(role);
+        locationService.removeProviderLocation(userId);
+
+        return ResponseEntity
+                .ok(ApiResponse.success("Location removed successfully", null));
+    }
+
+    private static void requireProvider(String role) {
+        if (!PROVIDER_ROLE.equals(role)) {
+            throw new AccessDeniedException("Only providers can share their location");
+        }
+    }
+}
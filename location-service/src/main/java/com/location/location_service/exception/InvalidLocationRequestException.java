@@ -0,0 +1,8 @@
+package com.location.location_service.exception;
+
+public class InvalidLocationRequestException extends RuntimeException{
+
+    public InvalidLocationRequestException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.location.location_service.exception;
+
+public class ProfileUnavailableException extends RuntimeException{
+
+    public ProfileUnavailableException(String message){
+        super(message);
+    }
+}
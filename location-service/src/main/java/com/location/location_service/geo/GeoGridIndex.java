@@ -0,0 +1,337 @@
+package com.location.location_service.geo;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Geo Grid Index
+ * In-memory spatial index of provider locations on a fixed latitude/longitude grid.
+ * Each cell holds an immutable array of entries that is replaced with a CAS, so a
+ * location update only touches the provider's old and new cells and queries never lock.
+ *
+ * The current entry per provider lives in a separate map; an update publishes the entry
+ * in its new cell before removing it from the old one, and queries skip any entry that is
+ * no longer the provider's current one, so a moving provider is never returned twice.
+ *
+ * Radius queries scan the cells overlapping the circle's bounding box. Nearest-k queries
+ * scan rings of cells outward from the query point and stop once the k-th best distance
+ * is closer than anything outside the scanned block can be.
+ */
+@Component
+public class GeoGridIndex {
+
+    private static final ProviderLocation[] EMPTY = new ProviderLocation[0];
+    private static final Comparator<Match> BY_DISTANCE = Comparator.comparingDouble(Match::term);
+    // Keeps the ring stopping rule conservative where parallels and great circles diverge
+    private static final double BOUND_SLACK = 0.99;
+
+    private final double cellSize;
+    private final int latCells;
+    private final int lonCells;
+
+    private final Map<Long, ProviderLocation> locations = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicReference<ProviderLocation[]>> cells = new ConcurrentHashMap<>();
+
+    public GeoGridIndex(@Value("${location.index.cell-size-degrees:0.02}") double cellSize) {
+        this.cellSize = cellSize;
+        this.latCells = (int) Math.ceil(180 / cellSize);
+        this.lonCells = (int) Math.ceil(360 / cellSize);
+    }
+
+    /**
+     * A provider and its distance from the query point
+     */
+    public record Match(ProviderLocation location, double term) {
+
+        public double distanceKm() {
+            return Haversine.toKm(term);
+        }
+    }
+
+    /**
+     * Insert or move a provider
+     */
+    public void upsert(long providerId, double latitude, double longitude, String specialization) {
+        ProviderLocation next = ProviderLocation.of(providerId, latitude, longitude, normalize(specialization));
+        // compute() serialises updates of the same provider only
+        locations.compute(providerId, (id, previous) -> {
+            addToCell(next);
+            if (previous != null) {
+                removeFromCell(previous);
+            }
+            return next;
+        });
+    }
+
+    /**
+     * Add providers that are not in the index yet, one CAS per cell instead of one per
+     * provider. Providers already present keep their current (fresher) location.
+     *
+     * Entries go into their cells before they are published as current, like in an update,
+     * so an upsert or remove racing with the load always finds the entry it replaces in its
+     * cell. Entries that lose the race to publish are taken out again.
+     */
+    public int insertAbsent(Collection<ProviderLocation> batch) {
+        Map<Long, List<ProviderLocation>> byCell = new HashMap<>();
+        for (ProviderLocation location : batch) {
+            if (!locations.containsKey(location.providerId())) {
+                byCell.computeIfAbsent(cellKey(latIndex(location.latitude()), lonIndex(location.longitude())),
+                        key -> new ArrayList<>()).add(location);
+            }
+        }
+        byCell.forEach((key, added) -> {
+            AtomicReference<ProviderLocation[]> cell = cells.computeIfAbsent(key, k -> new AtomicReference<>(EMPTY));
+            while (true) {
+                ProviderLocation[] current = cell.get();
+                ProviderLocation[] next = Arrays.copyOf(current, current.length + added.size());
+                for (int i = 0; i < added.size(); i++) {
+                    next[current.length + i] = added.get(i);
+                }
+                if (cell.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        });
+        int inserted = 0;
+        for (List<ProviderLocation> added : byCell.values()) {
+            for (ProviderLocation location : added) {
+                if (locations.putIfAbsent(location.providerId(), location) == null) {
+                    inserted++;
+                } else {
+                    removeFromCell(location);
+                }
+            }
+        }
+        return inserted;
+    }
+
+    public void remove(long providerId) {
+        locations.computeIfPresent(providerId, (id, previous) -> {
+            removeFromCell(previous);
+            return null;
+        });
+    }
+
+    public ProviderLocation get(long providerId) {
+        return locations.get(providerId);
+    }
+
+    public int size() {
+        return locations.size();
+    }
+
+    public Collection<ProviderLocation> all() {
+        return locations.values();
+    }
+
+    /**
+     * Entries held in cells, current or not (equals {@link #size()} once updates settle)
+     */
+    int cellEntries() {
+        return cells.values().stream().mapToInt(cell -> cell.get().length).sum();
+    }
+
+    /**
+     * Providers within {@code radiusKm}, nearest first, at most {@code limit}
+     */
+    public List<Match> withinRadius(double latitude, double longitude, double radiusKm,
+                                    String specialization, int limit) {
+        String filter = normalize(specialization);
+        double latRad = Math.toRadians(latitude);
+        double cosLat = Math.cos(latRad);
+        double lonRad = Math.toRadians(longitude);
+        double maxTerm = Haversine.fromKm(radiusKm);
+
+        double dLat = radiusKm / Haversine.KM_PER_DEGREE;
+        int latFrom = latIndex(latitude - dLat);
+        int latTo = latIndex(latitude + dLat);
+        int lonFrom;
+        int lonTo;
+        double maxAbsLat = Math.max(Math.abs(latitude - dLat), Math.abs(latitude + dLat));
+        double dLon = maxAbsLat >= 90 ? 360 : dLat / Math.cos(Math.toRadians(maxAbsLat));
+        if (2 * dLon >= 360) {
+            lonFrom = 0;
+            lonTo = lonCells - 1;
+        } else {
+            lonFrom = (int) Math.floor((longitude - dLon + 180) / cellSize);
+            lonTo = (int) Math.floor((longitude + dLon + 180) / cellSize);
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (int i = latFrom; i <= latTo; i++) {
+            for (int j = lonFrom; j <= lonTo && j - lonFrom < lonCells; j++) {
+                for (ProviderLocation location : cell(i, Math.floorMod(j, lonCells))) {
+                    if (!isCurrent(location) || !matchesFilter(location, filter)) {
+                        continue;
+                    }
+                    double term = Haversine.term(latRad, cosLat, lonRad,
+                            location.latRad(), location.cosLat(), location.lonRad());
+                    if (term <= maxTerm) {
+                        matches.add(new Match(location, term));
+                    }
+                }
+            }
+        }
+        matches.sort(BY_DISTANCE);
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * The {@code k} providers closest to the point, no further than {@code maxRadiusKm}
+     */
+    public List<Match> nearest(double latitude, double longitude, int k, double maxRadiusKm, String specialization) {
+        String filter = normalize(specialization);
+        double latRad = Math.toRadians(latitude);
+        double cosLat = Math.cos(latRad);
+        double lonRad = Math.toRadians(longitude);
+        double maxTerm = Haversine.fromKm(maxRadiusKm);
+
+        double latN = latitude + 90;
+        double lonN = longitude + 180 >= 360 ? longitude - 180 : longitude + 180;
+        int ci = latIndex(latitude);
+        int cj = lonIndex(longitude);
+
+        // Max-heap on distance holding the best k so far
+        PriorityQueue<Match> best = new PriorityQueue<>(k + 1, BY_DISTANCE.reversed());
+        int maxRing = Math.max(latCells, lonCells / 2);
+        for (int r = 0; r <= maxRing; r++) {
+            for (int di = -r; di <= r; di++) {
+                int i = ci + di;
+                if (i < 0 || i >= latCells) {
+                    continue;
+                }
+                boolean edgeRow = Math.abs(di) == r;
+                for (int dj = -r; dj <= r; dj += edgeRow ? 1 : Math.max(1, 2 * r)) {
+                    for (ProviderLocation location : cell(i, Math.floorMod(cj + dj, lonCells))) {
+                        if (!isCurrent(location) || !matchesFilter(location, filter)) {
+                            continue;
+                        }
+                        double term = Haversine.term(latRad, cosLat, lonRad,
+                                location.latRad(), location.cosLat(), location.lonRad());
+                        if (term > maxTerm) {
+                            continue;
+                        }
+                        if (best.size() < k) {
+                            best.add(new Match(location, term));
+                        } else if (term < best.peek().term()) {
+                            best.poll();
+                            best.add(new Match(location, term));
+                        }
+                    }
+                }
+            }
+
+            double boundKm = outsideBlockKm(latN, lonN, ci, cj, r);
+            if (boundKm > maxRadiusKm || (best.size() == k && best.peek().distanceKm() <= boundKm)) {
+                break;
+            }
+        }
+
+        List<Match> result = new ArrayList<>(best);
+        result.sort(BY_DISTANCE);
+        return result;
+    }
+
+    /**
+     * Lower bound on the distance from the query point to anything outside the block of
+     * cells within {@code r} rings of its cell
+     */
+    private double outsideBlockKm(double latN, double lonN, int ci, int cj, int r) {
+        double latLow = (ci - r) * cellSize;
+        double latHigh = (ci + r + 1) * cellSize;
+        double dLat = Math.min(latLow <= 0 ? Double.POSITIVE_INFINITY : latN - latLow,
+                latHigh >= 180 ? Double.POSITIVE_INFINITY : latHigh - latN);
+        double dLon = 2 * r + 1 >= lonCells
+                ? Double.POSITIVE_INFINITY
+                : Math.min(lonN - (cj - r) * cellSize, (cj + r + 1) * cellSize - lonN);
+        double maxAbsLat = Math.min(90, Math.max(Math.abs(latLow - 90), Math.abs(latHigh - 90)));
+        double dLonKm = dLon * Haversine.KM_PER_DEGREE * Math.cos(Math.toRadians(maxAbsLat));
+        return Math.min(dLat * Haversine.KM_PER_DEGREE, dLonKm) * BOUND_SLACK;
+    }
+
+    private boolean isCurrent(ProviderLocation location) {
+        return locations.get(location.providerId()) == location;
+    }
+
+    private static boolean matchesFilter(ProviderLocation location, String filter) {
+        return filter == null || filter.equals(location.specialization());
+    }
+
+    private ProviderLocation[] cell(int latIndex, int lonIndex) {
+        AtomicReference<ProviderLocation[]> cell = cells.get(cellKey(latIndex, lonIndex));
+        return cell == null ? EMPTY : cell.get();
+    }
+
+    private void addToCell(ProviderLocation location) {
+        AtomicReference<ProviderLocation[]> cell = cells.computeIfAbsent(
+                cellKey(latIndex(location.latitude()), lonIndex(location.longitude())),
+                key -> new AtomicReference<>(EMPTY));
+        while (true) {
+            ProviderLocation[] current = cell.get();
+            ProviderLocation[] next = new ProviderLocation[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+            next[current.length] = location;
+            if (cell.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private void removeFromCell(ProviderLocation location) {
+        AtomicReference<ProviderLocation[]> cell = cells.get(
+                cellKey(latIndex(location.latitude()), lonIndex(location.longitude())));
+        if (cell == null) {
+            return;
+        }
+        while (true) {
+            ProviderLocation[] current = cell.get();
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == location) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            ProviderLocation[] next = current.length == 1 ? EMPTY : new ProviderLocation[current.length - 1];
+            System.arraycopy(current, 0, next, 0, index);
+            System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            if (cell.compareAndSet(current, next)) {
+                return;
+            }
+        }
+    }
+
+    private int latIndex(double latitude) {
+        return Math.min(latCells - 1, Math.max(0, (int) Math.floor((latitude + 90) / cellSize)));
+    }
+
+    private int lonIndex(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellSize), lonCells);
+    }
+
+    private static long cellKey(int latIndex, int lonIndex) {
+        return ((long) latIndex << 32) | (lonIndex & 0xFFFFFFFFL);
+    }
+
+    static String normalize(String specialization) {
+        if (specialization == null || specialization.isBlank()) {
+            return null;
+        }
+        return specialization.trim().toLowerCase(Locale.ROOT);
+    }
+}
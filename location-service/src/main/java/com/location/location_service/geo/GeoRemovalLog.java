@@ -0,0 +1,102 @@
+package com.location.location_service.geo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Geo Removal Log
+ * Ids of providers removed from the index since the last snapshot, one 8-byte record each,
+ * forced to disk before the removal is acknowledged. Replayed over the snapshot on startup;
+ * once a newer snapshot is written, the records it already reflects are dropped.
+ */
+final class GeoRemovalLog implements AutoCloseable {
+
+    private static final int RECORD_SIZE = Long.BYTES;
+
+    private final Path path;
+    private FileChannel channel;
+
+    GeoRemovalLog(Path path) throws IOException {
+        this.path = path;
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        open();
+    }
+
+    /**
+     * Every logged id, oldest first
+     */
+    synchronized List<Long> read() throws IOException {
+        ByteBuffer buffer = readFrom(0);
+        List<Long> providerIds = new ArrayList<>(buffer.remaining() / RECORD_SIZE);
+        while (buffer.remaining() >= RECORD_SIZE) {
+            providerIds.add(buffer.getLong());
+        }
+        return providerIds;
+    }
+
+    synchronized void append(long providerId) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE).putLong(providerId).flip();
+        long position = channel.size();
+        while (record.hasRemaining()) {
+            position += channel.write(record, position);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Position to pass to {@link #dropBefore} once everything logged so far is in a snapshot
+     */
+    synchronized long mark() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Drop the records before {@code mark}, keeping any appended since
+     */
+    synchronized void dropBefore(long mark) throws IOException {
+        ByteBuffer rest = readFrom(mark);
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (rest.hasRemaining()) {
+                out.write(rest);
+            }
+            out.force(true);
+        }
+        channel.close();
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        open();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        // A record torn by a crash was never acknowledged; cut it so later appends stay aligned
+        long size = channel.size();
+        if (size % RECORD_SIZE != 0) {
+            channel.truncate(size - size % RECORD_SIZE);
+        }
+    }
+
+    private ByteBuffer readFrom(long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (channel.size() - position));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        return buffer.flip();
+    }
+}
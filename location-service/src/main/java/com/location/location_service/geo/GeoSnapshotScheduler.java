@@ -0,0 +1,109 @@
+package com.location.location_service.geo;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Geo Snapshot Scheduler
+ * Loads the last snapshot into the index on startup and rewrites it periodically and on
+ * shutdown. Locations reported after the last write are lost on a crash; providers report
+ * again on their next update.
+ *
+ * Removals are not lost: each one is logged next to the snapshot (see GeoRemovalLog) before
+ * it is acknowledged and replayed over the snapshot on startup, so a provider who took their
+ * location down is never brought back by a restart.
+ */
+@Component
+@ConditionalOnProperty(name = "location.snapshot.enabled", havingValue = "true")
+@Slf4j
+public class GeoSnapshotScheduler {
+
+    private final GeoGridIndex index;
+    private final Path path;
+    private GeoRemovalLog removals;
+
+    public GeoSnapshotScheduler(GeoGridIndex index,
+                                @Value("${location.snapshot.path:./data/providers.snapshot}") Path path) {
+        this.index = index;
+        this.path = path;
+    }
+
+    @PostConstruct
+    public void load() {
+        try {
+            // Without it a removal could not be made durable, so this one is fatal
+            removals = new GeoRemovalLog(path.resolveSibling(path.getFileName() + ".removed"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open provider removal log next to " + path, e);
+        }
+
+        if (!Files.exists(path)) {
+            log.info("No provider location snapshot at {}, starting empty", path);
+        } else {
+            long start = System.nanoTime();
+            try {
+                int count = GeoSnapshot.load(path, index);
+                log.info("Loaded {} provider locations from {} in {} ms", count, path,
+                        (System.nanoTime() - start) / 1_000_000);
+            } catch (IOException e) {
+                // A bad snapshot only costs the warm start
+                log.warn("Could not load provider location snapshot {}: {}", path, e.getMessage());
+            }
+        }
+
+        try {
+            List<Long> removed = removals.read();
+            removed.forEach(index::remove);
+            log.info("Applied {} provider location removals made since the snapshot", removed.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read provider removal log next to " + path, e);
+        }
+    }
+
+    /**
+     * Make a removal durable; call after removing the provider from the index and before
+     * acknowledging it
+     */
+    public void recordRemoval(long providerId) {
+        try {
+            removals.append(providerId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not record removal of provider " + providerId, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${location.snapshot.interval:PT5M}",
+            initialDelayString = "${location.snapshot.interval:PT5M}")
+    public void save() {
+        try {
+            // Everything logged before the mark is already out of the index the snapshot reads
+            long mark = removals.mark();
+            int count = GeoSnapshot.write(path, index);
+            removals.dropBefore(mark);
+            log.debug("Wrote {} provider locations to {}", count, path);
+        } catch (IOException e) {
+            log.warn("Could not write provider location snapshot {}: {}", path, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        save();
+        try {
+            removals.close();
+        } catch (IOException e) {
+            log.warn("Could not close provider removal log: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.location.location_service.geo;
+
+/**
+ * Haversine
+ * Great-circle distance on a spherical earth. The index works on the haversine term
+ * {@code a = sin²(Δφ/2) + cos φ1 · cos φ2 · sin²(Δλ/2)}, which grows monotonically with
+ * distance: candidates are compared on {@code a} using each point's cached radians and
+ * cos φ, and asin/sqrt only run for the results that are returned.
+ */
+public final class Haversine {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final double KM_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_KM;
+
+    private Haversine() {
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double latRad1 = Math.toRadians(lat1);
+        double latRad2 = Math.toRadians(lat2);
+        return toKm(term(latRad1, Math.cos(latRad1), Math.toRadians(lon1),
+                latRad2, Math.cos(latRad2), Math.toRadians(lon2)));
+    }
+
+    /**
+     * Haversine term for two points given in radians with their latitude cosines
+     */
+    static double term(double latRad1, double cosLat1, double lonRad1,
+                       double latRad2, double cosLat2, double lonRad2) {
+        double sinHalfDLat = Math.sin((latRad2 - latRad1) * 0.5);
+        double sinHalfDLon = Math.sin((lonRad2 - lonRad1) * 0.5);
+        return sinHalfDLat * sinHalfDLat + cosLat1 * cosLat2 * sinHalfDLon * sinHalfDLon;
+    }
+
+    static double toKm(double term) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(Math.min(1.0, term)));
+    }
+
+    static double fromKm(double km) {
+        double sinHalf = Math.sin(Math.min(km / EARTH_RADIUS_KM, Math.PI) * 0.5);
+        return sinHalf * sinHalf;
+    }
+}
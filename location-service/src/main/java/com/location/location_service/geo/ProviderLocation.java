@@ -0,0 +1,20 @@
+package com.location.location_service.geo;
+
+/**
+ * Last reported position of a provider, with the values the distance check needs
+ * precomputed. Instances are immutable; an update replaces the whole entry.
+ */
+public record ProviderLocation(long providerId,
+                               double latitude,
+                               double longitude,
+                               String specialization,
+                               double latRad,
+                               double lonRad,
+                               double cosLat) {
+
+    static ProviderLocation of(long providerId, double latitude, double longitude, String specialization) {
+        double latRad = Math.toRadians(latitude);
+        return new ProviderLocation(providerId, latitude, longitude, specialization,
+                latRad, Math.toRadians(longitude), Math.cos(latRad));
+    }
+}
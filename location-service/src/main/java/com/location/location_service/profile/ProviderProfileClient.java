@@ -0,0 +1,53 @@
+package com.location.location_service.profile;
+
+import com.location.location_service.DTOs.ApiResponse;
+import com.location.location_service.DTOs.ProviderProfileSummary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Provider Profile Client
+ * Reads provider profiles from user-service, which owns the specialization a provider
+ * is listed under
+ */
+@Component
+public class ProviderProfileClient {
+
+    private static final ParameterizedTypeReference<ApiResponse<ProviderProfileSummary>> RESPONSE_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final RestTemplate restTemplate;
+    private final String url;
+    private final String token;
+
+    public ProviderProfileClient(RestTemplate loadBalancedRestTemplate,
+                                 @Value("${location.profile.url:http://user-service/internal/providers/{userId}}") String url,
+                                 @Value("${location.profile.token:}") String token) {
+        this.restTemplate = loadBalancedRestTemplate;
+        this.url = url;
+        this.token = token;
+    }
+
+    /**
+     * Specialization on the provider's profile (null if it has none)
+     *
+     * @throws org.springframework.web.client.HttpClientErrorException.NotFound if the user has no provider profile
+     * @throws org.springframework.web.client.RestClientException if user-service could not be asked
+     */
+    public String specialization(long providerId) {
+        HttpHeaders headers = new HttpHeaders();
+        if (!token.isEmpty()) {
+            headers.set("X-Internal-Token", token);
+        }
+        ApiResponse<ProviderProfileSummary> response = restTemplate
+                .exchange(url, HttpMethod.GET, new HttpEntity<>(headers), RESPONSE_TYPE, providerId)
+                .getBody();
+        return response == null || response.getData() == null ? null : response.getData().getSpecialization();
+    }
+}
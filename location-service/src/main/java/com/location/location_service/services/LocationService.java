@@ -0,0 +1,37 @@
+package com.location.location_service.services;
+
+
+import com.location.location_service.DTOs.DistanceResponse;
+import com.location.location_service.DTOs.NearbyProviderResponse;
+import com.location.location_service.DTOs.ProviderLocationRequest;
+
+import java.util.List;
+
+/**
+ * Location Service Interface
+ * Defines provider location tracking and proximity search operations
+ */
+public interface LocationService {
+
+    /**
+     * Record a provider's current location, listed under the specialization on its profile
+     */
+    void updateProviderLocation(Long providerId, ProviderLocationRequest request);
+
+    /**
+     * Stop listing a provider in nearby searches
+     */
+    void removeProviderLocation(Long providerId);
+
+    /**
+     * The {@code limit} nearest providers within {@code radiusKm}, nearest first.
+     * Without a limit, every provider within the radius (up to the configured maximum).
+     */
+    List<NearbyProviderResponse> findNearby(double latitude, double longitude, Double radiusKm,
+                                            Integer limit, String specialization);
+
+    /**
+     * Great-circle distance between two points
+     */
+    DistanceResponse distance(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude);
+}
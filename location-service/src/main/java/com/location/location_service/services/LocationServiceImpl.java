@@ -0,0 +1,137 @@
+package com.location.location_service.services;
+
+
+import com.location.location_service.DTOs.DistanceResponse;
+import com.location.location_service.DTOs.NearbyProviderResponse;
+import com.location.location_service.DTOs.ProviderLocationRequest;
+import com.location.location_service.exception.AccessDeniedException;
+import com.location.location_service.exception.InvalidLocationRequestException;
+import com.location.location_service.exception.ProfileUnavailableException;
+import com.location.location_service.geo.GeoGridIndex;
+import com.location.location_service.geo.GeoSnapshotScheduler;
+import com.location.location_service.geo.Haversine;
+import com.location.location_service.geo.ProviderLocation;
+import com.location.location_service.profile.ProviderProfileClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+
+import java.util.List;
+
+/**
+ * Location Service Implementation
+ * Serves proximity queries from the in-memory grid index
+ */
+@Service
+@Slf4j
+public class LocationServiceImpl implements LocationService {
+
+    private final GeoGridIndex index;
+    private final ProviderProfileClient profileClient;
+    private final ObjectProvider<GeoSnapshotScheduler> snapshots;
+    private final double maxRadiusKm;
+    private final int maxResults;
+
+    private final Timer nearestTimer;
+    private final Timer radiusTimer;
+
+    public LocationServiceImpl(GeoGridIndex index,
+                               ProviderProfileClient profileClient,
+                               ObjectProvider<GeoSnapshotScheduler> snapshots,
+                               MeterRegistry meterRegistry,
+                               @Value("${location.index.max-radius-km:50}") double maxRadiusKm,
+                               @Value("${location.index.max-results:500}") int maxResults) {
+        this.index = index;
+        this.profileClient = profileClient;
+        this.snapshots = snapshots;
+        this.maxRadiusKm = maxRadiusKm;
+        this.maxResults = maxResults;
+
+        this.nearestTimer = Timer.builder("location.nearby.query")
+                .tag("type", "nearest")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.radiusTimer = Timer.builder("location.nearby.query")
+                .tag("type", "radius")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("location.index.providers", index, GeoGridIndex::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void updateProviderLocation(Long providerId, ProviderLocationRequest request) {
+        index.upsert(providerId, request.getLatitude(), request.getLongitude(), specialization(providerId));
+        log.debug("Location updated for provider {}", providerId);
+    }
+
+    @Override
+    public void removeProviderLocation(Long providerId) {
+        index.remove(providerId);
+        // Persisted before returning so a restart cannot bring the location back
+        snapshots.ifAvailable(scheduler -> scheduler.recordRemoval(providerId));
+        log.debug("Location removed for provider {}", providerId);
+    }
+
+    @Override
+    public List<NearbyProviderResponse> findNearby(double latitude, double longitude, Double radiusKm,
+                                                   Integer limit, String specialization) {
+        checkCoordinates(latitude, longitude);
+        double radius = radiusKm == null ? maxRadiusKm : radiusKm;
+        if (radius <= 0 || radius > maxRadiusKm) {
+            throw new InvalidLocationRequestException("Radius must be between 0 and " + maxRadiusKm + " km");
+        }
+        if (limit != null && (limit < 1 || limit > maxResults)) {
+            throw new InvalidLocationRequestException("Limit must be between 1 and " + maxResults);
+        }
+
+        List<GeoGridIndex.Match> matches = limit != null
+                ? nearestTimer.record(() -> index.nearest(latitude, longitude, limit, radius, specialization))
+                : radiusTimer.record(() -> index.withinRadius(latitude, longitude, radius, specialization, maxResults));
+
+        return matches.stream()
+                .map(match -> {
+                    ProviderLocation location = match.location();
+                    return new NearbyProviderResponse(location.providerId(), location.latitude(),
+                            location.longitude(), location.specialization(), match.distanceKm());
+                })
+                .toList();
+    }
+
+    @Override
+    public DistanceResponse distance(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        checkCoordinates(fromLatitude, fromLongitude);
+        checkCoordinates(toLatitude, toLongitude);
+        return new DistanceResponse(fromLatitude, fromLongitude, toLatitude, toLongitude,
+                Haversine.distanceKm(fromLatitude, fromLongitude, toLatitude, toLongitude));
+    }
+
+    private String specialization(Long providerId) {
+        try {
+            return profileClient.specialization(providerId);
+        } catch (HttpClientErrorException.NotFound e) {
+            throw new AccessDeniedException("Only providers with a profile can share their location");
+        } catch (RestClientException e) {
+            // A provider already listed keeps its specialization rather than losing the update
+            ProviderLocation current = index.get(providerId);
+            if (current == null) {
+                throw new ProfileUnavailableException("Provider profile is temporarily unavailable");
+            }
+            log.warn("Could not read profile of provider {}, keeping its specialization: {}", providerId,
+                    e.getMessage());
+            return current.specialization();
+        }
+    }
+
+    private static void checkCoordinates(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new InvalidLocationRequestException("Coordinates out of range");
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.location.location_service.geo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoGridIndexTest {
+
+	private static final double PUNE_LAT = 18.52;
+	private static final double PUNE_LON = 73.85;
+	private static final String[] SPECIALIZATIONS = {"Plumber", "Electrician", "Carpenter"};
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void nearestMatchesBruteForce() {
+		GeoGridIndex index = populated(20_000, new Random(42));
+		Random random = new Random(7);
+
+		for (int q = 0; q < 200; q++) {
+			double lat = PUNE_LAT + (random.nextDouble() - 0.5) * 0.6;
+			double lon = PUNE_LON + (random.nextDouble() - 0.5) * 0.6;
+			String specialization = q % 2 == 0 ? null : SPECIALIZATIONS[q % 3];
+
+			List<Long> expected = bruteForce(index, lat, lon, 50, specialization).stream().limit(10).toList();
+			List<Long> actual = index.nearest(lat, lon, 10, 50, specialization).stream()
+					.map(match -> match.location().providerId()).toList();
+
+			assertEquals(expected, actual);
+		}
+	}
+
+	@Test
+	void radiusMatchesBruteForce() {
+		GeoGridIndex index = populated(20_000, new Random(42));
+
+		List<Long> expected = bruteForce(index, PUNE_LAT, PUNE_LON, 3.5, "plumber");
+		List<Long> actual = index.withinRadius(PUNE_LAT, PUNE_LON, 3.5, "Plumber", Integer.MAX_VALUE).stream()
+				.map(match -> match.location().providerId()).toList();
+
+		assertTrue(!expected.isEmpty());
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	void movedProviderIsOnlyFoundAtItsNewLocation() {
+		GeoGridIndex index = new GeoGridIndex(0.02);
+		index.upsert(1L, PUNE_LAT, PUNE_LON, "Plumber");
+		index.upsert(1L, PUNE_LAT + 0.5, PUNE_LON, "Plumber");
+
+		assertTrue(index.withinRadius(PUNE_LAT, PUNE_LON, 5, null, 10).isEmpty());
+		assertEquals(1, index.nearest(PUNE_LAT + 0.5, PUNE_LON, 5, 5, null).size());
+
+		index.remove(1L);
+		assertTrue(index.nearest(PUNE_LAT + 0.5, PUNE_LON, 5, 5, null).isEmpty());
+	}
+
+	@Test
+	void distanceMatchesKnownValue() {
+		// Pune to Mumbai (CST) is about 117 km as the crow flies
+		double km = Haversine.distanceKm(18.5204, 73.8567, 18.9400, 72.8353);
+		assertEquals(117.2, km, 0.5);
+	}
+
+	@Test
+	void snapshotRoundTrip() throws IOException {
+		GeoGridIndex index = populated(5_000, new Random(3));
+		Path path = dir.resolve("providers.snapshot");
+
+		assertEquals(5_000, GeoSnapshot.write(path, index));
+		GeoGridIndex restored = new GeoGridIndex(0.02);
+		assertEquals(5_000, GeoSnapshot.load(path, restored));
+
+		assertEquals(5_000, restored.size());
+		for (ProviderLocation location : index.all()) {
+			ProviderLocation copy = restored.get(location.providerId());
+			assertEquals(location.latitude(), copy.latitude());
+			assertEquals(location.longitude(), copy.longitude());
+			assertEquals(location.specialization(), copy.specialization());
+		}
+	}
+
+	@Test
+	void updatesRacingASnapshotLoadLeaveNoStaleEntries() throws Exception {
+		int providers = 20_000;
+		for (int round = 0; round < 20; round++) {
+			GeoGridIndex index = new GeoGridIndex(0.02);
+			Random random = new Random(round);
+			List<ProviderLocation> snapshot = new ArrayList<>(providers);
+			for (long id = 1; id <= providers; id++) {
+				snapshot.add(ProviderLocation.of(id, PUNE_LAT + (random.nextDouble() - 0.5),
+						PUNE_LON + (random.nextDouble() - 0.5), "plumber"));
+			}
+
+			ExecutorService executor = Executors.newFixedThreadPool(2);
+			try {
+				CountDownLatch start = new CountDownLatch(1);
+				Future<?> load = executor.submit(() -> {
+					start.await();
+					for (int from = 0; from < providers; from += 1_000) {
+						index.insertAbsent(snapshot.subList(from, from + 1_000));
+					}
+					return null;
+				});
+				Future<?> updates = executor.submit(() -> {
+					start.await();
+					for (long id = providers; id >= 1; id--) {
+						index.upsert(id, PUNE_LAT + 1, PUNE_LON + 1, "plumber");
+					}
+					return null;
+				});
+				start.countDown();
+				load.get();
+				updates.get();
+			} finally {
+				executor.shutdown();
+			}
+
+			assertEquals(providers, index.size());
+			assertEquals(providers, index.cellEntries());
+			assertEquals(providers, index.withinRadius(PUNE_LAT + 1, PUNE_LON + 1, 1, null, Integer.MAX_VALUE).size());
+		}
+	}
+
+	/**
+	 * p50/p99 of k-nearest (k=10, 50km cap) and 5km radius queries over 1M providers
+	 * clustered around 20 cities, plus snapshot write and load times.
+	 * Run with -Dbenchmarks=true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+	void queryLatencyAtAMillionProviders() throws IOException {
+		int providers = 1_000_000;
+		Random random = new Random(11);
+		double[][] cities = new double[20][];
+		for (int c = 0; c < cities.length; c++) {
+			cities[c] = new double[]{8 + random.nextDouble() * 24, 70 + random.nextDouble() * 18};
+		}
+		GeoGridIndex index = new GeoGridIndex(0.02);
+		for (long id = 1; id <= providers; id++) {
+			double[] city = cities[random.nextInt(cities.length)];
+			index.upsert(id, city[0] + random.nextGaussian() * 0.15, city[1] + random.nextGaussian() * 0.15,
+					SPECIALIZATIONS[random.nextInt(SPECIALIZATIONS.length)]);
+		}
+
+		int queries = 20_000;
+		long[] nearestNanos = time(queries, cities, random, (lat, lon, specialization) ->
+				index.nearest(lat, lon, 10, 50, specialization).size());
+		long[] radiusNanos = time(queries, cities, random, (lat, lon, specialization) ->
+				index.withinRadius(lat, lon, 5, specialization, 500).size());
+
+		System.out.printf("%-16s %12s %12s%n", "query", "p50 us", "p99 us");
+		report("nearest k=10", nearestNanos);
+		report("radius 5km", radiusNanos);
+
+		Path path = dir.resolve("providers.snapshot");
+		long start = System.nanoTime();
+		GeoSnapshot.write(path, index);
+		long written = System.nanoTime();
+		GeoSnapshot.load(path, new GeoGridIndex(0.02));
+		long loaded = System.nanoTime();
+		System.out.printf("snapshot write: %d ms, load: %d ms%n", (written - start) / 1_000_000,
+				(loaded - written) / 1_000_000);
+	}
+
+	private interface Query {
+		int run(double latitude, double longitude, String specialization);
+	}
+
+	private static long[] time(int queries, double[][] cities, Random random, Query query) {
+		long[] nanos = new long[queries];
+		for (int i = -queries / 10; i < queries; i++) {
+			double[] city = cities[random.nextInt(cities.length)];
+			double lat = city[0] + random.nextGaussian() * 0.2;
+			double lon = city[1] + random.nextGaussian() * 0.2;
+			String specialization = i % 2 == 0 ? null : SPECIALIZATIONS[random.nextInt(SPECIALIZATIONS.length)];
+			long start = System.nanoTime();
+			query.run(lat, lon, specialization);
+			if (i >= 0) {
+				nanos[i] = System.nanoTime() - start;
+			}
+		}
+		Arrays.sort(nanos);
+		return nanos;
+	}
+
+	private static void report(String query, long[] sortedNanos) {
+		System.out.printf("%-16s %12.1f %12.1f%n", query,
+				sortedNanos[sortedNanos.length / 2] / 1_000.0,
+				sortedNanos[(int) (sortedNanos.length * 0.99)] / 1_000.0);
+	}
+
+	private static GeoGridIndex populated(int providers, Random random) {
+		GeoGridIndex index = new GeoGridIndex(0.02);
+		for (long id = 1; id <= providers; id++) {
+			index.upsert(id, PUNE_LAT + (random.nextDouble() - 0.5), PUNE_LON + (random.nextDouble() - 0.5),
+					SPECIALIZATIONS[random.nextInt(SPECIALIZATIONS.length)]);
+		}
+		return index;
+	}
+
+	private static List<Long> bruteForce(GeoGridIndex index, double lat, double lon, double radiusKm,
+										 String specialization) {
+		String filter = GeoGridIndex.normalize(specialization);
+		return index.all().stream()
+				.filter(location -> filter == null || filter.equals(location.specialization()))
+				.filter(location -> distance(location, lat, lon) <= radiusKm)
+				.sorted(Comparator.comparingDouble(location -> distance(location, lat, lon)))
+				.map(ProviderLocation::providerId)
+				.toList();
+	}
+
+	private static double distance(ProviderLocation location, double lat, double lon) {
+		return Haversine.distanceKm(lat, lon, location.latitude(), location.longitude());
+	}
+}
@@ -0,0 +1,100 @@
+package com.location.location_service.geo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GeoSnapshotSchedulerTest {
+
+	private static final double PUNE_LAT = 18.52;
+	private static final double PUNE_LON = 73.85;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void aRemovalSurvivesACrashBeforeTheNextSnapshot() {
+		GeoGridIndex index = new GeoGridIndex(0.02);
+		GeoSnapshotScheduler scheduler = started(index);
+		index.upsert(1L, PUNE_LAT, PUNE_LON, "Plumber");
+		index.upsert(2L, PUNE_LAT, PUNE_LON, "Plumber");
+		scheduler.save();
+
+		remove(index, scheduler, 1L);
+		// Crash: no snapshot is written after the removal
+
+		GeoGridIndex restarted = new GeoGridIndex(0.02);
+		started(restarted);
+		assertNull(restarted.get(1L));
+		assertNotNull(restarted.get(2L));
+	}
+
+	@Test
+	void aRemovalSurvivesACrashWithNoSnapshotYet() {
+		GeoGridIndex index = new GeoGridIndex(0.02);
+		GeoSnapshotScheduler scheduler = started(index);
+		index.upsert(1L, PUNE_LAT, PUNE_LON, "Plumber");
+		remove(index, scheduler, 1L);
+
+		GeoGridIndex restarted = new GeoGridIndex(0.02);
+		started(restarted);
+		assertEquals(0, restarted.size());
+	}
+
+	@Test
+	void aSnapshotDropsTheRemovalsItCovers() throws IOException {
+		GeoGridIndex index = new GeoGridIndex(0.02);
+		GeoSnapshotScheduler scheduler = started(index);
+		index.upsert(1L, PUNE_LAT, PUNE_LON, "Plumber");
+		remove(index, scheduler, 1L);
+		scheduler.save();
+
+		assertEquals(0, Files.size(dir.resolve("providers.snapshot.removed")));
+
+		// The provider comes back and the next snapshot has them; the old removal must not win
+		index.upsert(1L, PUNE_LAT, PUNE_LON, "Plumber");
+		scheduler.save();
+		GeoGridIndex restarted = new GeoGridIndex(0.02);
+		started(restarted);
+		assertNotNull(restarted.get(1L));
+	}
+
+	@Test
+	void aTornRemovalRecordIsIgnored() throws IOException {
+		GeoGridIndex index = new GeoGridIndex(0.02);
+		GeoSnapshotScheduler scheduler = started(index);
+		index.upsert(1L, PUNE_LAT, PUNE_LON, "Plumber");
+		index.upsert(2L, PUNE_LAT, PUNE_LON, "Plumber");
+		scheduler.save();
+		remove(index, scheduler, 1L);
+		scheduler.close();
+		Files.write(dir.resolve("providers.snapshot.removed"), new byte[3], StandardOpenOption.APPEND);
+
+		GeoGridIndex restarted = new GeoGridIndex(0.02);
+		GeoSnapshotScheduler after = started(restarted);
+		remove(restarted, after, 2L);
+
+		GeoGridIndex again = new GeoGridIndex(0.02);
+		started(again);
+		assertEquals(0, again.size());
+	}
+
+	private GeoSnapshotScheduler started(GeoGridIndex index) {
+		GeoSnapshotScheduler scheduler = new GeoSnapshotScheduler(index, dir.resolve("providers.snapshot"));
+		scheduler.load();
+		return scheduler;
+	}
+
+	private static void remove(GeoGridIndex index, GeoSnapshotScheduler scheduler, long providerId) {
+		index.remove(providerId);
+		scheduler.recordRemoval(providerId);
+	}
+}
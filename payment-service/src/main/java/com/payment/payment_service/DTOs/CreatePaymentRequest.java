@@ -0,0 +1,39 @@
+package com.payment.payment_service.DTOs;
+
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for Paying for a Booking
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreatePaymentRequest {
+
+    @NotNull(message = "Booking ID is required")
+    private Long bookingId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.0", inclusive = false, message = "Amount must be positive")
+    private BigDecimal amount;
+
+    @NotBlank(message = "Currency is required")
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code")
+    private String currency;
+
+    @NotBlank(message = "Payment method token is required")
+    @Size(max = 255, message = "Payment method token must not exceed 255 characters")
+    private String paymentMethodToken;
+}
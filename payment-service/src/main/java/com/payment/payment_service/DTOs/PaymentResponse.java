@@ -0,0 +1,31 @@
+package com.payment.payment_service.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for a Payment
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentResponse {
+
+    private UUID paymentId;
+    private Long bookingId;
+    private Long customerId;
+    private BigDecimal amount;
+    private String currency;
+    private String status;
+    private String providerReference;
+    private String failureReason;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
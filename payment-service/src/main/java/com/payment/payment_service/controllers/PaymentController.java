@@ -0,0 +1,86 @@
+package com.payment.payment_service.controllers;
+
+import com.payment.payment_service.DTOs.ApiResponse;
+import com.payment.payment_service.DTOs.CreatePaymentRequest;
+import com.payment.payment_service.DTOs.PaymentResponse;
+import com.payment.payment_service.exception.AccessDeniedException;
+import com.payment.payment_service.payments.PaymentStatus;
+import com.payment.payment_service.services.PaymentService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Payment Controller
+ * Handles payments for bookings
+ */
+@RestController
+@RequestMapping("/api/payments")
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentController {
+
+    private static final String CUSTOMER_ROLE = "CUSTOMER";
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final PaymentService paymentService;
+
+    /**
+     * Pay for a booking. Retrying with the same Idempotency-Key returns the original payment
+     * instead of charging again.
+     * POST /api/payments
+     *
+     * 201 once the payment has been charged or declined, 202 if it is still PENDING (the
+     * gateway could not be reached; it is retried in the background), 200 for a replay.
+     */
+    @PostMapping
+    public CompletableFuture<ResponseEntity<ApiResponse<PaymentResponse>>> createPayment(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestHeader("X-User-Role") String role,
+            @RequestHeader("Idempotency-Key") String idempotencyKey,
+            @Valid @RequestBody CreatePaymentRequest request) {
+
+        if (!CUSTOMER_ROLE.equals(role)) {
+            throw new AccessDeniedException("Only customers can make payments");
+        }
+
+        return paymentService.createPayment(userId, idempotencyKey, request).thenApply(result -> {
+            PaymentResponse payment = result.payment();
+            HttpStatus status = result.replayed() ? HttpStatus.OK
+                    : PaymentStatus.PENDING.name().equals(payment.getStatus()) ? HttpStatus.ACCEPTED
+                    : HttpStatus.CREATED;
+            return ResponseEntity
+                    .status(status)
+                    .header(REPLAYED_HEADER, String.valueOf(result.replayed()))
+                    .body(ApiResponse.success("Payment " + payment.getStatus().toLowerCase(), payment));
+        });
+    }
+
+    /**
+     * Get a payment
+     * GET /api/payments/{paymentId}
+     */
+    @GetMapping("/{paymentId}")
+    public ResponseEntity<ApiResponse<PaymentResponse>> getPayment(
+            @PathVariable UUID paymentId,
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestHeader("X-User-Role") String role) {
+
+        PaymentResponse payment = paymentService.getPayment(paymentId, userId, role);
+
+        return ResponseEntity
+                .ok(ApiResponse.success("Payment retrieved successfully", payment));
+    }
+}
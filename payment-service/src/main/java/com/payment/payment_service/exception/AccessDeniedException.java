@@ -0,0 +1,8 @@
+package com.payment.payment_service.exception;
+
+public class AccessDeniedException extends RuntimeException{
+
+    public AccessDeniedException(String message){
+        super(message);
+    }
+}
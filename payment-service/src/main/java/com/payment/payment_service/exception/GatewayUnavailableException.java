@@ -0,0 +1,8 @@
+package com.payment.payment_service.exception;
+
+public class GatewayUnavailableException extends RuntimeException{
+
+    public GatewayUnavailableException(String message){
+        super(message);
+    }
+}
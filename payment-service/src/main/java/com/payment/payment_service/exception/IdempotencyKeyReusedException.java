@@ -0,0 +1,8 @@
+package com.payment.payment_service.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException{
+
+    public IdempotencyKeyReusedException(String message){
+        super(message);
+    }
+}
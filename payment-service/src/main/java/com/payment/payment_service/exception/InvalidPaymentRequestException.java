@@ -0,0 +1,8 @@
+package com.payment.payment_service.exception;
+
+public class InvalidPaymentRequestException extends RuntimeException{
+
+    public InvalidPaymentRequestException(String message){
+        super(message);
+    }
+}
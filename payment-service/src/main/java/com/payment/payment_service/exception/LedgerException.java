@@ -0,0 +1,12 @@
+package com.payment.payment_service.exception;
+
+public class LedgerException extends RuntimeException{
+
+    public LedgerException(String message){
+        super(message);
+    }
+
+    public LedgerException(String message, Throwable cause){
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package com.payment.payment_service.exception;
+
+public class PaymentNotFoundException extends RuntimeException{
+
+    public PaymentNotFoundException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,82 @@
+package com.payment.payment_service.gateway;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fake Payment Gateway
+ * In-process stand-in for a real processor: approves every charge except those paid
+ * with {@link #DECLINED_TOKEN}, after a fixed per-batch latency. Like a real processor it
+ * remembers references and answers a repeated charge with the original result.
+ */
+@Component
+@ConditionalOnProperty(name = "payment.gateway.type", havingValue = "fake", matchIfMissing = true)
+public class FakePaymentGateway implements PaymentGateway {
+
+    public static final String DECLINED_TOKEN = "tok_decline";
+
+    private final Duration latency;
+    private final Map<String, GatewayResult> processed = new ConcurrentHashMap<>();
+    private final AtomicLong charges = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicInteger outages = new AtomicInteger();
+
+    public FakePaymentGateway(@Value("${payment.gateway.fake.latency:20ms}") Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public List<GatewayResult> charge(List<GatewayCharge> batch) {
+        batches.incrementAndGet();
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while charging", e);
+            }
+        }
+        if (outages.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+            throw new IllegalStateException("Payment gateway unavailable");
+        }
+
+        List<GatewayResult> results = new ArrayList<>(batch.size());
+        for (GatewayCharge charge : batch) {
+            results.add(processed.computeIfAbsent(charge.reference(), reference -> {
+                charges.incrementAndGet();
+                return DECLINED_TOKEN.equals(charge.paymentMethodToken())
+                        ? GatewayResult.declined(reference, "card_declined")
+                        : GatewayResult.approved(reference, "fake_" + UUID.randomUUID());
+            }));
+        }
+        return results;
+    }
+
+    /**
+     * Fail the next {@code count} batches as if the gateway were unreachable
+     */
+    public void failNextBatches(int count) {
+        outages.set(count);
+    }
+
+    /**
+     * Distinct charges processed (repeats of a reference are not counted)
+     */
+    public long chargeCount() {
+        return charges.get();
+    }
+
+    public long batchCount() {
+        return batches.get();
+    }
+}
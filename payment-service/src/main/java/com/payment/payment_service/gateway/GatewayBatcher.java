@@ -0,0 +1,160 @@
+package com.payment.payment_service.gateway;
+
+import com.payment.payment_service.exception.GatewayUnavailableException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway Batcher
+ * Sends charges to the {@link PaymentGateway} in batches with up to max-in-flight
+ * batches outstanding. A dispatcher thread takes whatever is queued (up to the batch
+ * size) whenever a slot is free, so batches stay small when traffic is light and grow
+ * with load instead of waiting on a timer; the gateway's round trip is paid once per
+ * batch rather than once per payment.
+ */
+@Slf4j
+public class GatewayBatcher implements AutoCloseable {
+
+    private static final PendingCharge SHUTDOWN = new PendingCharge(null, null);
+
+    private final PaymentGateway gateway;
+    private final int maxBatchSize;
+    private final Semaphore inFlight;
+    private final ExecutorService senders;
+    private final BlockingQueue<PendingCharge> queue = new LinkedBlockingQueue<>();
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    private final DistributionSummary batchSize;
+    private final Timer batchTimer;
+
+    public GatewayBatcher(PaymentGateway gateway, MeterRegistry meterRegistry, int maxBatchSize, int maxInFlight) {
+        this.gateway = gateway;
+        this.maxBatchSize = maxBatchSize;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.senders = Executors.newFixedThreadPool(maxInFlight,
+                Thread.ofPlatform().name("payment-gateway-", 0).daemon().factory());
+        this.batchSize = DistributionSummary.builder("payment.gateway.batch.size")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("payment.gateway.batch.duration")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.dispatcher = Thread.ofPlatform().name("payment-gateway-dispatcher").daemon().start(this::dispatchLoop);
+    }
+
+    /**
+     * Queue a charge; the future completes with the gateway's result, or with
+     * {@link GatewayUnavailableException} if the gateway could not be asked
+     */
+    public CompletableFuture<GatewayResult> submit(GatewayCharge charge) {
+        PendingCharge pending = new PendingCharge(charge, new CompletableFuture<>());
+        if (!running) {
+            pending.future().completeExceptionally(new GatewayUnavailableException("Payment gateway client is closed"));
+            return pending.future();
+        }
+        queue.add(pending);
+        return pending.future();
+    }
+
+    private void dispatchLoop() {
+        while (true) {
+            List<PendingCharge> batch = new ArrayList<>(maxBatchSize);
+            try {
+                // Wait for a free slot first, so everything queued meanwhile joins this batch
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                continue;
+            }
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                inFlight.release();
+                continue;
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+            boolean stop = batch.remove(SHUTDOWN);
+            if (batch.isEmpty()) {
+                inFlight.release();
+            } else {
+                senders.execute(() -> send(batch));
+            }
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    private void send(List<PendingCharge> batch) {
+        long start = System.nanoTime();
+        try {
+            List<GatewayCharge> charges = new ArrayList<>(batch.size());
+            batch.forEach(pending -> charges.add(pending.charge()));
+            Map<String, GatewayResult> results = new HashMap<>();
+            for (GatewayResult result : gateway.charge(charges)) {
+                results.put(result.reference(), result);
+            }
+            for (PendingCharge pending : batch) {
+                GatewayResult result = results.get(pending.charge().reference());
+                if (result != null) {
+                    pending.future().complete(result);
+                } else {
+                    pending.future().completeExceptionally(
+                            new GatewayUnavailableException("Payment gateway returned no result"));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Payment gateway batch of {} charges failed: {}", batch.size(), e.getMessage());
+            GatewayUnavailableException failure = new GatewayUnavailableException("Payment gateway unavailable");
+            batch.forEach(pending -> pending.future().completeExceptionally(failure));
+        } finally {
+            batchSize.record(batch.size());
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            inFlight.release();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        queue.add(SHUTDOWN);
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        senders.shutdown();
+        try {
+            if (!senders.awaitTermination(10, TimeUnit.SECONDS)) {
+                senders.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            senders.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        // Charges queued after the dispatcher's last batch never reached the gateway, so they can safely be failed
+        PendingCharge pending;
+        while ((pending = queue.poll()) != null) {
+            pending.future().completeExceptionally(new GatewayUnavailableException("Payment gateway client is closed"));
+        }
+    }
+
+    private record PendingCharge(GatewayCharge charge, CompletableFuture<GatewayResult> future) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.payment.payment_service.gateway;
+
+/**
+ * A charge sent to the payment gateway. The reference (our payment id) doubles as the
+ * gateway-side idempotency key, so charging the same reference twice charges once.
+ */
+public record GatewayCharge(String reference, long amountMinor, String currency, String paymentMethodToken) {
+}
@@ -0,0 +1,16 @@
+package com.payment.payment_service.gateway;
+
+/**
+ * The gateway's answer for one charge: approved with the provider's reference, or
+ * declined with a reason
+ */
+public record GatewayResult(String reference, boolean approved, String providerReference, String declineReason) {
+
+    public static GatewayResult approved(String reference, String providerReference) {
+        return new GatewayResult(reference, true, providerReference, null);
+    }
+
+    public static GatewayResult declined(String reference, String reason) {
+        return new GatewayResult(reference, false, null, reason);
+    }
+}
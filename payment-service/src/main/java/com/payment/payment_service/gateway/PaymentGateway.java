@@ -0,0 +1,20 @@
+package com.payment.payment_service.gateway;
+
+import java.util.List;
+
+/**
+ * Payment Gateway
+ * Card/wallet processor behind the payment pipeline. Charges are submitted in batches;
+ * implementations must treat a repeated reference as the same charge, since payments
+ * left pending by a crash or an outage are submitted again.
+ */
+public interface PaymentGateway {
+
+    /**
+     * Charge every entry of the batch. Returns one result per charge (in any order); a
+     * charge without a result is treated as not yet processed.
+     *
+     * @throws RuntimeException if the gateway could not be reached; the whole batch is retried later
+     */
+    List<GatewayResult> charge(List<GatewayCharge> batch);
+}
@@ -0,0 +1,117 @@
+package com.payment.payment_service.ledger;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * One entry of the payment ledger. A payment is INITIATED (with everything but the token
+ * needed to charge it again) before the gateway is called, and SUCCEEDED or FAILED once it
+ * answers.
+ *
+ * On-disk layout (big-endian): payload length, crc32c of the payload, payload. The payload
+ * is type, payment id, timestamp, customer id, booking id, amount in minor units, then
+ * currency, idempotency key, request fingerprint and detail as length-prefixed UTF-8 strings
+ * (length -1 = null). The detail is the provider reference of a SUCCEEDED record and the
+ * decline reason of a FAILED one. INITIATED records in the payment ledger have none: the
+ * payment method token is kept in the {@link TokenVault}, whose records carry it as detail.
+ */
+public record LedgerRecord(Type type, UUID paymentId, long timestamp, long customerId, long bookingId,
+                           long amountMinor, String currency, String idempotencyKey, String fingerprint,
+                           String detail) {
+
+    static final int HEADER_SIZE = 8;
+    static final int MAX_STRING_BYTES = 255;
+    static final int MAX_RECORD_SIZE = 2048;
+
+    public enum Type {
+        INITIATED, SUCCEEDED, FAILED
+    }
+
+    public static LedgerRecord succeeded(UUID paymentId, long timestamp, String providerReference) {
+        return new LedgerRecord(Type.SUCCEEDED, paymentId, timestamp, 0, 0, 0, null, null, null, providerReference);
+    }
+
+    public static LedgerRecord failed(UUID paymentId, long timestamp, String reason) {
+        return new LedgerRecord(Type.FAILED, paymentId, timestamp, 0, 0, 0, null, null, null, reason);
+    }
+
+    void encode(ByteBuffer buffer) {
+        int start = buffer.position();
+        buffer.position(start + HEADER_SIZE);
+        buffer.put((byte) type.ordinal())
+                .putLong(paymentId.getMostSignificantBits())
+                .putLong(paymentId.getLeastSignificantBits())
+                .putLong(timestamp)
+                .putLong(customerId)
+                .putLong(bookingId)
+                .putLong(amountMinor);
+        putString(buffer, currency);
+        putString(buffer, idempotencyKey);
+        putString(buffer, fingerprint);
+        putString(buffer, detail);
+        int length = buffer.position() - start - HEADER_SIZE;
+        buffer.putInt(start, length);
+        buffer.putInt(start + 4, PaymentLedger.crc(buffer, start + HEADER_SIZE, length));
+    }
+
+    /**
+     * Decode the record at the buffer's position and move past it. Returns null (position
+     * unchanged) when the buffer does not hold the whole record yet; throws
+     * {@link IllegalStateException} when the bytes are not a valid record.
+     */
+    static LedgerRecord decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_SIZE) {
+            return null;
+        }
+        int length = buffer.getInt(start);
+        if (length <= 0 || length > MAX_RECORD_SIZE - HEADER_SIZE) {
+            throw new IllegalStateException("Invalid ledger record length " + length);
+        }
+        if (buffer.remaining() < HEADER_SIZE + length) {
+            return null;
+        }
+        if (buffer.getInt(start + 4) != PaymentLedger.crc(buffer, start + HEADER_SIZE, length)) {
+            throw new IllegalStateException("Ledger record checksum mismatch");
+        }
+
+        ByteBuffer payload = buffer.slice(start + HEADER_SIZE, length);
+        try {
+            int type = payload.get();
+            if (type < 0 || type >= Type.values().length) {
+                throw new IllegalStateException("Invalid ledger record type " + type);
+            }
+            LedgerRecord record = new LedgerRecord(Type.values()[type],
+                    new UUID(payload.getLong(), payload.getLong()),
+                    payload.getLong(), payload.getLong(), payload.getLong(), payload.getLong(),
+                    getString(payload), getString(payload), getString(payload), getString(payload));
+            buffer.position(start + HEADER_SIZE + length);
+            return record;
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Malformed ledger record", e);
+        }
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Ledger field longer than " + MAX_STRING_BYTES + " bytes");
+        }
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
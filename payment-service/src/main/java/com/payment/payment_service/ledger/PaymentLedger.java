@@ -0,0 +1,340 @@
+package com.payment.payment_service.ledger;
+
+import com.payment.payment_service.exception.LedgerException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.ObjLongConsumer;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32C;
+
+/**
+ * Payment Ledger
+ * Durable history of payment state changes. No payment is answered before its record is
+ * on disk, so concurrent payments share the cost of getting there: appends are queued,
+ * and one writer thread takes whatever has piled up (at most max-batch-size records),
+ * writes it with a single call and forces it before completing the futures. Under load
+ * that is one fsync per batch rather than one per payment.
+ *
+ * Every record is length-prefixed and checksummed (see {@link LedgerRecord}). Replay treats
+ * the first short or corrupt record as the point where a crash cut a write off and drops
+ * it along with anything after it. Since nothing past such a point could ever be read
+ * back, the first failed write fences the ledger: the batch it was in and every later
+ * append fail with a {@link LedgerException}, and payments are refused until a restart
+ * has recovered the file.
+ *
+ * The payment ledger itself is never rewritten. A log that only has to hold current
+ * state (the {@link TokenVault}) is kept short by {@link #compact}: the writer moves the
+ * active file aside (".compacting") and carries on in a fresh one, and the set-aside file
+ * is merged with the previously compacted records (".base") into a new base, off the
+ * write path. Replay reads base, compacting and active file in that order; a crash
+ * mid-compaction at worst leaves records in both base and compacting, so whoever replays
+ * must tolerate duplicates.
+ */
+@Slf4j
+public class PaymentLedger implements AutoCloseable {
+
+    private static final PendingWrite SHUTDOWN = new PendingWrite(null, null);
+
+    private final Path path;
+    private final Path basePath;
+    private final Path compactingPath;
+    private final Object compactionLock = new Object();
+    private final int maxBatchSize;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+
+    private FileChannel channel;
+    // Length of the active file; only touched by the writer once started
+    private long size;
+    private Thread writer;
+    private volatile boolean running;
+    private volatile IOException failure;
+
+    public PaymentLedger(Path path, int maxBatchSize) {
+        this.path = path;
+        this.basePath = sibling(path, ".base");
+        this.compactingPath = sibling(path, ".compacting");
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Read every intact record in order, with its position in the active file (-1 for
+     * records that compaction moved out of it), and cut off a torn or corrupt tail of the
+     * active file. Must be called before {@link #start()}.
+     */
+    public void replay(ObjLongConsumer<LedgerRecord> consumer) throws IOException {
+        long records = replay(basePath, consumer, false)
+                + replay(compactingPath, consumer, false)
+                + replay(path, consumer, true);
+        log.info("Replayed {} payment ledger records from {}", records, path);
+    }
+
+    private long replay(Path file, ObjLongConsumer<LedgerRecord> consumer, boolean truncateTail) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(LedgerRecord.MAX_RECORD_SIZE * 256);
+            long valid = 0;
+            long records = 0;
+            boolean corrupt = false;
+            while (!corrupt && in.read(buffer) > 0) {
+                buffer.flip();
+                while (true) {
+                    LedgerRecord record;
+                    int start = buffer.position();
+                    try {
+                        record = LedgerRecord.decode(buffer);
+                    } catch (IllegalStateException e) {
+                        log.warn("Payment ledger {} has an invalid record at offset {}: {}",
+                                file, valid, e.getMessage());
+                        corrupt = true;
+                        break;
+                    }
+                    if (record == null) {
+                        break;
+                    }
+                    consumer.accept(record, truncateTail ? valid : -1);
+                    valid += buffer.position() - start;
+                    records++;
+                }
+                buffer.compact();
+            }
+            if (valid < in.size()) {
+                // Only the active file can have been cut short by a crash; the others were
+                // complete and fsynced before being moved into place
+                if (!truncateTail) {
+                    throw new IOException("Payment ledger " + file + " is corrupt at offset " + valid);
+                }
+                log.warn("Payment ledger {} has {} bytes after the last intact record, truncating",
+                        file, in.size() - valid);
+                in.truncate(valid);
+                in.force(true);
+            }
+            return records;
+        }
+    }
+
+    /**
+     * Replace everything written so far with what {@code compactor} makes of it (given in
+     * ledger order, possibly with duplicates). Appends carry on meanwhile and land after
+     * the compacted records.
+     */
+    public void compact(UnaryOperator<List<LedgerRecord>> compactor) throws IOException {
+        synchronized (compactionLock) {
+            // A set-aside file left by an interrupted compaction is merged first
+            if (!Files.exists(compactingPath)) {
+                roll();
+            }
+            List<LedgerRecord> records = new ArrayList<>();
+            replay(basePath, (record, position) -> records.add(record), false);
+            replay(compactingPath, (record, position) -> records.add(record), false);
+
+            List<LedgerRecord> compacted = compactor.apply(records);
+            Path tmp = sibling(path, ".base.tmp");
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(LedgerRecord.MAX_RECORD_SIZE * 256);
+                for (LedgerRecord record : compacted) {
+                    if (buffer.remaining() < LedgerRecord.MAX_RECORD_SIZE) {
+                        writeFully(out, buffer.flip());
+                        buffer.clear();
+                    }
+                    record.encode(buffer);
+                }
+                writeFully(out, buffer.flip());
+                out.force(true);
+            }
+            Files.move(tmp, basePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.deleteIfExists(compactingPath);
+            log.info("Compacted payment ledger {}: {} records kept of {}", path, compacted.size(), records.size());
+        }
+    }
+
+    /**
+     * The record at {@code position} of the active file, as reported by {@link #replay}
+     * or {@link #append}
+     */
+    public LedgerRecord read(long position) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(LedgerRecord.MAX_RECORD_SIZE);
+            int read;
+            do {
+                read = in.read(buffer, position + buffer.position());
+            } while (read > 0 && buffer.hasRemaining());
+            LedgerRecord record;
+            try {
+                record = LedgerRecord.decode(buffer.flip());
+            } catch (IllegalStateException e) {
+                throw new IOException("Invalid payment ledger record at offset " + position, e);
+            }
+            if (record == null) {
+                throw new IOException("No payment ledger record at offset " + position);
+            }
+            return record;
+        }
+    }
+
+    /**
+     * Move the active file aside; the writer carries on in a new one
+     */
+    private void roll() throws IOException {
+        PendingWrite roll = new PendingWrite(null, new CompletableFuture<>());
+        synchronized (this) {
+            if (writer == null) {
+                if (Files.exists(path)) {
+                    Files.move(path, compactingPath, StandardCopyOption.ATOMIC_MOVE);
+                }
+                return;
+            }
+            queue.add(roll);
+        }
+        try {
+            roll.future().join();
+        } catch (CompletionException e) {
+            throw new IOException("Could not roll payment ledger " + path, e.getCause());
+        }
+    }
+
+    public synchronized void start() throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        size = channel.size();
+        running = true;
+        writer = Thread.ofPlatform().name("payment-ledger-writer").daemon().start(this::writeLoop);
+    }
+
+    /**
+     * Queue a record; the future completes with its position in the active file once it
+     * is on disk
+     */
+    public CompletableFuture<Long> append(LedgerRecord record) {
+        PendingWrite write = new PendingWrite(record, new CompletableFuture<>());
+        if (!running || failure != null) {
+            write.future().completeExceptionally(new LedgerException("Payment ledger is not accepting writes", failure));
+            return write.future();
+        }
+        queue.add(write);
+        return write.future();
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        long[] positions = new long[maxBatchSize];
+        ByteBuffer buffer = ByteBuffer.allocateDirect(LedgerRecord.MAX_RECORD_SIZE * maxBatchSize);
+        boolean stop = false;
+        while (!stop) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                // Not interruptible on purpose: an interrupt would close the FileChannel mid-write
+                continue;
+            }
+            queue.drainTo(batch, maxBatchSize - 1);
+            stop = batch.remove(SHUTDOWN);
+            List<PendingWrite> rolls = batch.stream().filter(write -> write.record() == null).toList();
+            batch.removeAll(rolls);
+
+            if (failure == null && !batch.isEmpty()) {
+                buffer.clear();
+                for (int i = 0; i < batch.size(); i++) {
+                    positions[i] = size + buffer.position();
+                    batch.get(i).record().encode(buffer);
+                }
+                try {
+                    writeFully(channel, buffer.flip());
+                    channel.force(false);
+                    size += buffer.limit();
+                } catch (IOException e) {
+                    log.error("Payment ledger write failed, rejecting further payments", e);
+                    failure = e;
+                }
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                if (failure == null) {
+                    batch.get(i).future().complete(positions[i]);
+                } else {
+                    batch.get(i).future().completeExceptionally(
+                            new LedgerException("Payment ledger write failed", failure));
+                }
+            }
+            batch.clear();
+
+            if (!rolls.isEmpty()) {
+                if (failure == null) {
+                    try {
+                        channel.close();
+                        Files.move(path, compactingPath, StandardCopyOption.ATOMIC_MOVE);
+                        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                StandardOpenOption.APPEND);
+                        size = 0;
+                    } catch (IOException e) {
+                        log.error("Payment ledger roll failed, rejecting further payments", e);
+                        failure = e;
+                    }
+                }
+                for (PendingWrite roll : rolls) {
+                    if (failure == null) {
+                        roll.future().complete(null);
+                    } else {
+                        roll.future().completeExceptionally(new LedgerException("Payment ledger roll failed", failure));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        queue.add(SHUTDOWN);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        // Appends queued after the writer's last batch were never written; their callers must not wait forever
+        PendingWrite write;
+        while ((write = queue.poll()) != null) {
+            write.future().completeExceptionally(new LedgerException("Payment ledger is closed"));
+        }
+        channel.close();
+    }
+
+    private record PendingWrite(LedgerRecord record, CompletableFuture<Long> future) {
+    }
+
+    private static Path sibling(Path path, String suffix) {
+        return path.resolveSibling(path.getFileName() + suffix);
+    }
+
+    static int crc(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,73 @@
+package com.payment.payment_service.ledger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiPredicate;
+
+/**
+ * Token Vault
+ * Payment method tokens, kept out of the payment ledger so they can be scrubbed without
+ * rewriting payment history. A token is only needed to charge a pending payment again;
+ * {@link #compact} keeps the ones the caller still needs and drops the rest from disk.
+ *
+ * Stored as INITIATED records holding just the payment id, the time and the token, in a
+ * group-committed log of its own.
+ */
+public class TokenVault implements AutoCloseable {
+
+    private final PaymentLedger log;
+
+    public TokenVault(Path path, int maxBatchSize) {
+        this.log = new PaymentLedger(path, maxBatchSize);
+    }
+
+    /**
+     * Every stored token by payment id. Must be called before {@link #start()}.
+     */
+    public Map<UUID, String> load() throws IOException {
+        Map<UUID, String> tokens = new HashMap<>();
+        log.replay((record, position) -> tokens.put(record.paymentId(), record.detail()));
+        return tokens;
+    }
+
+    public void start() throws IOException {
+        log.start();
+    }
+
+    /**
+     * Store a token; the future completes once it is on disk
+     */
+    public CompletableFuture<Void> put(UUID paymentId, long timestamp, String token) {
+        return log.append(new LedgerRecord(LedgerRecord.Type.INITIATED, paymentId, timestamp, 0, 0, 0,
+                null, null, null, token)).thenApply(position -> null);
+    }
+
+    /**
+     * Drop every token {@code keep} rejects, given the payment id and when it was stored
+     */
+    public void compact(BiPredicate<UUID, Long> keep) throws IOException {
+        log.compact(records -> {
+            Map<UUID, LedgerRecord> latest = new LinkedHashMap<>();
+            records.forEach(record -> latest.put(record.paymentId(), record));
+            List<LedgerRecord> kept = new ArrayList<>(latest.size());
+            for (LedgerRecord record : latest.values()) {
+                if (keep.test(record.paymentId(), record.timestamp())) {
+                    kept.add(record);
+                }
+            }
+            return kept;
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+}
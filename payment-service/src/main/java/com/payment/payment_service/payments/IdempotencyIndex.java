@@ -0,0 +1,92 @@
+package com.payment.payment_service.payments;
+
+import com.payment.payment_service.exception.IdempotencyKeyReusedException;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency Index
+ * In-memory map from (customer, Idempotency-Key) to the payment the key created, rebuilt
+ * from the ledger on startup. A retry is answered from here without touching the ledger
+ * or the gateway; a retry that arrives while the original is still being processed waits
+ * for the same outcome instead of starting a second payment.
+ */
+public class IdempotencyIndex {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(String fingerprint, CompletableFuture<UUID> paymentId, long createdAt) {
+    }
+
+    /**
+     * The payment for a key, and whether it was created by an earlier request
+     */
+    public record Claim(CompletableFuture<UUID> paymentId, boolean replayed) {
+    }
+
+    /**
+     * Run {@code work} unless the key has been used before. If {@code work} fails the key
+     * is released, so the client can retry it.
+     *
+     * @throws IdempotencyKeyReusedException if the key was used for a different request
+     */
+    public Claim claim(long customerId, String idempotencyKey, String fingerprint, long now,
+                       Supplier<CompletableFuture<UUID>> work) {
+        String key = key(customerId, idempotencyKey);
+        CompletableFuture<UUID> result = new CompletableFuture<>();
+        Entry claimed = new Entry(fingerprint, result, now);
+        Entry existing = entries.putIfAbsent(key, claimed);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException("Idempotency-Key was already used for a different payment");
+            }
+            return new Claim(existing.paymentId(), true);
+        }
+
+        CompletableFuture<UUID> started;
+        try {
+            started = work.get();
+        } catch (RuntimeException e) {
+            entries.remove(key, claimed);
+            throw e;
+        }
+        started.whenComplete((paymentId, failure) -> {
+            if (failure != null) {
+                entries.remove(key, claimed);
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(paymentId);
+            }
+        });
+        return new Claim(result, false);
+    }
+
+    /**
+     * Re-register a key found in the ledger
+     */
+    public void restore(long customerId, String idempotencyKey, String fingerprint, UUID paymentId, long createdAt) {
+        entries.put(key(customerId, idempotencyKey),
+                new Entry(fingerprint, CompletableFuture.completedFuture(paymentId), createdAt));
+    }
+
+    /**
+     * Forget settled keys created before the cutoff
+     */
+    public int expire(long before) {
+        int size = entries.size();
+        entries.values().removeIf(entry -> entry.createdAt() < before && entry.paymentId().isDone());
+        return Math.max(0, size - entries.size());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static String key(long customerId, String idempotencyKey) {
+        return customerId + ":" + idempotencyKey;
+    }
+}
@@ -0,0 +1,48 @@
+package com.payment.payment_service.payments;
+
+import com.payment.payment_service.ledger.LedgerRecord;
+
+import java.util.UUID;
+
+/**
+ * Immutable state of one payment, as rebuilt from the ledger
+ */
+public record Payment(UUID id, long customerId, long bookingId, long amountMinor, String currency,
+                      String paymentMethodToken, PaymentStatus status, String providerReference,
+                      String failureReason, long createdAt, long updatedAt) {
+
+    static Payment initiated(LedgerRecord record) {
+        return new Payment(record.paymentId(), record.customerId(), record.bookingId(), record.amountMinor(),
+                record.currency(), record.detail(), PaymentStatus.PENDING, null, null,
+                record.timestamp(), record.timestamp());
+    }
+
+    /**
+     * The INITIATED record of this payment; the token is not part of it
+     */
+    LedgerRecord initiatedRecord(String idempotencyKey, String fingerprint) {
+        return new LedgerRecord(LedgerRecord.Type.INITIATED, id, createdAt, customerId, bookingId, amountMinor,
+                currency, idempotencyKey, fingerprint, null);
+    }
+
+    Payment withPaymentMethodToken(String token) {
+        return new Payment(id, customerId, bookingId, amountMinor, currency, token, status, providerReference,
+                failureReason, createdAt, updatedAt);
+    }
+
+    /**
+     * This payment with the outcome of a SUCCEEDED or FAILED record applied; outcomes after
+     * the first are ignored. The payment method token is dropped: it is only kept to charge
+     * a pending payment again.
+     */
+    Payment settle(LedgerRecord outcome) {
+        if (status != PaymentStatus.PENDING) {
+            return this;
+        }
+        return outcome.type() == LedgerRecord.Type.SUCCEEDED
+                ? new Payment(id, customerId, bookingId, amountMinor, currency, null,
+                PaymentStatus.SUCCEEDED, outcome.detail(), null, createdAt, outcome.timestamp())
+                : new Payment(id, customerId, bookingId, amountMinor, currency, null,
+                PaymentStatus.FAILED, null, outcome.detail(), createdAt, outcome.timestamp());
+    }
+}
@@ -0,0 +1,394 @@
+package com.payment.payment_service.payments;
+
+import com.payment.payment_service.exception.LedgerException;
+import com.payment.payment_service.gateway.GatewayBatcher;
+import com.payment.payment_service.gateway.GatewayCharge;
+import com.payment.payment_service.gateway.GatewayResult;
+import com.payment.payment_service.gateway.PaymentGateway;
+import com.payment.payment_service.ledger.LedgerRecord;
+import com.payment.payment_service.ledger.PaymentLedger;
+import com.payment.payment_service.ledger.TokenVault;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payment Engine
+ * Runs a payment through the pipeline without blocking a thread on any step:
+ * <ol>
+ *     <li>claim the Idempotency-Key; a retry gets the original payment back</li>
+ *     <li>append INITIATED to the ledger (group commit)</li>
+ *     <li>charge through the gateway batcher</li>
+ *     <li>append SUCCEEDED or FAILED to the ledger (group commit)</li>
+ * </ol>
+ * Each stage batches across concurrent payments, so an fsync or a gateway round trip is
+ * shared by everything that arrived while the previous one was running.
+ *
+ * A payment whose outcome is not in the ledger (gateway outage, crash after step 2) stays
+ * PENDING and is charged again on startup and by the periodic reconciliation. The gateway
+ * treats the payment id as its idempotency key, so this never charges twice.
+ *
+ * The ledger keeps every payment for good but never sees a payment method token: tokens
+ * are written to the {@link TokenVault} alongside the INITIATED record and dropped from it
+ * once the payment is settled. Settled payments leave memory after the in-memory
+ * retention and are read back from the ledger when asked for.
+ */
+@Component
+@Slf4j
+public class PaymentEngine {
+
+    static final String PAYMENT_METHOD_UNAVAILABLE = "payment_method_unavailable";
+    // A token whose payment is not known yet may still be waiting for its INITIATED record
+    private static final Duration ORPHAN_TOKEN_GRACE = Duration.ofMinutes(5);
+
+    private final PaymentLedger ledger;
+    private final TokenVault tokens;
+    private final GatewayBatcher batcher;
+    private final IdempotencyIndex index = new IdempotencyIndex();
+    private final Map<UUID, Payment> payments = new ConcurrentHashMap<>();
+    // Where each payment's records are, so a payment evicted from memory can be read back
+    private final Map<UUID, LedgerPositions> positions = new ConcurrentHashMap<>();
+    // Payments with a charge outstanding, so reconciliation does not send them twice at once
+    private final Set<UUID> charging = ConcurrentHashMap.newKeySet();
+    private final Clock clock;
+    private final Duration idempotencyRetention;
+    private final Duration memoryRetention;
+
+    private final Counter succeededCounter;
+    private final Counter failedCounter;
+    private final Counter pendingCounter;
+    private final Counter replayedCounter;
+    private final Timer paymentTimer;
+
+    @Autowired
+    public PaymentEngine(MeterRegistry meterRegistry,
+                         PaymentGateway gateway,
+                         @Value("${payment.ledger.path:./data/payments.ledger}") Path ledgerPath,
+                         @Value("${payment.ledger.max-batch-size:512}") int ledgerBatchSize,
+                         @Value("${payment.tokens.path:./data/payments.tokens}") Path tokensPath,
+                         @Value("${payment.gateway.max-batch-size:100}") int gatewayBatchSize,
+                         @Value("${payment.gateway.max-in-flight:4}") int gatewayMaxInFlight,
+                         @Value("${payment.idempotency.retention:PT24H}") Duration idempotencyRetention,
+                         @Value("${payment.memory-retention:P7D}") Duration memoryRetention) {
+        this(meterRegistry, Clock.systemUTC(), new PaymentLedger(ledgerPath, ledgerBatchSize),
+                new TokenVault(tokensPath, ledgerBatchSize),
+                new GatewayBatcher(gateway, meterRegistry, gatewayBatchSize, gatewayMaxInFlight),
+                idempotencyRetention, memoryRetention);
+    }
+
+    PaymentEngine(MeterRegistry meterRegistry, Clock clock, PaymentLedger ledger, TokenVault tokens,
+                  GatewayBatcher batcher, Duration idempotencyRetention, Duration memoryRetention) {
+        this.clock = clock;
+        this.ledger = ledger;
+        this.tokens = tokens;
+        this.batcher = batcher;
+        this.idempotencyRetention = idempotencyRetention;
+        this.memoryRetention = memoryRetention;
+
+        this.succeededCounter = Counter.builder("payment.requests").tag("result", "succeeded")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("payment.requests").tag("result", "failed")
+                .register(meterRegistry);
+        this.pendingCounter = Counter.builder("payment.requests").tag("result", "pending")
+                .register(meterRegistry);
+        this.replayedCounter = Counter.builder("payment.requests").tag("result", "replayed")
+                .register(meterRegistry);
+        this.paymentTimer = Timer.builder("payment.duration")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("payment.pending", this, engine -> engine.count(PaymentStatus.PENDING))
+                .register(meterRegistry);
+        Gauge.builder("payment.idempotency.keys", index, IdempotencyIndex::size)
+                .register(meterRegistry);
+        Gauge.builder("payment.in-memory", payments, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The payment created by a request, and whether an earlier request with the same
+     * Idempotency-Key created it
+     */
+    public record Outcome(Payment payment, boolean replayed) {
+    }
+
+    /**
+     * Rebuild payments and idempotency keys from the ledger and tokens from the vault,
+     * then retry anything left pending
+     */
+    @PostConstruct
+    public void recover() {
+        long now = clock.millis();
+        long keysSince = now - idempotencyRetention.toMillis();
+        try {
+            ledger.replay((record, position) -> apply(record, position, keysSince));
+            tokens.load().forEach((paymentId, token) -> payments.computeIfPresent(paymentId, (id, payment) ->
+                    payment.status() == PaymentStatus.PENDING ? payment.withPaymentMethodToken(token) : payment));
+            tokens.compact(this::tokenNeeded);
+            tokens.start();
+            ledger.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover payment ledger", e);
+        }
+        evictSettled(now - memoryRetention.toMillis());
+        log.info("Recovered {} payments ({} in memory, {} pending) from the ledger", positions.size(), payments.size(),
+                count(PaymentStatus.PENDING));
+        resubmitPending();
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        batcher.close();
+        ledger.close();
+        tokens.close();
+    }
+
+    /**
+     * Charge a payment once per (customer, idempotency key)
+     */
+    public CompletableFuture<Outcome> pay(long customerId, String idempotencyKey, long bookingId, long amountMinor,
+                                          String currency, String paymentMethodToken) {
+        String fingerprint = fingerprint(bookingId, amountMinor, currency, paymentMethodToken);
+        long now = clock.millis();
+        IdempotencyIndex.Claim claim = index.claim(customerId, idempotencyKey, fingerprint, now, () -> {
+            Payment payment = new Payment(UUID.randomUUID(), customerId, bookingId, amountMinor, currency,
+                    paymentMethodToken, PaymentStatus.PENDING, null, null, now, now);
+            return start(payment, idempotencyKey, fingerprint);
+        });
+        if (claim.replayed()) {
+            replayedCounter.increment();
+        }
+        return claim.paymentId().thenApply(paymentId -> new Outcome(find(paymentId).orElseThrow(),
+                claim.replayed()));
+    }
+
+    public Optional<Payment> find(UUID paymentId) {
+        Payment payment = payments.get(paymentId);
+        if (payment != null) {
+            return Optional.of(payment);
+        }
+        LedgerPositions at = positions.get(paymentId);
+        if (at == null || !at.readable()) {
+            // Unknown, or not in memory yet
+            return Optional.ofNullable(payments.get(paymentId));
+        }
+        try {
+            return Optional.of(Payment.initiated(ledger.read(at.initiated())).settle(ledger.read(at.outcome())));
+        } catch (IOException e) {
+            throw new LedgerException("Could not read payment " + paymentId + " from the ledger", e);
+        }
+    }
+
+    /**
+     * Charge pending payments again, forget expired idempotency keys and evict settled
+     * payments past the in-memory retention
+     */
+    @Scheduled(fixedDelayString = "${payment.reconcile-interval:PT30S}",
+            initialDelayString = "${payment.reconcile-interval:PT30S}")
+    public void reconcile() {
+        long now = clock.millis();
+        int resubmitted = resubmitPending();
+        int expired = index.expire(now - idempotencyRetention.toMillis());
+        int evicted = evictSettled(now - memoryRetention.toMillis());
+        if (resubmitted > 0 || expired > 0 || evicted > 0) {
+            log.info("Reconciliation resubmitted {} pending payments, expired {} idempotency keys, evicted {} "
+                    + "settled payments", resubmitted, expired, evicted);
+        }
+    }
+
+    /**
+     * Drop the tokens of settled payments from the vault
+     */
+    @Scheduled(fixedDelayString = "${payment.tokens.compact-interval:PT5M}",
+            initialDelayString = "${payment.tokens.compact-interval:PT5M}")
+    public void compactTokens() {
+        try {
+            tokens.compact(this::tokenNeeded);
+        } catch (IOException e) {
+            // Nothing is lost: the set-aside tokens are merged by the next compaction
+            log.error("Token vault compaction failed", e);
+        }
+    }
+
+    int resubmitPending() {
+        int resubmitted = 0;
+        for (Payment payment : payments.values()) {
+            if (payment.status() == PaymentStatus.PENDING && charging.add(payment.id())) {
+                charge(payment);
+                resubmitted++;
+            }
+        }
+        return resubmitted;
+    }
+
+    private CompletableFuture<UUID> start(Payment payment, String idempotencyKey, String fingerprint) {
+        long startNanos = System.nanoTime();
+        // Both written side by side; the charge waits for the two
+        CompletableFuture<Void> token = tokens.put(payment.id(), payment.createdAt(), payment.paymentMethodToken());
+        return ledger.append(payment.initiatedRecord(idempotencyKey, fingerprint))
+                .thenCombine(token, (position, stored) -> position)
+                .thenCompose(position -> {
+                    positions.put(payment.id(), new LedgerPositions(position, LedgerPositions.NONE));
+                    // Claimed before it becomes visible, so reconciliation cannot send it as well
+                    charging.add(payment.id());
+                    payments.put(payment.id(), payment);
+                    return charge(payment);
+                })
+                .thenApply(settled -> {
+                    paymentTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                    switch (settled.status()) {
+                        case SUCCEEDED -> succeededCounter.increment();
+                        case FAILED -> failedCounter.increment();
+                        case PENDING -> pendingCounter.increment();
+                    }
+                    return settled.id();
+                });
+    }
+
+    /**
+     * Charge and record the outcome. Never completes exceptionally: if the gateway or the
+     * ledger fails, the payment is returned still PENDING. Callers must have added the
+     * payment to {@code charging}.
+     */
+    private CompletableFuture<Payment> charge(Payment payment) {
+        UUID paymentId = payment.id();
+        CompletableFuture<LedgerRecord> outcome;
+        if (payment.paymentMethodToken() == null) {
+            // Its token never reached the vault (a crash between the two writes), so the
+            // gateway has never seen it either
+            outcome = CompletableFuture.completedFuture(
+                    LedgerRecord.failed(paymentId, clock.millis(), PAYMENT_METHOD_UNAVAILABLE));
+        } else {
+            GatewayCharge charge = new GatewayCharge(paymentId.toString(), payment.amountMinor(),
+                    payment.currency(), payment.paymentMethodToken());
+            outcome = batcher.submit(charge).thenApply(result -> outcome(paymentId, result));
+        }
+        return outcome
+                .thenCompose(record -> ledger.append(record).thenApply(position -> settle(record, position)))
+                .handle((settled, failure) -> {
+                    charging.remove(paymentId);
+                    if (failure != null) {
+                        Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                        log.warn("Payment {} left pending: {}", paymentId, cause.getMessage());
+                        return payments.get(paymentId);
+                    }
+                    return settled;
+                });
+    }
+
+    private LedgerRecord outcome(UUID paymentId, GatewayResult result) {
+        long now = clock.millis();
+        return result.approved()
+                ? LedgerRecord.succeeded(paymentId, now, result.providerReference())
+                : LedgerRecord.failed(paymentId, now, result.declineReason());
+    }
+
+    private Payment settle(LedgerRecord outcome, long position) {
+        return payments.computeIfPresent(outcome.paymentId(), (id, payment) -> {
+            if (payment.status() == PaymentStatus.PENDING) {
+                positions.computeIfPresent(id, (key, at) -> at.withOutcome(position));
+            }
+            return payment.settle(outcome);
+        });
+    }
+
+    private void apply(LedgerRecord record, long position, long keysSince) {
+        switch (record.type()) {
+            case INITIATED -> {
+                if (payments.putIfAbsent(record.paymentId(), Payment.initiated(record)) == null) {
+                    positions.put(record.paymentId(), new LedgerPositions(position, LedgerPositions.NONE));
+                }
+                if (record.timestamp() >= keysSince) {
+                    index.restore(record.customerId(), record.idempotencyKey(), record.fingerprint(),
+                            record.paymentId(), record.timestamp());
+                }
+            }
+            case SUCCEEDED, FAILED -> settle(record, position);
+        }
+    }
+
+    /**
+     * A token is kept while its payment is pending. One whose payment is not in memory is
+     * kept for a grace period: its INITIATED record may still be on the way.
+     */
+    private boolean tokenNeeded(UUID paymentId, long storedAt) {
+        Payment payment = payments.get(paymentId);
+        return payment != null
+                ? payment.status() == PaymentStatus.PENDING
+                : storedAt >= clock.millis() - ORPHAN_TOKEN_GRACE.toMillis();
+    }
+
+    /**
+     * Drop settled payments from memory; only those that can be read back from the ledger
+     */
+    int evictSettled(long settledBefore) {
+        int size = payments.size();
+        payments.values().removeIf(payment -> {
+            LedgerPositions at = positions.get(payment.id());
+            return payment.status() != PaymentStatus.PENDING && payment.updatedAt() < settledBefore
+                    && at != null && at.readable();
+        });
+        return Math.max(0, size - payments.size());
+    }
+
+    private long count(PaymentStatus status) {
+        return payments.values().stream().filter(payment -> payment.status() == status).count();
+    }
+
+    /**
+     * Offsets of a payment's INITIATED and outcome records in the ledger
+     */
+    private record LedgerPositions(long initiated, long outcome) {
+
+        static final long NONE = -1;
+
+        LedgerPositions withOutcome(long position) {
+            return new LedgerPositions(initiated, position);
+        }
+
+        // Records replayed from a compacted base file have no position
+        boolean readable() {
+            return initiated != NONE && outcome != NONE;
+        }
+    }
+
+    /**
+     * Identifies the request behind an idempotency key, so reusing a key for a different
+     * payment is rejected instead of answered with the wrong one
+     */
+    private static String fingerprint(long bookingId, long amountMinor, String currency, String paymentMethodToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((bookingId + "|" + amountMinor + "|" + currency + "|" + paymentMethodToken)
+                    .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.payment.payment_service.payments;
+
+public enum PaymentStatus {
+    PENDING,    // in the ledger, gateway answer not recorded yet
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,32 @@
+package com.payment.payment_service.services;
+
+
+import com.payment.payment_service.DTOs.CreatePaymentRequest;
+import com.payment.payment_service.DTOs.PaymentResponse;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Payment Service Interface
+ * Defines payment operations
+ */
+public interface PaymentService {
+
+    /**
+     * The payment and whether it was created by an earlier request with the same key
+     */
+    record Result(PaymentResponse payment, boolean replayed) {
+    }
+
+    /**
+     * Pay for a booking once per Idempotency-Key. Completes when the gateway's answer is on
+     * disk, or with the payment still PENDING if the gateway could not be reached.
+     */
+    CompletableFuture<Result> createPayment(Long customerId, String idempotencyKey, CreatePaymentRequest request);
+
+    /**
+     * A payment, visible to the customer who made it and to admins
+     */
+    PaymentResponse getPayment(UUID paymentId, Long userId, String role);
+}
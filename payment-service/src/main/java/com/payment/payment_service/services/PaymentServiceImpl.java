@@ -0,0 +1,107 @@
+package com.payment.payment_service.services;
+
+
+import com.payment.payment_service.DTOs.CreatePaymentRequest;
+import com.payment.payment_service.DTOs.PaymentResponse;
+import com.payment.payment_service.exception.AccessDeniedException;
+import com.payment.payment_service.exception.InvalidPaymentRequestException;
+import com.payment.payment_service.exception.PaymentNotFoundException;
+import com.payment.payment_service.payments.Payment;
+import com.payment.payment_service.payments.PaymentEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Payment Service Implementation
+ * Validates payment requests and hands them to the payment engine
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PaymentServiceImpl implements PaymentService {
+
+    private static final String ADMIN_ROLE = "ADMIN";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private final PaymentEngine paymentEngine;
+
+    @Override
+    public CompletableFuture<Result> createPayment(Long customerId, String idempotencyKey,
+                                                   CreatePaymentRequest request) {
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new InvalidPaymentRequestException(
+                    "Idempotency-Key must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        Currency currency = currency(request.getCurrency());
+        long amountMinor = toMinorUnits(request.getAmount(), currency);
+
+        return paymentEngine.pay(customerId, idempotencyKey, request.getBookingId(), amountMinor,
+                        currency.getCurrencyCode(), request.getPaymentMethodToken())
+                .thenApply(outcome -> {
+                    Payment payment = outcome.payment();
+                    log.debug("Payment {} for booking {} is {}{}", payment.id(), payment.bookingId(),
+                            payment.status(), outcome.replayed() ? " (replayed)" : "");
+                    return new Result(toResponse(payment), outcome.replayed());
+                });
+    }
+
+    @Override
+    public PaymentResponse getPayment(UUID paymentId, Long userId, String role) {
+        Payment payment = paymentEngine.find(paymentId)
+                .orElseThrow(() -> new PaymentNotFoundException("Payment not found: " + paymentId));
+        if (!ADMIN_ROLE.equals(role) && payment.customerId() != userId) {
+            throw new AccessDeniedException("You can only view your own payments");
+        }
+        return toResponse(payment);
+    }
+
+    private static Currency currency(String code) {
+        try {
+            Currency currency = Currency.getInstance(code);
+            if (currency.getDefaultFractionDigits() < 0) {
+                throw new InvalidPaymentRequestException("Currency " + code + " cannot be charged");
+            }
+            return currency;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPaymentRequestException("Unknown currency: " + code);
+        }
+    }
+
+    private static long toMinorUnits(BigDecimal amount, Currency currency) {
+        try {
+            return amount.movePointRight(currency.getDefaultFractionDigits()).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new InvalidPaymentRequestException("Amount has too many decimal places or is too large for "
+                    + currency.getCurrencyCode());
+        }
+    }
+
+    private static PaymentResponse toResponse(Payment payment) {
+        Currency currency = Currency.getInstance(payment.currency());
+        return PaymentResponse.builder()
+                .paymentId(payment.id())
+                .bookingId(payment.bookingId())
+                .customerId(payment.customerId())
+                .amount(BigDecimal.valueOf(payment.amountMinor(), currency.getDefaultFractionDigits()))
+                .currency(payment.currency())
+                .status(payment.status().name())
+                .providerReference(payment.providerReference())
+                .failureReason(payment.failureReason())
+                .createdAt(toDateTime(payment.createdAt()))
+                .updatedAt(toDateTime(payment.updatedAt()))
+                .build();
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
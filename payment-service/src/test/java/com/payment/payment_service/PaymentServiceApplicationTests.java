@@ -3,7 +3,9 @@ package com.payment.payment_service;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+		"payment.ledger.path=target/test-data/payments.ledger",
+		"payment.tokens.path=target/test-data/payments.tokens"})
 class PaymentServiceApplicationTests {
 
 	@Test
@@ -0,0 +1,329 @@
+package com.payment.payment_service.payments;
+
+import com.payment.payment_service.exception.IdempotencyKeyReusedException;
+import com.payment.payment_service.gateway.FakePaymentGateway;
+import com.payment.payment_service.gateway.GatewayBatcher;
+import com.payment.payment_service.ledger.PaymentLedger;
+import com.payment.payment_service.ledger.TokenVault;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaymentEngineTest {
+
+	private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-18T09:00:00Z"), ZoneOffset.UTC);
+	private static final long CUSTOMER_ID = 42L;
+	private static final String TOKEN = "tok_visa";
+	private static final String PENDING_TOKEN = "tok_mastercard";
+
+	@TempDir
+	Path dir;
+
+	private final FakePaymentGateway gateway = new FakePaymentGateway(Duration.ZERO);
+	private final List<PaymentEngine> engines = new ArrayList<>();
+
+	@AfterEach
+	void tearDown() throws IOException {
+		for (PaymentEngine engine : engines) {
+			engine.shutdown();
+		}
+	}
+
+	@Test
+	void concurrentRetriesWithTheSameKeyChargeOnce() throws Exception {
+		PaymentEngine engine = engine(new SimpleMeterRegistry(), gateway, 100, 4);
+		int threads = 32;
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<PaymentEngine.Outcome> outcomes = new ArrayList<>();
+		try {
+			List<Future<PaymentEngine.Outcome>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					return engine.pay(CUSTOMER_ID, "key-1", 7L, 2_500, "EUR", TOKEN).join();
+				}));
+			}
+			start.countDown();
+			for (Future<PaymentEngine.Outcome> future : futures) {
+				outcomes.add(future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		Set<UUID> paymentIds = new HashSet<>();
+		outcomes.forEach(outcome -> paymentIds.add(outcome.payment().id()));
+		assertEquals(1, paymentIds.size());
+		assertEquals(1, outcomes.stream().filter(outcome -> !outcome.replayed()).count());
+		assertEquals(PaymentStatus.SUCCEEDED, engine.find(paymentIds.iterator().next()).orElseThrow().status());
+		assertEquals(1, gateway.chargeCount());
+	}
+
+	@Test
+	void reusingAKeyForADifferentPaymentIsRejected() {
+		PaymentEngine engine = engine(new SimpleMeterRegistry(), gateway, 100, 4);
+		engine.pay(CUSTOMER_ID, "key-1", 7L, 2_500, "EUR", TOKEN).join();
+
+		assertThrows(IdempotencyKeyReusedException.class,
+				() -> engine.pay(CUSTOMER_ID, "key-1", 7L, 3_000, "EUR", TOKEN));
+		// Keys are scoped to the customer
+		assertFalse(engine.pay(CUSTOMER_ID + 1, "key-1", 7L, 3_000, "EUR", TOKEN).join().replayed());
+	}
+
+	@Test
+	void declinedChargesFail() {
+		PaymentEngine engine = engine(new SimpleMeterRegistry(), gateway, 100, 4);
+
+		Payment payment = engine.pay(CUSTOMER_ID, "key-1", 7L, 2_500, "EUR", FakePaymentGateway.DECLINED_TOKEN)
+				.join().payment();
+
+		assertEquals(PaymentStatus.FAILED, payment.status());
+		assertEquals("card_declined", payment.failureReason());
+	}
+
+	@Test
+	void paymentsAndKeysAreRecoveredFromTheLedger() throws Exception {
+		PaymentEngine engine = engine(new SimpleMeterRegistry(), gateway, 100, 4);
+		Payment succeeded = engine.pay(CUSTOMER_ID, "key-1", 1L, 1_000, "EUR", TOKEN).join().payment();
+		Payment failed = engine.pay(CUSTOMER_ID, "key-2", 2L, 2_000, "EUR", FakePaymentGateway.DECLINED_TOKEN)
+				.join().payment();
+		// The gateway is down: only INITIATED reaches the ledger, as if we crashed mid-charge
+		gateway.failNextBatches(1);
+		Payment pending = engine.pay(CUSTOMER_ID, "key-3", 3L, 3_000, "EUR", TOKEN).join().payment();
+		assertEquals(PaymentStatus.PENDING, pending.status());
+		engine.shutdown();
+		engines.remove(engine);
+
+		// A crash in the middle of the next record
+		try (FileChannel channel = FileChannel.open(ledgerPath(), StandardOpenOption.APPEND)) {
+			channel.write(ByteBuffer.allocate(12).putInt(200).putInt(0).putInt(0x0102).flip());
+		}
+
+		PaymentEngine recovered = engine(new SimpleMeterRegistry(), gateway, 100, 4);
+
+		assertEquals(PaymentStatus.SUCCEEDED, recovered.find(succeeded.id()).orElseThrow().status());
+		assertEquals(PaymentStatus.FAILED, recovered.find(failed.id()).orElseThrow().status());
+		// The pending payment is charged again on startup
+		awaitStatus(recovered, pending.id(), PaymentStatus.SUCCEEDED);
+
+		PaymentEngine.Outcome retry = recovered.pay(CUSTOMER_ID, "key-1", 1L, 1_000, "EUR", TOKEN).join();
+		assertTrue(retry.replayed());
+		assertEquals(succeeded.id(), retry.payment().id());
+		assertThrows(IdempotencyKeyReusedException.class,
+				() -> recovered.pay(CUSTOMER_ID, "key-2", 2L, 9_999, "EUR", TOKEN));
+		assertEquals(3, gateway.chargeCount());
+
+		// The outcome written after the torn tail was cut off survives another restart
+		recovered.shutdown();
+		engines.remove(recovered);
+		PaymentEngine restarted = engine(new SimpleMeterRegistry(), gateway, 100, 4);
+		assertEquals(PaymentStatus.SUCCEEDED, restarted.find(pending.id()).orElseThrow().status());
+		assertEquals(3, gateway.chargeCount());
+	}
+
+	@Test
+	void tokensStayOutOfTheLedgerAndLeaveTheVaultOnceSettled() throws Exception {
+		PaymentEngine engine = engine(new SimpleMeterRegistry(), gateway, 100, 4);
+		Payment settled = engine.pay(CUSTOMER_ID, "key-1", 1L, 1_000, "EUR", TOKEN).join().payment();
+		gateway.failNextBatches(1);
+		Payment pending = engine.pay(CUSTOMER_ID, "key-2", 2L, 2_000, "EUR", PENDING_TOKEN).join().payment();
+		assertNull(engine.find(settled.id()).orElseThrow().paymentMethodToken());
+
+		engine.compactTokens();
+
+		String ledger = contents(ledgerPath());
+		assertFalse(ledger.contains(TOKEN));
+		assertFalse(ledger.contains(PENDING_TOKEN));
+		// The pending payment still needs its token to be charged again
+		String vault = tokenVaultContents();
+		assertFalse(vault.contains(TOKEN));
+		assertTrue(vault.contains(PENDING_TOKEN));
+		engine.shutdown();
+		engines.remove(engine);
+
+		PaymentEngine recovered = engine(new SimpleMeterRegistry(), gateway, 100, 4);
+		assertEquals(PaymentStatus.SUCCEEDED, recovered.find(settled.id()).orElseThrow().status());
+		awaitStatus(recovered, pending.id(), PaymentStatus.SUCCEEDED);
+		assertTrue(recovered.pay(CUSTOMER_ID, "key-1", 1L, 1_000, "EUR", TOKEN).join().replayed());
+		assertEquals(2, gateway.chargeCount());
+	}
+
+	@Test
+	void settledPaymentsLeaveMemoryButNotTheLedger() throws Exception {
+		PaymentEngine engine = engine(new SimpleMeterRegistry(), gateway, 100, 4);
+		Payment settled = engine.pay(CUSTOMER_ID, "key-1", 1L, 1_000, "EUR", TOKEN).join().payment();
+		Payment declined = engine.pay(CUSTOMER_ID, "key-2", 2L, 2_000, "EUR", FakePaymentGateway.DECLINED_TOKEN)
+				.join().payment();
+		engine.shutdown();
+		engines.remove(engine);
+		long ledgerSize = Files.size(ledgerPath());
+
+		MeterRegistry meterRegistry = new SimpleMeterRegistry();
+		PaymentEngine later = engine(meterRegistry, gateway, 100, 4, Clock.offset(CLOCK, Duration.ofDays(8)));
+
+		assertEquals(0.0, meterRegistry.get("payment.in-memory").gauge().value());
+		assertEquals(ledgerSize, Files.size(ledgerPath()));
+		assertEquals(settled, later.find(settled.id()).orElseThrow());
+		assertEquals(declined, later.find(declined.id()).orElseThrow());
+		assertTrue(later.find(UUID.randomUUID()).isEmpty());
+	}
+
+	@Test
+	void aPendingPaymentWhoseTokenWasLostFailsWithoutACharge() throws Exception {
+		PaymentEngine engine = engine(new SimpleMeterRegistry(), gateway, 100, 4);
+		gateway.failNextBatches(1);
+		Payment pending = engine.pay(CUSTOMER_ID, "key-1", 1L, 1_000, "EUR", TOKEN).join().payment();
+		engine.shutdown();
+		engines.remove(engine);
+		// A crash after the INITIATED record was written but before the token was
+		try (Stream<Path> files = Files.list(dir)) {
+			for (Path file : files.filter(file -> file.getFileName().toString().startsWith("payments.tokens"))
+					.toList()) {
+				Files.delete(file);
+			}
+		}
+
+		PaymentEngine recovered = engine(new SimpleMeterRegistry(), gateway, 100, 4);
+
+		awaitStatus(recovered, pending.id(), PaymentStatus.FAILED);
+		assertEquals(PaymentEngine.PAYMENT_METHOD_UNAVAILABLE,
+				recovered.find(pending.id()).orElseThrow().failureReason());
+		assertEquals(0, gateway.chargeCount());
+	}
+
+	@Test
+	void tokensLeftTwiceByAnInterruptedCompactionAreChargedOnce() throws Exception {
+		PaymentEngine engine = engine(new SimpleMeterRegistry(), gateway, 100, 4);
+		gateway.failNextBatches(1);
+		Payment pending = engine.pay(CUSTOMER_ID, "key-1", 1L, 1_000, "EUR", TOKEN).join().payment();
+		engine.compactTokens();
+		engine.shutdown();
+		engines.remove(engine);
+		// A crash after the compacted base replaced the old one, before the merged segment was deleted
+		Files.copy(dir.resolve("payments.tokens.base"), dir.resolve("payments.tokens.compacting"));
+
+		PaymentEngine recovered = engine(new SimpleMeterRegistry(), gateway, 100, 4);
+
+		awaitStatus(recovered, pending.id(), PaymentStatus.SUCCEEDED);
+		assertEquals(1, gateway.chargeCount());
+	}
+
+	/**
+	 * Payments per second with many concurrent clients against a gateway with a 20ms round
+	 * trip; batching is what keeps this far above maxInFlight / 20ms. Run with -Dbenchmarks=true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+	void throughput() {
+		FakePaymentGateway slowGateway = new FakePaymentGateway(Duration.ofMillis(20));
+		MeterRegistry meterRegistry = new SimpleMeterRegistry();
+		PaymentEngine engine = engine(meterRegistry, slowGateway, 100, 4);
+		int payments = 50_000;
+		int concurrency = 2_000;
+
+		// Warm up
+		run(engine, "warmup-", 5_000, concurrency);
+
+		long start = System.nanoTime();
+		run(engine, "run-", payments, concurrency);
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.printf("%d payments in %.2fs: %.0f payments/s, mean gateway batch %.1f, %d gateway calls%n",
+				payments, seconds, payments / seconds,
+				meterRegistry.get("payment.gateway.batch.size").summary().mean(), slowGateway.batchCount());
+		assertEquals(payments + 5_000, slowGateway.chargeCount());
+	}
+
+	private static void run(PaymentEngine engine, String keyPrefix, int payments, int concurrency) {
+		List<CompletableFuture<PaymentEngine.Outcome>> window = new ArrayList<>(concurrency);
+		for (int i = 0; i < payments; i++) {
+			window.add(engine.pay(CUSTOMER_ID, keyPrefix + i, i, 1_000, "EUR", TOKEN));
+			if (window.size() == concurrency) {
+				window.forEach(CompletableFuture::join);
+				window.clear();
+			}
+		}
+		window.forEach(CompletableFuture::join);
+	}
+
+	private static void awaitStatus(PaymentEngine engine, UUID paymentId, PaymentStatus status)
+			throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (engine.find(paymentId).orElseThrow().status() != status && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(status, engine.find(paymentId).orElseThrow().status());
+	}
+
+	private PaymentEngine engine(MeterRegistry meterRegistry, FakePaymentGateway gateway, int batchSize,
+								 int maxInFlight) {
+		return engine(meterRegistry, gateway, batchSize, maxInFlight, CLOCK);
+	}
+
+	private PaymentEngine engine(MeterRegistry meterRegistry, FakePaymentGateway gateway, int batchSize,
+								 int maxInFlight, Clock clock) {
+		PaymentEngine engine = new PaymentEngine(meterRegistry, clock, new PaymentLedger(ledgerPath(), 512),
+				new TokenVault(dir.resolve("payments.tokens"), 512),
+				new GatewayBatcher(gateway, meterRegistry, batchSize, maxInFlight), Duration.ofHours(24),
+				Duration.ofDays(7));
+		engine.recover();
+		engines.add(engine);
+		return engine;
+	}
+
+	private Path ledgerPath() {
+		return dir.resolve("payments.ledger");
+	}
+
+	/**
+	 * Every token vault file, active segment included, as one string
+	 */
+	private String tokenVaultContents() throws IOException {
+		StringBuilder contents = new StringBuilder();
+		try (Stream<Path> files = Files.list(dir)) {
+			for (Path file : files.filter(file -> file.getFileName().toString().startsWith("payments.tokens"))
+					.sorted().toList()) {
+				contents.append(contents(file));
+			}
+		}
+		return contents.toString();
+	}
+
+	private static String contents(Path file) throws IOException {
+		return new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+	}
+}
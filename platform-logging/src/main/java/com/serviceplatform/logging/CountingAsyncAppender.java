@@ -0,0 +1,21 @@
+package com.serviceplatform.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * AsyncAppender that counts the events it discards. With neverBlock the base class drops
+ * silently when the ring buffer is full, and events at INFO or below are discarded once
+ * the remaining capacity falls under the discarding threshold.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if (remaining == 0 || (remaining < getDiscardingThreshold() && isDiscardable(event))) {
+            LogDropCounters.QUEUE_FULL.increment();
+        }
+        super.append(event);
+    }
+}
@@ -0,0 +1,25 @@
+package com.serviceplatform.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide counts of log events that were never written. Logback creates its
+ * appenders and filters before the Spring context exists, so the counts live here
+ * and are published by LoggingMetricsAutoConfiguration.
+ */
+public final class LogDropCounters {
+
+    static final LongAdder QUEUE_FULL = new LongAdder();
+    static final LongAdder RATE_LIMITED = new LongAdder();
+
+    private LogDropCounters() {
+    }
+
+    public static long queueFull() {
+        return QUEUE_FULL.sum();
+    }
+
+    public static long rateLimited() {
+        return RATE_LIMITED.sum();
+    }
+}
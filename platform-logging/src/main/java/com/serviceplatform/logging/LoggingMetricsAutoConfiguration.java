@@ -0,0 +1,30 @@
+package com.serviceplatform.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Publishes logging.events.dropped{reason=queue_full|rate_limited}
+ */
+@AutoConfiguration
+@ConditionalOnClass(MeterRegistry.class)
+public class LoggingMetricsAutoConfiguration {
+
+    @Bean
+    public MeterBinder loggingDropMetrics() {
+        return registry -> {
+            FunctionCounter.builder("logging.events.dropped", LogDropCounters.QUEUE_FULL, counter -> counter.sum())
+                    .tag("reason", "queue_full")
+                    .description("Log events discarded because the async appender queue was full")
+                    .register(registry);
+            FunctionCounter.builder("logging.events.dropped", LogDropCounters.RATE_LIMITED, counter -> counter.sum())
+                    .tag("reason", "rate_limited")
+                    .description("Log events denied by the per-logger rate limit")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.serviceplatform.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate Limiting TurboFilter
+ * Caps request-level messages (INFO and below) from the configured logger prefixes at
+ * maxPerSecond events per logger. WARN and ERROR are never limited. Each logger's window
+ * is a single AtomicLong holding the epoch second and the count, so the check is one
+ * CAS and allocates nothing.
+ */
+public class RateLimitingTurboFilter extends TurboFilter {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final AtomicLong UNLIMITED = new AtomicLong();
+
+    private final ConcurrentHashMap<String, AtomicLong> windows = new ConcurrentHashMap<>();
+    private String[] loggerPrefixes = new String[0];
+    private int maxPerSecond = 100;
+    private LongSupplier currentTimeMillis = System::currentTimeMillis;
+
+    public void setLoggers(String loggers) {
+        this.loggerPrefixes = loggers == null || loggers.isBlank()
+                ? new String[0]
+                : loggers.trim().split("\\s*,\\s*");
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    /**
+     * Time source for the per-second windows; tests use a controllable one
+     */
+    void setTimeSource(LongSupplier currentTimeMillis) {
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.WARN) || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        AtomicLong window = windows.computeIfAbsent(logger.getName(), this::windowFor);
+        if (window == UNLIMITED) {
+            return FilterReply.NEUTRAL;
+        }
+        if (tryAcquire(window)) {
+            return FilterReply.NEUTRAL;
+        }
+        LogDropCounters.RATE_LIMITED.increment();
+        return FilterReply.DENY;
+    }
+
+    private AtomicLong windowFor(String loggerName) {
+        for (String prefix : loggerPrefixes) {
+            if (loggerName.startsWith(prefix)) {
+                return new AtomicLong();
+            }
+        }
+        return UNLIMITED;
+    }
+
+    private boolean tryAcquire(AtomicLong window) {
+        long second = currentTimeMillis.getAsLong() / 1000;
+        while (true) {
+            long current = window.get();
+            long count = (current >>> COUNT_BITS) == second ? current & COUNT_MASK : 0;
+            if (count >= maxPerSecond) {
+                return false;
+            }
+            if (window.compareAndSet(current, (second << COUNT_BITS) | (count + 1))) {
+                return true;
+            }
+        }
+    }
+}
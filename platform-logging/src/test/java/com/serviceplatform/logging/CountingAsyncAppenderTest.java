@@ -0,0 +1,156 @@
+package com.serviceplatform.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.FileAppender;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountingAsyncAppenderTest {
+
+	@Test
+	void countsEventsDroppedWhenTheQueueIsFull() throws Exception {
+		LoggerContext context = new LoggerContext();
+		CountDownLatch received = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AppenderBase<ILoggingEvent> slow = new AppenderBase<>() {
+			@Override
+			protected void append(ILoggingEvent event) {
+				received.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		slow.setContext(context);
+		slow.start();
+		CountingAsyncAppender async = new CountingAsyncAppender();
+		async.setContext(context);
+		async.setQueueSize(1);
+		async.setNeverBlock(true);
+		async.addAppender(slow);
+		async.start();
+		Logger logger = context.getLogger("com.example.web.UserController");
+		logger.addAppender(async);
+
+		long droppedBefore = LogDropCounters.queueFull();
+		logger.info("taken by the worker");
+		assertTrue(received.await(5, TimeUnit.SECONDS));
+		logger.info("queued");
+		logger.info("dropped");
+		release.countDown();
+		async.stop();
+
+		assertEquals(droppedBefore + 1, LogDropCounters.queueFull());
+	}
+
+	/**
+	 * Logging cost of the /login path before and after the shared setup: the gateway's
+	 * authentication log plus the controller and service INFO lines, written synchronously
+	 * to a file, through the async appender, and through the async appender with the rate
+	 * limiter on the request-level loggers. There is no other work per login, so this is
+	 * the ceiling logging puts on the path. Run with -Dbenchmarks=true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+	void loginPathLoggingThroughput(@TempDir Path directory) throws Exception {
+		System.out.printf("%-20s %14s %12s%n", "setup", "logins/s", "dropped");
+		for (int round = 0; round < 2; round++) {
+			report("sync file", loginThroughput(directory.resolve("sync.log"), false, false));
+			report("async file", loginThroughput(directory.resolve("async.log"), true, false));
+			report("async + rate limit", loginThroughput(directory.resolve("limited.log"), true, true));
+		}
+	}
+
+	private static long[] loginThroughput(Path file, boolean async, boolean rateLimited) throws Exception {
+		LoggerContext context = new LoggerContext();
+		PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+		encoder.setContext(context);
+		encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %-40.40logger{39} : %m%n");
+		encoder.start();
+		FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+		fileAppender.setContext(context);
+		fileAppender.setFile(file.toString());
+		fileAppender.setEncoder(encoder);
+		fileAppender.start();
+
+		Appender<ILoggingEvent> appender = fileAppender;
+		if (async) {
+			CountingAsyncAppender asyncAppender = new CountingAsyncAppender();
+			asyncAppender.setContext(context);
+			asyncAppender.setQueueSize(8192);
+			asyncAppender.setNeverBlock(true);
+			asyncAppender.setIncludeCallerData(false);
+			asyncAppender.addAppender(fileAppender);
+			asyncAppender.start();
+			appender = asyncAppender;
+		}
+		if (rateLimited) {
+			RateLimitingTurboFilter filter = new RateLimitingTurboFilter();
+			filter.setContext(context);
+			filter.setLoggers("com.example.web, com.example.service");
+			filter.setMaxPerSecond(100);
+			filter.start();
+			context.addTurboFilter(filter);
+		}
+		Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+		root.setLevel(Level.INFO);
+		root.addAppender(appender);
+		Logger gateway = context.getLogger("com.example.gateway.JwtAuthenticationFilter");
+		Logger controller = context.getLogger("com.example.web.UserController");
+		Logger service = context.getLogger("com.example.service.UserServiceImpl");
+
+		long droppedBefore = LogDropCounters.queueFull() + LogDropCounters.rateLimited();
+		int threads = 16;
+		long durationNanos = TimeUnit.SECONDS.toNanos(2);
+		long end = System.nanoTime() + durationNanos;
+		long logins = 0;
+		try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+			List<Future<Long>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int thread = t;
+				results.add(executor.submit(() -> {
+					long count = 0;
+					while (System.nanoTime() < end) {
+						String email = "user" + thread + "-" + count + "@example.com";
+						gateway.info("Authenticated request for user {}", count);
+						controller.info("Login request received for email: {}", email);
+						service.info("User logged in successfully: {}", email);
+						count++;
+					}
+					return count;
+				}));
+			}
+			for (Future<Long> result : results) {
+				logins += result.get();
+			}
+		}
+		context.stop();
+		long dropped = LogDropCounters.queueFull() + LogDropCounters.rateLimited() - droppedBefore;
+		return new long[]{logins * TimeUnit.SECONDS.toNanos(1) / durationNanos, dropped};
+	}
+
+	private static void report(String setup, long[] result) {
+		System.out.printf("%-20s %14d %12d%n", setup, result[0], result[1]);
+	}
+}
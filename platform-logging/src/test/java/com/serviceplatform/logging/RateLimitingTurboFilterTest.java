@@ -0,0 +1,66 @@
+package com.serviceplatform.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitingTurboFilterTest {
+
+	private final LoggerContext context = new LoggerContext();
+
+	@Test
+	void capsInfoFromConfiguredLoggersButNeverWarnings() {
+		RateLimitingTurboFilter filter = new RateLimitingTurboFilter();
+		filter.setLoggers("com.example.web, com.example.auth");
+		filter.setMaxPerSecond(2);
+		filter.setTimeSource(() -> 1_000_500L);
+		Logger limited = context.getLogger("com.example.web.UserController");
+		limited.setLevel(Level.INFO);
+
+		long droppedBefore = LogDropCounters.rateLimited();
+		assertEquals(FilterReply.NEUTRAL, filter.decide(null, limited, Level.INFO, "a", null, null));
+		assertEquals(FilterReply.NEUTRAL, filter.decide(null, limited, Level.INFO, "b", null, null));
+		assertEquals(FilterReply.DENY, filter.decide(null, limited, Level.INFO, "c", null, null));
+		assertEquals(FilterReply.NEUTRAL, filter.decide(null, limited, Level.WARN, "d", null, null));
+		assertEquals(droppedBefore + 1, LogDropCounters.rateLimited());
+	}
+
+	@Test
+	void capResetsInTheNextSecond() {
+		AtomicLong now = new AtomicLong(1_000_000L);
+		RateLimitingTurboFilter filter = new RateLimitingTurboFilter();
+		filter.setLoggers("com.example.web");
+		filter.setMaxPerSecond(1);
+		filter.setTimeSource(now::get);
+		Logger limited = context.getLogger("com.example.web.UserController");
+		limited.setLevel(Level.INFO);
+
+		assertEquals(FilterReply.NEUTRAL, filter.decide(null, limited, Level.INFO, "a", null, null));
+		now.addAndGet(999);
+		assertEquals(FilterReply.DENY, filter.decide(null, limited, Level.INFO, "b", null, null));
+		now.addAndGet(1);
+		assertEquals(FilterReply.NEUTRAL, filter.decide(null, limited, Level.INFO, "c", null, null));
+	}
+
+	@Test
+	void ignoresOtherLoggersAndDisabledLevels() {
+		RateLimitingTurboFilter filter = new RateLimitingTurboFilter();
+		filter.setLoggers("com.example.web");
+		filter.setMaxPerSecond(0);
+		Logger other = context.getLogger("com.example.repository.UserRepository");
+		Logger limited = context.getLogger("com.example.web.UserController");
+		limited.setLevel(Level.INFO);
+
+		long droppedBefore = LogDropCounters.rateLimited();
+		assertEquals(FilterReply.NEUTRAL, filter.decide(null, other, Level.INFO, "a", null, null));
+		assertEquals(FilterReply.NEUTRAL, filter.decide(null, limited, Level.DEBUG, "b", null, null));
+		assertEquals(FilterReply.DENY, filter.decide(null, limited, Level.INFO, "c", null, null));
+		assertEquals(droppedBefore + 1, LogDropCounters.rateLimited());
+	}
+}
@@ -0,0 +1,34 @@
+package com.review.review_rating_service.DTOs;
+
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a Customer Reviewing a Provider
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateReviewRequest {
+
+    @NotNull(message = "Provider id is required")
+    private Long providerId;
+
+    private Long bookingId;
+
+    @NotNull(message = "Rating is required")
+    @Min(value = 1, message = "Rating must be between 1 and 5")
+    @Max(value = 5, message = "Rating must be between 1 and 5")
+    private Integer rating;
+
+    @Size(max = 2000, message = "Comment must not exceed 2000 characters")
+    private String comment;
+}
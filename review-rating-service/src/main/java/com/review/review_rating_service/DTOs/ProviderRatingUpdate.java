@@ -0,0 +1,21 @@
+package com.review.review_rating_service.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for a Provider's Rating Totals Pushed to user-service
+ * Carries absolute values rather than increments, so a retried push is harmless.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderRatingUpdate {
+
+    private Long providerId;
+    private Integer totalReviews;
+    private BigDecimal averageRating;
+}
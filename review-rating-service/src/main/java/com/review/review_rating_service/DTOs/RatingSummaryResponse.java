@@ -0,0 +1,22 @@
+package com.review.review_rating_service.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for a Provider's Rating Summary
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingSummaryResponse {
+
+    private Long providerId;
+    private Long totalReviews;
+    private BigDecimal averageRating;
+    private List<Long> histogram; // review count per star value, 1 star first
+}
@@ -0,0 +1,24 @@
+package com.review.review_rating_service.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a Review
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewResponse {
+
+    private Long id;
+    private Long providerId;
+    private Long customerId;
+    private Long bookingId;
+    private Integer rating;
+    private String comment;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,55 @@
+package com.review.review_rating_service.controllers;
+
+import com.review.review_rating_service.DTOs.ApiResponse;
+import com.review.review_rating_service.DTOs.RatingSummaryResponse;
+import com.review.review_rating_service.services.RatingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Rating Controller
+ * Public provider rating lookups
+ */
+@RestController
+@RequestMapping("/api/ratings")
+@RequiredArgsConstructor
+@Slf4j
+public class RatingController {
+
+    private final RatingService ratingService;
+
+    /**
+     * A provider's rating summary
+     * GET /api/ratings/providers/{providerId}
+     */
+    @GetMapping("/providers/{providerId}")
+    public ResponseEntity<ApiResponse<RatingSummaryResponse>> getRatingSummary(@PathVariable Long providerId) {
+
+        RatingSummaryResponse summary = ratingService.getRatingSummary(providerId);
+
+        return ResponseEntity
+                .ok(ApiResponse.success("Rating retrieved successfully", summary));
+    }
+
+    /**
+     * Rating summaries of several providers, e.g. for a search results page
+     * GET /api/ratings/providers?ids=12,15,31
+     */
+    @GetMapping("/providers")
+    public ResponseEntity<ApiResponse<List<RatingSummaryResponse>>> getRatingSummaries(
+            @RequestParam("ids") List<Long> providerIds) {
+
+        List<RatingSummaryResponse> summaries = ratingService.getRatingSummaries(providerIds);
+
+        return ResponseEntity
+                .ok(ApiResponse.success("Ratings retrieved successfully", summaries));
+    }
+}
@@ -0,0 +1,95 @@
+package com.review.review_rating_service.controllers;
+
+import com.review.review_rating_service.DTOs.ApiResponse;
+import com.review.review_rating_service.DTOs.CreateReviewRequest;
+import com.review.review_rating_service.DTOs.ReviewResponse;
+import com.review.review_rating_service.exception.AccessDeniedException;
+import com.review.review_rating_service.feed.ReviewFeedCursor;
+import com.review.review_rating_service.services.ReviewService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+
+/**
+ * Review Controller
+ * Handles review submission and provider review feeds
+ */
+@RestController
+@RequestMapping("/api/reviews")
+@Slf4j
+public class ReviewController {
+
+    private static final String CUSTOMER_ROLE = "CUSTOMER";
+    private static final Duration FIRST_PAGE_MAX_AGE = Duration.ofSeconds(5);
+    private static final Duration OLDER_PAGE_MAX_AGE = Duration.ofMinutes(5);
+
+    private final ReviewService reviewService;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public ReviewController(ReviewService reviewService,
+                            @Value("${review.feed.default-page-size:20}") int defaultPageSize,
+                            @Value("${review.feed.max-page-size:100}") int maxPageSize) {
+        this.reviewService = reviewService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Review a provider
+     * POST /api/reviews
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<ReviewResponse>> createReview(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestHeader("X-User-Role") String role,
+            @Valid @RequestBody CreateReviewRequest request) {
+
+        if (!CUSTOMER_ROLE.equals(role)) {
+            throw new AccessDeniedException("Only customers can review providers");
+        }
+        ReviewResponse review = reviewService.createReview(userId, request);
+
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Review submitted successfully", review));
+    }
+
+    /**
+     * A provider's reviews, newest first; pass nextCursor back as cursor for the next page
+     * GET /api/reviews/provider/{providerId}?limit=20&cursor=...
+     */
+    @GetMapping("/provider/{providerId}")
+    public ResponseEntity<StreamingResponseBody> getProviderReviews(
+            @PathVariable Long providerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
+        ReviewFeedCursor after = cursor == null || cursor.isBlank() ? null : ReviewFeedCursor.decode(cursor, providerId);
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+
+        StreamingResponseBody body = out -> reviewService.writeProviderFeed(providerId, after, pageSize, out);
+
+        // Reviews are only ever added at the head of the feed, so a page below a cursor never
+        // changes; the first page may change with every new review
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.maxAge(after == null ? FIRST_PAGE_MAX_AGE : OLDER_PAGE_MAX_AGE))
+                .body(body);
+    }
+}
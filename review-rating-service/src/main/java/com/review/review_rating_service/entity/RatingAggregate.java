@@ -0,0 +1,59 @@
+package com.review.review_rating_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Rating Aggregate Entity
+ * Running review count, rating sum and star histogram of one provider, advanced by
+ * batches of new reviews instead of being recomputed from the reviews table
+ */
+@Entity
+@Table(name = "rating_aggregates", indexes = {
+        @Index(name = "idx_rating_aggregate_updated_at", columnList = "updatedAt"),
+        @Index(name = "idx_rating_aggregate_pushed", columnList = "pushed, providerId")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingAggregate {
+
+    @Id
+    private Long providerId;
+
+    @Column(nullable = false)
+    private Long reviewCount = 0L;
+
+    @Column(nullable = false)
+    private Long ratingSum = 0L;
+
+    @Column(nullable = false)
+    private Long oneStar = 0L;
+
+    @Column(nullable = false)
+    private Long twoStars = 0L;
+
+    @Column(nullable = false)
+    private Long threeStars = 0L;
+
+    @Column(nullable = false)
+    private Long fourStars = 0L;
+
+    @Column(nullable = false)
+    private Long fiveStars = 0L;
+
+    // Whether user-service has been sent the current totals
+    @Column(nullable = false)
+    private Boolean pushed = false;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public RatingAggregate(Long providerId) {
+        this.providerId = providerId;
+    }
+}
@@ -0,0 +1,51 @@
+package com.review.review_rating_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Review Entity
+ * A customer's rating of a provider. The table doubles as the outbox of the rating
+ * aggregates: a review is folded into its provider's aggregate exactly once, in the
+ * same transaction that sets {@code aggregated}.
+ */
+@Entity
+@Table(name = "reviews", indexes = {
+        @Index(name = "idx_review_aggregated_id", columnList = "aggregated, id"),
+        @Index(name = "idx_review_provider_id", columnList = "providerId, id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_review_customer_booking", columnNames = {"customerId", "bookingId"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Review {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long providerId; // user id of the provider
+
+    @Column(nullable = false)
+    private Long customerId; // user id of the customer
+
+    private Long bookingId;
+
+    @Column(nullable = false)
+    private Integer rating; // 1-5 stars
+
+    @Column(length = 2000)
+    private String comment;
+
+    @Column(nullable = false)
+    private Boolean aggregated = false;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
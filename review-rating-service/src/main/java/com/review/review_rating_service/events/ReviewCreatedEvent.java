@@ -0,0 +1,7 @@
+package com.review.review_rating_service.events;
+
+/**
+ * Published when a review is saved; handled once the transaction has committed.
+ */
+public record ReviewCreatedEvent(Long reviewId, Long providerId, int rating) {
+}
@@ -0,0 +1,8 @@
+package com.review.review_rating_service.exception;
+
+public class AccessDeniedException extends RuntimeException{
+
+    public AccessDeniedException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.review.review_rating_service.exception;
+
+public class DuplicateReviewException extends RuntimeException{
+
+    public DuplicateReviewException(String message){
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.review.review_rating_service.exception;
+
+public class InvalidRatingRequestException extends RuntimeException{
+
+    public InvalidRatingRequestException(String message){
+        super(message);
+    }
+}
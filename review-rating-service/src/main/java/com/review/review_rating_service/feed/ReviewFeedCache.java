@@ -0,0 +1,81 @@
+package com.review.review_rating_service.feed;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.review.review_rating_service.rating.RatingAggregates;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongFunction;
+
+/**
+ * Review Feed Cache
+ * Rendered first page of each provider's review feed, which most readers never scroll
+ * past. Every entry is tagged with the provider's review count from
+ * {@link RatingAggregates} at the time it was rendered and rebuilt once the count has
+ * moved, so a new review invalidates the cached page at once on the instance that
+ * accepted it and within one aggregate refresh on the others.
+ */
+@Component
+public class ReviewFeedCache {
+
+    private static final String CACHE_NAME = "review.feed.first-page";
+
+    private final Cache<Long, FirstPage> pages;
+    private final RatingAggregates aggregates;
+    private final int pageSize;
+    private final Counter staleCounter;
+
+    public ReviewFeedCache(RatingAggregates aggregates,
+                           MeterRegistry meterRegistry,
+                           @Value("${review.feed.default-page-size:20}") int pageSize,
+                           @Value("${review.feed.first-page-cache.maximum-size:20000}") long maximumSize,
+                           @Value("${review.feed.first-page-cache.ttl:PT30M}") Duration ttl) {
+        this.aggregates = aggregates;
+        this.pageSize = pageSize;
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, CACHE_NAME);
+        this.staleCounter = Counter.builder(CACHE_NAME + ".stale").register(meterRegistry);
+    }
+
+    private record FirstPage(long reviewCount, String json) {
+    }
+
+    /**
+     * Size of the cached first page
+     */
+    public int pageSize() {
+        return pageSize;
+    }
+
+    /**
+     * The provider's first page, rendering it with {@code renderer} when it is missing or
+     * stale. Concurrent misses for the same provider render it once.
+     */
+    public String firstPage(long providerId, LongFunction<String> renderer) {
+        // Read before rendering: a review committing meanwhile then leaves the entry stale
+        // rather than tagging a page without it as current
+        long reviewCount = aggregates.totals(providerId).count();
+        FirstPage cached = pages.getIfPresent(providerId);
+        if (cached != null && cached.reviewCount() == reviewCount) {
+            return cached.json();
+        }
+        return pages.asMap().compute(providerId, (id, current) -> {
+            if (current != null && current.reviewCount() == reviewCount) {
+                return current;
+            }
+            if (current != null) {
+                staleCounter.increment();
+            }
+            return new FirstPage(reviewCount, renderer.apply(id));
+        }).json();
+    }
+}
@@ -0,0 +1,36 @@
+package com.review.review_rating_service.feed;
+
+import com.review.review_rating_service.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset cursor of a provider's review feed: the id of the last review on the previous
+ * page (the feed is newest first), encoded as an opaque token
+ */
+public record ReviewFeedCursor(long providerId, long beforeId) {
+
+    public String encode() {
+        String raw = providerId + ":" + beforeId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token issued for {@code providerId}'s feed
+     */
+    public static ReviewFeedCursor decode(String token, long providerId) {
+        ReviewFeedCursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            cursor = new ReviewFeedCursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid review cursor");
+        }
+        if (cursor.providerId() != providerId) {
+            throw new InvalidCursorException("Review cursor belongs to a different provider");
+        }
+        return cursor;
+    }
+}
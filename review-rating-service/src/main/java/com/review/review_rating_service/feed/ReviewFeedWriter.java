@@ -0,0 +1,88 @@
+package com.review.review_rating_service.feed;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.review.review_rating_service.DTOs.ReviewResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Review Feed Writer
+ * Writes feed pages as JSON straight from the database cursor to the response, in the
+ * same shape as an {@code ApiResponse} holding {@code {items, nextCursor}}
+ */
+@Component
+public class ReviewFeedWriter {
+
+    private static final String MESSAGE = "Reviews retrieved successfully";
+
+    private final ObjectMapper objectMapper;
+
+    public ReviewFeedWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Open the response envelope; the caller writes the page next and then calls
+     * {@link #endResponse}
+     */
+    public JsonGenerator startResponse(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.createGenerator(out);
+        generator.writeStartObject();
+        generator.writeBooleanField("success", true);
+        generator.writeStringField("message", MESSAGE);
+        generator.writeFieldName("data");
+        return generator;
+    }
+
+    public void endResponse(JsonGenerator generator) throws IOException {
+        generator.writeFieldName("timestamp");
+        generator.writeObject(LocalDateTime.now());
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    /**
+     * Write up to {@code limit} reviews; {@code reviews} should hold one more so the
+     * writer can tell whether a next page exists
+     */
+    public void writePage(JsonGenerator generator, long providerId, Stream<ReviewResponse> reviews, int limit)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("items");
+        Iterator<ReviewResponse> rows = reviews.iterator();
+        int written = 0;
+        long lastId = 0;
+        boolean more = false;
+        while (rows.hasNext()) {
+            ReviewResponse review = rows.next();
+            if (written == limit) {
+                more = true;
+                break;
+            }
+            generator.writeObject(review);
+            lastId = review.getId();
+            written++;
+        }
+        generator.writeEndArray();
+        generator.writeStringField("nextCursor", more ? new ReviewFeedCursor(providerId, lastId).encode() : null);
+        generator.writeEndObject();
+    }
+
+    /**
+     * The page as a JSON string, for caching
+     */
+    public String renderPage(long providerId, Stream<ReviewResponse> reviews, int limit) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            writePage(generator, providerId, reviews, limit);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,7 @@
+package com.review.review_rating_service.rating;
+
+/**
+ * A review counted in memory but not yet folded into its provider's aggregate
+ */
+public record PendingReview(long reviewId, long providerId, int rating) {
+}
@@ -0,0 +1,48 @@
+package com.review.review_rating_service.rating;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live rating of one provider: the totals last committed to rating_aggregates plus
+ * striped counters of reviews this instance accepted but has not folded in yet.
+ * Recording a review is a single {@link LongAdder} increment, which does not contend
+ * with other writers or with readers.
+ */
+final class ProviderRating {
+
+    private final LongAdder[] pending = new LongAdder[RatingTotals.MAX_STARS];
+    private volatile RatingTotals committed = RatingTotals.EMPTY;
+
+    ProviderRating() {
+        for (int i = 0; i < pending.length; i++) {
+            pending[i] = new LongAdder();
+        }
+    }
+
+    void add(int rating) {
+        pending[rating - 1].increment();
+    }
+
+    void remove(int rating) {
+        pending[rating - 1].decrement();
+    }
+
+    /**
+     * Replace the committed totals, unless they are older than the ones held already
+     * (reviews are never deleted, so a smaller count is always a stale read)
+     */
+    synchronized void advance(RatingTotals totals) {
+        if (totals.count() >= committed.count()) {
+            committed = totals;
+        }
+    }
+
+    RatingTotals current() {
+        long[] base = committed.histogram();
+        long[] histogram = new long[base.length];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = base[i] + pending[i].sum();
+        }
+        return new RatingTotals(histogram);
+    }
+}
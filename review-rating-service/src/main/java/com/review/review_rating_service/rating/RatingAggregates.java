@@ -0,0 +1,104 @@
+package com.review.review_rating_service.rating;
+
+import com.review.review_rating_service.events.ReviewCreatedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rating Aggregates
+ * In-memory running rating of every provider, which the public rating endpoints read
+ * instead of computing AVG() over the reviews table. A new review is counted in O(1) as
+ * soon as it commits and queued for {@link RatingAggregator}, which folds queued reviews
+ * into rating_aggregates in batches and then hands the committed totals back via
+ * {@link #settle}.
+ *
+ * Between those two steps a reader may briefly see a review counted twice or not at all;
+ * the totals converge with the next flush.
+ */
+@Component
+public class RatingAggregates {
+
+    private final Map<Long, ProviderRating> ratings = new ConcurrentHashMap<>();
+    private final Queue<PendingReview> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    public RatingAggregates(MeterRegistry meterRegistry) {
+        Gauge.builder("rating.aggregates.providers", ratings, Map::size)
+                .register(meterRegistry);
+        Gauge.builder("rating.aggregates.pending", pendingCount, AtomicInteger::get)
+                .description("Reviews counted in memory but not yet folded into rating_aggregates")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener
+    public void onReviewCreated(ReviewCreatedEvent event) {
+        record(new PendingReview(event.reviewId(), event.providerId(), event.rating()));
+    }
+
+    public void record(PendingReview review) {
+        rating(review.providerId()).add(review.rating());
+        pending.add(review);
+        pendingCount.incrementAndGet();
+    }
+
+    /**
+     * Take up to {@code max} queued reviews; they stay counted until settled
+     */
+    public List<PendingReview> drain(int max) {
+        List<PendingReview> batch = new ArrayList<>(Math.min(max, pendingCount.get()));
+        PendingReview review;
+        while (batch.size() < max && (review = pending.poll()) != null) {
+            batch.add(review);
+        }
+        pendingCount.addAndGet(-batch.size());
+        return batch;
+    }
+
+    /**
+     * Put back reviews whose flush failed
+     */
+    public void requeue(Collection<PendingReview> batch) {
+        pending.addAll(batch);
+        pendingCount.addAndGet(batch.size());
+    }
+
+    /**
+     * A drained batch is in the database now (folded in by this instance or, for some
+     * reviews, by another one): install the committed totals and stop counting the batch
+     * on top of them
+     */
+    public void settle(Collection<PendingReview> batch, Map<Long, RatingTotals> committed) {
+        committed.forEach(this::advance);
+        for (PendingReview review : batch) {
+            rating(review.providerId()).remove(review.rating());
+        }
+    }
+
+    public void advance(long providerId, RatingTotals totals) {
+        rating(providerId).advance(totals);
+    }
+
+    public RatingTotals totals(long providerId) {
+        ProviderRating rating = ratings.get(providerId);
+        return rating == null ? RatingTotals.EMPTY : rating.current();
+    }
+
+    public int pendingCount() {
+        return pendingCount.get();
+    }
+
+    private ProviderRating rating(long providerId) {
+        return ratings.computeIfAbsent(providerId, id -> new ProviderRating());
+    }
+}
@@ -0,0 +1,264 @@
+package com.review.review_rating_service.rating;
+
+import com.review.review_rating_service.DTOs.ProviderRatingUpdate;
+import com.review.review_rating_service.entity.RatingAggregate;
+import com.review.review_rating_service.entity.Review;
+import com.review.review_rating_service.repositories.RatingAggregateRepository;
+import com.review.review_rating_service.repositories.ReviewRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Rating Aggregator
+ * Folds new reviews into rating_aggregates in batches: per provider it adds the batch's
+ * count, rating sum and star histogram to the stored totals, so the cost of a review is
+ * independent of how many reviews the provider already has. Reviews are marked aggregated
+ * in the same transaction, which makes the reviews table the outbox: a review accepted by
+ * an instance that died before flushing is picked up by the orphan sweep on any instance.
+ *
+ * Changed totals are then pushed to user-service as absolute values. Aggregates stay
+ * marked unpushed until user-service has accepted them, so a failed push is retried on
+ * the next flush and a late duplicate cannot move a provider's rating backwards.
+ */
+@Component
+@Slf4j
+public class RatingAggregator {
+
+    // Aggregates are re-read this far back, covering clock skew between instances and
+    // flushes that committed after a refresh had already moved past their timestamp
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(30);
+    private static final int MAX_BATCHES_PER_RUN = 20;
+
+    private final RatingAggregates aggregates;
+    private final ReviewRepository reviewRepository;
+    private final RatingAggregateRepository aggregateRepository;
+    private final RatingPushClient pushClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int pushBatchSize;
+    private final Duration orphanAge;
+
+    private volatile LocalDateTime lastRefresh = LocalDateTime.MIN;
+
+    private final Counter flushedCounter;
+    private final Counter flushFailureCounter;
+    private final Counter pushedCounter;
+    private final Counter pushFailureCounter;
+    private final Timer flushTimer;
+
+    public RatingAggregator(RatingAggregates aggregates,
+                            ReviewRepository reviewRepository,
+                            RatingAggregateRepository aggregateRepository,
+                            RatingPushClient pushClient,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${rating.aggregator.batch-size:500}") int batchSize,
+                            @Value("${rating.push.batch-size:100}") int pushBatchSize,
+                            @Value("${rating.aggregator.orphan-age:PT5M}") Duration orphanAge) {
+        this.aggregates = aggregates;
+        this.reviewRepository = reviewRepository;
+        this.aggregateRepository = aggregateRepository;
+        this.pushClient = pushClient;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.pushBatchSize = pushBatchSize;
+        this.orphanAge = orphanAge;
+
+        this.flushedCounter = Counter.builder("rating.aggregates.flushed").register(meterRegistry);
+        this.flushFailureCounter = Counter.builder("rating.aggregates.flush.failures").register(meterRegistry);
+        this.pushedCounter = Counter.builder("rating.push.sent").register(meterRegistry);
+        this.pushFailureCounter = Counter.builder("rating.push.failures").register(meterRegistry);
+        this.flushTimer = Timer.builder("rating.aggregates.flush.duration")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load every stored aggregate before the service takes traffic
+     */
+    @PostConstruct
+    public void load() {
+        Integer loaded = transactionTemplate.execute(status -> {
+            try (Stream<RatingAggregate> stored = aggregateRepository.streamAll()) {
+                int[] count = {0};
+                stored.forEach(aggregate -> {
+                    aggregates.advance(aggregate.getProviderId(), RatingTotals.of(aggregate));
+                    count[0]++;
+                });
+                return count[0];
+            }
+        });
+        lastRefresh = LocalDateTime.now();
+        log.info("Loaded rating aggregates for {} providers", loaded);
+    }
+
+    @Scheduled(fixedDelayString = "${rating.aggregator.flush-interval:PT1S}")
+    public void flush() {
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            List<PendingReview> pending = aggregates.drain(batchSize);
+            if (pending.isEmpty() || !flushBatch(pending) || pending.size() < batchSize) {
+                break;
+            }
+        }
+        push();
+    }
+
+    /**
+     * Pick up totals other instances have committed
+     */
+    @Scheduled(fixedDelayString = "${rating.aggregator.refresh-interval:PT5S}")
+    public void refresh() {
+        LocalDateTime started = LocalDateTime.now();
+        try {
+            for (RatingAggregate aggregate : aggregateRepository.findByUpdatedAtAfter(lastRefresh.minus(REFRESH_OVERLAP))) {
+                aggregates.advance(aggregate.getProviderId(), RatingTotals.of(aggregate));
+            }
+            lastRefresh = started;
+        } catch (RuntimeException e) {
+            log.warn("Rating aggregate refresh failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Fold in reviews that were committed but never flushed, e.g. because the instance
+     * that accepted them stopped before its next flush
+     */
+    @Scheduled(fixedDelayString = "PT1M", initialDelayString = "PT1M")
+    public void recoverOrphans() {
+        try {
+            Map<Long, RatingTotals> committed = transactionTemplate.execute(status -> {
+                List<Review> orphans = reviewRepository.findOrphansForUpdate(
+                        LocalDateTime.now().minus(orphanAge), PageRequest.of(0, batchSize));
+                Set<Long> providerIds = new TreeSet<>();
+                orphans.forEach(review -> providerIds.add(review.getProviderId()));
+                if (!orphans.isEmpty()) {
+                    log.info("Aggregating {} orphaned reviews", orphans.size());
+                }
+                return fold(orphans, providerIds);
+            });
+            if (committed != null) {
+                committed.forEach(aggregates::advance);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Orphaned review sweep failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private boolean flushBatch(List<PendingReview> batch) {
+        long start = System.nanoTime();
+        Map<Long, RatingTotals> committed;
+        try {
+            committed = transactionTemplate.execute(status -> {
+                List<Long> reviewIds = new ArrayList<>(batch.size());
+                Set<Long> providerIds = new TreeSet<>();
+                for (PendingReview review : batch) {
+                    reviewIds.add(review.reviewId());
+                    providerIds.add(review.providerId());
+                }
+                // Reviews already aggregated elsewhere are not returned, but their providers are
+                // still re-read so the settled totals include them
+                return fold(reviewRepository.findUnaggregatedForUpdate(reviewIds), providerIds);
+            });
+        } catch (RuntimeException e) {
+            aggregates.requeue(batch);
+            flushFailureCounter.increment();
+            log.warn("Rating aggregate flush of {} reviews failed, will retry: {}", batch.size(), e.getMessage());
+            return false;
+        }
+        aggregates.settle(batch, committed);
+        flushedCounter.increment(batch.size());
+        flushTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        return true;
+    }
+
+    /**
+     * Add the reviews to their providers' aggregates and mark them aggregated; returns the
+     * resulting totals of every provider in {@code providerIds}. Must run in a transaction.
+     */
+    private Map<Long, RatingTotals> fold(List<Review> reviews, Collection<Long> providerIds) {
+        Map<Long, RatingTotals> committed = new HashMap<>();
+        if (providerIds.isEmpty()) {
+            return committed;
+        }
+        Map<Long, RatingAggregate> byProvider = new HashMap<>();
+        aggregateRepository.findAllForUpdate(providerIds)
+                .forEach(aggregate -> byProvider.put(aggregate.getProviderId(), aggregate));
+
+        Map<Long, RatingAggregate> changed = new HashMap<>();
+        for (Review review : reviews) {
+            RatingAggregate aggregate = byProvider.computeIfAbsent(review.getProviderId(), RatingAggregate::new);
+            add(aggregate, review.getRating());
+            changed.put(aggregate.getProviderId(), aggregate);
+            review.setAggregated(true);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (RatingAggregate aggregate : changed.values()) {
+            aggregate.setPushed(false);
+            aggregate.setUpdatedAt(now);
+        }
+        aggregateRepository.saveAll(changed.values());
+
+        byProvider.forEach((providerId, aggregate) -> committed.put(providerId, RatingTotals.of(aggregate)));
+        return committed;
+    }
+
+    private static void add(RatingAggregate aggregate, int rating) {
+        aggregate.setReviewCount(aggregate.getReviewCount() + 1);
+        aggregate.setRatingSum(aggregate.getRatingSum() + rating);
+        switch (rating) {
+            case 1 -> aggregate.setOneStar(aggregate.getOneStar() + 1);
+            case 2 -> aggregate.setTwoStars(aggregate.getTwoStars() + 1);
+            case 3 -> aggregate.setThreeStars(aggregate.getThreeStars() + 1);
+            case 4 -> aggregate.setFourStars(aggregate.getFourStars() + 1);
+            case 5 -> aggregate.setFiveStars(aggregate.getFiveStars() + 1);
+            default -> throw new IllegalStateException("Review rating out of range: " + rating);
+        }
+    }
+
+    private void push() {
+        try {
+            for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+                List<RatingAggregate> unpushed = aggregateRepository.findUnpushed(PageRequest.of(0, pushBatchSize));
+                if (unpushed.isEmpty()) {
+                    return;
+                }
+                pushClient.push(unpushed.stream().map(RatingAggregator::toUpdate).toList());
+                transactionTemplate.executeWithoutResult(status -> unpushed.forEach(aggregate ->
+                        aggregateRepository.markPushed(aggregate.getProviderId(), aggregate.getReviewCount())));
+                pushedCounter.increment(unpushed.size());
+                if (unpushed.size() < pushBatchSize) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            pushFailureCounter.increment();
+            log.warn("Pushing ratings to user-service failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private static ProviderRatingUpdate toUpdate(RatingAggregate aggregate) {
+        RatingTotals totals = RatingTotals.of(aggregate);
+        return new ProviderRatingUpdate(aggregate.getProviderId(),
+                (int) Math.min(totals.count(), Integer.MAX_VALUE), totals.average());
+    }
+}
@@ -0,0 +1,44 @@
+package com.review.review_rating_service.rating;
+
+import com.review.review_rating_service.DTOs.ProviderRatingUpdate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+/**
+ * Rating Push Client
+ * Sends provider rating totals to user-service, which stores them on the provider
+ * profile for search and listings
+ */
+@Component
+public class RatingPushClient {
+
+    private final RestTemplate restTemplate;
+    private final String url;
+    private final String token;
+
+    public RatingPushClient(RestTemplate loadBalancedRestTemplate,
+                            @Value("${rating.push.url:http://user-service/internal/providers/ratings}") String url,
+                            @Value("${rating.push.token:}") String token) {
+        this.restTemplate = loadBalancedRestTemplate;
+        this.url = url;
+        this.token = token;
+    }
+
+    /**
+     * @throws org.springframework.web.client.RestClientException if user-service did not accept the batch
+     */
+    public void push(List<ProviderRatingUpdate> updates) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (!token.isEmpty()) {
+            headers.set("X-Internal-Token", token);
+        }
+        restTemplate.postForEntity(url, new HttpEntity<>(updates, headers), Void.class);
+    }
+}
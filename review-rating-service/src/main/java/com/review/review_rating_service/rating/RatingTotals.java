@@ -0,0 +1,70 @@
+package com.review.review_rating_service.rating;
+
+import com.review.review_rating_service.entity.RatingAggregate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable review counts of one provider per star value (index 0 = 1 star).
+ * The review count and rating sum follow from the histogram, so they can never
+ * disagree with it.
+ */
+public record RatingTotals(long[] histogram) {
+
+    public static final int MAX_STARS = 5;
+    public static final RatingTotals EMPTY = new RatingTotals(new long[MAX_STARS]);
+
+    public static RatingTotals of(RatingAggregate aggregate) {
+        return new RatingTotals(new long[]{aggregate.getOneStar(), aggregate.getTwoStars(),
+                aggregate.getThreeStars(), aggregate.getFourStars(), aggregate.getFiveStars()});
+    }
+
+    public long count() {
+        long count = 0;
+        for (long stars : histogram) {
+            count += stars;
+        }
+        return count;
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            sum += (i + 1) * histogram[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Mean rating rounded to two decimals, zero without reviews
+     */
+    public BigDecimal average() {
+        long count = count();
+        if (count == 0) {
+            return BigDecimal.ZERO.setScale(2, RoundingMode.UNNECESSARY);
+        }
+        return BigDecimal.valueOf(sum()).divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+
+    public List<Long> histogramList() {
+        return Arrays.stream(histogram).boxed().toList();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof RatingTotals totals && Arrays.equals(histogram, totals.histogram);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(histogram);
+    }
+
+    @Override
+    public String toString() {
+        return "RatingTotals" + Arrays.toString(histogram);
+    }
+}
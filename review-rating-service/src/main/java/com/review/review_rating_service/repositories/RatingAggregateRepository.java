@@ -0,0 +1,46 @@
+package com.review.review_rating_service.repositories;
+
+import com.review.review_rating_service.entity.RatingAggregate;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Rating Aggregate Repository
+ */
+@Repository
+public interface RatingAggregateRepository extends JpaRepository<RatingAggregate, Long> {
+
+    /**
+     * Lock the aggregates of a batch; ordered so concurrent flushes lock rows in the
+     * same order and cannot deadlock
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM RatingAggregate a WHERE a.providerId IN :providerIds ORDER BY a.providerId")
+    List<RatingAggregate> findAllForUpdate(@Param("providerIds") Collection<Long> providerIds);
+
+    @Query("SELECT a FROM RatingAggregate a")
+    Stream<RatingAggregate> streamAll();
+
+    List<RatingAggregate> findByUpdatedAtAfter(LocalDateTime after);
+
+    @Query("SELECT a FROM RatingAggregate a WHERE a.pushed = false ORDER BY a.providerId")
+    List<RatingAggregate> findUnpushed(Pageable pageable);
+
+    /**
+     * Mark totals as delivered, unless the aggregate moved on since they were read
+     */
+    @Modifying
+    @Query("UPDATE RatingAggregate a SET a.pushed = true WHERE a.providerId = :providerId AND a.reviewCount = :reviewCount")
+    int markPushed(@Param("providerId") Long providerId, @Param("reviewCount") Long reviewCount);
+}
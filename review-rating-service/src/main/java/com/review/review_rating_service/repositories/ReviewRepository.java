@@ -0,0 +1,53 @@
+package com.review.review_rating_service.repositories;
+
+import com.review.review_rating_service.DTOs.ReviewResponse;
+import com.review.review_rating_service.entity.Review;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Review Repository
+ */
+@Repository
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+
+    /**
+     * The given reviews that are not aggregated yet, locked with SKIP LOCKED so a review
+     * being aggregated by another instance is left to it
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM Review r WHERE r.id IN :ids AND r.aggregated = false")
+    List<Review> findUnaggregatedForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * A provider's reviews older than {@code beforeId}, newest first. Served by the
+     * (providerId, id) index, so a page costs the same however deep it is.
+     */
+    @Query("SELECT new com.review.review_rating_service.DTOs.ReviewResponse(r.id, r.providerId, r.customerId, " +
+            "r.bookingId, r.rating, r.comment, r.createdAt) FROM Review r " +
+            "WHERE r.providerId = :providerId AND r.id < :beforeId ORDER BY r.id DESC")
+    Stream<ReviewResponse> streamFeed(@Param("providerId") Long providerId,
+                                      @Param("beforeId") Long beforeId,
+                                      Pageable pageable);
+
+    /**
+     * Unaggregated reviews created before the cutoff, whichever instance accepted them
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM Review r WHERE r.aggregated = false AND r.createdAt < :before ORDER BY r.id")
+    List<Review> findOrphansForUpdate(@Param("before") LocalDateTime before, Pageable pageable);
+}
@@ -0,0 +1,23 @@
+package com.review.review_rating_service.services;
+
+
+import com.review.review_rating_service.DTOs.RatingSummaryResponse;
+
+import java.util.List;
+
+/**
+ * Rating Service Interface
+ * Defines provider rating lookups
+ */
+public interface RatingService {
+
+    /**
+     * A provider's review count, average rating and star histogram
+     */
+    RatingSummaryResponse getRatingSummary(Long providerId);
+
+    /**
+     * Rating summaries of several providers, in the order requested
+     */
+    List<RatingSummaryResponse> getRatingSummaries(List<Long> providerIds);
+}
@@ -0,0 +1,49 @@
+package com.review.review_rating_service.services;
+
+
+import com.review.review_rating_service.DTOs.RatingSummaryResponse;
+import com.review.review_rating_service.exception.InvalidRatingRequestException;
+import com.review.review_rating_service.rating.RatingAggregates;
+import com.review.review_rating_service.rating.RatingTotals;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Rating Service Implementation
+ * Serves ratings from the in-memory aggregates; never queries the reviews table
+ */
+@Service
+@Slf4j
+public class RatingServiceImpl implements RatingService {
+
+    private final RatingAggregates aggregates;
+    private final int maxBatchSize;
+
+    public RatingServiceImpl(RatingAggregates aggregates,
+                             @Value("${rating.max-batch-size:100}") int maxBatchSize) {
+        this.aggregates = aggregates;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public RatingSummaryResponse getRatingSummary(Long providerId) {
+        return toResponse(providerId, aggregates.totals(providerId));
+    }
+
+    @Override
+    public List<RatingSummaryResponse> getRatingSummaries(List<Long> providerIds) {
+        if (providerIds.isEmpty() || providerIds.size() > maxBatchSize) {
+            throw new InvalidRatingRequestException("Between 1 and " + maxBatchSize + " provider ids are required");
+        }
+        return providerIds.stream()
+                .map(this::getRatingSummary)
+                .toList();
+    }
+
+    private static RatingSummaryResponse toResponse(Long providerId, RatingTotals totals) {
+        return new RatingSummaryResponse(providerId, totals.count(), totals.average(), totals.histogramList());
+    }
+}
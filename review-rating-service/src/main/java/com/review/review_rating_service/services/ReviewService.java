@@ -0,0 +1,28 @@
+package com.review.review_rating_service.services;
+
+
+import com.review.review_rating_service.DTOs.CreateReviewRequest;
+import com.review.review_rating_service.DTOs.ReviewResponse;
+import com.review.review_rating_service.feed.ReviewFeedCursor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Review Service Interface
+ * Defines review submission and feed operations
+ */
+public interface ReviewService {
+
+    /**
+     * Store a customer's review of a provider; it counts towards the provider's rating
+     * as soon as it is committed
+     */
+    ReviewResponse createReview(Long customerId, CreateReviewRequest request);
+
+    /**
+     * Write one page of a provider's reviews, newest first, as an ApiResponse JSON document.
+     * Without a cursor the first page is written.
+     */
+    void writeProviderFeed(Long providerId, ReviewFeedCursor cursor, int limit, OutputStream out) throws IOException;
+}
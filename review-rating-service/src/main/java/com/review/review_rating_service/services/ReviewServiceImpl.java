@@ -0,0 +1,103 @@
+package com.review.review_rating_service.services;
+
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.review.review_rating_service.DTOs.CreateReviewRequest;
+import com.review.review_rating_service.DTOs.ReviewResponse;
+import com.review.review_rating_service.entity.Review;
+import com.review.review_rating_service.events.ReviewCreatedEvent;
+import com.review.review_rating_service.exception.DuplicateReviewException;
+import com.review.review_rating_service.exception.InvalidRatingRequestException;
+import com.review.review_rating_service.feed.ReviewFeedCache;
+import com.review.review_rating_service.feed.ReviewFeedCursor;
+import com.review.review_rating_service.feed.ReviewFeedWriter;
+import com.review.review_rating_service.repositories.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Review Service Implementation
+ * Contains business logic for submitting and listing reviews
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ReviewServiceImpl implements ReviewService {
+
+    private final ReviewRepository reviewRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReviewFeedCache feedCache;
+    private final ReviewFeedWriter feedWriter;
+
+    @Override
+    @Transactional
+    public ReviewResponse createReview(Long customerId, CreateReviewRequest request) {
+        if (customerId.equals(request.getProviderId())) {
+            throw new InvalidRatingRequestException("Providers cannot review themselves");
+        }
+
+        Review review = new Review();
+        review.setProviderId(request.getProviderId());
+        review.setCustomerId(customerId);
+        review.setBookingId(request.getBookingId());
+        review.setRating(request.getRating());
+        review.setComment(request.getComment());
+        review.setAggregated(false);
+        review.setCreatedAt(LocalDateTime.now());
+
+        try {
+            review = reviewRepository.saveAndFlush(review);
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateReviewException("This booking has already been reviewed");
+        }
+
+        eventPublisher.publishEvent(new ReviewCreatedEvent(review.getId(), review.getProviderId(), review.getRating()));
+        log.debug("Review {} created for provider {}", review.getId(), review.getProviderId());
+
+        return toResponse(review);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeProviderFeed(Long providerId, ReviewFeedCursor cursor, int limit, OutputStream out)
+            throws IOException {
+        try (JsonGenerator generator = feedWriter.startResponse(out)) {
+            if (cursor == null && limit == feedCache.pageSize()) {
+                generator.writeRawValue(feedCache.firstPage(providerId, this::renderFirstPage));
+            } else {
+                long beforeId = cursor == null ? Long.MAX_VALUE : cursor.beforeId();
+                try (Stream<ReviewResponse> reviews =
+                             reviewRepository.streamFeed(providerId, beforeId, PageRequest.ofSize(limit + 1))) {
+                    feedWriter.writePage(generator, providerId, reviews, limit);
+                }
+            }
+            feedWriter.endResponse(generator);
+        }
+    }
+
+    private String renderFirstPage(long providerId) {
+        int limit = feedCache.pageSize();
+        try (Stream<ReviewResponse> reviews =
+                     reviewRepository.streamFeed(providerId, Long.MAX_VALUE, PageRequest.ofSize(limit + 1))) {
+            return feedWriter.renderPage(providerId, reviews, limit);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ReviewResponse toResponse(Review review) {
+        return new ReviewResponse(review.getId(), review.getProviderId(), review.getCustomerId(),
+                review.getBookingId(), review.getRating(), review.getComment(), review.getCreatedAt());
+    }
+}
@@ -0,0 +1,232 @@
+package com.review.review_rating_service.feed;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.review.review_rating_service.entity.Review;
+import com.review.review_rating_service.exception.InvalidCursorException;
+import com.review.review_rating_service.rating.PendingReview;
+import com.review.review_rating_service.rating.RatingAggregates;
+import com.review.review_rating_service.repositories.ReviewRepository;
+import com.review.review_rating_service.services.ReviewService;
+import com.review.review_rating_service.services.ReviewServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"review.feed.default-page-size=20"
+})
+@Import({ReviewServiceImpl.class, ReviewFeedCache.class, ReviewFeedWriter.class, RatingAggregates.class,
+		ReviewFeedTest.Config.class})
+class ReviewFeedTest {
+
+	// The first-page cache outlives each test's rollback, so every test uses its own provider
+	private static final long PROVIDER_ID = 42L;
+
+	@TestConfiguration
+	static class Config {
+
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+		@Bean
+		ObjectMapper objectMapper() {
+			return Jackson2ObjectMapperBuilder.json().build();
+		}
+	}
+
+	@Autowired
+	private ReviewService reviewService;
+
+	@Autowired
+	private ReviewRepository reviewRepository;
+
+	@Autowired
+	private RatingAggregates aggregates;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void cursorsWalkTheWholeFeedNewestFirst() throws IOException {
+		insertReviews(PROVIDER_ID, 95);
+		insertReviews(PROVIDER_ID + 100, 5);
+
+		List<Long> seen = new ArrayList<>();
+		ReviewFeedCursor cursor = null;
+		int pages = 0;
+		do {
+			JsonNode data = page(PROVIDER_ID, cursor, 20).get("data");
+			data.get("items").forEach(item -> {
+				assertEquals(PROVIDER_ID, item.get("providerId").asLong());
+				seen.add(item.get("id").asLong());
+			});
+			JsonNode next = data.get("nextCursor");
+			cursor = next.isNull() ? null : ReviewFeedCursor.decode(next.asText(), PROVIDER_ID);
+			pages++;
+		} while (cursor != null);
+
+		assertEquals(5, pages);
+		assertEquals(95, seen.size());
+		for (int i = 1; i < seen.size(); i++) {
+			assertTrue(seen.get(i) < seen.get(i - 1));
+		}
+	}
+
+	@Test
+	void firstPageIsServedFromCacheUntilTheReviewCountChanges() throws IOException {
+		long providerId = PROVIDER_ID + 1;
+		insertReviews(providerId, 3);
+		long newestId = firstPageIds(providerId).get(0);
+
+		// Not yet counted for the provider: the cached page is still current
+		Review review = saveReview(providerId);
+		assertEquals(newestId, firstPageIds(providerId).get(0));
+
+		// Counting it (as the commit of a posted review does) invalidates the page
+		aggregates.record(new PendingReview(review.getId(), providerId, review.getRating()));
+		List<Long> ids = firstPageIds(providerId);
+		assertEquals(review.getId(), ids.get(0));
+		assertEquals(4, ids.size());
+	}
+
+	@Test
+	void cursorsOfAnotherProviderAreRejected() {
+		String token = new ReviewFeedCursor(PROVIDER_ID + 1, 10).encode();
+
+		assertRejected(token);
+		assertRejected("not-a-cursor");
+	}
+
+	/**
+	 * Scrolls to the end of a provider with 100k reviews and prints per-page latency by
+	 * depth. Run with -Dbenchmarks=true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+	void deepPagesCostTheSameAsShallowOnes() throws IOException {
+		int reviews = 100_000;
+		int pageSize = 100;
+		long providerId = PROVIDER_ID + 2;
+		insertReviews(providerId, reviews);
+		insertReviews(PROVIDER_ID + 100, reviews / 10);
+
+		// Warm up the query plan and JIT
+		ReviewFeedCursor cursor = null;
+		for (int i = 0; i < 200; i++) {
+			cursor = nextCursor(providerId, page(providerId, cursor, pageSize));
+			if (cursor == null) {
+				break;
+			}
+		}
+
+		long[] nanos = new long[reviews / pageSize];
+		int pages = 0;
+		cursor = null;
+		do {
+			long start = System.nanoTime();
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			reviewService.writeProviderFeed(providerId, cursor, pageSize, out);
+			nanos[pages++] = System.nanoTime() - start;
+			cursor = nextCursor(providerId, objectMapper.readTree(out.toByteArray()));
+		} while (cursor != null);
+		assertEquals(reviews / pageSize, pages);
+
+		int buckets = 10;
+		int perBucket = pages / buckets;
+		long[] medians = new long[buckets];
+		System.out.printf("%-16s %12s %12s%n", "pages", "median (us)", "p99 (us)");
+		for (int b = 0; b < buckets; b++) {
+			long[] bucket = Arrays.copyOfRange(nanos, b * perBucket, (b + 1) * perBucket);
+			Arrays.sort(bucket);
+			medians[b] = bucket[bucket.length / 2];
+			System.out.printf("%6d - %-7d %12d %12d%n", b * perBucket, (b + 1) * perBucket - 1,
+					medians[b] / 1000, bucket[(int) (bucket.length * 0.99)] / 1000);
+		}
+		// OFFSET paging would make the last pages about a thousand times slower than the first
+		assertTrue(medians[buckets - 1] < 3 * medians[0] + 1_000_000,
+				"deepest pages took " + medians[buckets - 1] + "ns vs " + medians[0] + "ns");
+	}
+
+	private JsonNode page(long providerId, ReviewFeedCursor cursor, int limit) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		reviewService.writeProviderFeed(providerId, cursor, limit, out);
+		return objectMapper.readTree(out.toByteArray());
+	}
+
+	private static ReviewFeedCursor nextCursor(long providerId, JsonNode response) {
+		JsonNode next = response.get("data").get("nextCursor");
+		return next.isNull() ? null : ReviewFeedCursor.decode(next.asText(), providerId);
+	}
+
+	private List<Long> firstPageIds(long providerId) throws IOException {
+		List<Long> ids = new ArrayList<>();
+		page(providerId, null, 20).get("data").get("items").forEach(item -> ids.add(item.get("id").asLong()));
+		return ids;
+	}
+
+	private static void assertRejected(String token) {
+		assertThrows(InvalidCursorException.class, () -> ReviewFeedCursor.decode(token, PROVIDER_ID));
+	}
+
+	private Review saveReview(long providerId) {
+		Review review = new Review();
+		review.setProviderId(providerId);
+		review.setCustomerId(7L);
+		review.setRating(4);
+		review.setComment("Arrived on time");
+		review.setAggregated(false);
+		review.setCreatedAt(LocalDateTime.now());
+		return reviewRepository.saveAndFlush(review);
+	}
+
+	private void insertReviews(long providerId, int count) {
+		entityManager.getEntityManager().unwrap(Session.class).doWork(connection -> {
+			try (PreparedStatement insert = connection.prepareStatement(
+					"INSERT INTO reviews (provider_id, customer_id, rating, comment, aggregated, created_at) " +
+							"VALUES (?, ?, ?, ?, false, ?)")) {
+				Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+				for (int i = 0; i < count; i++) {
+					insert.setLong(1, providerId);
+					insert.setLong(2, 1_000 + i);
+					insert.setInt(3, 1 + i % 5);
+					insert.setString(4, "Review " + i);
+					insert.setTimestamp(5, now);
+					insert.addBatch();
+					if (i % 1_000 == 999) {
+						insert.executeBatch();
+					}
+				}
+				insert.executeBatch();
+			}
+		});
+	}
+}
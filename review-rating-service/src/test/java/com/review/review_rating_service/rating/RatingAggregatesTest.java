@@ -0,0 +1,93 @@
+package com.review.review_rating_service.rating;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RatingAggregatesTest {
+
+	private final RatingAggregates aggregates = new RatingAggregates(new SimpleMeterRegistry());
+
+	@Test
+	void concurrentReviewsAreAllCounted() throws Exception {
+		int threads = 8;
+		int perThread = 10_000;
+		AtomicLong ids = new AtomicLong();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < perThread; i++) {
+						aggregates.record(new PendingReview(ids.incrementAndGet(), 1L, 1 + i % 5));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		RatingTotals totals = aggregates.totals(1L);
+		long perStar = threads * perThread / 5;
+		assertEquals(threads * perThread, totals.count());
+		assertEquals(List.of(perStar, perStar, perStar, perStar, perStar), totals.histogramList());
+		assertEquals(new BigDecimal("3.00"), totals.average());
+		assertEquals(threads * perThread, aggregates.pendingCount());
+	}
+
+	@Test
+	void settledReviewsAreCountedOnceFromTheCommittedTotals() {
+		aggregates.advance(1L, new RatingTotals(new long[]{0, 0, 0, 1, 1}));
+		aggregates.record(new PendingReview(10L, 1L, 5));
+		aggregates.record(new PendingReview(11L, 1L, 3));
+		assertEquals(4, aggregates.totals(1L).count());
+
+		List<PendingReview> batch = aggregates.drain(100);
+		assertEquals(2, batch.size());
+		assertEquals(4, aggregates.totals(1L).count());
+
+		aggregates.settle(batch, Map.of(1L, new RatingTotals(new long[]{0, 0, 1, 1, 2})));
+
+		RatingTotals totals = aggregates.totals(1L);
+		assertEquals(List.of(0L, 0L, 1L, 1L, 2L), totals.histogramList());
+		assertEquals(17, totals.sum());
+		assertEquals(new BigDecimal("4.25"), totals.average());
+		assertEquals(0, aggregates.pendingCount());
+	}
+
+	@Test
+	void failedFlushKeepsReviewsQueued() {
+		aggregates.record(new PendingReview(10L, 1L, 2));
+		List<PendingReview> batch = aggregates.drain(100);
+
+		aggregates.requeue(batch);
+
+		assertEquals(1, aggregates.pendingCount());
+		assertEquals(batch, aggregates.drain(100));
+		assertEquals(1, aggregates.totals(1L).count());
+	}
+
+	@Test
+	void staleCommittedTotalsAreIgnored() {
+		aggregates.advance(1L, new RatingTotals(new long[]{0, 0, 0, 0, 3}));
+		aggregates.advance(1L, new RatingTotals(new long[]{0, 0, 0, 0, 2}));
+
+		assertEquals(3, aggregates.totals(1L).count());
+		assertTrue(aggregates.totals(2L).histogramList().stream().allMatch(count -> count == 0));
+		assertEquals(new BigDecimal("0.00"), aggregates.totals(2L).average());
+	}
+}
@@ -0,0 +1,26 @@
+package com.user.user_service.DTOs;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for Batch Profile Lookup Request
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchProfileRequest {
+
+    public static final int MAX_USER_IDS = 5000;
+
+    @NotEmpty(message = "User IDs are required")
+    @Size(max = MAX_USER_IDS, message = "At most " + MAX_USER_IDS + " user IDs per request")
+    private List<Long> userIds;
+}
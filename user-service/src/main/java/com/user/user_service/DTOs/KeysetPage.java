@@ -0,0 +1,20 @@
+package com.user.user_service.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for Keyset-Paginated Listings
+ * Pass nextAfterId as afterId to fetch the next page; it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    private List<T> items;
+    private Long nextAfterId;
+}
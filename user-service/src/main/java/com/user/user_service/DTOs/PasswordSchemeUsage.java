@@ -0,0 +1,21 @@
+package com.user.user_service.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for Password Scheme Migration Report
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordSchemeUsage {
+
+    private String scheme;      // e.g. bcrypt, pbkdf2, bcrypt-legacy (no {id} prefix)
+    private Integer cost;       // BCrypt cost factor, null for other schemes
+    private Long accounts;
+    private Boolean upToDate;   // matches the configured scheme and cost
+}
@@ -0,0 +1,33 @@
+package com.user.user_service.DTOs;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for a Provider's Rating Totals Pushed by review-rating-service
+ * Carries absolute values rather than increments, so a retried push is harmless.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderRatingUpdate {
+
+    @NotNull(message = "Provider id is required")
+    private Long providerId; // user id of the provider
+
+    @NotNull(message = "Total reviews is required")
+    @Min(value = 0, message = "Total reviews must not be negative")
+    private Integer totalReviews;
+
+    @NotNull(message = "Average rating is required")
+    @DecimalMin(value = "0.00", message = "Average rating must be between 0 and 5")
+    @DecimalMax(value = "5.00", message = "Average rating must be between 0 and 5")
+    private BigDecimal averageRating;
+}
@@ -0,0 +1,28 @@
+package com.user.user_service.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for Admin Provider Listings and Exports
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProviderSummary {
+
+    private Long id;            // provider profile ID (keyset cursor)
+    private Long userId;
+    private String businessName;
+    private String specialization;
+    private String city;
+    private Boolean isVerified;
+    private Boolean isAvailable;
+    private BigDecimal averageRating;
+    private Integer completedBookings;
+    private LocalDateTime createdAt;
+}
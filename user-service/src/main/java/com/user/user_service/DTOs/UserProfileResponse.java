@@ -4,17 +4,18 @@ import com.user.user_service.entity.UserRole;
 import com.user.user_service.entity.UserStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.time.LocalDateTime;
 
 /**
  * DTO for User Profile Response
+ * Immutable, so instances held by the profile cache can be shared between requests
  */
-@Data
+@Value
 @Builder
-@NoArgsConstructor
+@Jacksonized
 @AllArgsConstructor
 public class UserProfileResponse {
 
@@ -0,0 +1,25 @@
+package com.user.user_service.DTOs;
+
+import com.user.user_service.entity.UserRole;
+import com.user.user_service.entity.UserStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for Admin User Listings and Exports
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+
+    private Long id;
+    private String email;
+    private UserRole role;
+    private UserStatus status;
+    private Boolean emailVerified;
+    private LocalDateTime createdAt;
+}
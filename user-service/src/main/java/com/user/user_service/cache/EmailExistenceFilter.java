@@ -0,0 +1,138 @@
+package com.user.user_service.cache;
+
+import com.user.user_service.repositories.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Email Existence Filter
+ * In-memory Bloom filter over normalized registered emails. A negative answer means the
+ * email is definitely not registered and the database is not queried; a positive answer
+ * falls through to existsByEmail.
+ *
+ * The filter is built in the background after startup by streaming the users table.
+ * Registrations made by other instances arrive through EmailFilterEventListener, and the
+ * periodic rebuild catches any event that was missed. Until the first build completes
+ * every email is reported as possibly existing.
+ */
+@Component
+@Slf4j
+public class EmailExistenceFilter {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+    private volatile boolean ready;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private final Counter negatives;
+    private final Counter positives;
+    private final Counter falsePositives;
+
+    public EmailExistenceFilter(UserRepository userRepository,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${user.email-filter.expected-insertions:10000000}") long expectedInsertions,
+                                @Value("${user.email-filter.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.current = BloomFilter.create(expectedInsertions, falsePositiveProbability);
+
+        this.negatives = Counter.builder("user.email.filter.checks").tag("result", "negative").register(meterRegistry);
+        this.positives = Counter.builder("user.email.filter.checks").tag("result", "positive").register(meterRegistry);
+        this.falsePositives = Counter.builder("user.email.filter.false.positives").register(meterRegistry);
+        Gauge.builder("user.email.filter.memory.bytes", this, filter -> filter.current.memoryBytes())
+                .register(meterRegistry);
+        Gauge.builder("user.email.filter.insertions", this, filter -> filter.current.insertions())
+                .register(meterRegistry);
+        Gauge.builder("user.email.filter.estimated.fpp", this, filter -> filter.current.estimatedFalsePositiveProbability())
+                .register(meterRegistry);
+    }
+
+    /**
+     * False only if the email is definitely not registered
+     */
+    public boolean mightExist(String email) {
+        if (!ready) {
+            return true;
+        }
+        boolean mightExist = current.mightContain(normalize(email));
+        (mightExist ? positives : negatives).increment();
+        return mightExist;
+    }
+
+    /**
+     * Record a newly registered email
+     */
+    public void add(String email) {
+        String normalized = normalize(email);
+        current.put(normalized);
+        BloomFilter inProgress = building;
+        if (inProgress != null) {
+            inProgress.put(normalized);
+        }
+    }
+
+    /**
+     * The filter answered "maybe" but the database had no such email
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Thread.ofPlatform().name("email-filter-build").daemon().start(this::rebuild);
+    }
+
+    @Scheduled(fixedDelayString = "${user.email-filter.rebuild-interval:PT10M}",
+            initialDelayString = "${user.email-filter.rebuild-interval:PT10M}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            BloomFilter filter = BloomFilter.create(expectedInsertions, falsePositiveProbability);
+            building = filter;
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> emails = userRepository.streamAllEmails()) {
+                    emails.forEach(email -> filter.put(normalize(email)));
+                }
+            });
+            current = filter;
+            ready = true;
+            log.info("Email filter built with {} emails in {} ms ({} bytes, estimated fpp {})",
+                    filter.insertions(), (System.nanoTime() - start) / 1_000_000,
+                    filter.memoryBytes(), String.format("%.5f", filter.estimatedFalsePositiveProbability()));
+        } catch (RuntimeException e) {
+            log.warn("Email filter build failed, falling back to database checks: {}", e.getMessage());
+        } finally {
+            building = null;
+            rebuilding.set(false);
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,46 @@
+package com.user.user_service.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.user.user_service.outbox.OutboxPublisher;
+import com.user.user_service.outbox.UserRegisteredEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Email Filter Event Listener
+ * Adds emails registered on any instance to this instance's EmailExistenceFilter from the
+ * UserRegistered outbox events, so its negatives stay accurate between rebuilds.
+ * Every instance consumes in its own group from the latest offset; the periodic rebuild
+ * covers anything published while it was not listening.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "outbox.publisher", havingValue = "kafka", matchIfMissing = true)
+public class EmailFilterEventListener {
+
+    private final EmailExistenceFilter emailExistenceFilter;
+
+    @KafkaListener(topics = "${outbox.topics.user-events:user-events}",
+            groupId = "user-service-email-filter-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void onUserEvent(ConsumerRecord<String, JsonNode> record) {
+        Header type = record.headers().lastHeader(OutboxPublisher.EVENT_TYPE_HEADER);
+        if (type == null || !UserRegisteredEvent.TYPE.equals(new String(type.value(), StandardCharsets.UTF_8))) {
+            return;
+        }
+        JsonNode email = record.value() == null ? null : record.value().get("email");
+        if (email == null || !email.isTextual()) {
+            log.warn("UserRegistered event for user {} has no email, skipping", record.key());
+            return;
+        }
+        emailExistenceFilter.add(email.asText());
+    }
+}
@@ -0,0 +1,68 @@
+package com.user.user_service.cache;
+
+import com.user.user_service.DTOs.UserProfileResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory stand-in for the shared profile cache tier, used in tests and local runs.
+ * Versions are never dropped, which is fine for a stand-in.
+ */
+@Component
+@ConditionalOnProperty(name = "user.profile-cache.shared.type", havingValue = "in-memory")
+public class InMemoryProfileCacheTier implements SharedProfileCacheTier {
+
+    private final Map<Long, UserProfileResponse> profiles = new ConcurrentHashMap<>();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<UserProfileResponse> get(Long userId) {
+        return Optional.ofNullable(profiles.get(userId));
+    }
+
+    @Override
+    public Map<Long, UserProfileResponse> getAll(Collection<Long> userIds) {
+        Map<Long, UserProfileResponse> found = new HashMap<>();
+        for (Long userId : userIds) {
+            UserProfileResponse profile = profiles.get(userId);
+            if (profile != null) {
+                found.put(userId, profile);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public Map<Long, Long> versions(Collection<Long> userIds) {
+        Map<Long, Long> found = new HashMap<>();
+        for (Long userId : userIds) {
+            found.put(userId, versions.getOrDefault(userId, 0L));
+        }
+        return found;
+    }
+
+    @Override
+    public void put(UserProfileResponse profile, long version) {
+        // compute() makes the version check and the write atomic with respect to evict()
+        versions.compute(profile.getId(), (id, current) -> {
+            if ((current == null ? 0L : current) == version) {
+                profiles.put(id, profile);
+            }
+            return current;
+        });
+    }
+
+    @Override
+    public void evict(Long userId) {
+        versions.compute(userId, (id, current) -> {
+            profiles.remove(id);
+            return current == null ? 1L : current + 1;
+        });
+    }
+}
@@ -0,0 +1,196 @@
+package com.user.user_service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.user.user_service.DTOs.UserProfileResponse;
+import com.user.user_service.events.UserProfileChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Profile Cache
+ * Two-level read-through cache for UserProfileResponse: a bounded in-process Caffeine
+ * tier in front of an optional shared tier (Redis, or an in-memory stand-in).
+ * Entries are evicted from both tiers after a UserProfileChangedEvent commits, and from
+ * other instances' local tiers when the event reaches them through the outbox
+ * (ProfileCacheEventListener). The local TTL bounds staleness for anything missed.
+ *
+ * Loads never write back a profile that was evicted while they were reading it: shared
+ * writes are conditional on the version read before the database load, and batch writes
+ * to the local tier are undone if an evict happened since the batch started. Single-key
+ * loads run inside Caffeine's compute, which already blocks an evict of the same key.
+ */
+@Component
+@Slf4j
+public class ProfileCache {
+
+    private static final String CACHE_NAME = "user.profile";
+
+    private final Cache<Long, UserProfileResponse> local;
+    private final SharedProfileCacheTier shared;
+    private final AtomicLong localEvictions = new AtomicLong();
+
+    private final Counter sharedHits;
+    private final Counter sharedMisses;
+    private final Timer sharedLoadTimer;
+    private final Timer databaseLoadTimer;
+
+    public ProfileCache(ObjectProvider<SharedProfileCacheTier> sharedTier,
+                        MeterRegistry meterRegistry,
+                        @Value("${user.profile-cache.local.maximum-size:50000}") long maximumSize,
+                        @Value("${user.profile-cache.local.ttl:60s}") Duration ttl) {
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.shared = sharedTier.getIfAvailable();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, CACHE_NAME);
+
+        this.sharedHits = Counter.builder(CACHE_NAME + ".shared.gets")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.sharedMisses = Counter.builder(CACHE_NAME + ".shared.gets")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.sharedLoadTimer = Timer.builder(CACHE_NAME + ".load")
+                .tag("source", "shared")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.databaseLoadTimer = Timer.builder(CACHE_NAME + ".load")
+                .tag("source", "database")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get a profile, loading it from the shared tier or the loader on a miss
+     */
+    public UserProfileResponse get(Long userId, Function<Long, UserProfileResponse> loader) {
+        return local.get(userId, id -> load(id, loader));
+    }
+
+    /**
+     * Get every cached profile among the given ids, checking the local tier first
+     * and the shared tier for the rest; local misses found in the shared tier are promoted
+     */
+    public Map<Long, UserProfileResponse> getAllPresent(Collection<Long> userIds) {
+        Map<Long, UserProfileResponse> found = new HashMap<>(local.getAllPresent(userIds));
+        if (shared == null || found.size() == userIds.size()) {
+            return found;
+        }
+
+        List<Long> misses = new ArrayList<>(userIds.size() - found.size());
+        for (Long userId : userIds) {
+            if (!found.containsKey(userId)) {
+                misses.add(userId);
+            }
+        }
+        long evictions = localEvictions.get();
+        Map<Long, UserProfileResponse> sharedHitsById = shared.getAll(misses);
+        sharedHits.increment(sharedHitsById.size());
+        sharedMisses.increment(misses.size() - sharedHitsById.size());
+        local.putAll(sharedHitsById);
+        if (localEvictions.get() != evictions) {
+            local.invalidateAll(sharedHitsById.keySet());
+        }
+        found.putAll(sharedHitsById);
+        return found;
+    }
+
+    /**
+     * Snapshot the versions of profiles about to be loaded from the database;
+     * must be taken before the database read
+     */
+    public Versions versions(Collection<Long> userIds) {
+        long evictions = localEvictions.get();
+        return new Versions(evictions, shared == null ? Map.of() : shared.versions(userIds));
+    }
+
+    /**
+     * Store a freshly loaded profile in both tiers, unless it was evicted after
+     * the versions were taken
+     */
+    public void put(UserProfileResponse profile, Versions versions) {
+        local.put(profile.getId(), profile);
+        if (localEvictions.get() != versions.localEvictions()) {
+            local.invalidate(profile.getId());
+        }
+        Long version = versions.shared().get(profile.getId());
+        if (shared != null && version != null) {
+            shared.put(profile, version);
+        }
+    }
+
+    /**
+     * Remove a profile from both tiers
+     */
+    public void evict(Long userId) {
+        evictLocal(userId);
+        if (shared != null) {
+            shared.evict(userId);
+        }
+    }
+
+    /**
+     * Remove a profile from this instance's tier only, for changes made on another instance
+     */
+    public void evictLocal(Long userId) {
+        // Counted before invalidating so a batch put that misses the invalidate sees the count change
+        localEvictions.incrementAndGet();
+        local.invalidate(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(UserProfileChangedEvent event) {
+        log.debug("Evicting cached profile for user ID: {}", event.userId());
+        evict(event.userId());
+    }
+
+    private UserProfileResponse load(Long userId, Function<Long, UserProfileResponse> loader) {
+        Long version = null;
+        if (shared != null) {
+            long start = System.nanoTime();
+            Optional<UserProfileResponse> cached = shared.get(userId);
+            sharedLoadTimer.record(Duration.ofNanos(System.nanoTime() - start));
+            if (cached.isPresent()) {
+                sharedHits.increment();
+                return cached.get();
+            }
+            sharedMisses.increment();
+            version = shared.versions(List.of(userId)).get(userId);
+        }
+
+        long start = System.nanoTime();
+        UserProfileResponse profile = loader.apply(userId);
+        databaseLoadTimer.record(Duration.ofNanos(System.nanoTime() - start));
+
+        if (version != null && profile != null) {
+            shared.put(profile, version);
+        }
+        return profile;
+    }
+
+    /**
+     * Eviction versions taken before a batch load
+     */
+    public record Versions(long localEvictions, Map<Long, Long> shared) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.user.user_service.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.user.user_service.events.UserProfileChangedEvent;
+import com.user.user_service.outbox.OutboxPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Profile Cache Event Listener
+ * Drops this instance's local copy of a profile changed on any instance, from the
+ * UserProfileChanged outbox events. The shared tier was already evicted by the instance
+ * that made the change. Every instance consumes in its own group from the latest offset;
+ * the local TTL bounds anything published while it was not listening.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "outbox.publisher", havingValue = "kafka", matchIfMissing = true)
+public class ProfileCacheEventListener {
+
+    private final ProfileCache profileCache;
+
+    @KafkaListener(topics = "${outbox.topics.user-events:user-events}",
+            groupId = "user-service-profile-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void onUserEvent(ConsumerRecord<String, JsonNode> record) {
+        Header type = record.headers().lastHeader(OutboxPublisher.EVENT_TYPE_HEADER);
+        if (type == null || !UserProfileChangedEvent.TYPE.equals(new String(type.value(), StandardCharsets.UTF_8))) {
+            return;
+        }
+        JsonNode userId = record.value() == null ? null : record.value().get("userId");
+        if (userId == null || !userId.canConvertToLong()) {
+            log.warn("UserProfileChanged event for user {} has no user ID, skipping", record.key());
+            return;
+        }
+        profileCache.evictLocal(userId.asLong());
+    }
+}
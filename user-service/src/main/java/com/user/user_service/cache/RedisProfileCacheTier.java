@@ -0,0 +1,140 @@
+package com.user.user_service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.user.user_service.DTOs.UserProfileResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Redis-backed shared profile cache tier.
+ * Failures are logged and treated as misses so Redis outages never fail a request.
+ * Versions live under their own key with the same TTL as the profiles, so they outlast any in-flight load.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "user.profile-cache.shared.type", havingValue = "redis")
+public class RedisProfileCacheTier implements SharedProfileCacheTier {
+
+    private static final String KEY_PREFIX = "user-service:profile:";
+    private static final String VERSION_PREFIX = "user-service:profile-version:";
+
+    private static final RedisScript<Long> PUT_IF_VERSION = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[2]) or '0' "
+                    + "if current == ARGV[1] then "
+                    + "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) "
+                    + "return 1 end "
+                    + "return 0",
+            Long.class);
+
+    private static final RedisScript<Long> EVICT = new DefaultRedisScript<>(
+            "local version = redis.call('INCR', KEYS[2]) "
+                    + "redis.call('PEXPIRE', KEYS[2], ARGV[1]) "
+                    + "redis.call('DEL', KEYS[1]) "
+                    + "return version",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    public RedisProfileCacheTier(StringRedisTemplate redisTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${user.profile-cache.shared.ttl:10m}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Optional<UserProfileResponse> get(Long userId) {
+        try {
+            String json = redisTemplate.opsForValue().get(KEY_PREFIX + userId);
+            return json == null ? Optional.empty() : Optional.of(objectMapper.readValue(json, UserProfileResponse.class));
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Shared profile cache read failed for user ID {}: {}", userId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Map<Long, UserProfileResponse> getAll(Collection<Long> userIds) {
+        Map<Long, UserProfileResponse> found = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return found;
+        }
+        try {
+            List<Long> ids = new ArrayList<>(userIds);
+            List<String> keys = ids.stream().map(id -> KEY_PREFIX + id).toList();
+            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+            if (values == null) {
+                return found;
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                if (values.get(i) != null) {
+                    found.put(ids.get(i), objectMapper.readValue(values.get(i), UserProfileResponse.class));
+                }
+            }
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Shared profile cache multi-read failed for {} users: {}", userIds.size(), e.getMessage());
+        }
+        return found;
+    }
+
+    @Override
+    public Map<Long, Long> versions(Collection<Long> userIds) {
+        Map<Long, Long> found = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return found;
+        }
+        try {
+            List<Long> ids = new ArrayList<>(userIds);
+            List<String> keys = ids.stream().map(id -> VERSION_PREFIX + id).toList();
+            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+            if (values == null) {
+                return found;
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                found.put(ids.get(i), values.get(i) == null ? 0L : Long.parseLong(values.get(i)));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Shared profile cache version read failed for {} users: {}", userIds.size(), e.getMessage());
+            found.clear();
+        }
+        return found;
+    }
+
+    @Override
+    public void put(UserProfileResponse profile, long version) {
+        try {
+            redisTemplate.execute(PUT_IF_VERSION,
+                    List.of(KEY_PREFIX + profile.getId(), VERSION_PREFIX + profile.getId()),
+                    String.valueOf(version), objectMapper.writeValueAsString(profile), String.valueOf(ttl.toMillis()));
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Shared profile cache write failed for user ID {}: {}", profile.getId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(Long userId) {
+        try {
+            redisTemplate.execute(EVICT, List.of(KEY_PREFIX + userId, VERSION_PREFIX + userId),
+                    String.valueOf(ttl.toMillis()));
+        } catch (RuntimeException e) {
+            log.warn("Shared profile cache evict failed for user ID {}: {}", userId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.user.user_service.cache;
+
+import com.user.user_service.DTOs.UserProfileResponse;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Shared (cross-instance) tier of the profile cache.
+ *
+ * Every evict bumps a per-profile version. Loaders read the version before going to the
+ * database and write back only if it is unchanged, so a load that raced with an update
+ * on any instance cannot put the pre-update profile back for the full TTL.
+ */
+public interface SharedProfileCacheTier {
+
+    Optional<UserProfileResponse> get(Long userId);
+
+    /**
+     * Look up many profiles at once; missing ids are absent from the result
+     */
+    Map<Long, UserProfileResponse> getAll(Collection<Long> userIds);
+
+    /**
+     * Current versions of the given profiles; ids whose version cannot be read are absent
+     * (and must not be written back)
+     */
+    Map<Long, Long> versions(Collection<Long> userIds);
+
+    /**
+     * Store a profile unless it was evicted after {@code version} was read
+     */
+    void put(UserProfileResponse profile, long version);
+
+    /**
+     * Remove a profile and bump its version
+     */
+    void evict(Long userId);
+}
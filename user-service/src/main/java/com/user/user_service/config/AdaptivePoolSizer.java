@@ -0,0 +1,167 @@
+package com.user.user_service.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive Pool Sizer
+ * Periodically resizes the Hikari pool between min-size and max-size from two signals
+ * measured over the last interval:
+ * - pool wait: mean hikaricp.connections.acquire time and threads awaiting a connection,
+ *   plus the permit wait and waiters of the ConnectionLimitingDataSource when it is in
+ *   front of the pool (its permits match the pool size, so callers queue there, not in Hikari)
+ * - DB latency: mean spring.data.repository.invocations time
+ *
+ * The pool grows while callers wait for connections and the database is still answering
+ * quickly. It does not grow when queries themselves are slow, since more concurrent
+ * queries would only add contention on the database. It shrinks one connection at a time
+ * after several consecutive quiet intervals.
+ */
+@Component
+@ConditionalOnProperty(name = "user.datasource.adaptive-pool.enabled", havingValue = "true")
+@Slf4j
+public class AdaptivePoolSizer {
+
+    private static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+    private static final String REPOSITORY_TIMER = "spring.data.repository.invocations";
+
+    private final HikariDataSource hikari;
+    private final HikariConfigMXBean poolConfig;
+    private final ConnectionLimitingDataSource limiter;
+    private final MeterRegistry meterRegistry;
+
+    private final int minSize;
+    private final int maxSize;
+    private final int growStep;
+    private final long waitHighNanos;
+    private final long waitLowNanos;
+    private final long latencyCeilingNanos;
+    private final int shrinkAfterIntervals;
+
+    private final Counter grown;
+    private final Counter shrunk;
+
+    private final Totals acquireTotals = new Totals();
+    private final Totals queryTotals = new Totals();
+    private final Totals permitTotals = new Totals();
+    private int quietIntervals;
+
+    public AdaptivePoolSizer(DataSource dataSource,
+                             MeterRegistry meterRegistry,
+                             @Value("${user.datasource.adaptive-pool.min-size:5}") int minSize,
+                             @Value("${user.datasource.adaptive-pool.max-size:30}") int maxSize,
+                             @Value("${user.datasource.adaptive-pool.grow-step:2}") int growStep,
+                             @Value("${user.datasource.adaptive-pool.wait-high:20ms}") Duration waitHigh,
+                             @Value("${user.datasource.adaptive-pool.wait-low:2ms}") Duration waitLow,
+                             @Value("${user.datasource.adaptive-pool.latency-ceiling:100ms}") Duration latencyCeiling,
+                             @Value("${user.datasource.adaptive-pool.shrink-after-intervals:6}") int shrinkAfterIntervals)
+            throws SQLException {
+        this.hikari = dataSource.unwrap(HikariDataSource.class);
+        this.poolConfig = hikari.getHikariConfigMXBean();
+        this.limiter = dataSource instanceof ConnectionLimitingDataSource limiting ? limiting : null;
+        this.meterRegistry = meterRegistry;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.growStep = growStep;
+        this.waitHighNanos = waitHigh.toNanos();
+        this.waitLowNanos = waitLow.toNanos();
+        this.latencyCeilingNanos = latencyCeiling.toNanos();
+        this.shrinkAfterIntervals = shrinkAfterIntervals;
+
+        this.grown = Counter.builder("db.pool.adaptive.resizes").tag("direction", "grow").register(meterRegistry);
+        this.shrunk = Counter.builder("db.pool.adaptive.resizes").tag("direction", "shrink").register(meterRegistry);
+        Gauge.builder("db.pool.adaptive.size", poolConfig, HikariConfigMXBean::getMaximumPoolSize)
+                .description("Current maximum pool size chosen by the adaptive sizer")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${user.datasource.adaptive-pool.interval:PT10S}",
+            initialDelayString = "${user.datasource.adaptive-pool.interval:PT10S}")
+    public void adjust() {
+        // The pool is started by the first getConnection
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null) {
+            return;
+        }
+        long meanWait = acquireTotals.meanSinceLast(meterRegistry.find(ACQUIRE_TIMER).timers());
+        long meanQuery = queryTotals.meanSinceLast(meterRegistry.find(REPOSITORY_TIMER).timers());
+        int awaiting = pool.getThreadsAwaitingConnection();
+        if (limiter != null) {
+            meanWait += permitTotals.meanSinceLast(limiter.getAcquireCount(), limiter.getAcquireWaitNanos());
+            awaiting += limiter.getWaiting();
+        }
+        int current = poolConfig.getMaximumPoolSize();
+
+        boolean starved = meanWait > waitHighNanos || awaiting > 0;
+        boolean databaseHealthy = meanQuery < latencyCeilingNanos;
+
+        if (starved && databaseHealthy && current < maxSize) {
+            resize(current, Math.min(maxSize, current + growStep), meanWait, meanQuery, awaiting);
+            grown.increment();
+            quietIntervals = 0;
+        } else if (!starved && meanWait < waitLowNanos && pool.getActiveConnections() < current / 2) {
+            if (++quietIntervals >= shrinkAfterIntervals && current > minSize) {
+                resize(current, current - 1, meanWait, meanQuery, awaiting);
+                shrunk.increment();
+                quietIntervals = 0;
+            }
+        } else {
+            quietIntervals = 0;
+        }
+    }
+
+    private void resize(int from, int to, long meanWait, long meanQuery, int awaiting) {
+        log.info("Resizing connection pool {} -> {} (mean wait {} ms, mean query {} ms, {} waiting)",
+                from, to, TimeUnit.NANOSECONDS.toMillis(meanWait), TimeUnit.NANOSECONDS.toMillis(meanQuery), awaiting);
+        poolConfig.setMaximumPoolSize(to);
+        if (poolConfig.getMinimumIdle() > to) {
+            poolConfig.setMinimumIdle(to);
+        }
+        if (limiter != null) {
+            limiter.setMaxPermits(to);
+        }
+    }
+
+    /**
+     * Cumulative timer totals, turned into a mean over the interval since the previous call
+     */
+    private static final class Totals {
+
+        private long count;
+        private double totalNanos;
+
+        long meanSinceLast(Collection<Timer> timers) {
+            long newCount = 0;
+            double newTotal = 0;
+            for (Timer timer : timers) {
+                newCount += timer.count();
+                newTotal += timer.totalTime(TimeUnit.NANOSECONDS);
+            }
+            return meanSinceLast(newCount, newTotal);
+        }
+
+        long meanSinceLast(long newCount, double newTotal) {
+            long deltaCount = newCount - count;
+            double deltaTotal = newTotal - totalNanos;
+            count = newCount;
+            totalNanos = newTotal;
+            return deltaCount > 0 ? (long) (deltaTotal / deltaCount) : 0L;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.user.user_service.config;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the connection limiter's permits, waiters and permit wait time alongside the Hikari pool metrics
+ */
+@Component
+@ConditionalOnProperty(name = "user.datasource.concurrency-limit.enabled", havingValue = "true")
+public class ConnectionLimitMetrics implements MeterBinder {
+
+    private final DataSource dataSource;
+
+    public ConnectionLimitMetrics(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(dataSource instanceof ConnectionLimitingDataSource limiter)) {
+            return;
+        }
+        Gauge.builder("db.connection.limit.permits", limiter, ConnectionLimitingDataSource::getMaxPermits)
+                .register(registry);
+        Gauge.builder("db.connection.limit.available", limiter, ConnectionLimitingDataSource::getAvailablePermits)
+                .register(registry);
+        Gauge.builder("db.connection.limit.waiting", limiter, ConnectionLimitingDataSource::getWaiting)
+                .description("Threads parked waiting for a database connection permit")
+                .register(registry);
+        FunctionTimer.builder("db.connection.limit.acquire", limiter,
+                        ConnectionLimitingDataSource::getAcquireCount,
+                        ConnectionLimitingDataSource::getAcquireWaitNanos, TimeUnit.NANOSECONDS)
+                .description("Time spent waiting for a database connection permit")
+                .register(registry);
+    }
+}
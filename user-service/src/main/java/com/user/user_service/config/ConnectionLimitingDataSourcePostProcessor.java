@@ -0,0 +1,47 @@
+package com.user.user_service.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the application DataSource in a ConnectionLimitingDataSource.
+ * Enabled by default whenever virtual threads are enabled. Runs last so the limiter is
+ * the outermost wrapper.
+ */
+@Component
+@ConditionalOnProperty(name = "user.datasource.concurrency-limit.enabled", havingValue = "true")
+@Slf4j
+public class ConnectionLimitingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+    private final int permits;
+    private final Duration acquireTimeout;
+
+    public ConnectionLimitingDataSourcePostProcessor(
+            @Value("${user.datasource.concurrency-limit.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+            @Value("${user.datasource.concurrency-limit.acquire-timeout:5s}") Duration acquireTimeout) {
+        this.permits = permits;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+            log.info("Limiting DataSource '{}' to {} concurrent connections (acquire timeout {})",
+                    beanName, permits, acquireTimeout);
+            return new ConnectionLimitingDataSource(dataSource, permits, acquireTimeout);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,167 @@
+package com.user.user_service.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.user.user_service.DTOs.ApiResponse;
+import com.user.user_service.DTOs.KeysetPage;
+import com.user.user_service.DTOs.PasswordSchemeUsage;
+import com.user.user_service.DTOs.ProviderSummary;
+import com.user.user_service.DTOs.UserSummary;
+import com.user.user_service.entity.UserRole;
+import com.user.user_service.entity.UserStatus;
+import com.user.user_service.exception.AccessDeniedException;
+import com.user.user_service.services.UserService;
+import com.user.user_service.services.UserService.ProviderFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Admin Controller
+ * Handles administrative and reporting endpoints for user management
+ */
+@RestController
+@RequestMapping("/api/users/admin")
+@RequiredArgsConstructor
+@Slf4j
+public class AdminController {
+
+    private static final String ADMIN_ROLE = "ADMIN";
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Password hashing scheme migration report
+     * GET /api/users/admin/password-schemes
+     */
+    @GetMapping("/password-schemes")
+    public ResponseEntity<ApiResponse<List<PasswordSchemeUsage>>> getPasswordSchemeReport(
+            @RequestHeader(value = "X-User-Role", required = false) String role) {
+
+        requireAdmin(role);
+        log.info("Password scheme report requested");
+
+        List<PasswordSchemeUsage> report = userService.getPasswordSchemeReport();
+
+        return ResponseEntity
+                .ok(ApiResponse.success("Password scheme report generated", report));
+    }
+
+    /**
+     * Users by role (and optionally status), keyset-paginated by ID
+     * GET /api/users/admin/users?role=PROVIDER&status=ACTIVE&afterId=0&limit=100
+     */
+    @GetMapping("/users")
+    public ResponseEntity<ApiResponse<KeysetPage<UserSummary>>> getUsers(
+            @RequestHeader(value = "X-User-Role", required = false) String callerRole,
+            @RequestParam UserRole role,
+            @RequestParam(required = false) UserStatus status,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        requireAdmin(callerRole);
+        KeysetPage<UserSummary> page = userService.getUsers(role, status, afterId, pageSize(limit));
+
+        return ResponseEntity
+                .ok(ApiResponse.success("Users retrieved successfully", page));
+    }
+
+    /**
+     * Export all users by role (and optionally status) as newline-delimited JSON
+     * GET /api/users/admin/users/export?role=CUSTOMER
+     */
+    @GetMapping("/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestHeader(value = "X-User-Role", required = false) String callerRole,
+            @RequestParam UserRole role,
+            @RequestParam(required = false) UserStatus status) {
+
+        requireAdmin(callerRole);
+        log.info("User export requested for role {} and status {}", role, status);
+
+        return ndjson(sink -> userService.exportUsers(role, status, sink));
+    }
+
+    /**
+     * Providers by verification or availability, keyset-paginated by provider profile ID
+     * GET /api/users/admin/providers?filter=VERIFIED&value=false&afterId=0&limit=100
+     */
+    @GetMapping("/providers")
+    public ResponseEntity<ApiResponse<KeysetPage<ProviderSummary>>> getProviders(
+            @RequestHeader(value = "X-User-Role", required = false) String role,
+            @RequestParam ProviderFilter filter,
+            @RequestParam boolean value,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        requireAdmin(role);
+        KeysetPage<ProviderSummary> page = userService.getProviders(filter, value, afterId, pageSize(limit));
+
+        return ResponseEntity
+                .ok(ApiResponse.success("Providers retrieved successfully", page));
+    }
+
+    /**
+     * Export all providers matching the filter as newline-delimited JSON
+     * GET /api/users/admin/providers/export?filter=AVAILABLE&value=true
+     */
+    @GetMapping("/providers/export")
+    public ResponseEntity<StreamingResponseBody> exportProviders(
+            @RequestHeader(value = "X-User-Role", required = false) String role,
+            @RequestParam ProviderFilter filter,
+            @RequestParam boolean value) {
+
+        requireAdmin(role);
+        log.info("Provider export requested for {} = {}", filter, value);
+
+        return ndjson(sink -> userService.exportProviders(filter, value, sink));
+    }
+
+    private static void requireAdmin(String role) {
+        if (!ADMIN_ROLE.equals(role)) {
+            throw new AccessDeniedException("Only admins can access this resource");
+        }
+    }
+
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Rows are written one per line as the database cursor advances, so memory stays flat
+     */
+    private <T> ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<T>> export) {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                export.accept(row -> {
+                    try {
+                        writer.write(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(body);
+    }
+}
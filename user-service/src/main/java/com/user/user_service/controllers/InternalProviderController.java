@@ -0,0 +1,93 @@
+package com.user.user_service.controllers;
+
+import com.user.user_service.DTOs.ApiResponse;
+import com.user.user_service.DTOs.ProviderRatingUpdate;
+import com.user.user_service.DTOs.ProviderSummary;
+import com.user.user_service.services.UserService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Internal Provider Controller
+ * Service-to-service endpoints. They are not routed by the gateway (which answers 404
+ * for any /{service}/internal/** path) and callers must present internal.api.token in
+ * X-Internal-Token. Startup fails without a token rather than leaving them open.
+ */
+@RestController
+@RequestMapping("/internal/providers")
+@Slf4j
+public class InternalProviderController {
+
+    private final UserService userService;
+    private final byte[] internalToken;
+
+    public InternalProviderController(UserService userService,
+                                      @Value("${internal.api.token:}") String internalToken) {
+        if (internalToken.isBlank()) {
+            throw new IllegalStateException("No internal.api.token configured: /internal/** endpoints would accept "
+                    + "any caller that can reach user-service. Set INTERNAL_API_TOKEN on user-service and its callers.");
+        }
+        this.userService = userService;
+        this.internalToken = internalToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Provider profile of a user (location-service takes the specialization from here)
+     * GET /internal/providers/{userId}
+     */
+    @GetMapping("/{userId}")
+    public ResponseEntity<ApiResponse<ProviderSummary>> getProvider(
+            @RequestHeader(value = "X-Internal-Token", required = false) String token,
+            @PathVariable Long userId) {
+
+        if (!isAuthorized(token)) {
+            return ResponseEntity
+                    .status(HttpStatus.FORBIDDEN)
+                    .body(ApiResponse.error("Invalid internal token"));
+        }
+
+        ProviderSummary provider = userService.getProviderSummary(userId);
+
+        return ResponseEntity
+                .ok(ApiResponse.success("Provider retrieved successfully", provider));
+    }
+
+    /**
+     * Rating totals from review-rating-service
+     * POST /internal/providers/ratings
+     */
+    @PostMapping("/ratings")
+    public ResponseEntity<ApiResponse<Integer>> updateRatings(
+            @RequestHeader(value = "X-Internal-Token", required = false) String token,
+            @Valid @RequestBody List<@Valid ProviderRatingUpdate> updates) {
+
+        if (!isAuthorized(token)) {
+            return ResponseEntity
+                    .status(HttpStatus.FORBIDDEN)
+                    .body(ApiResponse.error("Invalid internal token"));
+        }
+
+        int updated = userService.applyRatingUpdates(updates);
+
+        return ResponseEntity
+                .ok(ApiResponse.success("Ratings updated", updated));
+    }
+
+    private boolean isAuthorized(String token) {
+        return token != null && MessageDigest.isEqual(internalToken, token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,50 @@
+package com.user.user_service.controllers;
+
+import com.user.user_service.DTOs.ApiResponse;
+import com.user.user_service.search.ProviderSearchCursor;
+import com.user.user_service.search.ProviderSearchIndex;
+import com.user.user_service.search.ProviderSearchPage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Provider Search Controller
+ * Handles provider discovery by specialization and city
+ */
+@RestController
+@RequestMapping("/api/users/providers")
+@RequiredArgsConstructor
+@Slf4j
+public class ProviderSearchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final ProviderSearchIndex providerSearchIndex;
+
+    /**
+     * Search verified, available providers ordered by rating
+     * GET /api/users/providers/search?specialization=Plumber&city=Pune&limit=20&cursor=...
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<ProviderSearchPage>> searchProviders(
+            @RequestParam String specialization,
+            @RequestParam String city,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        log.debug("Provider search for {} in {}", specialization, city);
+
+        ProviderSearchCursor after = cursor == null || cursor.isBlank() ? null : ProviderSearchCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        ProviderSearchPage page = providerSearchIndex.search(specialization, city, after, pageSize);
+
+        return ResponseEntity
+                .ok(ApiResponse.success("Providers retrieved successfully", page));
+    }
+}
@@ -1,13 +1,21 @@
 package com.user.user_service.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.user.user_service.DTOs.*;
 import com.user.user_service.services.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 
 /**
  * User Controller
@@ -20,6 +28,7 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Register a new user (Customer or Provider)
@@ -29,7 +38,7 @@ public class UserController {
     public ResponseEntity<ApiResponse<UserProfileResponse>> registerUser(
             @Valid @RequestBody UserRegistrationRequest request) {
 
-        log.info("Register request received for email: {}", request.getEmail());
+        log.debug("Register request received");
 
         UserProfileResponse response = userService.registerUser(request);
 
@@ -46,7 +55,7 @@ public class UserController {
     public ResponseEntity<ApiResponse<LoginResponse>> login(
             @Valid @RequestBody LoginRequest request) {
 
-        log.info("Login request received for email: {}", request.getEmail());
+        log.debug("Login request received");
 
         LoginResponse response = userService.login(request);
 
@@ -62,7 +71,7 @@ public class UserController {
     public ResponseEntity<ApiResponse<UserProfileResponse>> getUserProfile(
             @PathVariable Long userId) {
 
-        log.info("Get profile request for user ID: {}", userId);
+        log.debug("Get profile request for user ID: {}", userId);
 
         UserProfileResponse response = userService.getUserProfile(userId);
 
@@ -70,6 +79,41 @@ public class UserController {
                 .ok(ApiResponse.success("Profile retrieved successfully", response));
     }
 
+    /**
+     * Get profiles for many users at once (unknown IDs are skipped)
+     * POST /api/users/profiles/batch
+     */
+    @PostMapping("/profiles/batch")
+    public ResponseEntity<StreamingResponseBody> getUserProfiles(
+            @Valid @RequestBody BatchProfileRequest request) {
+
+        log.debug("Batch profile request for {} user IDs", request.getUserIds().size());
+
+        // Profiles are written as they are resolved instead of buffering the whole response
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeBooleanField("success", true);
+                generator.writeStringField("message", "Profiles retrieved successfully");
+                generator.writeArrayFieldStart("data");
+                userService.streamUserProfiles(request.getUserIds(), profile -> {
+                    try {
+                        generator.writeObject(profile);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+                generator.writeObjectField("timestamp", LocalDateTime.now());
+                generator.writeEndObject();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     /**
      * Verify email with token
      * GET /api/users/verify-email?token=xxx
@@ -78,7 +122,7 @@ public class UserController {
     public ResponseEntity<ApiResponse<Object>> verifyEmail(
             @RequestParam String token) {
 
-        log.info("Email verification request received");
+        log.debug("Email verification request received");
 
         userService.verifyEmail(token);
 
@@ -94,7 +138,7 @@ public class UserController {
     public ResponseEntity<ApiResponse<Boolean>> checkEmail(
             @RequestParam String email) {
 
-        log.info("Check email request for: {}", email);
+        log.debug("Check email request received");
 
         Boolean exists = userService.emailExists(email);
 
@@ -0,0 +1,61 @@
+package com.user.user_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox Event Entity
+ * Domain event written in the same transaction as the change that caused it,
+ * relayed to the message broker in the background. An event the broker keeps rejecting
+ * is retried with backoff and, after the last attempt, parked (failedAt set) so later
+ * events still drain; clearing failedAt and nextAttemptAt queues it again.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_published_at", columnList = "publishedAt, failedAt, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String topic;
+
+    @Column(nullable = false, length = 50)
+    private String aggregateType; // e.g., User
+
+    @Column(nullable = false, length = 100)
+    private String aggregateId;
+
+    @Column(nullable = false, length = 100)
+    private String eventType; // e.g., UserRegistered
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload; // JSON
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime publishedAt;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime failedAt; // dead-lettered
+}
@@ -16,7 +16,11 @@ import java.time.LocalDateTime;
  * Extended profile information for service providers
  */
 @Entity
-@Table(name = "provider_profiles")
+@Table(name = "provider_profiles", indexes = {
+        @Index(name = "idx_provider_specialization_city", columnList = "specialization, city"),
+        @Index(name = "idx_provider_verified_id", columnList = "isVerified, id"),
+        @Index(name = "idx_provider_available_id", columnList = "isAvailable, id")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Data
 @NoArgsConstructor
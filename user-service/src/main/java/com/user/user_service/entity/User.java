@@ -18,7 +18,9 @@ import java.time.LocalDateTime;
 @Table(name = "users", indexes = {
         @Index(name = "idx_email", columnList = "email"),
         @Index(name = "idx_role", columnList = "role"),
-        @Index(name = "idx_status", columnList = "status")
+        @Index(name = "idx_status", columnList = "status"),
+        @Index(name = "idx_role_id", columnList = "role, id"),
+        @Index(name = "idx_role_status_id", columnList = "role, status, id")
 })
 @EntityListeners(AuditingEntityListener.class)
 @Data
@@ -0,0 +1,11 @@
+package com.user.user_service.events;
+
+/**
+ * Published whenever data shown in a user's profile changes
+ * (email verification, profile updates, status changes).
+ * Also relayed through the outbox so every instance drops its cached copy.
+ */
+public record UserProfileChangedEvent(Long userId) {
+
+    public static final String TYPE = "UserProfileChanged";
+}
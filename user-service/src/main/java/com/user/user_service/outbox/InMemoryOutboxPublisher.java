@@ -0,0 +1,36 @@
+package com.user.user_service.outbox;
+
+import com.user.user_service.entity.OutboxEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory broker stand-in for tests and local runs.
+ * Deduplicates on the outbox event id the same way a real consumer should.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.publisher", havingValue = "in-memory")
+public class InMemoryOutboxPublisher implements OutboxPublisher {
+
+    private final Map<Long, OutboxEvent> delivered = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            delivered.putIfAbsent(event.getId(), event);
+        }
+    }
+
+    public List<OutboxEvent> getDelivered() {
+        return new ArrayList<>(delivered.values());
+    }
+
+    public void clear() {
+        delivered.clear();
+    }
+}
@@ -0,0 +1,48 @@
+package com.user.user_service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.user.user_service.entity.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka Outbox Publisher
+ * Sends the whole batch asynchronously, then waits for every acknowledgement.
+ * Records are keyed by aggregate id so events for one user stay ordered.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "outbox.publisher", havingValue = "kafka", matchIfMissing = true)
+public class KafkaOutboxPublisher implements OutboxPublisher {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${outbox.relay.send-timeout:30s}")
+    private Duration sendTimeout;
+
+    @Override
+    public void publish(List<OutboxEvent> events) throws Exception {
+        List<CompletableFuture<?>> acknowledgements = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            ProducerRecord<String, Object> record = new ProducerRecord<>(
+                    event.getTopic(), event.getAggregateId(), objectMapper.readTree(event.getPayload()));
+            record.headers().add(EVENT_ID_HEADER, event.getId().toString().getBytes(StandardCharsets.UTF_8));
+            record.headers().add(EVENT_TYPE_HEADER, event.getEventType().getBytes(StandardCharsets.UTF_8));
+            acknowledgements.add(kafkaTemplate.send(record));
+        }
+        CompletableFuture.allOf(acknowledgements.toArray(CompletableFuture[]::new))
+                .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
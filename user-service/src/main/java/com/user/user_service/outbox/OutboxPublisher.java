@@ -0,0 +1,18 @@
+package com.user.user_service.outbox;
+
+import com.user.user_service.entity.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Delivers a batch of outbox events to the message broker.
+ * Returns only once every event has been acknowledged; throws if any delivery failed,
+ * in which case the whole batch is retried (consumers dedupe on the outbox event id).
+ */
+public interface OutboxPublisher {
+
+    String EVENT_ID_HEADER = "outbox-event-id";
+    String EVENT_TYPE_HEADER = "outbox-event-type";
+
+    void publish(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,202 @@
+package com.user.user_service.outbox;
+
+import com.user.user_service.entity.OutboxEvent;
+import com.user.user_service.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox Relay
+ * Drains unpublished outbox events to the broker in batches. Every linger interval it
+ * publishes batches of up to batch-size events until the outbox is empty. Rows are locked
+ * with SKIP LOCKED, so several instances can relay concurrently without double-sending.
+ * Delivery is at-least-once; consumers dedupe on the outbox event id header.
+ *
+ * When a batch fails its events are sent one by one up to the first that fails, and only
+ * that event backs off (doubling from retry-backoff) before it is tried again. After
+ * max-attempts it is parked, so an event the broker always rejects cannot hold up the
+ * queue. Backing off means a later event of the same aggregate may overtake it.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+    private final Duration retention;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final Counter parkedCounter;
+    private final Timer batchTimer;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxPublisher outboxPublisher,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${outbox.relay.max-batches-per-run:50}") int maxBatchesPerRun,
+                       @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+                       @Value("${outbox.relay.retry-backoff:PT1S}") Duration retryBackoff,
+                       @Value("${outbox.relay.max-retry-backoff:PT5M}") Duration maxRetryBackoff,
+                       @Value("${outbox.relay.retention:P7D}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.retention = retention;
+
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Unpublished outbox events")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag.seconds", lagMillis, value -> value.get() / 1000.0)
+                .description("Age of the oldest unpublished outbox event")
+                .register(meterRegistry);
+        Gauge.builder("outbox.parked", parked, AtomicLong::get)
+                .description("Outbox events parked after their last attempt")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("outbox.published").register(meterRegistry);
+        this.failureCounter = Counter.builder("outbox.publish.failures").register(meterRegistry);
+        this.parkedCounter = Counter.builder("outbox.parked.total").register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.publish.batch.duration")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.linger:PT0.5S}")
+    public void relay() {
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                if (relayBatch() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            log.warn("Outbox relay failed, will retry: {}", e.getMessage());
+        } finally {
+            updateLag();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "PT1H", initialDelayString = "PT1M")
+    public void purgePublished() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+
+    /**
+     * Publish one batch; returns how many events were published, fewer than batch-size
+     * when the outbox is drained or an event failed
+     */
+    private int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.findRelayableForUpdate(LocalDateTime.now(),
+                    PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            long start = System.nanoTime();
+            try {
+                outboxPublisher.publish(events);
+            } catch (Exception e) {
+                if (events.size() == 1) {
+                    recordFailure(events.get(0), e);
+                    return 0;
+                }
+                return relayOneByOne(events);
+            }
+            batchTimer.record(Duration.ofNanos(System.nanoTime() - start));
+            markPublished(events);
+            return events.size();
+        });
+        return relayed != null ? relayed : 0;
+    }
+
+    /**
+     * Publish events singly up to the first failure, which is recorded against that event
+     */
+    private int relayOneByOne(List<OutboxEvent> events) {
+        int published = 0;
+        for (OutboxEvent event : events) {
+            try {
+                outboxPublisher.publish(List.of(event));
+            } catch (Exception e) {
+                recordFailure(event, e);
+                break;
+            }
+            markPublished(List.of(event));
+            published++;
+        }
+        return published;
+    }
+
+    private void markPublished(List<OutboxEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        events.forEach(event -> event.setPublishedAt(now));
+        publishedCounter.increment(events.size());
+    }
+
+    private void recordFailure(OutboxEvent event, Exception e) {
+        failureCounter.increment();
+        int attempts = event.getAttempts() + 1;
+        String error = String.valueOf(e.getMessage());
+        event.setAttempts(attempts);
+        event.setLastError(error.length() > 500 ? error.substring(0, 500) : error);
+        if (attempts >= maxAttempts) {
+            event.setFailedAt(LocalDateTime.now());
+            parkedCounter.increment();
+            log.error("Parking outbox event {} ({}) after {} failed attempts: {}",
+                    event.getId(), event.getEventType(), attempts, error);
+            return;
+        }
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(maxRetryBackoff) > 0) {
+            backoff = maxRetryBackoff;
+        }
+        event.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        log.warn("Publishing outbox event {} failed (attempt {} of {}), will retry: {}",
+                event.getId(), attempts, maxAttempts, error);
+    }
+
+    private void updateLag() {
+        try {
+            pending.set(outboxEventRepository.countByPublishedAtIsNullAndFailedAtIsNull());
+            parked.set(outboxEventRepository.countByPublishedAtIsNullAndFailedAtIsNotNull());
+            LocalDateTime oldest = outboxEventRepository.findOldestUnpublishedCreatedAt();
+            lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+        } catch (RuntimeException e) {
+            log.debug("Could not refresh outbox lag metrics: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.user.user_service.outbox;
+
+import com.user.user_service.entity.UserRole;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of the UserRegistered outbox event, consumed to send the verification email
+ */
+public record UserRegisteredEvent(Long userId,
+                                  String email,
+                                  UserRole role,
+                                  String fullName,
+                                  String verificationToken,
+                                  LocalDateTime registeredAt) {
+
+    public static final String TYPE = "UserRegistered";
+}
@@ -0,0 +1,13 @@
+package com.user.user_service.repositories;
+
+/**
+ * Projection for the password scheme migration report
+ */
+public interface PasswordSchemeCount {
+
+    String getScheme();
+
+    Integer getCost();
+
+    Long getAccounts();
+}
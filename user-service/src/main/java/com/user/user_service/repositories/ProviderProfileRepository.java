@@ -1,14 +1,22 @@
 package com.user.user_service.repositories;
 
 
+import com.user.user_service.DTOs.ProviderSummary;
 import com.user.user_service.entity.ProviderProfile;
+import com.user.user_service.search.ProviderSearchRow;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Provider Profile Repository
@@ -22,13 +30,80 @@ public interface ProviderProfileRepository extends JpaRepository<ProviderProfile
 
     List<ProviderProfile> findBySpecialization(String specialization);
 
+    /**
+     * @deprecated loads every matching provider; use {@link #findSummariesByIsVerified} or
+     * {@link #streamSummariesByIsVerified}
+     */
+    @Deprecated
     List<ProviderProfile> findByIsVerified(Boolean isVerified);
 
+    /**
+     * @deprecated loads every matching provider; use {@link #findSummariesByIsAvailable} or
+     * {@link #streamSummariesByIsAvailable}
+     */
+    @Deprecated
     List<ProviderProfile> findByIsAvailable(Boolean isAvailable);
 
+    String PROVIDER_SUMMARY = "SELECT new com.user.user_service.DTOs.ProviderSummary(" +
+            "p.id, p.user.id, p.businessName, p.specialization, p.city, p.isVerified, p.isAvailable, " +
+            "p.averageRating, p.completedBookings, p.createdAt) FROM ProviderProfile p ";
+
+    /**
+     * Next page of providers with id greater than afterId, ordered by id (pass PageRequest.ofSize(limit))
+     */
+    @Query(PROVIDER_SUMMARY + "WHERE p.isVerified = :isVerified AND p.id > :afterId ORDER BY p.id")
+    List<ProviderSummary> findSummariesByIsVerified(@Param("isVerified") Boolean isVerified,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable page);
+
+    @Query(PROVIDER_SUMMARY + "WHERE p.user.id = :userId")
+    Optional<ProviderSummary> findSummaryByUserId(@Param("userId") Long userId);
+
+    @Query(PROVIDER_SUMMARY + "WHERE p.isAvailable = :isAvailable AND p.id > :afterId ORDER BY p.id")
+    List<ProviderSummary> findSummariesByIsAvailable(@Param("isAvailable") Boolean isAvailable,
+                                                     @Param("afterId") Long afterId,
+                                                     Pageable page);
+
+    /**
+     * All matching providers in id order, streamed with a fetch size (must run in a transaction)
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query(PROVIDER_SUMMARY + "WHERE p.isVerified = :isVerified ORDER BY p.id")
+    Stream<ProviderSummary> streamSummariesByIsVerified(@Param("isVerified") Boolean isVerified);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query(PROVIDER_SUMMARY + "WHERE p.isAvailable = :isAvailable ORDER BY p.id")
+    Stream<ProviderSummary> streamSummariesByIsAvailable(@Param("isAvailable") Boolean isAvailable);
+
     @Query("SELECT p FROM ProviderProfile p WHERE p.specialization = :specialization AND p.city = :city AND p.isVerified = true AND p.isAvailable = true")
     List<ProviderProfile> findAvailableProvidersBySpecializationAndCity(
             @Param("specialization") String specialization,
             @Param("city") String city
     );
-}
\ No newline at end of file
+
+    String SEARCH_ROW = "SELECT new com.user.user_service.search.ProviderSearchRow(" +
+            "p.id, p.user.id, p.businessName, p.specialization, p.city, p.averageRating, " +
+            "p.totalReviews, p.completedBookings, p.experienceYears, p.isVerified, p.isAvailable) " +
+            "FROM ProviderProfile p ";
+
+    /**
+     * Verified, available providers for building the search index; must be consumed inside a transaction
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "5000"))
+    @Query(SEARCH_ROW + "WHERE p.isVerified = true AND p.isAvailable = true")
+    Stream<ProviderSearchRow> streamSearchableProviders();
+
+    @Query(SEARCH_ROW + "WHERE p.user.id = :userId")
+    Optional<ProviderSearchRow> findSearchRowByUserId(@Param("userId") Long userId);
+
+    /**
+     * Overwrite a provider's rating totals unless the stored ones are newer (review counts
+     * only grow, so a push that arrives late carries a smaller count and is ignored)
+     */
+    @Modifying
+    @Query("UPDATE ProviderProfile p SET p.averageRating = :averageRating, p.totalReviews = :totalReviews, " +
+            "p.updatedAt = CURRENT_TIMESTAMP WHERE p.user.id = :userId AND p.totalReviews <= :totalReviews")
+    int updateRating(@Param("userId") Long userId,
+                     @Param("averageRating") BigDecimal averageRating,
+                     @Param("totalReviews") Integer totalReviews);
+}
@@ -1,16 +1,24 @@
 package com.user.user_service.repositories;
 
 
+import com.user.user_service.DTOs.UserProfileResponse;
+import com.user.user_service.DTOs.UserSummary;
 import com.user.user_service.entity.User;
 import com.user.user_service.entity.UserRole;
 import com.user.user_service.entity.UserStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * User Repository
@@ -21,12 +29,50 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
+    /**
+     * Flattened profile (user + customer or provider profile) in a single statement
+     */
+    @Query("SELECT new com.user.user_service.DTOs.UserProfileResponse(" +
+            "u.id, u.email, u.role, u.status, u.emailVerified, " +
+            "COALESCE(c.fullName, p.businessName), COALESCE(c.phone, p.phone), " +
+            "COALESCE(c.city, p.city), COALESCE(c.state, p.state), " +
+            "COALESCE(c.profileImageUrl, p.profileImageUrl), " +
+            "p.businessName, p.specialization, p.experienceYears, p.isVerified, u.createdAt) " +
+            "FROM User u LEFT JOIN u.customerProfile c LEFT JOIN u.providerProfile p " +
+            "WHERE u.id = :id")
+    Optional<UserProfileResponse> findProfileById(@Param("id") Long id);
+
+    /**
+     * Flattened profiles for many users in a single statement
+     */
+    @Query("SELECT new com.user.user_service.DTOs.UserProfileResponse(" +
+            "u.id, u.email, u.role, u.status, u.emailVerified, " +
+            "COALESCE(c.fullName, p.businessName), COALESCE(c.phone, p.phone), " +
+            "COALESCE(c.city, p.city), COALESCE(c.state, p.state), " +
+            "COALESCE(c.profileImageUrl, p.profileImageUrl), " +
+            "p.businessName, p.specialization, p.experienceYears, p.isVerified, u.createdAt) " +
+            "FROM User u LEFT JOIN u.customerProfile c LEFT JOIN u.providerProfile p " +
+            "WHERE u.id IN :ids")
+    List<UserProfileResponse> findProfilesByIdIn(@Param("ids") Collection<Long> ids);
+
     Boolean existsByEmail(String email);
 
+    /**
+     * Every registered email, streamed with a large fetch size (must run in a transaction)
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "10000"))
+    @Query("SELECT u.email FROM User u")
+    Stream<String> streamAllEmails();
+
     Optional<User> findByVerificationToken(String token);
 
     Optional<User> findByResetPasswordToken(String token);
 
+    /**
+     * @deprecated loads every matching user; use {@link #findSummariesByRoleAndStatus} or
+     * {@link #streamSummariesByRoleAndStatus}
+     */
+    @Deprecated
     @Query("SELECT u FROM User u WHERE u.role = :role AND u.status = :status")
     List<User> findByRoleAndStatus(@Param("role") UserRole role,
                                    @Param("status") UserStatus status);
@@ -34,5 +80,53 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role")
     Long countByRole(@Param("role") UserRole role);
 
+    /**
+     * @deprecated loads every matching user; use {@link #findSummariesByRole} or {@link #streamSummariesByRole}
+     */
+    @Deprecated
     List<User> findByRole(UserRole role);
+
+    String USER_SUMMARY = "SELECT new com.user.user_service.DTOs.UserSummary(" +
+            "u.id, u.email, u.role, u.status, u.emailVerified, u.createdAt) FROM User u ";
+
+    /**
+     * Next page of users with id greater than afterId, ordered by id (pass PageRequest.ofSize(limit))
+     */
+    @Query(USER_SUMMARY + "WHERE u.role = :role AND u.id > :afterId ORDER BY u.id")
+    List<UserSummary> findSummariesByRole(@Param("role") UserRole role,
+                                          @Param("afterId") Long afterId,
+                                          Pageable page);
+
+    @Query(USER_SUMMARY + "WHERE u.role = :role AND u.status = :status AND u.id > :afterId ORDER BY u.id")
+    List<UserSummary> findSummariesByRoleAndStatus(@Param("role") UserRole role,
+                                                   @Param("status") UserStatus status,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable page);
+
+    /**
+     * All users with the role in id order, streamed with a fetch size (must run in a transaction)
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query(USER_SUMMARY + "WHERE u.role = :role ORDER BY u.id")
+    Stream<UserSummary> streamSummariesByRole(@Param("role") UserRole role);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query(USER_SUMMARY + "WHERE u.role = :role AND u.status = :status ORDER BY u.id")
+    Stream<UserSummary> streamSummariesByRoleAndStatus(@Param("role") UserRole role,
+                                                       @Param("status") UserStatus status);
+
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :newHash WHERE u.id = :id AND u.passwordHash = :oldHash")
+    int updatePasswordHash(@Param("id") Long id,
+                           @Param("oldHash") String oldHash,
+                           @Param("newHash") String newHash);
+
+    @Query(value = "SELECT CASE WHEN password_hash LIKE '{%}%' " +
+            "THEN substring(password_hash from 2 for position('}' in password_hash) - 2) " +
+            "ELSE 'bcrypt-legacy' END AS scheme, " +
+            "CAST(substring(password_hash from '\\$2[aby]{0,1}\\$([0-9]{2})\\$') AS INTEGER) AS cost, " +
+            "COUNT(*) AS accounts " +
+            "FROM users GROUP BY 1, 2 ORDER BY 1, 2",
+            nativeQuery = true)
+    List<PasswordSchemeCount> countByPasswordScheme();
 }
@@ -0,0 +1,45 @@
+package com.user.user_service.search;
+
+import com.user.user_service.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset cursor: the sort key of the last entry on the previous page, encoded as an opaque token
+ */
+public record ProviderSearchCursor(int ratingCentis, int completedBookings, long userId) {
+
+    public static ProviderSearchCursor after(ProviderSearchEntry entry) {
+        return new ProviderSearchCursor(entry.ratingCentis(), entry.completedBookings(), entry.userId());
+    }
+
+    public String encode() {
+        String raw = ratingCentis + ":" + completedBookings + ":" + userId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProviderSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            return new ProviderSearchCursor(
+                    Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid search cursor");
+        }
+    }
+
+    /**
+     * True if the entry sorts strictly after this cursor
+     */
+    boolean isBefore(ProviderSearchEntry entry) {
+        if (entry.ratingCentis() != ratingCentis) {
+            return entry.ratingCentis() < ratingCentis;
+        }
+        if (entry.completedBookings() != completedBookings) {
+            return entry.completedBookings() < completedBookings;
+        }
+        return entry.userId() > userId;
+    }
+}
@@ -0,0 +1,46 @@
+package com.user.user_service.search;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+
+/**
+ * Compact, immutable index entry. Rating is stored as hundredths so ordering
+ * and cursor comparisons are plain int comparisons.
+ */
+public record ProviderSearchEntry(long userId,
+                                  long providerId,
+                                  String businessName,
+                                  @JsonIgnore int ratingCentis,
+                                  int totalReviews,
+                                  int completedBookings,
+                                  int experienceYears) {
+
+    /**
+     * Best rated first, then most completed bookings, then user id for a stable total order
+     */
+    public static final Comparator<ProviderSearchEntry> ORDER = Comparator
+            .comparingInt(ProviderSearchEntry::ratingCentis).reversed()
+            .thenComparing(Comparator.comparingInt(ProviderSearchEntry::completedBookings).reversed())
+            .thenComparingLong(ProviderSearchEntry::userId);
+
+    public static ProviderSearchEntry from(ProviderSearchRow row) {
+        BigDecimal rating = row.averageRating() != null ? row.averageRating() : BigDecimal.ZERO;
+        return new ProviderSearchEntry(
+                row.userId(),
+                row.providerId(),
+                row.businessName(),
+                rating.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValue(),
+                row.totalReviews() != null ? row.totalReviews() : 0,
+                row.completedBookings() != null ? row.completedBookings() : 0,
+                row.experienceYears() != null ? row.experienceYears() : 0);
+    }
+
+    @JsonProperty
+    public BigDecimal averageRating() {
+        return BigDecimal.valueOf(ratingCentis, 2);
+    }
+}
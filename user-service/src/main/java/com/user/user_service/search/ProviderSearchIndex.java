@@ -0,0 +1,227 @@
+package com.user.user_service.search;
+
+import com.user.user_service.events.UserProfileChangedEvent;
+import com.user.user_service.exception.ServiceBusyException;
+import com.user.user_service.repositories.ProviderProfileRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Provider Search Index
+ * In-memory index of verified, available providers bucketed by (specialization, city).
+ * Each bucket is an array pre-sorted by rating, completed bookings and user id, so a page
+ * is a binary search for the cursor position followed by a slice copy.
+ *
+ * Buckets are copy-on-write: readers take the current array without locking and writers
+ * publish a new array. Providers are re-indexed after a UserProfileChangedEvent commits and
+ * the whole index is rebuilt periodically to pick up changes made by other instances.
+ */
+@Component
+@Slf4j
+public class ProviderSearchIndex {
+
+    private static final ProviderSearchEntry[] EMPTY = new ProviderSearchEntry[0];
+
+    private final ProviderProfileRepository providerProfileRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long retryAfterSeconds;
+
+    private volatile Map<BucketKey, ProviderSearchEntry[]> buckets = new ConcurrentHashMap<>();
+    private volatile Map<Long, BucketKey> locations = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final Object writeLock = new Object();
+
+    public ProviderSearchIndex(ProviderProfileRepository providerProfileRepository,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${user.provider-search.retry-after:5s}") Duration retryAfter) {
+        this.providerProfileRepository = providerProfileRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+
+        Gauge.builder("user.provider.search.entries", this, index -> index.locations.size())
+                .register(meterRegistry);
+        Gauge.builder("user.provider.search.buckets", this, index -> index.buckets.size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Next page of providers for a specialization and city, starting after the cursor (null for the first page)
+     */
+    public ProviderSearchPage search(String specialization, String city, ProviderSearchCursor cursor, int limit) {
+        if (!ready) {
+            throw new ServiceBusyException("Provider search index is still loading", retryAfterSeconds);
+        }
+        ProviderSearchEntry[] bucket = buckets.getOrDefault(BucketKey.of(specialization, city), EMPTY);
+
+        int from = cursor == null ? 0 : firstAfter(bucket, cursor);
+        int to = Math.min(bucket.length, from + limit);
+        List<ProviderSearchEntry> entries = List.of(Arrays.copyOfRange(bucket, from, to));
+
+        String nextCursor = to < bucket.length && !entries.isEmpty()
+                ? ProviderSearchCursor.after(entries.get(entries.size() - 1)).encode()
+                : null;
+        return new ProviderSearchPage(entries, nextCursor);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(UserProfileChangedEvent event) {
+        if (rebuilding.get()) {
+            changedDuringRebuild.add(event.userId());
+        }
+        if (ready) {
+            reload(event.userId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        Thread.ofPlatform().name("provider-search-build").daemon().start(this::rebuild);
+    }
+
+    @Scheduled(fixedDelayString = "${user.provider-search.rebuild-interval:PT15M}",
+            initialDelayString = "${user.provider-search.rebuild-interval:PT15M}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            Map<BucketKey, List<ProviderSearchEntry>> grouped = new HashMap<>();
+            Map<Long, BucketKey> newLocations = new ConcurrentHashMap<>();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ProviderSearchRow> rows = providerProfileRepository.streamSearchableProviders()) {
+                    rows.forEach(row -> {
+                        BucketKey key = BucketKey.of(row.specialization(), row.city());
+                        grouped.computeIfAbsent(key, k -> new ArrayList<>()).add(ProviderSearchEntry.from(row));
+                        newLocations.put(row.userId(), key);
+                    });
+                }
+            });
+
+            Map<BucketKey, ProviderSearchEntry[]> newBuckets = new ConcurrentHashMap<>();
+            grouped.forEach((key, entries) -> {
+                ProviderSearchEntry[] sorted = entries.toArray(EMPTY);
+                Arrays.sort(sorted, ProviderSearchEntry.ORDER);
+                newBuckets.put(key, sorted);
+            });
+
+            synchronized (writeLock) {
+                buckets = newBuckets;
+                locations = newLocations;
+            }
+            ready = true;
+            // The snapshot may predate changes committed while it was streaming
+            for (Long userId : changedDuringRebuild) {
+                changedDuringRebuild.remove(userId);
+                reload(userId);
+            }
+            log.info("Provider search index built with {} providers in {} buckets in {} ms",
+                    newLocations.size(), newBuckets.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Provider search index build failed: {}", e.getMessage());
+        } finally {
+            changedDuringRebuild.clear();
+            rebuilding.set(false);
+        }
+    }
+
+    private void reload(Long userId) {
+        readOnlyTransaction.executeWithoutResult(status ->
+                reindex(userId, providerProfileRepository.findSearchRowByUserId(userId).orElse(null)));
+    }
+
+    /**
+     * Remove the provider from its current bucket and, if still searchable, insert it at its sorted position
+     */
+    void reindex(Long userId, ProviderSearchRow row) {
+        synchronized (writeLock) {
+            BucketKey previous = locations.remove(userId);
+            if (previous != null) {
+                buckets.computeIfPresent(previous, (key, bucket) -> {
+                    ProviderSearchEntry[] updated = without(bucket, userId);
+                    return updated.length == 0 ? null : updated;
+                });
+            }
+            if (row != null && row.isSearchable()) {
+                BucketKey key = BucketKey.of(row.specialization(), row.city());
+                ProviderSearchEntry entry = ProviderSearchEntry.from(row);
+                buckets.compute(key, (k, bucket) -> with(bucket == null ? EMPTY : bucket, entry));
+                locations.put(userId, key);
+            }
+        }
+    }
+
+    private static ProviderSearchEntry[] without(ProviderSearchEntry[] bucket, long userId) {
+        for (int i = 0; i < bucket.length; i++) {
+            if (bucket[i].userId() == userId) {
+                ProviderSearchEntry[] updated = new ProviderSearchEntry[bucket.length - 1];
+                System.arraycopy(bucket, 0, updated, 0, i);
+                System.arraycopy(bucket, i + 1, updated, i, bucket.length - i - 1);
+                return updated;
+            }
+        }
+        return bucket;
+    }
+
+    private static ProviderSearchEntry[] with(ProviderSearchEntry[] bucket, ProviderSearchEntry entry) {
+        int position = Arrays.binarySearch(bucket, entry, ProviderSearchEntry.ORDER);
+        int insertAt = position >= 0 ? position : -position - 1;
+        ProviderSearchEntry[] updated = new ProviderSearchEntry[bucket.length + 1];
+        System.arraycopy(bucket, 0, updated, 0, insertAt);
+        updated[insertAt] = entry;
+        System.arraycopy(bucket, insertAt, updated, insertAt + 1, bucket.length - insertAt);
+        return updated;
+    }
+
+    /**
+     * Index of the first entry that sorts strictly after the cursor
+     */
+    private static int firstAfter(ProviderSearchEntry[] bucket, ProviderSearchCursor cursor) {
+        int low = 0;
+        int high = bucket.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cursor.isBefore(bucket[mid])) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private record BucketKey(String specialization, String city) {
+
+        static BucketKey of(String specialization, String city) {
+            return new BucketKey(normalize(specialization), normalize(city));
+        }
+
+        private static String normalize(String value) {
+            return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.user.user_service.search;
+
+import java.util.List;
+
+/**
+ * One page of provider search results; nextCursor is null on the last page
+ */
+public record ProviderSearchPage(List<ProviderSearchEntry> providers, String nextCursor) {
+}
@@ -0,0 +1,25 @@
+package com.user.user_service.search;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of the provider_profiles columns needed by the search index
+ * (skips the bio, document and image TEXT columns)
+ */
+public record ProviderSearchRow(Long providerId,
+                                Long userId,
+                                String businessName,
+                                String specialization,
+                                String city,
+                                BigDecimal averageRating,
+                                Integer totalReviews,
+                                Integer completedBookings,
+                                Integer experienceYears,
+                                Boolean isVerified,
+                                Boolean isAvailable) {
+
+    public boolean isSearchable() {
+        return Boolean.TRUE.equals(isVerified) && Boolean.TRUE.equals(isAvailable)
+                && specialization != null && city != null;
+    }
+}
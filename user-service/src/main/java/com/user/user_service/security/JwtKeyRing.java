@@ -0,0 +1,242 @@
+package com.user.user_service.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JWT Key Ring
+ * Holds the ES256 key used to sign tokens and the public keys published in the JWKS document.
+ *
+ * Every instance must sign with keys the others publish, so in production the keys are
+ * configured (jwt.keys.*) and shared. Rotation: publish the new key as next-public-key on
+ * every instance, wait for verifiers to refresh their JWKS, then make it the signing key.
+ * The replaced key stays published until every token it signed has expired. Key changes
+ * are picked up on a config refresh without a restart.
+ *
+ * Only when jwt.keys.ephemeral-allowed is set (local development) may a key pair be
+ * generated at startup instead; it is rotated on a schedule, with the next key published
+ * one rotation interval before it starts signing.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing {
+
+    private static final String PREFIX = "jwt.keys.";
+    private static final String PRIVATE_KEY = PREFIX + "private-key";
+    private static final String PUBLIC_KEY = PREFIX + "public-key";
+    private static final String NEXT_PUBLIC_KEY = PREFIX + "next-public-key";
+    private static final String RETIRED_PUBLIC_KEYS = PREFIX + "retired-public-keys";
+
+    private final Environment environment;
+    private final Duration retiredKeyTtl;
+    private final boolean autoRotate;
+
+    private volatile State state;
+
+    public JwtKeyRing(Environment environment,
+                      @Value("${jwt.keys.retired-key-ttl:P2D}") Duration retiredKeyTtl,
+                      @Value("${jwt.keys.ephemeral-allowed:false}") boolean ephemeralAllowed) {
+        this.environment = environment;
+        this.retiredKeyTtl = retiredKeyTtl;
+        if (!environment.getProperty(PRIVATE_KEY, "").isBlank()) {
+            this.autoRotate = false;
+            this.state = configured();
+        } else if (ephemeralAllowed) {
+            log.warn("No jwt.keys.private-key configured, generating an ephemeral ES256 signing key");
+            this.autoRotate = true;
+            this.state = new State(generate(), generate(), List.of(), List.of());
+        } else {
+            throw new IllegalStateException("No jwt.keys.private-key configured: every user-service instance must "
+                    + "sign with the same keys (JWT_PRIVATE_KEY / JWT_PUBLIC_KEY). "
+                    + "Set jwt.keys.ephemeral-allowed=true to generate a key for local development.");
+        }
+    }
+
+    /**
+     * Key currently used to sign new tokens
+     */
+    public SigningKey signingKey() {
+        return state.current();
+    }
+
+    /**
+     * Find a published public key by key id, or null if unknown
+     */
+    public PublicKey publicKey(String keyId) {
+        for (PublicJwk<?> jwk : publishedKeys()) {
+            if (jwk.getId().equals(keyId)) {
+                return jwk.toKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * JWKS document: current, next, configured and not yet expired retired keys
+     */
+    public Map<String, Object> jwks() {
+        return Map.of("keys", publishedKeys());
+    }
+
+    /**
+     * Promote the pre-published key to signing key and retire the current one
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.rotation-interval:P7D}",
+            initialDelayString = "${jwt.keys.rotation-interval:P7D}")
+    public synchronized void rotate() {
+        if (!autoRotate) {
+            return;
+        }
+        State current = state;
+        List<RetiredKey> retired = retire(current);
+        state = new State(current.next(), generate(), retired, List.of());
+        log.info("Rotated JWT signing key, now signing with kid {}", state.current().keyId());
+    }
+
+    /**
+     * Reload configured keys on a config refresh; a replaced signing key stays published
+     * for retired-key-ttl
+     */
+    @EventListener
+    public synchronized void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (autoRotate || event.getKeys().stream().noneMatch(key -> key.startsWith(PREFIX))) {
+            return;
+        }
+        State current = state;
+        State reloaded = configured();
+        List<RetiredKey> retired = reloaded.current().keyId().equals(current.current().keyId())
+                ? current.retired()
+                : retire(current);
+        state = new State(reloaded.current(), null, retired, reloaded.published());
+        log.info("Reloaded JWT keys, signing with kid {} and publishing {} keys",
+                state.current().keyId(), publishedKeys().size());
+    }
+
+    private State configured() {
+        SigningKey current = load(environment.getProperty(PRIVATE_KEY, ""), environment.getProperty(PUBLIC_KEY, ""));
+        List<PublicJwk<?>> published = new ArrayList<>();
+        String next = environment.getProperty(NEXT_PUBLIC_KEY, "");
+        if (!next.isBlank()) {
+            published.add(publicJwk(loadPublic(next)));
+        }
+        for (String key : environment.getProperty(RETIRED_PUBLIC_KEYS, "").split(",")) {
+            if (!key.isBlank()) {
+                published.add(publicJwk(loadPublic(key.trim())));
+            }
+        }
+        return new State(current, null, List.of(), List.copyOf(published));
+    }
+
+    private List<RetiredKey> retire(State current) {
+        Instant now = Instant.now();
+        List<RetiredKey> retired = new ArrayList<>();
+        for (RetiredKey key : current.retired()) {
+            if (key.retireAt().isAfter(now)) {
+                retired.add(key);
+            }
+        }
+        retired.add(new RetiredKey(current.current().publicJwk(), now.plus(retiredKeyTtl)));
+        return List.copyOf(retired);
+    }
+
+    private List<PublicJwk<?>> publishedKeys() {
+        State current = state;
+        Instant now = Instant.now();
+        List<PublicJwk<?>> keys = new ArrayList<>();
+        keys.add(current.current().publicJwk());
+        if (current.next() != null) {
+            keys.add(current.next().publicJwk());
+        }
+        for (PublicJwk<?> key : current.published()) {
+            if (keys.stream().noneMatch(published -> published.getId().equals(key.getId()))) {
+                keys.add(key);
+            }
+        }
+        for (RetiredKey key : current.retired()) {
+            if (key.retireAt().isAfter(now)
+                    && keys.stream().noneMatch(published -> published.getId().equals(key.publicJwk().getId()))) {
+                keys.add(key.publicJwk());
+            }
+        }
+        return keys;
+    }
+
+    private static SigningKey generate() {
+        KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+        return signingKey(keyPair.getPrivate(), (ECPublicKey) keyPair.getPublic());
+    }
+
+    private static SigningKey load(String privateKey, String publicKey) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            PrivateKey signing = keyFactory.generatePrivate(
+                    new PKCS8EncodedKeySpec(Base64.getDecoder().decode(privateKey)));
+            return signingKey(signing, loadPublic(publicKey));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid jwt.keys configuration", e);
+        }
+    }
+
+    private static ECPublicKey loadPublic(String publicKey) {
+        try {
+            return (ECPublicKey) KeyFactory.getInstance("EC").generatePublic(
+                    new X509EncodedKeySpec(Base64.getDecoder().decode(publicKey)));
+        } catch (GeneralSecurityException | IllegalArgumentException | ClassCastException e) {
+            throw new IllegalStateException("Invalid jwt.keys public key", e);
+        }
+    }
+
+    private static SigningKey signingKey(PrivateKey privateKey, ECPublicKey publicKey) {
+        PublicJwk<?> jwk = publicJwk(publicKey);
+        return new SigningKey(jwk.getId(), privateKey, jwk);
+    }
+
+    private static PublicJwk<?> publicJwk(ECPublicKey publicKey) {
+        return Jwks.builder()
+                .key(publicKey)
+                .idFromThumbprint()
+                .publicKeyUse("sig")
+                .algorithm("ES256")
+                .build();
+    }
+
+    /**
+     * Private key and its published JWK
+     */
+    public record SigningKey(String keyId, PrivateKey privateKey, PublicJwk<?> publicJwk) {
+    }
+
+    private record RetiredKey(PublicJwk<?> publicJwk, Instant retireAt) {
+    }
+
+    /**
+     * Signing key, generated next key (ephemeral mode only), keys retired by rotation and
+     * configured public keys (next and retired)
+     */
+    private record State(SigningKey current, SigningKey next, List<RetiredKey> retired,
+                         List<PublicJwk<?>> published) {
+    }
+}
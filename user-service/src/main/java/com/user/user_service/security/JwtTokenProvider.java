@@ -3,32 +3,44 @@ package com.user.user_service.security;
 
 import com.user.user_service.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.logging.Logger;
 
 /**
  * JWT Token Provider
- * Generates and validates JWT tokens
+ * Generates and validates ES256 JWT tokens signed with the key ring's current key
  */
 @Component
 @Slf4j
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
     @Value("${jwt.expiration}")
     private Long expiration;
+
+    private final JwtKeyRing jwtKeyRing;
+    private final JwtParser parser;
+
+    public JwtTokenProvider(JwtKeyRing jwtKeyRing) {
+        this.jwtKeyRing = jwtKeyRing;
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return header.getKeyId() != null ? jwtKeyRing.publicKey(header.getKeyId()) : null;
+                    }
+                })
+                .build();
+    }
     /**
      * Generate JWT token for user
      */
@@ -41,14 +53,15 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        JwtKeyRing.SigningKey signingKey = jwtKeyRing.signingKey();
 
         return Jwts.builder()
+                .header().keyId(signingKey.keyId()).and()
                 .subject(user.getId().toString())
                 .claims(claims)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(key)
+                .signWith(signingKey.privateKey(), Jwts.SIG.ES256)
                 .compact();
     }
 
@@ -93,13 +106,7 @@ public class JwtTokenProvider {
      * Parse JWT token to extract claims
      */
     private Claims parseToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
@@ -0,0 +1,182 @@
+package com.user.user_service.security;
+
+import com.user.user_service.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Password Hashing Service
+ * Runs password hashing and verification on a dedicated, bounded executor so that
+ * a login storm cannot consume every request thread's CPU. When the queue is full
+ * callers are rejected immediately with a ServiceBusyException (503 + Retry-After).
+ *
+ * The executor stays on platform threads in virtual-thread mode: hashing is CPU-bound,
+ * and the fixed pool is what bounds it.
+ */
+@Component
+@Slf4j
+public class PasswordHashingService {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^(?:\\{bcrypt})?\\$2[aby]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+    private final String encodingId;
+    private final int bcryptStrength;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${security.password.hashing.threads:0}") int threads,
+                                  @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${security.password.hashing.timeout:10s}") Duration timeout,
+                                  @Value("${security.password.hashing.retry-after:2s}") Duration retryAfter,
+                                  @Value("${security.password.encoding-id:bcrypt}") String encodingId,
+                                  @Value("${security.password.bcrypt-strength:10}") int bcryptStrength) {
+        this.passwordEncoder = passwordEncoder;
+        this.encodingId = encodingId;
+        this.bcryptStrength = bcryptStrength;
+        this.timeoutMillis = timeout.toMillis();
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("password.hash.duration")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash.duration")
+                .tag("operation", "matches")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hash.rejected")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hash a raw password
+     */
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword), encodeTimer);
+    }
+
+    /**
+     * Verify a raw password against a stored hash
+     */
+    public boolean matches(CharSequence rawPassword, String passwordHash) {
+        return execute(() -> passwordEncoder.matches(rawPassword, passwordHash), matchesTimer);
+    }
+
+    /**
+     * Whether a scheme/cost pair from the migration report matches the configuration
+     */
+    public boolean isCurrent(String scheme, Integer cost) {
+        return encodingId.equals(scheme) && (!"bcrypt".equals(scheme) || Integer.valueOf(bcryptStrength).equals(cost));
+    }
+
+    /**
+     * Whether a stored hash uses another scheme or BCrypt cost than the configured one
+     */
+    public boolean needsUpgrade(String passwordHash) {
+        if (passwordEncoder.upgradeEncoding(passwordHash)) {
+            return true;
+        }
+        if ("bcrypt".equals(encodingId)) {
+            Matcher matcher = BCRYPT_COST.matcher(passwordHash);
+            return matcher.find() && Integer.parseInt(matcher.group(1)) != bcryptStrength;
+        }
+        return false;
+    }
+
+    /**
+     * Run low-priority work (e.g. rehashing) on the hashing executor without waiting.
+     * Only accepted while the queue is less than half full so it never delays logins.
+     */
+    public boolean tryExecuteInBackground(Runnable task) {
+        if (executor.getQueue().remainingCapacity() < executor.getQueue().size()) {
+            return false;
+        }
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private <T> T execute(Callable<T> task, Timer timer) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceBusyException("Too many authentication requests, please retry", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceBusyException("Authentication timed out, please retry", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Authentication interrupted, please retry", retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
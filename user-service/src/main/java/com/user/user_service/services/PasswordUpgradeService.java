@@ -0,0 +1,51 @@
+package com.user.user_service.services;
+
+import com.user.user_service.repositories.UserRepository;
+import com.user.user_service.security.PasswordHashingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Password Upgrade Service
+ * Rehashes passwords stored with an outdated scheme or cost after a successful login.
+ * The rehash and the UPDATE run in the background so the login response is not delayed.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PasswordUpgradeService {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Schedule a rehash if the stored hash needs it; skipped silently when the hashing
+     * executor is busy, the next login will try again
+     */
+    public void upgradeIfNeeded(Long userId, String rawPassword, String currentHash) {
+        if (!passwordHashingService.needsUpgrade(currentHash)) {
+            return;
+        }
+
+        boolean scheduled = passwordHashingService.tryExecuteInBackground(() -> {
+            try {
+                String upgradedHash = passwordEncoder.encode(rawPassword);
+                // Compare-and-set on the old hash so a concurrent password change wins
+                Integer updated = transactionTemplate.execute(status ->
+                        userRepository.updatePasswordHash(userId, currentHash, upgradedHash));
+                log.debug("Password hash upgraded for user ID: {} ({} row)", userId, updated);
+            } catch (RuntimeException e) {
+                log.warn("Password hash upgrade failed for user ID: {}: {}", userId, e.getMessage());
+            }
+        });
+
+        if (!scheduled) {
+            log.debug("Hashing executor busy, deferring password upgrade for user ID: {}", userId);
+        }
+    }
+}
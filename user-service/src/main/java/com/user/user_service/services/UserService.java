@@ -1,10 +1,20 @@
 package com.user.user_service.services;
 
 
+import com.user.user_service.DTOs.KeysetPage;
 import com.user.user_service.DTOs.LoginRequest;
 import com.user.user_service.DTOs.LoginResponse;
+import com.user.user_service.DTOs.PasswordSchemeUsage;
+import com.user.user_service.DTOs.ProviderRatingUpdate;
+import com.user.user_service.DTOs.ProviderSummary;
 import com.user.user_service.DTOs.UserProfileResponse;
 import com.user.user_service.DTOs.UserRegistrationRequest;
+import com.user.user_service.DTOs.UserSummary;
+import com.user.user_service.entity.UserRole;
+import com.user.user_service.entity.UserStatus;
+
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * User Service Interface
@@ -27,6 +37,12 @@ public interface UserService {
      */
     UserProfileResponse getUserProfile(Long userId);
 
+    /**
+     * Get profiles for many users, emitting each one to the sink as soon as it is available.
+     * Unknown ids are skipped.
+     */
+    void streamUserProfiles(List<Long> userIds, Consumer<UserProfileResponse> sink);
+
     /**
      * Verify user email with token
      */
@@ -36,4 +52,47 @@ public interface UserService {
      * Check if email exists
      */
     Boolean emailExists(String email);
-}
\ No newline at end of file
+
+    /**
+     * Count accounts per password hashing scheme and cost
+     */
+    List<PasswordSchemeUsage> getPasswordSchemeReport();
+
+    /**
+     * Page of users with the role (and status, if given) after the given id, ordered by id
+     */
+    KeysetPage<UserSummary> getUsers(UserRole role, UserStatus status, Long afterId, int limit);
+
+    /**
+     * Emit every user with the role (and status, if given) to the sink in id order
+     */
+    void exportUsers(UserRole role, UserStatus status, Consumer<UserSummary> sink);
+
+    /**
+     * Page of providers filtered by verification or availability after the given id, ordered by id
+     */
+    KeysetPage<ProviderSummary> getProviders(ProviderFilter filter, boolean value, Long afterId, int limit);
+
+    /**
+     * Emit every provider matching the filter to the sink in id order
+     */
+    void exportProviders(ProviderFilter filter, boolean value, Consumer<ProviderSummary> sink);
+
+    /**
+     * Provider profile of a user, for other services (e.g. location-service indexing by specialization)
+     */
+    ProviderSummary getProviderSummary(Long userId);
+
+    /**
+     * Store rating totals pushed by review-rating-service; returns how many providers changed
+     */
+    int applyRatingUpdates(List<ProviderRatingUpdate> updates);
+
+    /**
+     * Provider attribute used by the admin listings
+     */
+    enum ProviderFilter {
+        VERIFIED,
+        AVAILABLE
+    }
+}
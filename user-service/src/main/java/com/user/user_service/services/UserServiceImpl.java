@@ -1,24 +1,47 @@
 package com.user.user_service.services;
 
+import com.user.user_service.DTOs.KeysetPage;
 import com.user.user_service.DTOs.LoginRequest;
 import com.user.user_service.DTOs.LoginResponse;
+import com.user.user_service.DTOs.PasswordSchemeUsage;
+import com.user.user_service.DTOs.ProviderRatingUpdate;
+import com.user.user_service.DTOs.ProviderSummary;
 import com.user.user_service.DTOs.UserProfileResponse;
 import com.user.user_service.DTOs.UserRegistrationRequest;
+import com.user.user_service.DTOs.UserSummary;
+import com.user.user_service.cache.EmailExistenceFilter;
+import com.user.user_service.cache.ProfileCache;
 import com.user.user_service.entity.*;
+import com.user.user_service.events.UserProfileChangedEvent;
 import com.user.user_service.exception.DuplicateUserException;
 import com.user.user_service.exception.InvalidCredentialsException;
 import com.user.user_service.exception.UserNotFoundException;
+import com.user.user_service.outbox.OutboxWriter;
+import com.user.user_service.outbox.UserRegisteredEvent;
 import com.user.user_service.repositories.CustomerProfileRepository;
 import com.user.user_service.repositories.ProviderProfileRepository;
 import com.user.user_service.repositories.UserRepository;
 import com.user.user_service.security.JwtTokenProvider;
+import com.user.user_service.security.PasswordHashingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
 
 /**
  * User Service Implementation
@@ -29,32 +52,49 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    // Keeps IN lists well below driver and planner limits
+    private static final int PROFILE_QUERY_CHUNK_SIZE = 1000;
+
     private final UserRepository userRepository;
     private final CustomerProfileRepository customerProfileRepository;
     private final ProviderProfileRepository providerProfileRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final PasswordUpgradeService passwordUpgradeService;
     private final JwtTokenProvider jwtTokenProvider;
+    private final ProfileCache profileCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxWriter outboxWriter;
+    private final EmailExistenceFilter emailExistenceFilter;
+
+    @Value("${outbox.topics.user-events:user-events}")
+    private String userEventsTopic;
 
     @Override
     @Transactional
     public UserProfileResponse registerUser(UserRegistrationRequest request) {
-        log.info("Registering new user with email: {}", request.getEmail());
+        log.debug("Registering new {} user", request.getRole());
 
         // Check if email already exists
-        if (userRepository.existsByEmail(request.getEmail())) {
+        if (emailExists(request.getEmail())) {
             throw new DuplicateUserException("Email already registered: " + request.getEmail());
         }
 
         // Create User entity
         User user = new User();
         user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        user.setPasswordHash(passwordHashingService.encode(request.getPassword()));
         user.setRole(request.getRole());
         user.setStatus(UserStatus.ACTIVE);
         user.setEmailVerified(false);
         user.setVerificationToken(UUID.randomUUID().toString());
 
-        user = userRepository.save(user);
+        try {
+            user = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Registered concurrently, e.g. through another instance whose filter we have not seen yet
+            throw new DuplicateUserException("Email already registered: " + request.getEmail());
+        }
+        emailExistenceFilter.add(user.getEmail());
         log.info("User created with ID: {}", user.getId());
 
         // Create profile based on role
@@ -64,21 +104,24 @@ public class UserServiceImpl implements UserService {
             createProviderProfile(user, request);
         }
 
-        // TODO: Send verification email asynchronously via Kafka
+        // Verification email is sent by consumers of the event, relayed after commit
+        outboxWriter.enqueue(userEventsTopic, "User", user.getId(), UserRegisteredEvent.TYPE,
+                new UserRegisteredEvent(user.getId(), user.getEmail(), user.getRole(), request.getFullName(),
+                        user.getVerificationToken(), LocalDateTime.now()));
 
-        return mapToUserProfileResponse(user);
+        return loadUserProfile(user.getId());
     }
 
     @Override
     public LoginResponse login(LoginRequest request) {
-        log.info("Login attempt for email: {}", request.getEmail());
+        log.debug("Login attempt");
 
         // Find user by email
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new InvalidCredentialsException("Invalid email or password"));
 
         // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        if (!passwordHashingService.matches(request.getPassword(), user.getPasswordHash())) {
             throw new InvalidCredentialsException("Invalid email or password");
         }
 
@@ -87,10 +130,13 @@ public class UserServiceImpl implements UserService {
             throw new InvalidCredentialsException("Account is not active");
         }
 
+        // Rehash in the background if the stored hash uses an outdated scheme or cost
+        passwordUpgradeService.upgradeIfNeeded(user.getId(), request.getPassword(), user.getPasswordHash());
+
         // Generate JWT token
         String token = jwtTokenProvider.generateToken(user);
 
-        log.info("User logged in successfully: {}", user.getEmail());
+        log.debug("User logged in successfully: {}", user.getId());
 
         return LoginResponse.builder()
                 .token(token)
@@ -104,18 +150,42 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserProfileResponse getUserProfile(Long userId) {
-        log.info("Fetching user profile for ID: {}", userId);
+        log.debug("Fetching user profile for ID: {}", userId);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
+        return profileCache.get(userId, this::loadUserProfile);
+    }
 
-        return mapToUserProfileResponse(user);
+    @Override
+    public void streamUserProfiles(List<Long> userIds, Consumer<UserProfileResponse> sink) {
+        Set<Long> distinctIds = new LinkedHashSet<>(userIds);
+        log.debug("Fetching {} user profiles in batch", distinctIds.size());
+
+        // Warm ids are served from the profile cache without touching the database
+        Map<Long, UserProfileResponse> cached = profileCache.getAllPresent(distinctIds);
+        cached.values().forEach(sink);
+
+        List<Long> misses = new ArrayList<>(distinctIds.size() - cached.size());
+        for (Long userId : distinctIds) {
+            if (!cached.containsKey(userId)) {
+                misses.add(userId);
+            }
+        }
+
+        for (int from = 0; from < misses.size(); from += PROFILE_QUERY_CHUNK_SIZE) {
+            List<Long> chunk = misses.subList(from, Math.min(from + PROFILE_QUERY_CHUNK_SIZE, misses.size()));
+            // Taken before the query so a concurrent update cannot be overwritten by what we read
+            ProfileCache.Versions versions = profileCache.versions(chunk);
+            for (UserProfileResponse profile : userRepository.findProfilesByIdIn(chunk)) {
+                profileCache.put(profile, versions);
+                sink.accept(profile);
+            }
+        }
     }
 
     @Override
     @Transactional
     public void verifyEmail(String token) {
-        log.info("Verifying email with token: {}", token);
+        log.debug("Verifying email");
 
         User user = userRepository.findByVerificationToken(token)
                 .orElseThrow(() -> new UserNotFoundException("Invalid verification token"));
@@ -123,17 +193,130 @@ public class UserServiceImpl implements UserService {
         user.setEmailVerified(true);
         user.setVerificationToken(null);
         userRepository.save(user);
+        profileChanged(user.getId());
 
-        log.info("Email verified for user: {}", user.getEmail());
+        log.info("Email verified for user ID: {}", user.getId());
     }
 
     @Override
     public Boolean emailExists(String email) {
-        return userRepository.existsByEmail(email);
+        // Definite negatives are answered from memory; only possible positives hit idx_email
+        if (!emailExistenceFilter.mightExist(email)) {
+            return false;
+        }
+        boolean exists = userRepository.existsByEmail(email);
+        if (!exists) {
+            emailExistenceFilter.recordFalsePositive();
+        }
+        return exists;
+    }
+
+    @Override
+    public List<PasswordSchemeUsage> getPasswordSchemeReport() {
+        return userRepository.countByPasswordScheme().stream()
+                .map(count -> PasswordSchemeUsage.builder()
+                        .scheme(count.getScheme())
+                        .cost(count.getCost())
+                        .accounts(count.getAccounts())
+                        .upToDate(passwordHashingService.isCurrent(count.getScheme(), count.getCost()))
+                        .build())
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<UserSummary> getUsers(UserRole role, UserStatus status, Long afterId, int limit) {
+        long after = afterId != null ? afterId : 0L;
+        PageRequest page = PageRequest.ofSize(limit);
+
+        List<UserSummary> users = status == null
+                ? userRepository.findSummariesByRole(role, after, page)
+                : userRepository.findSummariesByRoleAndStatus(role, status, after, page);
+
+        return toKeysetPage(users, limit, UserSummary::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportUsers(UserRole role, UserStatus status, Consumer<UserSummary> sink) {
+        log.info("Exporting users with role {} and status {}", role, status);
+
+        try (Stream<UserSummary> users = status == null
+                ? userRepository.streamSummariesByRole(role)
+                : userRepository.streamSummariesByRoleAndStatus(role, status)) {
+            users.forEach(sink);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<ProviderSummary> getProviders(ProviderFilter filter, boolean value, Long afterId, int limit) {
+        long after = afterId != null ? afterId : 0L;
+        PageRequest page = PageRequest.ofSize(limit);
+
+        List<ProviderSummary> providers = switch (filter) {
+            case VERIFIED -> providerProfileRepository.findSummariesByIsVerified(value, after, page);
+            case AVAILABLE -> providerProfileRepository.findSummariesByIsAvailable(value, after, page);
+        };
+
+        return toKeysetPage(providers, limit, ProviderSummary::getId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProviders(ProviderFilter filter, boolean value, Consumer<ProviderSummary> sink) {
+        log.info("Exporting providers with {} = {}", filter, value);
+
+        try (Stream<ProviderSummary> providers = switch (filter) {
+            case VERIFIED -> providerProfileRepository.streamSummariesByIsVerified(value);
+            case AVAILABLE -> providerProfileRepository.streamSummariesByIsAvailable(value);
+        }) {
+            providers.forEach(sink);
+        }
+    }
+
+    @Override
+    public ProviderSummary getProviderSummary(Long userId) {
+        return providerProfileRepository.findSummaryByUserId(userId)
+                .orElseThrow(() -> new UserNotFoundException("Provider profile not found for user: " + userId));
+    }
+
+    @Override
+    @Transactional
+    public int applyRatingUpdates(List<ProviderRatingUpdate> updates) {
+        int updated = 0;
+        for (ProviderRatingUpdate update : updates) {
+            if (providerProfileRepository.updateRating(update.getProviderId(), update.getAverageRating(),
+                    update.getTotalReviews()) > 0) {
+                profileChanged(update.getProviderId());
+                updated++;
+            }
+        }
+        log.debug("Applied rating updates for {} of {} providers", updated, updates.size());
+        return updated;
     }
 
     // Helper Methods
 
+    /**
+     * Evicts the profile here after commit and, via the outbox, on every other instance
+     */
+    private void profileChanged(Long userId) {
+        UserProfileChangedEvent event = new UserProfileChangedEvent(userId);
+        eventPublisher.publishEvent(event);
+        outboxWriter.enqueue(userEventsTopic, "User", userId, UserProfileChangedEvent.TYPE, event);
+    }
+
+    private static <T> KeysetPage<T> toKeysetPage(List<T> items, int limit, ToLongFunction<T> id) {
+        Long nextAfterId = items.size() == limit ? id.applyAsLong(items.get(items.size() - 1)) : null;
+        return new KeysetPage<>(items, nextAfterId);
+    }
+
+    private UserProfileResponse loadUserProfile(Long userId) {
+        return userRepository.findProfileById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
+    }
+
     private void createCustomerProfile(User user, UserRegistrationRequest request) {
         CustomerProfile profile = new CustomerProfile();
         profile.setUser(user);
@@ -157,40 +340,4 @@ public class UserServiceImpl implements UserService {
         providerProfileRepository.save(profile);
         log.info("Provider profile created for user ID: {}", user.getId());
     }
-
-    private UserProfileResponse mapToUserProfileResponse(User user) {
-        UserProfileResponse.UserProfileResponseBuilder builder = UserProfileResponse.builder()
-                .id(user.getId())
-                .email(user.getEmail())
-                .role(user.getRole())
-                .status(user.getStatus())
-                .emailVerified(user.getEmailVerified())
-                .createdAt(user.getCreatedAt());
-
-        // Add customer profile details if customer
-        if (user.getRole() == UserRole.CUSTOMER && user.getCustomerProfile() != null) {
-            CustomerProfile profile = user.getCustomerProfile();
-            builder.fullName(profile.getFullName())
-                    .phone(profile.getPhone())
-                    .city(profile.getCity())
-                    .state(profile.getState())
-                    .profileImageUrl(profile.getProfileImageUrl());
-        }
-
-        // Add provider profile details if provider
-        if (user.getRole() == UserRole.PROVIDER && user.getProviderProfile() != null) {
-            ProviderProfile profile = user.getProviderProfile();
-            builder.fullName(profile.getBusinessName())
-                    .phone(profile.getPhone())
-                    .businessName(profile.getBusinessName())
-                    .specialization(profile.getSpecialization())
-                    .experienceYears(profile.getExperienceYears())
-                    .isVerified(profile.getIsVerified())
-                    .city(profile.getCity())
-                    .state(profile.getState())
-                    .profileImageUrl(profile.getProfileImageUrl());
-        }
-
-        return builder.build();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.user.user_service.tracing;
+
+import java.time.Instant;
+
+/**
+ * A statement that exceeded the slow-query threshold, with literals redacted
+ */
+public record SlowQuery(Instant timestamp, long durationMillis, String sql, boolean batch, String thread) {
+}
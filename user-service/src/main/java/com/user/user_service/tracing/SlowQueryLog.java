@@ -0,0 +1,66 @@
+package com.user.user_service.tracing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Slow Query Log
+ * Fixed-size ring buffer of the most recent slow queries. Writers claim a slot with a
+ * single atomic increment, so recording never blocks a request thread.
+ */
+@Component
+public class SlowQueryLog implements MeterBinder {
+
+    private final AtomicReferenceArray<SlowQuery> slots;
+    private final AtomicLong written = new AtomicLong();
+
+    public SlowQueryLog(@Value("${user.sql-tracing.ring-buffer-size:256}") int capacity) {
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void add(SlowQuery query) {
+        long sequence = written.getAndIncrement();
+        slots.set((int) (sequence % slots.length()), query);
+    }
+
+    /**
+     * Most recent first
+     */
+    public List<SlowQuery> recent() {
+        long end = written.get();
+        long start = Math.max(0, end - slots.length());
+        List<SlowQuery> queries = new ArrayList<>((int) (end - start));
+        for (long sequence = end - 1; sequence >= start; sequence--) {
+            SlowQuery query = slots.get((int) (sequence % slots.length()));
+            if (query != null) {
+                queries.add(query);
+            }
+        }
+        return queries;
+    }
+
+    public long total() {
+        return written.get();
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("db.sql.slow.queries", this, SlowQueryLog::total)
+                .description("Statements slower than user.sql-tracing.slow-threshold")
+                .register(registry);
+    }
+}
@@ -0,0 +1,66 @@
+package com.user.user_service.tracing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * SQL Tracer
+ * Decides what happens to each timed statement:
+ * - slower than the threshold: always recorded in the SlowQueryLog and logged at WARN
+ * - otherwise: logged at INFO for a sampled fraction (sample-rate, 0 disables)
+ *
+ * Literals are redacted from the SQL before it is logged or stored. Bind values are never
+ * read, so they cannot leak.
+ */
+@Component
+@Slf4j
+public class SqlTracer {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w$])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final SlowQueryLog slowQueryLog;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public SqlTracer(SlowQueryLog slowQueryLog,
+                     @Value("${user.sql-tracing.sample-rate:0.0}") double sampleRate,
+                     @Value("${user.sql-tracing.slow-threshold:200ms}") Duration slowThreshold) {
+        this.slowQueryLog = slowQueryLog;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    public void record(String sql, long durationNanos, boolean batch) {
+        if (durationNanos >= slowThresholdNanos) {
+            SlowQuery query = new SlowQuery(Instant.now(), TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                    redact(sql), batch, Thread.currentThread().getName());
+            slowQueryLog.add(query);
+            log.warn("Slow SQL duration_ms={} batch={} sql=\"{}\"", query.durationMillis(), batch, query.sql());
+        } else if (sampled() && log.isInfoEnabled()) {
+            log.info("SQL duration_us={} batch={} sql=\"{}\"",
+                    TimeUnit.NANOSECONDS.toMicros(durationNanos), batch, redact(sql));
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    static String redact(String sql) {
+        if (sql == null) {
+            return "<unknown>";
+        }
+        String redacted = STRING_LITERAL.matcher(sql).replaceAll("'?'");
+        redacted = NUMERIC_LITERAL.matcher(redacted).replaceAll("?");
+        return WHITESPACE.matcher(redacted).replaceAll(" ").trim();
+    }
+}
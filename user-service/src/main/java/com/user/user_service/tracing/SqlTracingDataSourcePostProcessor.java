@@ -0,0 +1,37 @@
+package com.user.user_service.tracing;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a SqlTracingDataSource. Runs before the other
+ * DataSource wrappers so that only statement execution is timed, not connection waits.
+ */
+@Component
+@ConditionalOnProperty(name = "user.sql-tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTracingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+    private final ObjectProvider<SqlTracer> tracer;
+
+    public SqlTracingDataSourcePostProcessor(ObjectProvider<SqlTracer> tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof SqlTracingDataSource)) {
+            return new SqlTracingDataSource(dataSource, tracer.getObject());
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
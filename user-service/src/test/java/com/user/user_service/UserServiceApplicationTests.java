@@ -3,7 +3,7 @@ package com.user.user_service;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {"jwt.keys.ephemeral-allowed=true", "internal.api.token=test-internal-token"})
 class UserServiceApplicationTests {
 
 	@Test
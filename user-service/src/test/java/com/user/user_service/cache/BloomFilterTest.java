@@ -0,0 +1,92 @@
+package com.user.user_service.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+	private static final int INSERTIONS = 100_000;
+
+	@Test
+	void neverReportsAddedValuesAsAbsent() {
+		BloomFilter filter = BloomFilter.create(INSERTIONS, 0.01);
+		for (int i = 0; i < INSERTIONS; i++) {
+			filter.put("user" + i + "@example.com");
+		}
+
+		for (int i = 0; i < INSERTIONS; i++) {
+			assertTrue(filter.mightContain("user" + i + "@example.com"));
+		}
+	}
+
+	@Test
+	void falsePositiveRateStaysNearTarget() {
+		BloomFilter filter = BloomFilter.create(INSERTIONS, 0.01);
+		for (int i = 0; i < INSERTIONS; i++) {
+			filter.put("user" + i + "@example.com");
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < INSERTIONS; i++) {
+			if (filter.mightContain("other" + i + "@example.org")) {
+				falsePositives++;
+			}
+		}
+
+		double rate = (double) falsePositives / INSERTIONS;
+		assertTrue(rate < 0.02, "false-positive rate " + rate);
+		assertTrue(filter.estimatedFalsePositiveProbability() < 0.02);
+	}
+
+	@Test
+	void emptyFilterContainsNothing() {
+		BloomFilter filter = BloomFilter.create(1_000, 0.01);
+
+		assertFalse(filter.mightContain("nobody@example.com"));
+	}
+
+	@Test
+	void rejectsInvalidSizing() {
+		assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(0, 0.01));
+		assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(1_000, 1.0));
+	}
+
+	/**
+	 * Sizing at the configured 10M expected insertions: memory, observed false-positive rate
+	 * and per-check cost, i.e. how many existence checks reach the database.
+	 * Run with -Dbenchmarks=true (needs roughly a 1 GB heap).
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+	void tenMillionEmails() {
+		int emails = 10_000_000;
+		int probes = 1_000_000;
+		BloomFilter filter = BloomFilter.create(emails, 0.01);
+
+		long start = System.nanoTime();
+		for (int i = 0; i < emails; i++) {
+			filter.put("user" + i + "@example.com");
+		}
+		double putNanos = (double) (System.nanoTime() - start) / emails;
+
+		int falsePositives = 0;
+		start = System.nanoTime();
+		for (int i = 0; i < probes; i++) {
+			if (filter.mightContain("other" + i + "@example.org")) {
+				falsePositives++;
+			}
+		}
+		double checkNanos = (double) (System.nanoTime() - start) / probes;
+
+		System.out.printf("emails=%d memory=%.1f MB (%.2f bytes/email)%n",
+				emails, filter.memoryBytes() / (1024.0 * 1024.0), (double) filter.memoryBytes() / emails);
+		System.out.printf("observed fpp=%.5f estimated fpp=%.5f%n",
+				(double) falsePositives / probes, filter.estimatedFalsePositiveProbability());
+		System.out.printf("put=%.0f ns/op mightContain=%.0f ns/op%n", putNanos, checkNanos);
+		assertTrue((double) falsePositives / probes < 0.02);
+	}
+}
@@ -0,0 +1,136 @@
+package com.user.user_service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.user.user_service.DTOs.UserProfileResponse;
+import com.user.user_service.entity.UserRole;
+import com.user.user_service.entity.UserStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProfileCacheTest {
+
+	private static final Long USER_ID = 42L;
+
+	private InMemoryProfileCacheTier shared;
+	private ProfileCache cache;
+	private ProfileCache otherInstance;
+
+	@BeforeEach
+	void setUp() {
+		shared = new InMemoryProfileCacheTier();
+		cache = newCache(shared);
+		otherInstance = newCache(shared);
+	}
+
+	@Test
+	void loadsOnceAndServesOtherInstancesFromTheSharedTier() {
+		AtomicInteger loads = new AtomicInteger();
+
+		cache.get(USER_ID, id -> {
+			loads.incrementAndGet();
+			return profile(id, "Before");
+		});
+		cache.get(USER_ID, id -> {
+			loads.incrementAndGet();
+			return profile(id, "Before");
+		});
+		UserProfileResponse fromOther = otherInstance.get(USER_ID, id -> {
+			loads.incrementAndGet();
+			return profile(id, "Before");
+		});
+
+		assertEquals(1, loads.get());
+		assertEquals("Before", fromOther.getFullName());
+	}
+
+	@Test
+	void evictDuringLoadDoesNotPutTheStaleProfileBack() {
+		// The update commits and evicts on another instance after this instance read the old row
+		cache.get(USER_ID, id -> {
+			UserProfileResponse stale = profile(id, "Before");
+			otherInstance.evict(id);
+			return stale;
+		});
+
+		assertTrue(shared.get(USER_ID).isEmpty());
+		UserProfileResponse reloaded = newCache(shared).get(USER_ID, id -> profile(id, "After"));
+		assertEquals("After", reloaded.getFullName());
+	}
+
+	@Test
+	void evictDuringBatchLoadDoesNotPutTheStaleProfileBack() {
+		ProfileCache.Versions versions = cache.versions(List.of(USER_ID));
+		UserProfileResponse stale = profile(USER_ID, "Before");
+		cache.evict(USER_ID);
+
+		cache.put(stale, versions);
+
+		assertTrue(cache.getAllPresent(List.of(USER_ID)).isEmpty());
+		assertTrue(shared.get(USER_ID).isEmpty());
+	}
+
+	@Test
+	void batchLoadWithoutEvictFillsBothTiers() {
+		ProfileCache.Versions versions = cache.versions(List.of(USER_ID));
+		cache.put(profile(USER_ID, "Before"), versions);
+
+		assertEquals("Before", shared.get(USER_ID).orElseThrow().getFullName());
+		assertFalse(cache.getAllPresent(List.of(USER_ID)).isEmpty());
+	}
+
+	@Test
+	void aChangeOnAnotherInstanceOnlyDropsTheLocalCopy() {
+		cache.get(USER_ID, id -> profile(id, "Before"));
+		// The instance that made the change evicted the shared tier; here the event arrives later
+		shared.evict(USER_ID);
+		shared.put(profile(USER_ID, "After"), shared.versions(List.of(USER_ID)).get(USER_ID));
+
+		cache.evictLocal(USER_ID);
+
+		assertTrue(cache.getAllPresent(List.of(USER_ID)).containsKey(USER_ID));
+		assertEquals("After", cache.get(USER_ID, id -> profile(id, "Reloaded")).getFullName());
+	}
+
+	@Test
+	void profilesRoundTripThroughJson() throws Exception {
+		ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+		UserProfileResponse profile = profile(USER_ID, "Before");
+
+		String json = objectMapper.writeValueAsString(profile);
+
+		assertEquals(profile, objectMapper.readValue(json, UserProfileResponse.class));
+	}
+
+	private static ProfileCache newCache(SharedProfileCacheTier tier) {
+		@SuppressWarnings("unchecked")
+		ObjectProvider<SharedProfileCacheTier> provider = mock(ObjectProvider.class);
+		when(provider.getIfAvailable()).thenReturn(tier);
+		return new ProfileCache(provider, new SimpleMeterRegistry(), 1_000, Duration.ofMinutes(1));
+	}
+
+	private static UserProfileResponse profile(Long id, String fullName) {
+		return UserProfileResponse.builder()
+				.id(id)
+				.email("user" + id + "@example.com")
+				.role(UserRole.CUSTOMER)
+				.status(UserStatus.ACTIVE)
+				.emailVerified(true)
+				.fullName(fullName)
+				.isVerified(false)
+				.createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+				.build();
+	}
+}
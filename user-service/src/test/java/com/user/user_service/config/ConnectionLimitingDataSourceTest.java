@@ -0,0 +1,169 @@
+package com.user.user_service.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConnectionLimitingDataSourceTest {
+
+	@Test
+	void permitIsHeldUntilConnectionIsClosed() throws Exception {
+		DataSource target = mock(DataSource.class);
+		Connection first = mock(Connection.class);
+		when(target.getConnection()).thenReturn(first, mock(Connection.class));
+		ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, Duration.ofMillis(50));
+
+		Connection connection = dataSource.getConnection();
+		assertEquals(0, dataSource.getAvailablePermits());
+		assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+		connection.close();
+		connection.close();
+		verify(first, times(2)).close();
+		assertEquals(1, dataSource.getAvailablePermits());
+
+		dataSource.getConnection().close();
+		assertEquals(1, dataSource.getAvailablePermits());
+	}
+
+	@Test
+	void permitIsReleasedWhenPoolFails() throws Exception {
+		DataSource target = mock(DataSource.class);
+		when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+		ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, Duration.ofMillis(50));
+
+		assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+		assertEquals(1, dataSource.getAvailablePermits());
+	}
+
+	@Test
+	void permitWaitIsRecordedForTheAdaptiveSizer() throws Exception {
+		DataSource target = mock(DataSource.class);
+		when(target.getConnection()).thenReturn(mock(Connection.class));
+		ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, Duration.ofMillis(50));
+
+		Connection connection = dataSource.getConnection();
+		assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+		connection.close();
+
+		assertEquals(2, dataSource.getAcquireCount());
+		assertTrue(dataSource.getAcquireWaitNanos() >= Duration.ofMillis(50).toNanos());
+	}
+
+	/**
+	 * Platform threads (Tomcat's default 200) against virtual threads, with and without the
+	 * limiter, at a fixed arrival rate. Each request waits 200 ms on a downstream call, then
+	 * runs a 5 ms query on a 10-connection pool that times out after 3 s like Hikari.
+	 * Latency is measured from the scheduled arrival, so queueing for a thread counts.
+	 * Run with -Dbenchmarks=true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+	void platformAgainstVirtualThreadsUnderLoad() throws Exception {
+		System.out.printf("%-14s %8s %10s %8s %10s %10s%n", "mode", "rate/s", "completed", "errors", "p50 ms", "p99 ms");
+		for (int rate : new int[]{500, 1_500, 3_000}) {
+			runLoad("platform-200", rate, () -> Executors.newFixedThreadPool(200), false);
+			runLoad("virtual", rate, Executors::newVirtualThreadPerTaskExecutor, false);
+			runLoad("virtual+limit", rate, Executors::newVirtualThreadPerTaskExecutor, true);
+		}
+	}
+
+	private static void runLoad(String mode, int rate, Supplier<ExecutorService> executors, boolean limited)
+			throws Exception {
+		int poolSize = 10;
+		Duration timeout = Duration.ofSeconds(3);
+		DataSource pool = new SimulatedPool(poolSize, timeout);
+		DataSource dataSource = limited ? new ConnectionLimitingDataSource(pool, poolSize, timeout) : pool;
+
+		int requests = rate * 4;
+		long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+		long[] latencies = new long[requests];
+		long start = System.nanoTime();
+		try (ExecutorService executor = executors.get()) {
+			for (int i = 0; i < requests; i++) {
+				long arrival = start + i * interval;
+				LockSupport.parkNanos(arrival - System.nanoTime());
+				int request = i;
+				executor.execute(() -> {
+					try {
+						Thread.sleep(200);
+						try (Connection ignored = dataSource.getConnection()) {
+							Thread.sleep(5);
+						}
+						latencies[request] = System.nanoTime() - arrival;
+					} catch (SQLException | InterruptedException e) {
+						latencies[request] = -1;
+					}
+				});
+			}
+		}
+
+		long[] completed = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+		System.out.printf("%-14s %8d %10d %8d %10.1f %10.1f%n", mode, rate, completed.length,
+				requests - completed.length,
+				completed.length == 0 ? 0 : completed[completed.length / 2] / 1e6,
+				completed.length == 0 ? 0 : completed[(int) (completed.length * 0.99)] / 1e6);
+	}
+
+	/**
+	 * Stand-in for Hikari: an unfair bounded pool whose waiters time out
+	 */
+	private static final class SimulatedPool extends AbstractDataSource {
+
+		private final Semaphore connections;
+		private final long timeoutNanos;
+
+		private SimulatedPool(int size, Duration timeout) {
+			this.connections = new Semaphore(size);
+			this.timeoutNanos = timeout.toNanos();
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			try {
+				if (!connections.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+					throw new SQLTransientConnectionException("Connection is not available, request timed out");
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SQLTransientConnectionException("Interrupted", e);
+			}
+			AtomicBoolean closed = new AtomicBoolean();
+			return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+					new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+						if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+							connections.release();
+						}
+						return null;
+					});
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return getConnection();
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package com.user.user_service.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.user.user_service.DTOs.BatchProfileRequest;
+import com.user.user_service.DTOs.UserProfileResponse;
+import com.user.user_service.services.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class UserControllerTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+	private final UserService userService = mock(UserService.class);
+	private final UserController controller = new UserController(userService, objectMapper);
+
+	@Test
+	void batchProfilesAreStreamedInTheApiResponseEnvelope() throws Exception {
+		List<Long> userIds = List.of(7L, 404L, 8L);
+		doAnswer(invocation -> {
+			Consumer<UserProfileResponse> sink = invocation.getArgument(1);
+			sink.accept(UserProfileResponse.builder().id(7L).email("a@example.com").build());
+			sink.accept(UserProfileResponse.builder().id(8L).email("b@example.com").build());
+			return null;
+		}).when(userService).streamUserProfiles(eq(userIds), any());
+
+		ResponseEntity<StreamingResponseBody> response =
+				controller.getUserProfiles(BatchProfileRequest.builder().userIds(userIds).build());
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		response.getBody().writeTo(out);
+
+		assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+		JsonNode json = objectMapper.readTree(out.toByteArray());
+		assertTrue(json.get("success").asBoolean());
+		assertEquals(2, json.get("data").size());
+		assertEquals(7, json.get("data").get(0).get("id").asLong());
+		assertEquals(8, json.get("data").get(1).get("id").asLong());
+		assertTrue(json.hasNonNull("timestamp"));
+	}
+}
@@ -0,0 +1,265 @@
+package com.user.user_service.outbox;
+
+import com.user.user_service.entity.OutboxEvent;
+import com.user.user_service.entity.User;
+import com.user.user_service.entity.UserRole;
+import com.user.user_service.entity.UserStatus;
+import com.user.user_service.repositories.OutboxEventRepository;
+import com.user.user_service.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(OutboxWriter.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+	private static final String TOPIC = "user-events";
+	private static final String POISON = "{not json";
+
+	@Autowired
+	private OutboxWriter outboxWriter;
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transactionTemplate;
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final InMemoryOutboxPublisher broker = new InMemoryOutboxPublisher();
+	private final List<Integer> batchSizes = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@AfterEach
+	void tearDown() {
+		outboxEventRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void eventsCommitAndRollBackWithTheUser() {
+		transactionTemplate.executeWithoutResult(status -> register("committed@example.com"));
+		transactionTemplate.executeWithoutResult(status -> {
+			register("rolled-back@example.com");
+			status.setRollbackOnly();
+		});
+
+		assertEquals(1, userRepository.count());
+		List<OutboxEvent> events = outboxEventRepository.findAll();
+		assertEquals(1, events.size());
+		assertEquals(String.valueOf(userRepository.findByEmail("committed@example.com").orElseThrow().getId()),
+				events.get(0).getAggregateId());
+		// Writing an event outside the caller's transaction would decouple it from the change
+		assertThrows(IllegalTransactionStateException.class, () -> outboxWriter.enqueue(TOPIC, "User", 1L,
+				UserRegisteredEvent.TYPE, Map.of()));
+	}
+
+	@Test
+	void aRunDrainsFullBatchesUntilAShortOne() {
+		enqueue(25);
+		OutboxRelay relay = relay(recording(broker), 10, 50, Duration.ofSeconds(1));
+
+		relay.relay();
+
+		assertEquals(List.of(10, 10, 5), batchSizes);
+		assertEquals(25, broker.getDelivered().size());
+		assertEquals(0, outboxEventRepository.countByPublishedAtIsNullAndFailedAtIsNull());
+	}
+
+	@Test
+	void aRunStopsAfterMaxBatchesAndTheNextOneCarriesOn() {
+		enqueue(45);
+		OutboxRelay relay = relay(recording(broker), 10, 3, Duration.ofSeconds(1));
+
+		relay.relay();
+		assertEquals(30, broker.getDelivered().size());
+		relay.relay();
+
+		assertEquals(List.of(10, 10, 10, 10, 5), batchSizes);
+		assertEquals(45, broker.getDelivered().size());
+	}
+
+	@Test
+	void eventsAreRedeliveredAfterAFailureAndDedupedByEventId() {
+		enqueue(5);
+		AtomicInteger failures = new AtomicInteger(1);
+		List<Long> sent = new ArrayList<>();
+		// Delivers the batch, then loses the acknowledgement once
+		OutboxPublisher flaky = events -> {
+			events.forEach(event -> sent.add(event.getId()));
+			broker.publish(events);
+			if (failures.getAndDecrement() > 0) {
+				throw new IllegalStateException("acknowledgement timed out");
+			}
+		};
+		OutboxRelay relay = relay(flaky, 10, 50, Duration.ofSeconds(1));
+
+		relay.relay();
+
+		assertEquals(10, sent.size());
+		assertEquals(5, broker.getDelivered().size());
+		assertEquals(0, outboxEventRepository.countByPublishedAtIsNullAndFailedAtIsNull());
+	}
+
+	@Test
+	void anEventTheBrokerRejectsBacksOffWithoutHoldingUpTheRest() {
+		enqueue(2);
+		OutboxEvent poison = enqueuePayload(POISON);
+		enqueue(2);
+		OutboxRelay relay = relay(rejecting(POISON), 10, 50, Duration.ofHours(1));
+
+		relay.relay();
+		relay.relay();
+
+		assertEquals(4, broker.getDelivered().size());
+		OutboxEvent failed = outboxEventRepository.findById(poison.getId()).orElseThrow();
+		assertNull(failed.getPublishedAt());
+		assertEquals(1, failed.getAttempts());
+		assertNotNull(failed.getNextAttemptAt());
+		assertNull(failed.getFailedAt());
+	}
+
+	@Test
+	void anEventIsParkedAfterItsLastAttempt() {
+		OutboxEvent poison = enqueuePayload(POISON);
+		enqueue(3);
+		OutboxRelay relay = relay(rejecting(POISON), 10, 50, Duration.ZERO);
+
+		for (int run = 0; run < 4; run++) {
+			relay.relay();
+		}
+
+		assertEquals(3, broker.getDelivered().size());
+		OutboxEvent parked = outboxEventRepository.findById(poison.getId()).orElseThrow();
+		assertEquals(3, parked.getAttempts());
+		assertNotNull(parked.getFailedAt());
+		assertTrue(parked.getLastError().contains("rejected"));
+		assertEquals(0.0, gauge("outbox.pending"));
+		assertEquals(1.0, gauge("outbox.parked"));
+	}
+
+	@Test
+	void gaugesTrackPendingEventsAndLag() {
+		OutboxEvent old = event("{}");
+		old.setCreatedAt(LocalDateTime.now().minusMinutes(1));
+		outboxEventRepository.save(old);
+		enqueue(2);
+		AtomicBoolean brokerUp = new AtomicBoolean(false);
+		OutboxRelay relay = relay(events -> {
+			if (!brokerUp.get()) {
+				throw new IllegalStateException("broker down");
+			}
+			broker.publish(events);
+		}, 10, 50, Duration.ZERO);
+
+		relay.relay();
+
+		assertEquals(3.0, gauge("outbox.pending"));
+		assertTrue(gauge("outbox.lag.seconds") >= 60);
+
+		brokerUp.set(true);
+		relay.relay();
+
+		assertEquals(0.0, gauge("outbox.pending"));
+		assertEquals(0.0, gauge("outbox.lag.seconds"));
+	}
+
+	private OutboxRelay relay(OutboxPublisher publisher, int batchSize, int maxBatchesPerRun, Duration retryBackoff) {
+		return new OutboxRelay(outboxEventRepository, publisher, transactionTemplate, meterRegistry, batchSize,
+				maxBatchesPerRun, 3, retryBackoff, Duration.ofHours(1), Duration.ofDays(7));
+	}
+
+	private OutboxPublisher recording(OutboxPublisher publisher) {
+		return events -> {
+			batchSizes.add(events.size());
+			publisher.publish(events);
+		};
+	}
+
+	/**
+	 * Fails any batch containing the payload, like a broker rejecting one malformed record
+	 */
+	private OutboxPublisher rejecting(String payload) {
+		return events -> {
+			if (events.stream().anyMatch(event -> payload.equals(event.getPayload()))) {
+				throw new IllegalArgumentException("record rejected");
+			}
+			broker.publish(events);
+		};
+	}
+
+	private double gauge(String name) {
+		return meterRegistry.get(name).gauge().value();
+	}
+
+	private void register(String email) {
+		User user = new User();
+		user.setEmail(email);
+		user.setPasswordHash("{bcrypt}hash");
+		user.setRole(UserRole.CUSTOMER);
+		user.setStatus(UserStatus.ACTIVE);
+		user.setEmailVerified(false);
+		user = userRepository.save(user);
+		outboxWriter.enqueue(TOPIC, "User", user.getId(), UserRegisteredEvent.TYPE,
+				new UserRegisteredEvent(user.getId(), email, UserRole.CUSTOMER, "Asha Rao", "token",
+						LocalDateTime.now()));
+	}
+
+	private void enqueue(int count) {
+		for (int i = 0; i < count; i++) {
+			outboxEventRepository.save(event("{\"n\":" + i + "}"));
+		}
+	}
+
+	private OutboxEvent enqueuePayload(String payload) {
+		return outboxEventRepository.save(event(payload));
+	}
+
+	private static OutboxEvent event(String payload) {
+		OutboxEvent event = new OutboxEvent();
+		event.setTopic(TOPIC);
+		event.setAggregateType("User");
+		event.setAggregateId("1");
+		event.setEventType(UserRegisteredEvent.TYPE);
+		event.setPayload(payload);
+		event.setCreatedAt(LocalDateTime.now());
+		return event;
+	}
+}
@@ -0,0 +1,120 @@
+package com.user.user_service.repositories;
+
+import com.user.user_service.DTOs.UserProfileResponse;
+import com.user.user_service.DTOs.UserSummary;
+import com.user.user_service.entity.CustomerProfile;
+import com.user.user_service.entity.ProviderProfile;
+import com.user.user_service.entity.User;
+import com.user.user_service.entity.UserRole;
+import com.user.user_service.entity.UserStatus;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class UserRepositoryTest {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void findProfileByIdLoadsCustomerProfileInOneStatement() {
+		User user = persistUser("customer@example.com", UserRole.CUSTOMER);
+		CustomerProfile profile = new CustomerProfile();
+		profile.setUser(user);
+		profile.setFullName("Asha Rao");
+		profile.setPhone("9876543210");
+		profile.setCity("Pune");
+		entityManager.persist(profile);
+		entityManager.flush();
+		entityManager.clear();
+		statistics.clear();
+
+		UserProfileResponse response = userRepository.findProfileById(user.getId()).orElseThrow();
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals("Asha Rao", response.getFullName());
+		assertEquals("Pune", response.getCity());
+		assertEquals(UserRole.CUSTOMER, response.getRole());
+	}
+
+	@Test
+	void findProfileByIdLoadsProviderProfileInOneStatement() {
+		User user = persistUser("provider@example.com", UserRole.PROVIDER);
+		ProviderProfile profile = new ProviderProfile();
+		profile.setUser(user);
+		profile.setBusinessName("Rao Plumbing");
+		profile.setSpecialization("Plumber");
+		profile.setExperienceYears(7);
+		entityManager.persist(profile);
+		entityManager.flush();
+		entityManager.clear();
+		statistics.clear();
+
+		UserProfileResponse response = userRepository.findProfileById(user.getId()).orElseThrow();
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals("Rao Plumbing", response.getFullName());
+		assertEquals("Plumber", response.getSpecialization());
+		assertEquals(7, response.getExperienceYears());
+	}
+
+	@Test
+	void findProfileByIdIsEmptyForUnknownUser() {
+		statistics.clear();
+
+		assertTrue(userRepository.findProfileById(-1L).isEmpty());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void findSummariesByRolePagesByIdWithoutGapsOrRepeats() {
+		User first = persistUser("c1@example.com", UserRole.CUSTOMER);
+		persistUser("p1@example.com", UserRole.PROVIDER);
+		User second = persistUser("c2@example.com", UserRole.CUSTOMER);
+		User third = persistUser("c3@example.com", UserRole.CUSTOMER);
+		entityManager.flush();
+		entityManager.clear();
+
+		List<UserSummary> page1 = userRepository.findSummariesByRole(UserRole.CUSTOMER, 0L, PageRequest.ofSize(2));
+		List<UserSummary> page2 = userRepository.findSummariesByRole(
+				UserRole.CUSTOMER, page1.get(page1.size() - 1).getId(), PageRequest.ofSize(2));
+
+		assertEquals(List.of(first.getId(), second.getId()), page1.stream().map(UserSummary::getId).toList());
+		assertEquals(List.of(third.getId()), page2.stream().map(UserSummary::getId).toList());
+	}
+
+	private User persistUser(String email, UserRole role) {
+		User user = new User();
+		user.setEmail(email);
+		user.setPasswordHash("{bcrypt}hash");
+		user.setRole(role);
+		user.setStatus(UserStatus.ACTIVE);
+		user.setEmailVerified(false);
+		return entityManager.persist(user);
+	}
+}
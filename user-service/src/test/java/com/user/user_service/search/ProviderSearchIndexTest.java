@@ -0,0 +1,216 @@
+package com.user.user_service.search;
+
+import com.user.user_service.entity.ProviderProfile;
+import com.user.user_service.entity.User;
+import com.user.user_service.entity.UserRole;
+import com.user.user_service.entity.UserStatus;
+import com.user.user_service.exception.ServiceBusyException;
+import com.user.user_service.repositories.ProviderProfileRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class ProviderSearchIndexTest {
+
+	private static final String[] SPECIALIZATIONS = {
+			"Plumber", "Electrician", "Carpenter", "Painter", "Cleaner", "Gardener", "Mechanic", "Tutor",
+			"Doctor", "Tailor", "Cook", "Driver", "Mason", "Welder", "Locksmith", "Roofer", "Mover",
+			"Beautician", "Photographer", "Technician"};
+
+	@Autowired
+	private ProviderProfileRepository providerProfileRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private ProviderSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new ProviderSearchIndex(providerProfileRepository, new TransactionTemplate(transactionManager),
+				new SimpleMeterRegistry(), Duration.ofSeconds(5));
+	}
+
+	@Test
+	void searchAnswersBusyUntilTheFirstBuild() {
+		assertThrows(ServiceBusyException.class, () -> index.search("Plumber", "Pune", null, 10));
+	}
+
+	@Test
+	void pagesThroughABucketInRatingOrderWithoutGapsOrRepeats() {
+		User best = persistProvider("a@example.com", "Plumber", "Pune", "4.90", true, true);
+		User second = persistProvider("b@example.com", "plumber", "PUNE", "4.50", true, true);
+		User third = persistProvider("c@example.com", "Plumber", "Pune", "3.00", true, true);
+		persistProvider("d@example.com", "Plumber", "Mumbai", "5.00", true, true);
+		persistProvider("e@example.com", "Plumber", "Pune", "5.00", false, true);
+		persistProvider("f@example.com", "Plumber", "Pune", "5.00", true, false);
+		entityManager.flush();
+		index.rebuild();
+
+		ProviderSearchPage page1 = index.search("Plumber", "Pune", null, 2);
+		ProviderSearchPage page2 = index.search("Plumber", "Pune", ProviderSearchCursor.decode(page1.nextCursor()), 2);
+
+		assertEquals(List.of(best.getId(), second.getId()), userIds(page1));
+		assertEquals(List.of(third.getId()), userIds(page2));
+		assertNull(page2.nextCursor());
+	}
+
+	@Test
+	void reindexMovesAProviderToItsNewBucket() {
+		User provider = persistProvider("a@example.com", "Plumber", "Pune", "4.00", true, true);
+		entityManager.flush();
+		index.rebuild();
+
+		index.reindex(provider.getId(), new ProviderSearchRow(1L, provider.getId(), "Moved", "Plumber", "Mumbai",
+				new BigDecimal("4.00"), 0, 0, 0, true, true));
+
+		assertTrue(index.search("Plumber", "Pune", null, 10).providers().isEmpty());
+		assertEquals(List.of(provider.getId()), userIds(index.search("Plumber", "Mumbai", null, 10)));
+	}
+
+	/**
+	 * p50/p99 of a first page of 20 from the index against the JPQL bucket query it replaced,
+	 * over 1M providers in 1,000 (specialization, city) buckets on H2.
+	 * Run with -Dbenchmarks=true (needs a few GB of heap).
+	 */
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+	void indexAgainstJpqlOnAMillionProviders() {
+		int providers = 1_000_000;
+		int cities = 50;
+		long firstId = 10_000_000L;
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		try {
+			insertProviders(jdbc, firstId, providers, cities);
+			long start = System.nanoTime();
+			index.rebuild();
+			System.out.printf("index build: %d ms%n", (System.nanoTime() - start) / 1_000_000);
+
+			int queries = 1_000;
+			long[] indexNanos = time(queries, () -> {
+				String[] bucket = randomBucket(cities);
+				return index.search(bucket[0], bucket[1], null, 20).providers().size();
+			});
+			long[] jpqlNanos = time(queries, () -> {
+				String[] bucket = randomBucket(cities);
+				return providerProfileRepository.findAvailableProvidersBySpecializationAndCity(bucket[0], bucket[1])
+						.stream()
+						.sorted((a, b) -> b.getAverageRating().compareTo(a.getAverageRating()))
+						.limit(20)
+						.toList()
+						.size();
+			});
+
+			System.out.printf("%-8s %12s %12s%n", "source", "p50 us", "p99 us");
+			report("index", indexNanos);
+			report("jpql", jpqlNanos);
+		} finally {
+			jdbc.update("DELETE FROM provider_profiles WHERE user_id >= ?", firstId);
+			jdbc.update("DELETE FROM users WHERE id >= ?", firstId);
+		}
+	}
+
+	private static void insertProviders(JdbcTemplate jdbc, long firstId, int providers, int cities) {
+		int batchSize = 10_000;
+		for (int from = 0; from < providers; from += batchSize) {
+			List<Object[]> users = new ArrayList<>(batchSize);
+			List<Object[]> profiles = new ArrayList<>(batchSize);
+			for (int i = from; i < Math.min(providers, from + batchSize); i++) {
+				long id = firstId + i;
+				users.add(new Object[]{id, "provider" + i + "@example.com"});
+				profiles.add(new Object[]{id, "Provider " + i, SPECIALIZATIONS[i % SPECIALIZATIONS.length],
+						"City" + (i / SPECIALIZATIONS.length) % cities, BigDecimal.valueOf(i % 500, 2),
+						i % 10 != 0, i % 1_000});
+			}
+			jdbc.batchUpdate("INSERT INTO users (id, email, password_hash, role, status, email_verified, "
+					+ "created_at, updated_at) VALUES (?, ?, '{bcrypt}hash', 'PROVIDER', 'ACTIVE', TRUE, "
+					+ "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", users);
+			jdbc.batchUpdate("INSERT INTO provider_profiles (user_id, business_name, specialization, city, "
+					+ "average_rating, is_verified, is_available, completed_bookings, experience_years, "
+					+ "total_reviews, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, TRUE, ?, 0, 0, "
+					+ "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", profiles);
+		}
+	}
+
+	private static String[] randomBucket(int cities) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		return new String[]{SPECIALIZATIONS[random.nextInt(SPECIALIZATIONS.length)], "City" + random.nextInt(cities)};
+	}
+
+	private static long[] time(int queries, Supplier<Integer> query) {
+		for (int i = 0; i < queries / 10; i++) {
+			query.get();
+		}
+		long[] nanos = new long[queries];
+		for (int i = 0; i < queries; i++) {
+			long start = System.nanoTime();
+			query.get();
+			nanos[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(nanos);
+		return nanos;
+	}
+
+	private static void report(String source, long[] sortedNanos) {
+		System.out.printf("%-8s %12.1f %12.1f%n", source,
+				sortedNanos[sortedNanos.length / 2] / 1_000.0,
+				sortedNanos[(int) (sortedNanos.length * 0.99)] / 1_000.0);
+	}
+
+	private static List<Long> userIds(ProviderSearchPage page) {
+		return page.providers().stream().map(ProviderSearchEntry::userId).toList();
+	}
+
+	private User persistProvider(String email, String specialization, String city, String rating,
+								 boolean verified, boolean available) {
+		User user = new User();
+		user.setEmail(email);
+		user.setPasswordHash("{bcrypt}hash");
+		user.setRole(UserRole.PROVIDER);
+		user.setStatus(UserStatus.ACTIVE);
+		user.setEmailVerified(true);
+		entityManager.persist(user);
+
+		ProviderProfile profile = new ProviderProfile();
+		profile.setUser(user);
+		profile.setBusinessName(email);
+		profile.setSpecialization(specialization);
+		profile.setCity(city);
+		profile.setAverageRating(new BigDecimal(rating));
+		profile.setIsVerified(verified);
+		profile.setIsAvailable(available);
+		entityManager.persist(profile);
+		return user;
+	}
+}
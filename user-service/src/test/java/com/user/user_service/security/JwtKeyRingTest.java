@@ -0,0 +1,82 @@
+package com.user.user_service.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtKeyRingTest {
+
+	private static final Duration RETIRED_KEY_TTL = Duration.ofDays(2);
+
+	@Test
+	void refusesToStartWithoutConfiguredKeys() {
+		assertThrows(IllegalStateException.class, () -> new JwtKeyRing(new MockEnvironment(), RETIRED_KEY_TTL, false));
+	}
+
+	@Test
+	void generatesAKeyOnlyWhenEphemeralKeysAreAllowed() {
+		JwtKeyRing keyRing = new JwtKeyRing(new MockEnvironment(), RETIRED_KEY_TTL, true);
+
+		assertNotNull(keyRing.publicKey(keyRing.signingKey().keyId()));
+	}
+
+	@Test
+	void configuredNextKeyIsPublishedBeforeItSigns() throws Exception {
+		KeyPair current = keyPair();
+		KeyPair next = keyPair();
+		MockEnvironment environment = environment(current).withProperty("jwt.keys.next-public-key", encode(next.getPublic().getEncoded()));
+
+		JwtKeyRing keyRing = new JwtKeyRing(environment, RETIRED_KEY_TTL, false);
+
+		assertEquals(current.getPrivate(), keyRing.signingKey().privateKey());
+		assertEquals(2, ((List<?>) keyRing.jwks().get("keys")).size());
+	}
+
+	@Test
+	void replacedSigningKeyStaysPublishedAfterRotation() throws Exception {
+		KeyPair current = keyPair();
+		KeyPair next = keyPair();
+		MockEnvironment environment = environment(current).withProperty("jwt.keys.next-public-key", encode(next.getPublic().getEncoded()));
+		JwtKeyRing keyRing = new JwtKeyRing(environment, RETIRED_KEY_TTL, false);
+		String previousKeyId = keyRing.signingKey().keyId();
+
+		environment.setProperty("jwt.keys.private-key", encode(next.getPrivate().getEncoded()));
+		environment.setProperty("jwt.keys.public-key", encode(next.getPublic().getEncoded()));
+		environment.setProperty("jwt.keys.next-public-key", "");
+		keyRing.onEnvironmentChange(new EnvironmentChangeEvent(Set.of("jwt.keys.private-key", "jwt.keys.public-key")));
+
+		assertEquals(next.getPrivate(), keyRing.signingKey().privateKey());
+		assertNotEquals(previousKeyId, keyRing.signingKey().keyId());
+		assertNotNull(keyRing.publicKey(previousKeyId));
+		assertEquals(2, ((List<?>) keyRing.jwks().get("keys")).size());
+	}
+
+	private static MockEnvironment environment(KeyPair keyPair) {
+		return new MockEnvironment()
+				.withProperty("jwt.keys.private-key", encode(keyPair.getPrivate().getEncoded()))
+				.withProperty("jwt.keys.public-key", encode(keyPair.getPublic().getEncoded()));
+	}
+
+	private static KeyPair keyPair() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+		generator.initialize(new ECGenParameterSpec("secp256r1"));
+		return generator.generateKeyPair();
+	}
+
+	private static String encode(byte[] key) {
+		return Base64.getEncoder().encodeToString(key);
+	}
+}
@@ -0,0 +1,81 @@
+package com.user.user_service.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordEncoderTest {
+
+	private static final String PASSWORD = "correct horse battery staple";
+
+	private final PasswordEncoder encoder = encoder("bcrypt", 10);
+	private final PasswordHashingService hashingService = new PasswordHashingService(encoder, new SimpleMeterRegistry(),
+			1, 8, Duration.ofSeconds(10), Duration.ofSeconds(2), "bcrypt", 10);
+
+	@Test
+	void newHashesUseTheConfiguredScheme() {
+		String hash = encoder.encode(PASSWORD);
+
+		assertTrue(hash.startsWith("{bcrypt}$2a$10$"));
+		assertTrue(encoder.matches(PASSWORD, hash));
+		assertFalse(hashingService.needsUpgrade(hash));
+	}
+
+	@Test
+	void legacyAndOtherSchemesStillVerifyAndAreUpgraded() {
+		String legacy = new BCryptPasswordEncoder(10).encode(PASSWORD);
+		String otherCost = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+		String pbkdf2 = "{pbkdf2}" + Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode(PASSWORD);
+
+		for (String hash : new String[]{legacy, otherCost, pbkdf2}) {
+			assertTrue(encoder.matches(PASSWORD, hash), hash);
+			assertTrue(hashingService.needsUpgrade(hash), hash);
+		}
+	}
+
+	/**
+	 * Cost of one successful verification per scheme, i.e. what every login pays.
+	 * Run with -Dbenchmarks=true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+	void verifyCostPerScheme() {
+		Map<String, String> hashes = new LinkedHashMap<>();
+		for (int cost : new int[]{8, 10, 12}) {
+			hashes.put("bcrypt, cost " + cost, "{bcrypt}" + new BCryptPasswordEncoder(cost).encode(PASSWORD));
+		}
+		hashes.put("pbkdf2 (v5.8 defaults)", "{pbkdf2}" + Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode(PASSWORD));
+
+		System.out.printf("%-24s %12s %14s%n", "scheme", "ms/verify", "verifies/core/s");
+		hashes.forEach((scheme, hash) -> {
+			for (int i = 0; i < 5; i++) {
+				encoder.matches(PASSWORD, hash);
+			}
+			int iterations = 20;
+			long start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				assertTrue(encoder.matches(PASSWORD, hash));
+			}
+			double millis = (System.nanoTime() - start) / 1e6 / iterations;
+			System.out.printf("%-24s %12.2f %14.1f%n", scheme, millis, 1000 / millis);
+		});
+	}
+
+	private static PasswordEncoder encoder(String encodingId, int bcryptStrength) {
+		SecurityConfig securityConfig = new SecurityConfig();
+		ReflectionTestUtils.setField(securityConfig, "encodingId", encodingId);
+		ReflectionTestUtils.setField(securityConfig, "bcryptStrength", bcryptStrength);
+		return securityConfig.passwordEncoder();
+	}
+}
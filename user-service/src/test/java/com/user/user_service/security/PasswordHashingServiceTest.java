@@ -0,0 +1,154 @@
+package com.user.user_service.security;
+
+import com.user.user_service.exception.ServiceBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHashingServiceTest {
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void rejectsImmediatelyWhenTheQueueIsFull() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		PasswordEncoder slowEncoder = mock(PasswordEncoder.class);
+		when(slowEncoder.matches(any(), any())).thenAnswer(invocation -> {
+			started.countDown();
+			release.await();
+			return true;
+		});
+		PasswordHashingService service = service(slowEncoder, 1, 1);
+		ExecutorService callers = Executors.newFixedThreadPool(2);
+		try {
+			Future<Boolean> running = callers.submit(() -> service.matches("password", "hash"));
+			started.await();
+			Future<Boolean> queued = callers.submit(() -> service.matches("password", "hash"));
+			while (meterRegistry.get("password.hash.queue.depth").gauge().value() < 1) {
+				Thread.sleep(1);
+			}
+
+			ServiceBusyException rejected = assertThrows(ServiceBusyException.class,
+					() -> service.matches("password", "hash"));
+			assertEquals(2, rejected.getRetryAfterSeconds());
+
+			release.countDown();
+			assertTrue(running.get());
+			assertTrue(queued.get());
+		} finally {
+			callers.shutdown();
+			service.shutdown();
+		}
+	}
+
+	/**
+	 * /profile-style requests on a Tomcat-sized pool while most of its threads are busy
+	 * with logins: BCrypt inline on the request threads (the previous behaviour) against
+	 * the bounded hashing executor. Rejected logins back off as a client would after a 503.
+	 * Run with -Dbenchmarks=true.
+	 */
+	@Test
+	@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+	void profileLatencyStaysFlatDuringALoginFlood() throws Exception {
+		BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(10);
+		String hash = bcrypt.encode("password");
+		// Leave CPU for the other endpoints
+		int hashingThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		PasswordHashingService service = service(bcrypt, hashingThreads, 64);
+		try {
+			System.out.printf("%-26s %12s %12s%n", "/profile during", "p50 (us)", "p99 (us)");
+			report("no logins", profileLatency(null));
+			report("login flood, inline", profileLatency(() -> bcrypt.matches("password", hash)));
+			report("login flood, executor", profileLatency(() -> {
+				try {
+					service.matches("password", hash);
+				} catch (ServiceBusyException e) {
+					sleep(10);
+				}
+			}));
+		} finally {
+			service.shutdown();
+		}
+	}
+
+	private static long[] profileLatency(Runnable login) throws Exception {
+		ExecutorService requestThreads = Executors.newFixedThreadPool(200);
+		AtomicBoolean flooding = new AtomicBoolean(login != null);
+		try {
+			for (int i = 0; login != null && i < 150; i++) {
+				requestThreads.execute(() -> {
+					while (flooding.get()) {
+						login.run();
+					}
+				});
+			}
+			sleep(1_000);
+
+			int requests = 2_000;
+			long[] nanos = new long[requests];
+			for (int i = 0; i < requests; i++) {
+				long start = System.nanoTime();
+				requestThreads.submit(PasswordHashingServiceTest::profile).get();
+				nanos[i] = System.nanoTime() - start;
+			}
+			Arrays.sort(nanos);
+			return new long[]{nanos[requests / 2], nanos[(int) (requests * 0.99)]};
+		} finally {
+			flooding.set(false);
+			requestThreads.shutdown();
+			requestThreads.awaitTermination(30, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Stand-in for a cached profile read and its JSON rendering
+	 */
+	private static byte[] profile() throws Exception {
+		MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		byte[] body = "{\"userId\":42,\"email\":\"customer@example.com\",\"role\":\"CUSTOMER\"}"
+				.repeat(16).getBytes(StandardCharsets.UTF_8);
+		for (int i = 0; i < 20; i++) {
+			body = Arrays.copyOf(digest.digest(body), body.length);
+		}
+		return body;
+	}
+
+	private static void report(String name, long[] result) {
+		System.out.printf("%-26s %12d %12d%n", name, result[0] / 1_000, result[1] / 1_000);
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private PasswordHashingService service(PasswordEncoder encoder, int threads, int queueCapacity) {
+		return new PasswordHashingService(encoder, meterRegistry, threads, queueCapacity,
+				Duration.ofSeconds(10), Duration.ofSeconds(2), "bcrypt", 10);
+	}
+}
@@ -0,0 +1,136 @@
+package com.user.user_service.services;
+
+import com.user.user_service.DTOs.UserProfileResponse;
+import com.user.user_service.cache.EmailExistenceFilter;
+import com.user.user_service.cache.ProfileCache;
+import com.user.user_service.cache.SharedProfileCacheTier;
+import com.user.user_service.entity.UserRole;
+import com.user.user_service.entity.UserStatus;
+import com.user.user_service.outbox.OutboxWriter;
+import com.user.user_service.repositories.CustomerProfileRepository;
+import com.user.user_service.repositories.ProviderProfileRepository;
+import com.user.user_service.repositories.UserRepository;
+import com.user.user_service.security.JwtTokenProvider;
+import com.user.user_service.security.PasswordHashingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final List<List<Long>> queries = new ArrayList<>();
+	private ProfileCache profileCache;
+	private UserServiceImpl userService;
+
+	@BeforeEach
+	void setUp() {
+		@SuppressWarnings("unchecked")
+		ObjectProvider<SharedProfileCacheTier> noSharedTier = mock(ObjectProvider.class);
+		profileCache = new ProfileCache(noSharedTier, new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(1));
+		userService = new UserServiceImpl(userRepository, mock(CustomerProfileRepository.class),
+				mock(ProviderProfileRepository.class), mock(PasswordHashingService.class),
+				mock(PasswordUpgradeService.class), mock(JwtTokenProvider.class), profileCache,
+				mock(ApplicationEventPublisher.class), mock(OutboxWriter.class), mock(EmailExistenceFilter.class));
+	}
+
+	@Test
+	void warmProfilesAreServedWithoutAQuery() {
+		warm(1L, 2L);
+
+		List<UserProfileResponse> streamed = stream(List.of(1L, 2L));
+
+		assertEquals(Set.of(1L, 2L), ids(streamed));
+		verify(userRepository, never()).findProfilesByIdIn(anyCollection());
+	}
+
+	@Test
+	void missesAreLoadedInChunksAndCached() {
+		knownUsers(1, 2500);
+		warm(1L);
+		List<Long> userIds = LongStream.rangeClosed(1, 2500).boxed().toList();
+
+		List<UserProfileResponse> streamed = stream(userIds);
+
+		assertEquals(2500, streamed.size());
+		assertEquals(Set.copyOf(userIds), ids(streamed));
+		// The warm id is left out of the query, the rest go in chunks of 1000
+		assertEquals(List.of(1000, 1000, 499), queries.stream().map(List::size).toList());
+		assertEquals(2L, queries.get(0).get(0));
+
+		stream(userIds);
+		assertEquals(3, queries.size());
+	}
+
+	@Test
+	void unknownAndRepeatedIdsAreSkipped() {
+		knownUsers(1, 3);
+
+		List<UserProfileResponse> streamed = stream(List.of(1L, 404L, 3L, 1L, 405L, 3L));
+
+		assertEquals(List.of(1L, 3L), streamed.stream().map(UserProfileResponse::getId).toList());
+		assertEquals(List.of(List.of(1L, 404L, 3L, 405L)), queries);
+	}
+
+	private List<UserProfileResponse> stream(List<Long> userIds) {
+		List<UserProfileResponse> streamed = new ArrayList<>();
+		userService.streamUserProfiles(userIds, streamed::add);
+		return streamed;
+	}
+
+	/**
+	 * Users firstId..lastId exist; every query is recorded
+	 */
+	private void knownUsers(long firstId, long lastId) {
+		when(userRepository.findProfilesByIdIn(anyCollection())).thenAnswer(invocation -> {
+			Collection<Long> ids = invocation.getArgument(0);
+			queries.add(List.copyOf(ids));
+			return ids.stream()
+					.filter(id -> id >= firstId && id <= lastId)
+					.map(UserServiceImplTest::profile)
+					.toList();
+		});
+	}
+
+	private void warm(Long... userIds) {
+		ProfileCache.Versions versions = profileCache.versions(List.of(userIds));
+		for (Long userId : userIds) {
+			profileCache.put(profile(userId), versions);
+		}
+	}
+
+	private static Set<Long> ids(List<UserProfileResponse> profiles) {
+		return profiles.stream().map(UserProfileResponse::getId).collect(Collectors.toSet());
+	}
+
+	private static UserProfileResponse profile(Long id) {
+		return UserProfileResponse.builder()
+				.id(id)
+				.email("user" + id + "@example.com")
+				.role(UserRole.CUSTOMER)
+				.status(UserStatus.ACTIVE)
+				.emailVerified(true)
+				.fullName("User " + id)
+				.isVerified(false)
+				.createdAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+				.build();
+	}
+}
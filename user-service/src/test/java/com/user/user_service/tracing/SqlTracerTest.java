@@ -0,0 +1,38 @@
+package com.user.user_service.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlTracerTest {
+
+	@Test
+	void redactsStringAndNumericLiteralsButKeepsIdentifiers() {
+		String sql = "select u1_0.id from users u1_0 where u1_0.email = 'a@b.com' and u1_0.id > 42\n  and x = $1";
+
+		assertEquals("select u1_0.id from users u1_0 where u1_0.email = '?' and u1_0.id > ? and x = $1",
+				SqlTracer.redact(sql));
+	}
+
+	@Test
+	void onlyStatementsOverThresholdReachTheRingBufferNewestFirst() {
+		SlowQueryLog slowQueryLog = new SlowQueryLog(2);
+		SqlTracer tracer = new SqlTracer(slowQueryLog, 0.0, Duration.ofMillis(10));
+
+		tracer.record("select 1", Duration.ofMillis(1).toNanos(), false);
+		tracer.record("select 'first'", Duration.ofMillis(20).toNanos(), false);
+		tracer.record("select 'second'", Duration.ofMillis(30).toNanos(), false);
+		tracer.record("select 'third'", Duration.ofMillis(40).toNanos(), true);
+
+		List<SlowQuery> recent = slowQueryLog.recent();
+		assertEquals(2, recent.size());
+		assertEquals(40, recent.get(0).durationMillis());
+		assertTrue(recent.get(0).batch());
+		assertEquals(30, recent.get(1).durationMillis());
+		assertEquals(3, slowQueryLog.total());
+	}
+}